@@ -0,0 +1,178 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message decoder provides a Java API for decoding messages from the SONAR
+ * wire protocol.  Since the message delimiters are ASCII, they can never
+ * appear within a multi-byte UTF-8 sequence.  This allows the decoder to scan
+ * the input buffer for delimiters directly, and decode each parameter only
+ * once.
+ *
+ * @author Douglas Lau
+ */
+public class MessageDecoder {
+
+	/** Everything on the wire is encoded to UTF-8 */
+	static private final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** ASCII characters are encoded to ISO-8859-1 identically */
+	static private final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+	/** Record separator byte */
+	static private final byte RECORD_SEP = (byte) Message.RECORD_SEP.code;
+
+	/** Unit separator byte */
+	static private final byte UNIT_SEP = (byte) Message.UNIT_SEP.code;
+
+	/** Initial size of partial parameter buffer */
+	static private final int PARTIAL_SIZE = 256;
+
+	/** Decode a parameter from a byte array */
+	static private String decodeParam(byte[] b, int off, int len) {
+		for (int i = off; i < off + len; i++) {
+			if (b[i] < 0)
+				return new String(b, off, len, UTF8);
+		}
+		// ASCII fast path
+		return new String(b, off, len, LATIN1);
+	}
+
+	/** Byte buffer to store incoming SONAR data */
+	private final ByteBuffer app_in;
+
+	/** Buffer for a parameter which is not yet complete */
+	private byte[] partial = new byte[PARTIAL_SIZE];
+
+	/** Number of bytes in partial buffer */
+	private int n_partial = 0;
+
+	/** List of decoded parameters for current message */
+	private ArrayList<String> params = new ArrayList<String>();
+
+	/** Messages decoded but not yet returned */
+	private final ArrayDeque<List<String>> decoded =
+		new ArrayDeque<List<String>>();
+
+	/** Create a new SONAR message decoder */
+	public MessageDecoder(ByteBuffer in) throws IOException {
+		app_in = in;
+	}
+
+	/** Decode messages.
+	 * @return Parameters of next message, or null if none complete. */
+	public List<String> decode() throws IOException {
+		if (decoded.isEmpty()) {
+			try {
+				((Buffer) app_in).flip();
+				_decode();
+			}
+			finally {
+				app_in.compact();
+			}
+		}
+		return decoded.poll();
+	}
+
+	/** Decode all complete messages in the input buffer */
+	private void _decode() {
+		if (app_in.hasArray())
+			decodeArray();
+		else
+			decodeBuffer();
+	}
+
+	/** Decode messages from an array-backed buffer */
+	private void decodeArray() {
+		byte[] b = app_in.array();
+		int base = app_in.arrayOffset();
+		int start = base + app_in.position();
+		int end = base + app_in.limit();
+		for (int i = start; i < end; i++) {
+			byte c = b[i];
+			if (RECORD_SEP == c || UNIT_SEP == c) {
+				completeParameter(b, start, i - start);
+				start = i + 1;
+				if (RECORD_SEP == c)
+					completeMessage();
+			}
+		}
+		appendPartial(b, start, end - start);
+		((Buffer) app_in).position(app_in.limit());
+	}
+
+	/** Decode messages from a buffer with no backing array */
+	private void decodeBuffer() {
+		byte[] b = new byte[app_in.remaining()];
+		app_in.get(b);
+		int start = 0;
+		for (int i = 0; i < b.length; i++) {
+			byte c = b[i];
+			if (RECORD_SEP == c || UNIT_SEP == c) {
+				completeParameter(b, start, i - start);
+				start = i + 1;
+				if (RECORD_SEP == c)
+					completeMessage();
+			}
+		}
+		appendPartial(b, start, b.length - start);
+	}
+
+	/** Append bytes to the partial parameter buffer */
+	private void appendPartial(byte[] b, int off, int len) {
+		if (n_partial + len > partial.length) {
+			int sz = Math.max(partial.length * 2, n_partial + len);
+			byte[] p = new byte[sz];
+			System.arraycopy(partial, 0, p, 0, n_partial);
+			partial = p;
+		}
+		System.arraycopy(b, off, partial, n_partial, len);
+		n_partial += len;
+	}
+
+	/** Complete the current parameter */
+	private void completeParameter(byte[] b, int off, int len) {
+		if (n_partial > 0) {
+			appendPartial(b, off, len);
+			params.add(decodeParam(partial, 0, n_partial));
+			n_partial = 0;
+		} else
+			params.add(decodeParam(b, off, len));
+	}
+
+	/** Complete the current message */
+	private void completeMessage() {
+		decoded.add(params);
+		params = new ArrayList<String>();
+	}
+
+	/** Debug the SONAR parameters */
+	public void debugParameters() {
+		StringBuilder b = new StringBuilder();
+		for (String s: params) {
+			b.append(s);
+			b.append(' ');
+		}
+		System.err.println(b.toString());
+	}
+}
@@ -0,0 +1,515 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import us.mn.state.dot.sonar.Namespace;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * An attribute dispatcher is an adapter for SonarObjects. It provides
+ * a pair of simple methods to set and get attributes of those objects.
+ * Setters and getters are called through method handles, which avoids the
+ * cost of reflective invocation.
+ *
+ * @author Douglas Lau
+ */
+public class AttributeDispatcher {
+
+	/** Method name to store an object */
+	static private final String DO_STORE_METHOD = "doStore";
+
+	/** Method name to destroy an object */
+	static private final String DESTROY_METHOD = "destroy";
+
+	/** Alternate method name to destroy an object */
+	static private final String DO_DESTROY_METHOD = "doDestroy";
+
+	/** Empty array of strings */
+	static private final String[] EMPTY_STRING = new String[0];
+
+	/** Method handle lookup */
+	static private final MethodHandles.Lookup LOOKUP =
+		MethodHandles.lookup();
+
+	/** Create a method handle for a method */
+	static private MethodHandle unreflect(Method m)
+		throws IllegalAccessException
+	{
+		try {
+			return LOOKUP.unreflect(m);
+		}
+		catch (IllegalAccessException e) {
+			// Public method declared in a non-public class
+			m.setAccessible(true);
+			return LOOKUP.unreflect(m);
+		}
+	}
+
+	/** Wrap a throwable from a method handle (errors are rethrown) */
+	static private SonarException wrapThrowable(Throwable t) {
+		if (t instanceof Error)
+			throw (Error) t;
+		return new SonarException((Exception) t);
+	}
+
+	/** Test if a class is an interface extending SonarObject */
+	static private boolean is_sonar_iface(Class iface) {
+		return iface.isInterface() &&
+		       SonarObject.class.isAssignableFrom(iface) &&
+		       (iface != SonarObject.class);
+	}
+
+	/** Check for a valid constructor */
+	static private boolean is_valid_constructor(Constructor c) {
+		Class[] paramTypes = c.getParameterTypes();
+		return (paramTypes.length == 1) &&
+			(paramTypes[0] == String.class);
+	}
+
+	/** Get an attribute name from a setter/getter */
+	static private String attribute_name(String n) {
+		return n.substring(3, 4).toLowerCase() + n.substring(4);
+	}
+
+	/** Prepend "do" to a method name */
+	static private String prepend_do(String n) {
+		return "do" + n.substring(0, 1).toUpperCase() + n.substring(1);
+	}
+
+	/** Lookup the constructor */
+	static private Constructor lookup_constructor(Class c) {
+		for (Constructor con: c.getConstructors()) {
+			if (is_valid_constructor(con))
+				return con;
+		}
+		return null;
+	}
+
+	/** Lookup a method on the specified class.
+	 * @param c Class to inspect.
+	 * @param method Name of method to lookup.
+	 * @return Matching method, or null if not found. */
+	static private Method lookup_method(Class c, String method) {
+		for (Method m: c.getMethods()) {
+			if (method.equalsIgnoreCase(m.getName())) {
+				if (!Modifier.isStatic(m.getModifiers()))
+					return m;
+			}
+		}
+		return null;
+	}
+
+	/** Lookup a method to store new objects */
+	static private Method lookup_storer(Class c) {
+		return lookup_method(c, DO_STORE_METHOD);
+	}
+
+	/** Lookup a method to destroy objects */
+	static private Method lookup_destroyer(Class c) {
+		Method m = lookup_method(c, DO_DESTROY_METHOD);
+		if (m != null)
+			return m;
+		else
+			return lookup_method(c, DESTROY_METHOD);
+	}
+
+	/** The implementation class */
+	private final Class the_class;
+
+	/** SONAR namespace */
+	private final Namespace namespace;
+
+	/** Constructor to create a new object */
+	private final Constructor constructor;
+
+	/** Method to store an object */
+	private final Method storer;
+
+	/** Method to destroy an object */
+	private final Method destroyer;
+
+	/** Attribute setter */
+	private class Setter {
+
+		/** Parameter types of setter method */
+		private final Class[] p_types;
+
+		/** Method handle with type (Object, Object[])void */
+		private final MethodHandle handle;
+
+		/** Create a new setter */
+		private Setter(Method m) throws IllegalAccessException {
+			p_types = m.getParameterTypes();
+			handle = unreflect(m)
+				.asSpreader(Object[].class, p_types.length)
+				.asType(MethodType.methodType(void.class,
+					Object.class, Object[].class));
+		}
+
+		/** Set the attribute on an object */
+		private void set(SonarObject o, String[] v)
+			throws SonarException
+		{
+			Object[] params = namespace.unmarshall(p_types, v);
+			try {
+				handle.invokeExact((Object) o, params);
+			}
+			catch (Throwable t) {
+				throw wrapThrowable(t);
+			}
+		}
+	}
+
+	/** Attribute getter */
+	private class Getter {
+
+		/** Method handle with type (Object)R, where R is the return
+		 * type (primitive) or Object (reference) */
+		protected final MethodHandle handle;
+
+		/** Create a new getter */
+		private Getter(MethodHandle mh, Class r) {
+			handle = mh.asType(MethodType.methodType(r,
+				Object.class));
+		}
+
+		/** Get the attribute value of an object */
+		protected String[] get(SonarObject o) throws Throwable {
+			Object result = (Object) handle.invokeExact((Object) o);
+			if (result instanceof Object[]) {
+				Object[] r = (Object []) result;
+				String[] res = new String[r.length];
+				for (int i = 0; i < r.length; i++)
+					res[i] = namespace.marshall(r[i]);
+				return res;
+			} else
+				return new String[] {
+					namespace.marshall(result)
+				};
+		}
+	}
+
+	/** Create a getter for a method, with marshalling specialized for
+	 * primitive return types */
+	private Getter createGetter(Method m) throws IllegalAccessException {
+		MethodHandle mh = unreflect(m);
+		Class r = m.getReturnType();
+		if (r == Integer.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					int v = (int) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Integer.toString(v)
+					};
+				}
+			};
+		} else if (r == Boolean.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					boolean v = (boolean) handle
+						.invokeExact((Object) o);
+					return new String[] {
+						Boolean.toString(v)
+					};
+				}
+			};
+		} else if (r == Long.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					long v = (long) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Long.toString(v)
+					};
+				}
+			};
+		} else if (r == Short.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					short v = (short) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Short.toString(v)
+					};
+				}
+			};
+		} else if (r == Float.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					float v = (float) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Float.toString(v)
+					};
+				}
+			};
+		} else if (r == Double.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					double v = (double) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Double.toString(v)
+					};
+				}
+			};
+		} else
+			return new Getter(mh, Object.class);
+	}
+
+	/** Mapping of attribute names to setters */
+	private final HashMap<String, Setter> setters =
+		new HashMap<String, Setter>();
+
+	/** Mapping of attribute names to getters */
+	private final HashMap<String, Getter> getters =
+		new HashMap<String, Getter>();
+
+	/** Array of gettable attribute names */
+	private final String[] gettable;
+
+	/** Get an array of gettable attributes */
+	public String[] getGettableAttributes() {
+		return gettable;
+	}
+
+	/** Test if an attribute is gettable */
+	public boolean isGettable(String a) {
+		return getters.containsKey(a);
+	}
+
+	/** Create a new attribute dispatcher for the given object's type.
+	 * @param c The implementation class.
+	 * @param ns SONAR namespace. */
+	public AttributeDispatcher(Class c, Namespace ns)
+		throws IllegalAccessException
+	{
+		the_class = c;
+		namespace = ns;
+		lookup_attributes(c);
+		gettable = getters.keySet().toArray(EMPTY_STRING);
+		constructor = lookup_constructor(c);
+		storer = lookup_storer(c);
+		destroyer = lookup_destroyer(c);
+	}
+
+	/** Lookup all the attributes of the specified class */
+	private void lookup_attributes(Class c) throws IllegalAccessException {
+		// Lookup super classes first to allow method overrides
+		Class sup = c.getSuperclass();
+		if (sup != null)
+			lookup_attributes(sup);
+		for (Class iface: c.getInterfaces()) {
+			if (is_sonar_iface(iface))
+				lookup_iface_attributes(iface);
+		}
+	}
+
+	/** Lookup all the attributes of the specified interface */
+	private void lookup_iface_attributes(Class iface)
+		throws IllegalAccessException
+	{
+		// Lookup all methods, in case of overrides
+		for (Method m: iface.getMethods()) {
+			String n = m.getName();
+			if (n.startsWith("set"))
+				lookup_setter(m);
+			if (n.startsWith("get"))
+				lookup_getter(m);
+		}
+	}
+
+	/** Lookup a setter method.
+	 * @param im Setter method from interface. */
+	private void lookup_setter(Method im) throws IllegalAccessException {
+		Method m = lookup__etter(im);
+		if (m != null)
+			setters.put(attribute_name(im.getName()),
+				new Setter(m));
+	}
+
+	/** Lookup a getter method.
+	 * @param im Getter method from interface. */
+	private void lookup_getter(Method im) throws IllegalAccessException {
+		Method m = lookup__etter(im);
+		if (m != null)
+			getters.put(attribute_name(im.getName()),
+				createGetter(m));
+	}
+
+	/** Lookup a setter or getter method.
+	 * @param im Setter or getter method from interface.
+	 * @return Matching method, or null if not found. */
+	private Method lookup__etter(Method im) {
+		// A "do" prefix is required for methods which can throw
+		// exceptions not declared in the interface specification.
+		// First, check for "do..." methods
+		String do_name = prepend_do(im.getName());
+		for (Method m: the_class.getMethods()) {
+			String n = m.getName();
+			if (n.equals(do_name) && compare_methods(im, m))
+				return m;
+		}
+		// "do..." method not found
+		for (Method m: the_class.getMethods()) {
+			String n = m.getName();
+			if (n.equals(im.getName()) && compare_methods(im, m))
+				return m;
+		}
+		return null;
+	}
+
+	/** Compare two methods for a signature match. */
+	private boolean compare_methods(Method m0, Method m1) {
+		if (Modifier.isStatic(m0.getModifiers()) !=
+		    Modifier.isStatic(m1.getModifiers()))
+			return false;
+		if (m0.getReturnType() != m1.getReturnType())
+			return false;
+		return Arrays.equals(m0.getParameterTypes(),
+		                     m1.getParameterTypes());
+	}
+
+	/** Create a new object with the given name */
+	public SonarObject createObject(String name) throws SonarException {
+		if (constructor == null)
+			throw PermissionDenied.cannotAdd();
+		Object[] params = { name };
+		try {
+			return (SonarObject)constructor.newInstance(params);
+		}
+		catch (Exception e) {
+			throw new SonarException(e);
+		}
+	}
+
+	/** Invoke a method on the given SONAR object */
+	private Object _invoke(SonarObject o, Method method, Object[] params)
+		throws SonarException
+	{
+		try {
+			return method.invoke(o, params);
+		}
+		catch (Exception e) {
+			throw new SonarException(e);
+		}
+	}
+
+	/** Invoke a method on the given SONAR object */
+	private Object invoke(SonarObject o, Method method, String[] v)
+		throws SonarException
+	{
+		Class[] p_types = method.getParameterTypes();
+		Object[] params = namespace.unmarshall(p_types, v);
+		return _invoke(o, method, params);
+	}
+
+	/** Store the given object */
+	public void storeObject(SonarObject o) throws SonarException {
+		if (storer == null)
+			throw PermissionDenied.cannotAdd();
+		invoke(o, storer, EMPTY_STRING);
+	}
+
+	/** Destroy the given object */
+	public void destroyObject(SonarObject o) throws SonarException {
+		if (destroyer == null)
+			throw PermissionDenied.cannotRemove();
+		invoke(o, destroyer, EMPTY_STRING);
+	}
+
+	/** Set the value of the named attribute */
+	public void setValue(SonarObject o, String a, String[] v)
+		throws SonarException
+	{
+		Setter s = setters.get(a);
+		if (s == null)
+			throw PermissionDenied.cannotWrite(a);
+		s.set(o, v);
+	}
+
+	/** Lookup the named field from the given class */
+	static private Field lookupField(Class c, String a)
+		throws SonarException
+	{
+		try {
+			Field f = c.getDeclaredField(a);
+			f.setAccessible(true);
+			return f;
+		}
+		catch (NoSuchFieldException e) {
+			c = c.getSuperclass();
+			if (c != null)
+				return lookupField(c, a);
+			else
+				throw new SonarException("No such field: " + a);
+		}
+		catch (Exception e) {
+			throw new SonarException(e);
+		}
+	}
+
+	/** Set a field directly (through reflection) */
+	public void setField(SonarObject o, String a, String[] v)
+		throws SonarException
+	{
+		Field f = lookupField(o.getClass(), a);
+		Object param = namespace.unmarshall(f.getType(), v);
+		try {
+			f.set(o, param);
+		}
+		catch (Exception e) {
+			throw new SonarException(e);
+		}
+	}
+
+	/** Get the value of the named attribute */
+	public String[] getValue(SonarObject o, String a)
+		throws SonarException
+	{
+		Getter g = getters.get(a);
+		if (g == null)
+			throw PermissionDenied.cannotRead(a);
+		try {
+			return g.get(o);
+		}
+		catch (Throwable t) {
+			throw wrapThrowable(t);
+		}
+	}
+}
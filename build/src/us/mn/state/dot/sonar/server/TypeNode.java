@@ -0,0 +1,280 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.MessageEncoder;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.Namespace;
+import us.mn.state.dot.sonar.NamespaceError;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * A type node represents the first-level nodes in the SONAR namespace. It
+ * contains all information about a SONAR type.
+ *
+ * @author Douglas Lau
+ */
+public class TypeNode {
+
+	/** Initial capacity of type hash */
+	static private final int INITIAL_CAPACITY = 256;
+
+	/** Maximum age of an object snapshot (ms).  Snapshots are invalidated
+	 * when attribute changes are notified, but this limits how stale an
+	 * attribute which changes without notification can be. */
+	static private final long SNAPSHOT_MAX_MS = 30000;
+
+	/** Encoded snapshot of all attributes of one object */
+	static private class Snapshot {
+
+		/** Version, incremented each time it is invalidated */
+		private int version;
+
+		/** Encoded messages (null if invalid) */
+		private byte[] bytes;
+
+		/** Time snapshot was encoded */
+		private long stamp;
+
+		/** Get encoded messages, if still valid */
+		private byte[] getBytes(long now) {
+			return (now - stamp < SNAPSHOT_MAX_MS) ? bytes : null;
+		}
+
+		/** Invalidate the snapshot */
+		private synchronized void invalidate() {
+			version++;
+			bytes = null;
+		}
+	}
+
+	/** Type name */
+	public final String tname;
+
+	/** Base type name */
+	public final String base;
+
+	/** All child objects of this type are put here.  Note: we still
+	 * synchronize on updates to this hash map to prevent inconsistency.
+	 * Synchronization is not needed to read or iterate over the map. */
+	private final ConcurrentHashMap<String, SonarObject> children =
+		new ConcurrentHashMap<String, SonarObject>(INITIAL_CAPACITY,
+		0.75f, 1);
+
+	/** Encoded snapshots of child objects, for fast enumeration */
+	private final ConcurrentHashMap<String, Snapshot> snapshots =
+		new ConcurrentHashMap<String, Snapshot>(INITIAL_CAPACITY,
+		0.75f, 4);
+
+	/** An attribute dispatcher can set and get attributes on objects */
+	private final AttributeDispatcher dispatcher;
+
+	/** Create a namespace type node */
+	public TypeNode(Namespace ns, Class c)
+		throws NoSuchFieldException, IllegalAccessException
+	{
+		tname = Namespace.typeName(c);
+		base = Namespace.baseName(c);
+		dispatcher = new AttributeDispatcher(c, ns);
+	}
+
+	/** Create a new object in the type node */
+	public SonarObject createObject(String name) throws SonarException {
+		if (children.containsKey(name))
+			throw NamespaceError.nameExists(name);
+		return dispatcher.createObject(name);
+	}
+
+	/** Store an object in the type node */
+	public void storeObject(SonarObject o) throws SonarException {
+		String name = o.getName();
+		synchronized (children) {
+			if (children.containsKey(name))
+				throw NamespaceError.nameExists(name);
+			dispatcher.storeObject(o);
+			children.put(name, o);
+			snapshots.remove(name);
+		}
+	}
+
+	/** Add an object to the type node without storing */
+	public void addObject(SonarObject o) throws NamespaceError {
+		String name = o.getName();
+		synchronized (children) {
+			if (children.containsKey(name))
+				throw NamespaceError.nameExists(name);
+			else {
+				children.put(name, o);
+				snapshots.remove(name);
+			}
+		}
+	}
+
+	/** Remove an object from the type node */
+	public void removeObject(SonarObject o) throws SonarException {
+		String n = o.getName();
+		synchronized (children) {
+			SonarObject obj = children.remove(n);
+			if (obj == null)
+				throw NamespaceError.nameUnknown(n);
+			if (obj != o)
+				throw NamespaceError.nameExists(n);
+			try {
+				dispatcher.destroyObject(o);
+			}
+			catch (SonarException e) {
+				children.put(n, o);
+				throw e;
+			}
+			snapshots.remove(n);
+		}
+	}
+
+	/** Invalidate the snapshot of an object after an attribute change */
+	public void invalidate(String n) {
+		Snapshot snap = snapshots.get(n);
+		if (snap != null)
+			snap.invalidate();
+	}
+
+	/** Lookup an object from the given name */
+	public SonarObject lookupObject(String n) {
+		return children.get(n);
+	}
+
+	/** Test if an attribute is gettable */
+	public boolean isGettable(String a) {
+		return dispatcher.isGettable(a);
+	}
+
+	/** Get the value of an attribute */
+	public String[] getValue(SonarObject o, String a)
+		throws SonarException
+	{
+		return dispatcher.getValue(o, a);
+	}
+
+	/** Enumerate all attributes of the named object */
+	public void enumerateObject(MessageEncoder enc, SonarObject o)
+		throws SonarException, IOException
+	{
+		assert(o.getTypeName() == tname);
+		enc.encode(getSnapshot(o));
+	}
+
+	/** Get an encoded snapshot of all attributes of an object */
+	private byte[] getSnapshot(SonarObject o) throws SonarException {
+		String n = o.getName();
+		Snapshot snap = snapshots.get(n);
+		if (snap == null) {
+			snap = new Snapshot();
+			Snapshot s = snapshots.putIfAbsent(n, snap);
+			if (s != null)
+				snap = s;
+		}
+		long now = currentTimeMillis();
+		int ver;
+		synchronized (snap) {
+			byte[] b = snap.getBytes(now);
+			if (b != null)
+				return b;
+			ver = snap.version;
+		}
+		byte[] b = encodeObject(o);
+		synchronized (snap) {
+			// Don't cache if invalidated or removed while encoding
+			if (snap.version == ver && children.get(n) == o) {
+				snap.bytes = b;
+				snap.stamp = now;
+			}
+		}
+		return b;
+	}
+
+	/** Encode all attributes of an object */
+	private byte[] encodeObject(SonarObject o) throws SonarException {
+		StringBuilder sb = new StringBuilder();
+		boolean first = true;
+		for (String a: dispatcher.getGettableAttributes()) {
+			String[] v = getValue(o, a);
+			if (first) {
+				a = new Name(o, a).toString();
+				first = false;
+			}
+			MessageEncoder.append(sb, Message.ATTRIBUTE, a, v);
+		}
+		if (first)
+			MessageEncoder.append(sb, Message.TYPE, tname, null);
+		MessageEncoder.append(sb, Message.OBJECT, o.getName(), null);
+		return MessageEncoder.toBytes(sb);
+	}
+
+	/** Enumerate all the objects of the type node */
+	public void enumerateObjects(MessageEncoder enc) throws SonarException,
+		IOException
+	{
+		// We must synchronize here to ensure that no objects are
+		// added or removed while enumerating
+		synchronized (children) {
+			for (SonarObject o: children.values())
+				enumerateObject(enc, o);
+		}
+	}
+
+	/** Set the value of an attribute.
+	 * @param name Attribute name in SONAR namespace.
+	 * @param v New attribute value.
+	 * @return phantom object if one was created; null otherwise */
+	public SonarObject setValue(Name name, String[] v)
+		throws SonarException
+	{
+		String oname = name.getObjectPart();
+		String aname = name.getAttributePart();
+		SonarObject o = children.get(oname);
+		if (o != null) {
+			dispatcher.setValue(o, aname, v);
+			return null;
+		} else {
+			o = dispatcher.createObject(oname);
+			setField(o, aname, v);
+			return o;
+		}
+	}
+
+	/** Set the field attribute value */
+	public void setField(SonarObject o, String a, String[] v)
+		throws SonarException
+	{
+		dispatcher.setField(o, a, v);
+	}
+
+	/** Get an iterator of all objects of the type */
+	public Iterator<SonarObject> iterator() {
+		return Collections.unmodifiableCollection(
+			children.values()).iterator();
+	}
+
+	/** Get the number of objects of this type */
+	public int size() {
+		return children.size();
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import us.mn.state.dot.sonar.Name;
+
+/**
+ * A watch index maps SONAR names to the watchers which are interested in
+ * them.  There are three kinds of watches:
+ *
+ *  - Object watch, "type/object" (highest priority, positive)
+ *  - Attribute watch, "type//attribute" (middle priority, negative)
+ *  - Type watch, "type" (lowest priority, positive)
+ *
+ * @author Douglas Lau
+ */
+public class WatchIndex<C> {
+
+	/** Check if a name is watch positive. This means that the name can be
+	 * used as a positive entry in the index. */
+	static public boolean isWatchPositive(Name name) {
+		return name.isType() || name.isObject();
+	}
+
+	/** Check if a name is watch negative. This means that the name can
+	 * be used as a negative entry in the index. */
+	static public boolean isWatchNegative(Name name) {
+		return name.isAttribute() && name.getObjectPart().equals("");
+	}
+
+	/** Watches for one type */
+	static private class TypeWatch<C> {
+
+		/** Watchers of the whole type */
+		private final HashSet<C> type_watchers = new HashSet<C>();
+
+		/** Watchers of objects, mapped by object name */
+		private final HashMap<String, HashSet<C>> obj_watchers =
+			new HashMap<String, HashSet<C>>();
+
+		/** Ignorers of attributes, mapped by attribute name */
+		private final HashMap<String, HashSet<C>> attr_ignorers =
+			new HashMap<String, HashSet<C>>();
+
+		/** Check if there are no watches */
+		private boolean isEmpty() {
+			return type_watchers.isEmpty()
+			    && obj_watchers.isEmpty()
+			    && attr_ignorers.isEmpty();
+		}
+	}
+
+	/** Add a watcher to a map of sets */
+	static private <C> void add(HashMap<String, HashSet<C>> map, String k,
+		C w)
+	{
+		HashSet<C> set = map.get(k);
+		if (set == null) {
+			set = new HashSet<C>();
+			map.put(k, set);
+		}
+		set.add(w);
+	}
+
+	/** Remove a watcher from a map of sets */
+	static private <C> void remove(HashMap<String, HashSet<C>> map,
+		String k, C w)
+	{
+		HashSet<C> set = map.get(k);
+		if (set != null) {
+			set.remove(w);
+			if (set.isEmpty())
+				map.remove(k);
+		}
+	}
+
+	/** Watches mapped by type name */
+	private final HashMap<String, TypeWatch<C>> types =
+		new HashMap<String, TypeWatch<C>>();
+
+	/** Get the watches for a type */
+	private TypeWatch<C> getTypeWatch(String t) {
+		TypeWatch<C> tw = types.get(t);
+		if (tw == null) {
+			tw = new TypeWatch<C>();
+			types.put(t, tw);
+		}
+		return tw;
+	}
+
+	/** Add an entry to the index.
+	 * @param name Watch positive or negative name.
+	 * @param w Watcher. */
+	public synchronized void add(Name name, C w) {
+		if (name.isType())
+			getTypeWatch(name.getTypePart()).type_watchers.add(w);
+		else if (name.isObject()) {
+			add(getTypeWatch(name.getTypePart()).obj_watchers,
+				name.getObjectPart(), w);
+		} else if (isWatchNegative(name)) {
+			add(getTypeWatch(name.getTypePart()).attr_ignorers,
+				name.getAttributePart(), w);
+		}
+	}
+
+	/** Remove an entry from the index.
+	 * @param name Watch positive or negative name.
+	 * @param w Watcher. */
+	public synchronized void remove(Name name, C w) {
+		String t = name.getTypePart();
+		TypeWatch<C> tw = types.get(t);
+		if (tw == null)
+			return;
+		if (name.isType())
+			tw.type_watchers.remove(w);
+		else if (name.isObject())
+			remove(tw.obj_watchers, name.getObjectPart(), w);
+		else if (isWatchNegative(name))
+			remove(tw.attr_ignorers, name.getAttributePart(), w);
+		if (tw.isEmpty())
+			types.remove(t);
+	}
+
+	/** Lookup all watchers of a name.
+	 * @param name Object or attribute name.
+	 * @param watchers Collection to add watchers of the name. */
+	public synchronized void lookup(Name name, Collection<C> watchers) {
+		TypeWatch<C> tw = types.get(name.getTypePart());
+		if (tw == null)
+			return;
+		HashSet<C> ow = tw.obj_watchers.get(name.getObjectPart());
+		if (ow != null)
+			watchers.addAll(ow);
+		HashSet<C> ai = name.isAttribute()
+		              ? tw.attr_ignorers.get(name.getAttributePart())
+		              : null;
+		for (C w: tw.type_watchers) {
+			if (ai != null && ai.contains(w))
+				continue;
+			if (ow != null && ow.contains(w))
+				continue;
+			watchers.add(w);
+		}
+	}
+
+	/** Check if a watcher is watching a name.
+	 * @param name Object or attribute name.
+	 * @param w Watcher.
+	 * @return true if the watcher is watching the name. */
+	public synchronized boolean isWatching(Name name, C w) {
+		TypeWatch<C> tw = types.get(name.getTypePart());
+		if (tw == null)
+			return false;
+		Set<C> ow = tw.obj_watchers.get(name.getObjectPart());
+		if (ow != null && ow.contains(w))
+			return true;
+		if (name.isAttribute()) {
+			Set<C> ai = tw.attr_ignorers.get(
+				name.getAttributePart());
+			if (ai != null && ai.contains(w))
+				return false;
+		}
+		return tw.type_watchers.contains(w);
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  SRF Consulting Group, Inc.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.camera;
+
+import us.mn.state.dot.tms.CameraTemplate;
+import us.mn.state.dot.tms.client.widget.IListCellRenderer;
+
+/**
+ * Renderer for encoder types.
+ *
+ * @author Gordon Parikh
+ */
+public class CameraTemplateRenderer extends IListCellRenderer<CameraTemplate> {
+
+	/** Show camera template label (not name) */
+	@Override
+	protected String valueToString(CameraTemplate ct) {
+		return ct.getLabel();
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2007-2016  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.map;
+
+import java.awt.geom.Point2D;
+
+/**
+ * A point selector allows the user to select a point on the map.
+ *
+ * @author Douglas Lau
+ */
+public interface PointSelector {
+
+	/** Select a point with the mouse pointer */
+	boolean selectPoint(Point2D p);
+
+	/** Finish point selection */
+	void finish();
+}
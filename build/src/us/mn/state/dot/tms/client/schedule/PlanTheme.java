@@ -0,0 +1,120 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2011-2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.client.schedule;
+
+import java.awt.Color;
+import javax.swing.Icon;
+import us.mn.state.dot.tms.ActionPlan;
+import us.mn.state.dot.tms.ItemStyle;
+import us.mn.state.dot.tms.client.beacon.BeaconMarker;
+import us.mn.state.dot.tms.client.camera.CameraMarker;
+import us.mn.state.dot.tms.client.dms.DmsMarker;
+import us.mn.state.dot.tms.client.gate.GateArmMarker;
+import us.mn.state.dot.tms.client.map.Style;
+import us.mn.state.dot.tms.client.map.VectorSymbol;
+import us.mn.state.dot.tms.client.meter.MeterMarker;
+import us.mn.state.dot.tms.client.meter.MeterTheme;
+import us.mn.state.dot.tms.client.proxy.ProxyTheme;
+
+/**
+ * Theme for action plans.
+ *
+ * @author Douglas Lau
+ */
+public class PlanTheme extends ProxyTheme<ActionPlan> {
+
+	/** Legend color */
+	static private final Color COLOR = new Color(255, 255, 0, 128);
+
+	/** Color to display schedule icon */
+	static private final Color COLOR_SCHEDULE = new Color(208, 0, 208);
+
+	/** Color to display phase icon */
+	static private final Color COLOR_PHASE = new Color(192, 208, 128);
+
+	/** Color for active camera style */
+	static private final Color COLOR_CAMERA = new Color(0, 192, 255);
+
+	/** Color for undeployed plans */
+	static private final Color COLOR_UNDEPLOYED = new Color(255, 0, 0);
+
+	/** Symbol for beacons */
+	static private final VectorSymbol SYM_BEACON = new VectorSymbol(
+		new BeaconMarker());
+
+	/** Symbol for cameras */
+	static private final VectorSymbol SYM_CAMERA = new VectorSymbol(
+		new CameraMarker());
+
+	/** Symbol for DMS */
+	static private final VectorSymbol SYM_DMS = new VectorSymbol(
+		new DmsMarker());
+
+	/** Symbol for gate arms */
+	static private final VectorSymbol SYM_GATE_ARM = new VectorSymbol(
+		new GateArmMarker());
+
+	/** Symbol for ramp meters */
+	static private final VectorSymbol SYM_METER = new VectorSymbol(
+		new MeterMarker());
+
+	/** Symbol for time actions */
+	static private final VectorSymbol SYM_TIME = new VectorSymbol(
+		new TimeMarker());
+
+	/** Symbol for phase actions */
+	static private final VectorSymbol SYM_PHASE = new VectorSymbol(
+		new PhaseMarker());
+
+	/** Create a new plan theme */
+	public PlanTheme(PlanManager man) {
+		super(man, new PlanMarker());
+		// These are all the filtering buttons
+		addStyle(ItemStyle.DMS, COLOR_SCHEDULED);
+		addStyle(ItemStyle.BEACON, COLOR_DEPLOYED);
+		addStyle(ItemStyle.CAMERA, COLOR_CAMERA);
+		addStyle(ItemStyle.GATE_ARM, COLOR_DEPLOYED);
+		addStyle(ItemStyle.METER, MeterTheme.COLOR_METERING);
+		addStyle(ItemStyle.TIME, COLOR_SCHEDULE);
+		addStyle(ItemStyle.PHASE, COLOR_PHASE);
+		addStyle(ItemStyle.ACTIVE, COLOR);
+		addStyle(ItemStyle.UNDEPLOYED, COLOR_UNDEPLOYED);
+		addStyle(ItemStyle.ALL);
+	}
+
+	/** Get a legend icon for a style */
+	@Override
+	public Icon getLegend(Style sty) {
+		ItemStyle is = ItemStyle.lookupStyle(sty.toString());
+		switch (is) {
+		case BEACON:
+			return SYM_BEACON.getLegend(sty);
+		case CAMERA:
+			return SYM_CAMERA.getLegend(sty);
+		case DMS:
+			return SYM_DMS.getLegend(sty);
+		case GATE_ARM:
+			return SYM_GATE_ARM.getLegend(sty);
+		case METER:
+			return SYM_METER.getLegend(sty);
+		case TIME:
+			return SYM_TIME.getLegend(sty);
+		case PHASE:
+			return SYM_PHASE.getLegend(sty);
+		default:
+			return super.getLegend(sty);
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2020  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+package us.mn.state.dot.tms.client.wysiwyg.editor;
+
+import us.mn.state.dot.tms.client.widget.AbstractForm;
+import us.mn.state.dot.tms.client.widget.ILabel;
+import us.mn.state.dot.tms.utils.I18N;
+
+/**
+ * WYSIWYG DMS Message Editor Error Form.
+ *
+ * @author Gordon Parikh - SRF Consulting
+ */
+@SuppressWarnings("serial")
+public class WMsgErrorDialog extends AbstractForm {
+	
+	private String errorMsgId;
+	
+	private ILabel errorLabel;
+	
+	protected WMsgErrorDialog(String msgId) {
+		super(I18N.get("wysiwyg.error"));
+		errorMsgId = msgId;
+	}
+	
+	protected void initialize() {
+		errorLabel = new ILabel(errorMsgId);
+		add(errorLabel);
+	}
+	
+}
\ No newline at end of file
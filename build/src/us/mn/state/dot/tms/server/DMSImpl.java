@@ -0,0 +1,1282 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
+ * Copyright (C) 2008-2009  AHMCT, University of California
+ * Copyright (C) 2012-2021  Iteris Inc.
+ * Copyright (C) 2016-2020  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.SonarException;
+import us.mn.state.dot.tms.ActionPlan;
+import us.mn.state.dot.tms.Beacon;
+import us.mn.state.dot.tms.BeaconHelper;
+import us.mn.state.dot.tms.BeaconState;
+import us.mn.state.dot.tms.CameraPreset;
+import us.mn.state.dot.tms.ChangeVetoException;
+import us.mn.state.dot.tms.Controller;
+import us.mn.state.dot.tms.DeviceAction;
+import us.mn.state.dot.tms.DeviceRequest;
+import us.mn.state.dot.tms.DmsLock;
+import us.mn.state.dot.tms.DMS;
+import us.mn.state.dot.tms.DMSHelper;
+import us.mn.state.dot.tms.EventType;
+import us.mn.state.dot.tms.Font;
+import us.mn.state.dot.tms.GeoLoc;
+import us.mn.state.dot.tms.GeoLocHelper;
+import us.mn.state.dot.tms.Gps;
+import us.mn.state.dot.tms.Graphic;
+import us.mn.state.dot.tms.Hashtags;
+import us.mn.state.dot.tms.Incident;
+import us.mn.state.dot.tms.IncidentHelper;
+import us.mn.state.dot.tms.InvalidMsgException;
+import us.mn.state.dot.tms.ItemStyle;
+import us.mn.state.dot.tms.MsgPattern;
+import us.mn.state.dot.tms.RasterBuilder;
+import us.mn.state.dot.tms.SignConfig;
+import us.mn.state.dot.tms.SignConfigHelper;
+import us.mn.state.dot.tms.SignDetail;
+import us.mn.state.dot.tms.SignDetailHelper;
+import us.mn.state.dot.tms.SignMessage;
+import us.mn.state.dot.tms.SignMessageHelper;
+import us.mn.state.dot.tms.SignMsgPriority;
+import us.mn.state.dot.tms.SignMsgSource;
+import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.WeatherSensor;
+import us.mn.state.dot.tms.WeatherSensorHelper;
+import us.mn.state.dot.tms.geo.Position;
+import static us.mn.state.dot.tms.server.MainServer.FLUSH;
+import static us.mn.state.dot.tms.server.XmlWriter.createAttribute;
+import us.mn.state.dot.tms.server.comm.DevicePoller;
+import us.mn.state.dot.tms.server.comm.DMSPoller;
+import us.mn.state.dot.tms.server.event.BrightnessSample;
+import us.mn.state.dot.tms.server.event.PriceMessageEvent;
+import us.mn.state.dot.tms.server.event.SignEvent;
+import us.mn.state.dot.tms.units.Interval;
+import static us.mn.state.dot.tms.units.Interval.Units.MINUTES;
+import us.mn.state.dot.tms.utils.MultiString;
+
+/**
+ * Dynamic Message Sign
+ *
+ * @author Douglas Lau
+ * @author Michael Darter
+ * @author John L. Stanley - SRF Consulting
+ */
+public class DMSImpl extends DeviceImpl implements DMS, Comparable<DMSImpl> {
+
+	/** DMS / weather sensor mapping */
+	static private TableMapping ess_map;
+
+	/** Test if a sign message is from a specified source */
+	static private boolean isMsgSource(SignMessage sm, SignMsgSource src) {
+		int bits = SignMessageHelper.sourceBits(sm);
+		return src.checkBit(bits);
+	}
+
+	/** Check if a message is scheduled and not sticky */
+	static private boolean isScheduledUnsticky(SignMessage sm) {
+		return isMsgSource(sm, SignMsgSource.schedule) &&
+		      !sm.getSticky();
+	}
+
+	/** Comm loss threshold to blank user message */
+	static private final Interval COMM_LOSS_THRESHOLD =
+		new Interval(5, MINUTES);
+
+	/** Number of polling periods for scheduled message duration */
+	static private final int SCHED_DURATION_PERIODS = 3;
+
+	/** Interface for handling brightness samples */
+	static public interface BrightnessHandler {
+		void feedback(EventType et, int photo, int output);
+	}
+
+	/** Load all the DMS */
+	static protected void loadAll() throws TMSException {
+		ess_map = new TableMapping(store, "iris", SONAR_TYPE,
+			WeatherSensor.SONAR_TYPE);
+		store.query("SELECT name, geo_loc, controller, pin, notes, " +
+			"static_graphic, preset, sign_config, sign_detail, " +
+			"msg_sched, msg_current, lock, status, " +
+			"pixel_failures FROM iris." + SONAR_TYPE + ";",
+			new ResultFactory()
+		{
+			public void create(ResultSet row) throws Exception {
+				namespace.addObject(new DMSImpl(row));
+			}
+		});
+	}
+
+	/** Update all DMS item styles */
+	static void updateAllStyles() {
+		Iterator<DMS> it = DMSHelper.iterator();
+		while (it.hasNext()) {
+			DMS d = it.next();
+			if (d instanceof DMSImpl) {
+				DMSImpl dms = (DMSImpl) d;
+				dms.updateStyles();
+			}
+		}
+	}
+
+	/** Get a mapping of the columns */
+	@Override
+	public Map<String, Object> getColumns() {
+		HashMap<String, Object> map = new HashMap<String, Object>();
+		map.put("name", name);
+		map.put("geo_loc", geo_loc);
+		map.put("controller", controller);
+		map.put("pin", pin);
+		map.put("notes", notes);
+		map.put("static_graphic", static_graphic);
+		map.put("preset", preset);
+		map.put("sign_config", sign_config);
+		map.put("sign_detail", sign_detail);
+		map.put("msg_sched", msg_sched);
+		map.put("msg_current", msg_current);
+		map.put("lock", lock);
+		map.put("status", status);
+		map.put("pixel_failures", pixel_failures);
+		return map;
+	}
+
+	/** Compare to another DMS */
+	@Override
+	public int compareTo(DMSImpl o) {
+		return name.compareTo(o.name);
+	}
+
+	/** Create a new DMS with a string name */
+	public DMSImpl(String n) throws TMSException, SonarException {
+		super(n);
+		GeoLocImpl g = new GeoLocImpl(name, SONAR_TYPE);
+		g.notifyCreate();
+		geo_loc = g;
+		lock = null;
+		status = null;
+		pixel_failures = null;
+	}
+
+	/** Create a dynamic message sign */
+	private DMSImpl(ResultSet row) throws Exception {
+		this(row.getString(1),   // name
+		     row.getString(2),   // geo_loc
+		     row.getString(3),   // controller
+		     row.getInt(4),      // pin
+		     row.getString(5),   // notes
+		     row.getString(6),   // static_graphic
+		     row.getString(7),   // preset
+		     row.getString(8),   // sign_config
+		     row.getString(9),   // sign_detail
+		     row.getString(10),  // msg_sched
+		     row.getString(11),  // msg_current
+		     row.getString(12),  // lock
+		     row.getString(13),  // status
+		     row.getString(14)   // pixel_failures
+		);
+	}
+
+	/** Create a dynamic message sign */
+	private DMSImpl(String n, String loc, String c, int p, String nt,
+		String sg, String cp, String sc, String sd, String ms,
+		String mc, String lk, String st, String pf)
+		throws TMSException
+	{
+		super(n, lookupController(c), p, nt);
+		geo_loc = lookupGeoLoc(loc);
+		static_graphic = lookupGraphic(sg);
+		setPreset(lookupPreset(cp));
+		sign_config = SignConfigHelper.lookup(sc);
+		sign_detail = SignDetailHelper.lookup(sd);
+		msg_sched = SignMessageHelper.lookup(ms);
+		msg_current = SignMessageHelper.lookup(mc);
+		lock = lk;
+		status = st;
+		pixel_failures = pf;
+		weather_sensors = lookupEssMapping();
+		initTransients();
+	}
+
+	/** Lookup mapping of RWIS sensors configured to the sign */
+	private WeatherSensorImpl[] lookupEssMapping() throws TMSException {
+		TreeSet<WeatherSensorImpl> ws_set =
+			new TreeSet<WeatherSensorImpl>();
+		for (String o: ess_map.lookup(this)) {
+			WeatherSensor ws = WeatherSensorHelper.lookup(o);
+			if (ws instanceof WeatherSensorImpl)
+				ws_set.add((WeatherSensorImpl) ws);
+		}
+		return ws_set.toArray(new WeatherSensorImpl[0]);
+	}
+
+	/** Destroy an object */
+	@Override
+	public void doDestroy() throws TMSException {
+		super.doDestroy();
+		setPreset(null);
+		geo_loc.notifyRemove();
+	}
+
+	/** Set the controller to which this DMS is assigned */
+	@Override
+	public void setController(Controller c) {
+		super.setController(c);
+		if (c != null)
+			setConfigure(false);
+	}
+
+	/** Request to query configuration of the DMS */
+	public void requestConfigure() {
+		if (!configure)
+			sendDeviceRequest(DeviceRequest.QUERY_CONFIGURATION);
+	}
+
+	/** Configure flag indicates that the sign has been configured */
+	private boolean configure;
+
+	/** Set the configure flag.
+	 *  @param c Set to true to indicate the DMS is configured. */
+	public void setConfigure(boolean c) {
+		configure = c;
+		// Since this is called after every failed operation, check if
+		// communication has been failed too long.  If so, clear the
+		// lock to prevent messages from popping up days later, after
+		// communication is restored.
+		if (!c && getFailMillis() >= COMM_LOSS_THRESHOLD.ms())
+			resetLock();
+	}
+
+	/** Reset the user lock and log a reset sign event */
+	private void resetLock() {
+		if (lock != null) {
+			DmsLock lk = new DmsLock(lock);
+			String ms = lk.optMulti();
+			if (ms == null)
+				ms = "";
+			int src = SignMsgSource.operator.bit();
+			if (lk.optIncident() != null)
+				src |= SignMsgSource.incident.bit();
+			String user = lk.getUser();
+			String owner =
+				SignMessageHelper.makeMsgOwner(src, user);
+			logEvent(new SignEvent(
+				EventType.DMS_MSG_RESET,
+				name,
+				ms,
+				owner
+			));
+			setLockNotify(null, false);
+		}
+	}
+
+	/** Get the configure flag.
+	 *  @return True to indicate the DMS is configured else false. */
+	public boolean getConfigure() {
+		return configure;
+	}
+
+	/** Device location */
+	private final GeoLocImpl geo_loc;
+
+	/** Get the device location */
+	@Override
+	public GeoLoc getGeoLoc() {
+		return geo_loc;
+	}
+
+	/** Static graphic (hybrid sign) */
+	private Graphic static_graphic;
+
+	/** Set static graphic (hybrid sign) */
+	@Override
+	public void setStaticGraphic(Graphic sg) {
+		static_graphic = sg;
+	}
+
+	/** Set static graphic (hybrid sign) */
+	public void doSetStaticGraphic(Graphic sg) throws TMSException {
+		if (sg != static_graphic) {
+			store.update(this, "static_graphic", sg);
+			setStaticGraphic(sg);
+		}
+	}
+
+	/** Get static graphic (hybrid sign) */
+	@Override
+	public Graphic getStaticGraphic() {
+		return static_graphic;
+	}
+
+	/** Set the administrator notes */
+	@Override
+	public void doSetNotes(String n) throws TMSException {
+		super.doSetNotes(n);
+		updateStyles();
+	}
+
+	/** Add a hashtag to the DMS */
+	public synchronized void addHashtagNotify(String ht) {
+		ht = Hashtags.normalize(ht);
+		if (ht == null)
+			return;
+		if (new Hashtags(notes).contains(ht))
+			return;
+		try {
+			doSetNotes(Hashtags.add(notes, ht));
+			notifyAttribute("notes");
+		}
+		catch (TMSException e) {
+			logError("add hashtags: " + e.getMessage());
+		}
+	}
+
+	/** Remove a hashtag to the DMS */
+	public synchronized void removeHashtagNotify(String ht) {
+		ht = Hashtags.normalize(ht);
+		if (ht == null)
+			return;
+		if (!new Hashtags(notes).contains(ht))
+			return;
+		try {
+			doSetNotes(Hashtags.remove(notes, ht));
+			notifyAttribute("notes");
+		}
+		catch (TMSException e) {
+			logError("remove hashtags: " + e.getMessage());
+		}
+	}
+
+	/** Update remote beacons */
+	private void updateBeacons() {
+		Iterator<Beacon> it = BeaconHelper.iterator(name);
+		while (it.hasNext()) {
+			Beacon b = it.next();
+			boolean f = isOnline() && isMsgBeacon();
+			BeaconState bs = (f)
+				? BeaconState.FLASHING_REQ
+				: BeaconState.DARK_REQ;
+			b.setState(bs.ordinal());
+		}
+	}
+
+	/** Camera preset from which this can be seen */
+	private CameraPreset preset;
+
+	/** Set the verification camera preset */
+	@Override
+	public void setPreset(CameraPreset cp) {
+		final CameraPreset ocp = preset;
+		if (cp instanceof CameraPresetImpl) {
+			CameraPresetImpl cpi = (CameraPresetImpl) cp;
+			cpi.setAssignedNotify(true);
+		}
+		preset = cp;
+		if (ocp instanceof CameraPresetImpl) {
+			CameraPresetImpl ocpi = (CameraPresetImpl) ocp;
+			ocpi.setAssignedNotify(false);
+		}
+	}
+
+	/** Set the verification camera preset */
+	public void doSetPreset(CameraPreset cp) throws TMSException {
+		if (cp != preset) {
+			store.update(this, "preset", cp);
+			setPreset(cp);
+		}
+	}
+
+	/** Get verification camera preset */
+	@Override
+	public CameraPreset getPreset() {
+		return preset;
+	}
+
+	/** RWIS sensors configured to the sign */
+	private WeatherSensorImpl[] weather_sensors = new WeatherSensorImpl[0];
+
+	/** Set the RWIS sensors configured to the sign */
+	@Override
+	public void setWeatherSensors(WeatherSensor[] ess) {
+		weather_sensors = makeWeatherSensorArray(ess);
+	}
+
+	/** Make an ordered array of weather sensors */
+	private WeatherSensorImpl[] makeWeatherSensorArray(
+		WeatherSensor[] ess)
+	{
+		TreeSet<WeatherSensorImpl> ws_set =
+			new TreeSet<WeatherSensorImpl>();
+		for (WeatherSensor ws: ess) {
+			if (ws instanceof WeatherSensorImpl)
+				ws_set.add((WeatherSensorImpl) ws);
+		}
+		return ws_set.toArray(new WeatherSensorImpl[0]);
+	}
+
+	/** Set the RWIS sensors configured to the sign */
+	public void doSetWeatherSensors(WeatherSensor[] ess)
+		throws TMSException
+	{
+		TreeSet<Storable> ws_set = new TreeSet<Storable>();
+		for (WeatherSensor ws: ess) {
+			if (ws instanceof WeatherSensorImpl)
+				ws_set.add((WeatherSensorImpl) ws);
+			else
+				throw new ChangeVetoException("Invalid ESS");
+		}
+		ess_map.update(this, ws_set);
+		setWeatherSensors(ess);
+	}
+
+	/** Get the RWIS sensors configured to the sign */
+	@Override
+	public WeatherSensor[] getWeatherSensors() {
+		return weather_sensors;
+	}
+
+	/** Sign configuration */
+	private SignConfig sign_config;
+
+	/** Get the sign configuration */
+	@Override
+	public SignConfig getSignConfig() {
+		return sign_config;
+	}
+
+	/** Set the sign config */
+	public void setSignConfigNotify(SignConfigImpl sc) {
+		if (!objectEquals(sc, sign_config)) {
+			try {
+				store.update(this, "sign_config", sc);
+			}
+			catch (TMSException e) {
+				logError("sign_config: " + e.getMessage());
+				return;
+			}
+			sign_config = sc;
+			notifyAttribute("signConfig");
+			resetStateNotify(true);
+			updateStyles();
+		}
+	}
+
+	/** Sign detail */
+	private SignDetail sign_detail;
+
+	/** Get the sign detail */
+	@Override
+	public SignDetail getSignDetail() {
+		return sign_detail;
+	}
+
+	/** Set the sign detail */
+	public void setSignDetailNotify(SignDetailImpl sd) {
+		if (!objectEquals(sd, sign_detail)) {
+			try {
+				store.update(this, "sign_detail", sd);
+			}
+			catch (TMSException e) {
+				logError("sign_detail: " + e.getMessage());
+				return;
+			}
+			sign_detail = sd;
+			notifyAttribute("signDetail");
+		}
+	}
+
+	/** Reset sign state (and notify clients) */
+	private void resetStateNotify(boolean full) {
+		setStatusNotify(null);
+		setPixelFailuresNotify(null);
+		if (full) {
+			resetLock();
+			setMsgSchedNotify(null);
+			setMsgCurrentNotify(null, false);
+		}
+	}
+
+	/** Create a blank message for the sign */
+	public SignMessage createMsgBlank(int src) {
+		src |= SignMsgSource.blank.bit();
+		String owner = SignMessageHelper.makeMsgOwner(src);
+		SignMsgPriority mp = SignMsgPriority.low_1;
+		return SignMessageImpl.findOrCreate(sign_config, "", owner,
+			false, false, false, mp);
+	}
+
+	/** Create a message for the sign.
+	 * @param ms MULTI string for message.
+	 * @param owner Message owner.
+	 * @param st Sticky flag.
+	 * @param fb Flash beacon flag.
+	 * @param ps Pixel service flag.
+	 * @param mp Message priority.
+	 * @return New sign message, or null on error. */
+	public SignMessage createMsg(String ms, String owner, boolean st,
+		boolean fb, boolean ps, SignMsgPriority mp)
+	{
+		return SignMessageImpl.findOrCreate(sign_config, ms, owner,
+			st, fb, ps, mp);
+	}
+
+	/** Create a scheduled message.
+	 * @param pa Planned action.
+	 * @return New sign message, or null on error. */
+	private SignMessage createMsgSched(PlannedAction pa) {
+		assert (pa != null);
+		DeviceAction da = pa.action;
+		ActionPlan ap = da.getActionPlan();
+		String ms = pa.multi;
+		int src = pa.sources;
+		String owner = SignMessageHelper.makeMsgOwner(src,
+			ap.getName());
+		MsgPattern pat = da.getMsgPattern();
+		boolean st = ap.getSticky();
+		boolean fb = (pat != null) && pat.getFlashBeacon();
+		boolean ps = (pat != null) && pat.getPixelService();
+		SignMsgPriority mp = SignMsgPriority.fromOrdinal(
+			da.getMsgPriority());
+		return SignMessageImpl.findOrCreate(sign_config, ms, owner,
+			st, fb, ps, mp);
+	}
+
+	/** Owner of sent blank message.
+	 * Since `blank` messages have no owner, save here for logging */
+	private transient String blank_owner;
+
+	/** Set the owner of a blank message */
+	public void setBlankOwner(String bo) {
+		blank_owner = bo;
+	}
+
+	/** Get the user lock message */
+	private SignMessage getMsgUser() {
+		DmsLock lk = new DmsLock(lock);
+		String ms = lk.optMulti();
+		if (ms == null)
+			return null;
+		MultiString multi = new MultiString(ms);
+		if (multi.isBlank())
+			return null;
+		int src = SignMsgSource.operator.bit();
+		String user = lk.getUser();
+		SignMsgPriority mp = SignMsgPriority.high_1;
+		Incident inc = IncidentHelper.lookupByOriginal(
+			lk.optIncident());
+		if (inc != null) {
+			mp = IncidentHelper.getPriority(inc);
+			src |= SignMsgSource.incident.bit();
+		}
+		String owner = SignMessageHelper.makeMsgOwner(src, user);
+		boolean fb = lk.optFlashBeacon();
+		boolean ps = lk.optPixelService();
+		return SignMessageImpl.findOrCreate(sign_config, ms, owner,
+			false, fb, ps, mp);
+	}
+
+	/** Check if the current message is operator expiring */
+	public boolean isOperatorExpiring() {
+		SignMessage sm = msg_current;
+		if (isMsgSource(sm, SignMsgSource.operator) &&
+		    !SignMessageHelper.isBlank(sm))
+		{
+			DmsLock lk = new DmsLock(lock);
+			return lk.optExpires() != null;
+		}
+		return false;
+	}
+
+	/** Scheduled sign message */
+	private SignMessage msg_sched;
+
+	/** Get the scheduled sign messasge.
+	 * @return Scheduled sign message */
+	@Override
+	public SignMessage getMsgSched() {
+		return msg_sched;
+	}
+
+	/** Choose the planned action */
+	@Override
+	public PlannedAction choosePlannedAction() {
+		PlannedAction pa = super.choosePlannedAction();
+		SignMessage sm = (pa != null) ? createMsgSched(pa) : null;
+		setPrices(pa);
+		if (setMsgSchedNotify(sm))
+			updateSchedMsg();
+		return pa;
+	}
+
+	/** Check if a planned action is valid */
+	@Override
+	protected boolean checkPlannedAction(PlannedAction pa) {
+		return pa.condition &&
+		       DMSHelper.isRasterizable(this, pa.multi);
+	}
+
+	/** Set the scheduled sign message.
+	 * @param sm New scheduled sign message.
+	 * @return true If scheduled message changed. */
+	private boolean setMsgSchedNotify(SignMessage sm) {
+		if (!objectEquals(msg_sched, sm)) {
+			try {
+				store.update(this, "msg_sched", sm);
+				msg_sched = sm;
+				notifyAttribute("msgSched");
+				return true;
+			}
+			catch (TMSException e) {
+				logError("msg_sched: " + e.getMessage());
+				return false;
+			}
+		} else
+			return false;
+	}
+
+	/** Update scheduled message.
+	 *
+	 * This should be called on each polling period to update the message
+	 * duration.  Also, if a scheduled message has just expired, it will
+	 * be replaced by the user/lock message. */
+	private void updateSchedMsg() {
+		SignMessage sm = getMsgSchedValidated();
+		if (sm != null) {
+			try {
+				sendMsg(sm, "schedule");
+			}
+			catch (TMSException e) {
+				logError("updateSchedMsg: " +
+					e.getMessage());
+			}
+		}
+	}
+
+	/** Get validated scheduled message */
+	private SignMessage getMsgSchedValidated() {
+		if (isMsgScheduled() || msg_sched != null) {
+			SignMessage sm = getMsgValidated();
+			if (isMsgSource(sm, SignMsgSource.schedule) ||
+			    isMsgScheduled())
+				return sm;
+		}
+		return null;
+	}
+
+	/** Tolling prices */
+	private transient ArrayList<PriceMessageEvent> prices;
+
+	/** Set tolling prices */
+	private void setPrices(PlannedAction pa) {
+		prices = (pa != null) ? pa.prices : null;
+	}
+
+	/** Log price (tolling) messages.
+	 * @param et Event type. */
+	private void logPriceMessages(EventType et) {
+		ArrayList<PriceMessageEvent> p = prices;
+		if (p != null) {
+			for (PriceMessageEvent ev : p) {
+				logEvent(ev.withEventType(et));
+			}
+		}
+	}
+
+	/** Current message */
+	private SignMessage msg_current;
+
+	/** Set the current message */
+	private void setMsgCurrent(SignMessage sm) {
+		try {
+			store.update(this, "msg_current", sm);
+			msg_current = sm;
+		}
+		catch (TMSException e) {
+			logError("msg_current: " + e.getMessage());
+		}
+	}
+
+	/** Set the current message.
+	 * @param sm Sign message.
+	 * @param sent True if message was sent (not queried). */
+	public void setMsgCurrentNotify(SignMessage sm, boolean sent) {
+		if (isMsgSource(sm, SignMsgSource.tolling))
+			logPriceMessages(EventType.PRICE_VERIFIED);
+		if (sm != msg_current) {
+			logMsg(sm, sent);
+			setMsgCurrent(sm);
+			notifyAttribute("msgCurrent");
+			updateStyles();
+		}
+		updateBeacons();
+		// If current msg is blank, check if a scheduled msg should be
+		// sent.  This is needed for comm links with long polling
+		// periods, otherwise the scheduled msg will not display until
+		// the next poll.  This really shouldn't be needed at all, but
+		// some DMS will randomly blank themselves for unknown reasons.
+		if (isMsgBlank())
+			updateSchedMsg();
+	}
+
+	/** Get the current messasge.
+	 * @return Currently active message */
+	@Override
+	public SignMessage getMsgCurrent() {
+		return msg_current;
+	}
+
+	/** Log a message.
+	 * @param sm Sign message. */
+	private void logMsg(SignMessage sm, boolean sent) {
+		EventType et = EventType.DMS_DEPLOYED;
+		String text = (sm != null) ? sm.getMulti() : null;
+		String owner = (sm != null)
+			? sm.getMsgOwner()
+			: SignMessageHelper.makeMsgOwner(
+				SignMsgSource.reset.bit());
+		if (SignMessageHelper.isBlank(sm)) {
+			et = EventType.DMS_CLEARED;
+			text = null;
+			if (sent && blank_owner != null)
+				owner = blank_owner;
+		}
+		logEvent(new SignEvent(et, name, text, owner));
+		if (sent)
+			setBlankOwner(null);
+	}
+
+	/** Next sign message (sending in process) */
+	private transient SignMessage msg_next;
+
+	/** Set the next sign message.  This must be called by operations after
+	 * getting exclusive device ownership.  It must be set back to null
+	 * after the operation completes.  This is necessary to prevent the
+	 * ReaperJob from destroying a SignMessage before it has been sent to
+	 * a sign.
+	 * @see us.mn.state.dot.tms.server.DeviceImpl#acquire */
+	public void setMsgNext(SignMessage sm) {
+		msg_next = sm;
+	}
+
+	/** Get validated user/scheduled sign message.
+	 * @return Validated sign message. */
+	private SignMessage getMsgValidated() {
+		SignMessage sm = getMsgCombined();
+		if (sm != null) {
+			String ms = sm.getMulti();
+			try {
+				SignMessageHelper.validate(this, ms);
+				return sm;
+			}
+			catch (InvalidMsgException e) {
+				// message can't be displayed,
+				// most likely due to pixel failures
+				logEvent(new SignEvent(
+					e.getEventType(),
+					name,
+					ms,
+					sm.getMsgOwner()
+				));
+			}
+		}
+		// no message, or invalid -- blank the sign
+		return createMsgBlank(0);
+	}
+
+	/** Get combined lock / scheduled sign message.
+	 * @return The appropriate sign message, or null. */
+	private SignMessage getMsgCombined() {
+		SignMessage sched = msg_sched;   // Avoid race
+		SignMessage user = getMsgUser(); // Avoid race
+		SignMessage combined = tryCombine(sched, user);
+		if (combined != null)
+			return combined;
+		else
+			return checkPriority(sched, user) ? sched : user;
+	}
+
+	/** Try to make a combined sched/user message */
+	private SignMessage tryCombine(SignMessage sched, SignMessage user) {
+		if (null == sched || null == user)
+			return null;
+		RasterBuilder rb = DMSHelper.createRasterBuilder(this);
+		String ms = rb.combineMulti(sched.getMulti(), user.getMulti());
+		if (rb.isRasterizable(ms)) {
+			SignMessage sm = createMsgCombined(sched, user, ms);
+			if (sm != null) {
+				// Check whether combined message can be
+				// displayed without too many pixel errors
+				try {
+					SignMessageHelper.validate(this, ms);
+					return sm;
+				}
+				catch (InvalidMsgException e) {
+					// too many pixel errors
+				}
+			}
+		}
+		return null;
+	}
+
+	/** Create a combined sign message */
+	private SignMessage createMsgCombined(SignMessage sched,
+		SignMessage user, String ms)
+	{
+		boolean st = false;
+		boolean fb = user.getFlashBeacon();
+		boolean ps = user.getPixelService();
+		SignMsgPriority mp = SignMsgPriority.fromOrdinal(
+			user.getMsgPriority());
+		// combine user and scheduled message sources
+		int src = SignMsgSource.fromString(
+				SignMessageHelper.getMsgOwnerSources(user)
+			) |
+			SignMsgSource.fromString(
+				SignMessageHelper.getMsgOwnerSources(sched)
+			);
+		String unm = SignMessageHelper.getMsgOwnerName(user);
+		String owner = SignMessageHelper.makeMsgOwner(src, unm);
+		return SignMessageImpl.findOrCreate(sign_config, ms, owner,
+			st, fb, ps, mp);
+	}
+
+	/** Compare sign messages for higher priority */
+	private boolean checkPriority(SignMessage sm1, SignMessage sm2) {
+		return (sm2 == null) ||
+		       (sm1 != null &&
+		        sm1.getMsgPriority() > sm2.getMsgPriority());
+	}
+
+	/** Send message to DMS.
+	 * @param sm Sign message (not null).
+	 * @param owner Owner name for blank message. */
+	private void sendMsg(SignMessage sm, String owner) throws TMSException {
+		DMSPoller p = getDMSPoller();
+		if (null == p) {
+			throw new ChangeVetoException(name +
+				": NO ACTIVE POLLER");
+		}
+		if (sm != null) {
+			if (SignMessageHelper.isBlank(sm)) {
+				int src = SignMessageHelper.sourceBits(sm);
+				setBlankOwner(SignMessageHelper.makeMsgOwner(
+					src, owner));
+			}
+			if (isMsgSource(sm, SignMsgSource.tolling))
+			    logPriceMessages(EventType.PRICE_DEPLOYED);
+			p.sendMessage(this, sm);
+		}
+	}
+
+	/** Check if the sign has a reference to a sign message */
+	public boolean hasReference(final SignMessage sm) {
+		return sm == msg_current ||
+		       sm == msg_next ||
+		       sm == msg_sched;
+	}
+
+	/** DMS lock (JSON) */
+	private String lock;
+
+	/** Set the lock as JSON */
+	@Override
+	public void setLock(String lk) {
+		lock = lk;
+	}
+
+	/** Update the lock and styles */
+	private void updateLock(String lk) throws TMSException {
+		store.update(this, "lock", lk);
+		setLock(lk);
+		updateStyles();
+	}
+
+	/** Set the lock as JSON (called by client) */
+	public void doSetLock(String lk) throws TMSException {
+		if (!objectEquals(lk, lock)) {
+			if (lk != null)
+				checkLock(new DmsLock(lk));
+			updateLock(lk);
+			sendMsg(getMsgValidated(), getProcUser());
+		}
+	}
+
+	/** Check a lock sent by client */
+	private void checkLock(DmsLock lk) throws TMSException {
+		String usr = getProcUser();
+		if (!usr.equals(lk.optUser()))
+			throw new ChangeVetoException("Bad user!");
+		String exp = lk.optExpires();
+		if (exp != null && TimeSteward.parse8601(exp) == null)
+			throw new ChangeVetoException("Bad expiration!");
+		String ms = lk.optMulti();
+		if (ms == null)
+			throw new ChangeVetoException("Bad MULTI!");
+		SignMessageHelper.validate(this, ms);
+		// Does the user have permission to send the message?
+		int lvl = accessLevel(new Name(this, "lock"));
+		switch (lvl) {
+		case 2: // "Operate" access level
+			denyFreeForm(ms);
+			return;
+		case 3: // "Manage" access level
+			checkFreeFormBanned(ms);
+			return;
+		case 4: // "Configure" access level
+			// not checked
+			return;
+		default:
+			throw new ChangeVetoException("NOT PERMITTED");
+		}
+	}
+
+	/** Deny free-form text in a message */
+	private void denyFreeForm(String ms) throws TMSException {
+		MultiString multi = new MultiString(ms);
+		if (multi.isBlank())
+			return;
+		String msg = DMSHelper.validateFreeFormLines(this, ms);
+		if (msg != null)
+			throw new ChangeVetoException(msg);
+	}
+
+	/** Check for banned words in free-form text */
+	private void checkFreeFormBanned(String ms) throws TMSException {
+		MultiString multi = new MultiString(ms);
+		if (multi.isBlank())
+			return;
+		String msg = DMSHelper.validateFreeFormWords(this, ms);
+		if (msg != null)
+			throw new ChangeVetoException(msg);
+	}
+
+	/** Set the lock from server and notify clients */
+	public void setLockNotify(String lk, boolean send) {
+		if (!objectEquals(lk, lock)) {
+			try {
+				updateLock(lk);
+				notifyAttribute("lock");
+				if (send) {
+					String usr = new DmsLock(lk).getUser();
+					sendMsg(getMsgValidated(), usr);
+				}
+			}
+			catch (TMSException e) {
+				logError("lock: " + e.getMessage());
+			}
+		}
+	}
+
+	/** Get the lock as JSON */
+	@Override
+	public String getLock() {
+		return lock;
+	}
+
+	/** Current (JSON) sign status */
+	private String status;
+
+	/** Set the current sign status as JSON */
+	public void setStatusNotify(String st) {
+		if (!objectEquals(st, status)) {
+			try {
+				store.update(this, "status", st);
+				status = st;
+				notifyAttribute("status");
+				updateStyles();
+			}
+			catch (TMSException e) {
+				logError("status: " + e.getMessage());
+			}
+		}
+	}
+
+	/** Get the current status as JSON */
+	@Override
+	public String getStatus() {
+		return status;
+	}
+
+	/** Pixel failures (RleTable-encoded) */
+	private String pixel_failures;
+
+	/** Set the pixel failures and notify clients */
+	public void setPixelFailuresNotify(String pf) {
+		if (!objectEquals(pf, pixel_failures)) {
+			try {
+				store.update(this, "pixel_failures", pf);
+				pixel_failures = pf;
+				notifyAttribute("pixelFailures");
+			}
+			catch (TMSException e) {
+				logError("pixel_failures: " + e.getMessage());
+			}
+		}
+	}
+
+	/** Get the pixel failures (RleTable-encoded) */
+	@Override
+	public String getPixelFailures() {
+		return pixel_failures;
+	}
+
+	/** Feedback brightness sample data */
+	public void feedbackBrightness(EventType et, int photo, int output) {
+		logBrightnessSample(new BrightnessSample(et, this, photo,
+			output));
+	}
+
+	/** Log a brightness sample */
+	private void logBrightnessSample(final BrightnessSample bs) {
+		FLUSH.addJob(new Job() {
+			public void perform() throws TMSException {
+				bs.purgeConflicting();
+				bs.doStore();
+			}
+		});
+	}
+
+	/** Lookup recent brightness feedback sample data */
+	public void queryBrightnessFeedback(BrightnessHandler bh) {
+		try {
+			BrightnessSample.lookup(this, bh);
+		}
+		catch (TMSException e) {
+			logError("brightness feedback: " + e.getMessage());
+		}
+	}
+
+	/** Test if DMS is available */
+	@Override
+	protected boolean isAvailable() {
+		return super.isAvailable()
+		    && (isMsgBlank() || isMsgStandby())
+		    && DMSHelper.isGeneralPurpose(this);
+	}
+
+	/** Test if current message is blank */
+	public boolean isMsgBlank() {
+		return SignMessageHelper.isBlank(msg_current);
+	}
+
+	/** Test if current message is standby */
+	private boolean isMsgStandby() {
+		return isMsgSource(getMsgCurrent(), SignMsgSource.standby);
+	}
+
+	/** Test if the current message source contains "operator" */
+	private boolean isMsgOperator() {
+		return isMsgSource(getMsgCurrent(), SignMsgSource.operator);
+	}
+
+	/** Test if the current message source contains "scheduled" */
+	private boolean isMsgScheduled() {
+		return isMsgSource(getMsgCurrent(), SignMsgSource.schedule);
+	}
+
+	/** Test if the current message source contains "external" */
+	private boolean isMsgExternal() {
+		return isMsgSource(getMsgCurrent(), SignMsgSource.external);
+	}
+
+	/** Test if the current message source contains "alert" */
+	private boolean isMsgAlert() {
+		return isMsgSource(getMsgCurrent(), SignMsgSource.alert);
+	}
+
+	/** Test if the current message has beacon flashing */
+	private boolean isMsgBeacon() {
+		SignMessage sm = getMsgCurrent();
+		return (sm != null) && sm.getFlashBeacon();
+	}
+
+	/** Test if a DMS is active, not failed and deployed */
+	public boolean isMsgDeployed() {
+		return isOnline() && !isMsgBlank();
+	}
+
+	/** Test if a DMS has been deployed by a user */
+	public boolean isUserDeployed() {
+		return isMsgDeployed()
+		    && isMsgOperator()
+		    && !isMsgStandby();
+	}
+
+	/** Test if a DMS has been deployed by schedule */
+	public boolean isScheduleDeployed() {
+		return isMsgDeployed()
+		    && isMsgScheduled()
+		    && !isMsgStandby();
+	}
+
+	/** Test if a DMS has been deployed by an external system */
+	private boolean isExternalDeployed() {
+		return isMsgDeployed() && isMsgExternal();
+	}
+
+	/** Test if a DMS has been deployed by alert system */
+	private boolean isAlertDeployed() {
+		return isMsgDeployed() && isMsgAlert();
+	}
+
+	/** Test if DMS has faults */
+	@Override
+	protected boolean hasFaults() {
+		return DMSHelper.hasFaults(this);
+	}
+
+	/** Check if the sign is deployable */
+	public boolean isDeployable() {
+		return isOnline() && DMSHelper.isDeployable(this);
+	}
+
+	/** Calculate the item styles */
+	@Override
+	protected long calculateStyles() {
+		long s = ItemStyle.ALL.bit();
+		if (getController() == null)
+			s |= ItemStyle.NO_CONTROLLER.bit();
+		if (isActive())
+			s |= ItemStyle.ACTIVE.bit();
+		else
+			s |= ItemStyle.INACTIVE.bit();
+		if (DMSHelper.isHidden(this))
+			s |= ItemStyle.HIDDEN.bit();
+		else {
+			if (isAvailable())
+				s |= ItemStyle.AVAILABLE.bit();
+			if (isUserDeployed())
+				s |= ItemStyle.DEPLOYED.bit();
+		}
+		if (isScheduleDeployed())
+			s |= ItemStyle.SCHEDULED.bit();
+		if (isExternalDeployed() || isAlertDeployed())
+			s |= ItemStyle.EXTERNAL.bit();
+		if (isOnline() && hasFaults())
+			s |= ItemStyle.FAULT.bit();
+		if (isActive() && isOffline())
+			s |= ItemStyle.OFFLINE.bit();
+		if (isActive() && !DMSHelper.isGeneralPurpose(this))
+			s |= ItemStyle.PURPOSE.bit();
+		return s;
+	}
+
+	/** Write DMS as an XML element */
+	public void writeXml(Writer w) throws IOException {
+		w.write("<dms");
+		w.write(createAttribute("name", getName()));
+		w.write(createAttribute("description",
+			GeoLocHelper.getLocation(geo_loc)));
+		Position pos = GeoLocHelper.getWgs84Position(geo_loc);
+		if (pos != null) {
+			w.write(createAttribute("lon",
+				formatDouble(pos.getLongitude())));
+			w.write(createAttribute("lat",
+				formatDouble(pos.getLatitude())));
+		}
+		SignConfig sc = sign_config;
+		if (sc != null) {
+			w.write(createAttribute("width_pixels",
+				sc.getPixelWidth()));
+			w.write(createAttribute("height_pixels",
+				sc.getPixelHeight()));
+		}
+		w.write("/>\n");
+	}
+
+	/** Write the sign message as xml */
+	public void writeSignMessageXml(Writer w) throws IOException {
+		SignMessage sm = getMsgCurrent();
+		if (sm instanceof SignMessageImpl)
+			((SignMessageImpl) sm).writeXml(w, this);
+	}
+
+	/** Get the DMS poller */
+	private DMSPoller getDMSPoller() {
+		DevicePoller dp = getPoller();
+		return (dp instanceof DMSPoller) ? (DMSPoller) dp : null;
+	}
+
+	/** Send a device request operation */
+	@Override
+	protected void sendDeviceRequest(DeviceRequest dr) {
+		if (DeviceRequest.RESET_STATUS == dr) {
+			resetStateNotify(false);
+			return;
+		}
+		if (DeviceRequest.RESET_DEVICE == dr)
+			resetStateNotify(true);
+		DMSPoller p = getDMSPoller();
+		if (p != null)
+			p.sendRequest(this, dr);
+	}
+
+	/** Perform a periodic poll */
+	@Override
+	public void periodicPoll(boolean is_long) {
+		if (is_long)
+			sendDeviceRequest(DeviceRequest.QUERY_STATUS);
+		else {
+			sendDeviceRequest(DeviceRequest.QUERY_MESSAGE);
+			updateSchedMsg();
+		}
+	}
+
+	/** Check if lock has expired */
+	public void checkLockExpired() {
+		Long dur_ms = getDurationMs(msg_current);
+		if (dur_ms != null && dur_ms <= 0) {
+			try {
+				updateLock(null);
+				notifyAttribute("lock");
+				sendMsg(getMsgValidated(), "expired");
+			}
+			catch (TMSException ex) {
+				logError("checkLockExpired: " +
+					ex.getMessage());
+			}
+		}
+	}
+
+	/** Get remaining duration of a message (null for indefinite) */
+	public Long getDurationMs(SignMessage sm) {
+		DmsLock lk = new DmsLock(lock);
+		String exp = lk.optExpires();
+		if (exp != null) {
+			Long e = TimeSteward.parse8601(exp);
+			if (e != null) {
+				long now = TimeSteward.currentTimeMillis();
+				return Math.max(e - now, 0);
+			}
+		}
+		if (isScheduledUnsticky(sm)) {
+			long s = getPollPeriodSec() * SCHED_DURATION_PERIODS;
+			return s * 1000;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.IOException;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.tms.SystemAttrEnum;
+
+/**
+ * Job to write out XML configuration files.
+ *
+ * @author Douglas Lau
+ */
+public class XmlConfigJob extends Job {
+
+	/** Create a new one-shot XML config writer job */
+	public XmlConfigJob(int ms) {
+		super(ms);
+	}
+
+	/** Perform the XML config job */
+	@Override
+	public void perform() throws IOException {
+		if (SystemAttrEnum.LEGACY_XML_CONFIG_ENABLE.getBoolean()) {
+			TmsConfigXmlWriter writer = new TmsConfigXmlWriter();
+			writer.write();
+		}
+	}
+}
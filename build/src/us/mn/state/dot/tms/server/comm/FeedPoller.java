@@ -0,0 +1,29 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2021  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import us.mn.state.dot.tms.server.ControllerImpl;
+
+/**
+ * FeedPoller is a poller for controllers with no devices.
+ *
+ * @author Douglas Lau
+ */
+public interface FeedPoller {
+
+	/** Query message feed.
+ 	 * @param c Controller to poll. */
+	void queryFeed(ControllerImpl c);
+}
@@ -0,0 +1,29 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2015-2017  SRF Consulting Group
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import us.mn.state.dot.tms.DeviceRequest;
+import us.mn.state.dot.tms.server.GpsImpl;
+
+/**
+ * GpsPoller is an interface for pollers which can talk to GPS units.
+ *
+ * @author John L. Stanley - SRF Consulting
+ */
+public interface GpsPoller extends DevicePoller {
+
+	/** Send a device request */
+	void sendRequest(GpsImpl gps, DeviceRequest dr);
+}
@@ -0,0 +1,42 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2022-2025  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.ntcip.mib1204;
+
+import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
+
+/**
+ * Radiation object in watts / m^2.
+ *
+ * @author Douglas Lau
+ */
+public class RadiationObject extends IntegerObject {
+
+	/** Create a radiation object */
+	public RadiationObject(String k, ASN1Integer n) {
+		super(k, n);
+	}
+
+	/** Get the minimum valid value */
+	@Override
+	protected int minValue() {
+		return -2048;
+	}
+
+	/** Get the maximum valid value */
+	@Override
+	protected int maxValue() {
+		return 2048;
+	}
+}
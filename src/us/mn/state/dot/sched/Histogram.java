@@ -0,0 +1,116 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of durations, with one bucket for each power of two
+ * microseconds.  Memory use is fixed, no matter how many values are recorded.
+ *
+ * @author Douglas Lau
+ */
+public final class Histogram {
+
+	/** Number of buckets (last bucket holds 2^31 us, or 36 minutes, and
+	 * anything longer) */
+	static private final int BUCKETS = 32;
+
+	/** Index of total count */
+	static private final int COUNT = BUCKETS;
+
+	/** Index of sum of all values (us) */
+	static private final int SUM = BUCKETS + 1;
+
+	/** Index of maximum value (us) */
+	static private final int MAX = BUCKETS + 2;
+
+	/** Get the bucket for a value */
+	static private int bucket(long us) {
+		int b = 63 - Long.numberOfLeadingZeros(us);
+		return Math.min(Math.max(b, 0), BUCKETS - 1);
+	}
+
+	/** Bucket counts, followed by count, sum and maximum */
+	private final AtomicLongArray values =
+		new AtomicLongArray(BUCKETS + 3);
+
+	/** Record a duration.
+	 * @param us Duration in microseconds. */
+	public void record(long us) {
+		if (us < 0)
+			us = 0;
+		values.incrementAndGet(bucket(us));
+		values.incrementAndGet(COUNT);
+		values.addAndGet(SUM, us);
+		long m = values.get(MAX);
+		while (us > m && !values.compareAndSet(MAX, m, us))
+			m = values.get(MAX);
+	}
+
+	/** Get the count of recorded values */
+	public long getCount() {
+		return values.get(COUNT);
+	}
+
+	/** Get the maximum recorded value (us) */
+	public long getMax() {
+		return values.get(MAX);
+	}
+
+	/** Get the mean recorded value (us) */
+	public long getMean() {
+		long n = getCount();
+		return (n > 0) ? values.get(SUM) / n : 0;
+	}
+
+	/** Get an upper bound for a percentile.
+	 * @param p Percentile (0 to 100).
+	 * @return Upper bound of bucket containing the percentile (us). */
+	public long getPercentile(double p) {
+		long n = getCount();
+		if (n <= 0)
+			return 0;
+		long rank = (long) Math.ceil(n * p / 100);
+		long c = 0;
+		for (int b = 0; b < BUCKETS - 1; b++) {
+			c += values.get(b);
+			if (c >= rank)
+				return Math.min(2L << b, getMax());
+		}
+		// Last bucket has no upper bound
+		return getMax();
+	}
+
+	/** Append the histogram as a JSON object */
+	public void appendJson(StringBuilder sb) {
+		sb.append("{\"count\":").append(getCount());
+		sb.append(",\"mean_us\":").append(getMean());
+		sb.append(",\"p50_us\":").append(getPercentile(50));
+		sb.append(",\"p90_us\":").append(getPercentile(90));
+		sb.append(",\"p99_us\":").append(getPercentile(99));
+		sb.append(",\"max_us\":").append(getMax());
+		sb.append(",\"buckets\":[");
+		int last = BUCKETS - 1;
+		while (last > 0 && values.get(last) == 0)
+			last--;
+		for (int b = 0; b <= last; b++) {
+			if (b > 0)
+				sb.append(',');
+			sb.append(values.get(b));
+		}
+		sb.append("]}");
+	}
+}
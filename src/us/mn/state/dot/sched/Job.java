@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -112,6 +112,11 @@ abstract public class Job implements Comparable<Job> {
 		return next_time - TimeSteward.currentTimeMillis();
 	}
 
+	/** Get the next time this job must be performed */
+	long nextTime() {
+		return next_time;
+	}
+
 	/** Compute the next time this job will be scheduled.  Warning: the
 	 * sort order for the Comparable interface will change. */
 	void computeNextTime() {
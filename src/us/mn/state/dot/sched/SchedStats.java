@@ -0,0 +1,175 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Statistics for a scheduler or worker thread: queue depth, lag (actual start
+ * time minus scheduled time) and runtime histograms for each job or work
+ * class.
+ *
+ * @author Douglas Lau
+ */
+public final class SchedStats {
+
+	/** Maximum number of job names to keep runtime histograms for */
+	static private final int MAX_NAMES = 64;
+
+	/** Name used for runtimes after MAX_NAMES is reached */
+	static private final String OTHER = "(other)";
+
+	/** All registered statistics */
+	static private final CopyOnWriteArrayList<SchedStats> ALL =
+		new CopyOnWriteArrayList<SchedStats>();
+
+	/** Get statistics for all scheduler and worker threads as JSON */
+	static public String toJson() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"time\":\"");
+		sb.append(TimeSteward.currentDateTimeString(true));
+		sb.append("\",\"threads\":[");
+		boolean first = true;
+		for (SchedStats s: ALL) {
+			if (!first)
+				sb.append(',');
+			s.appendJson(sb);
+			first = false;
+		}
+		sb.append("]}");
+		return sb.toString();
+	}
+
+	/** Append a string as a JSON string */
+	static private void appendString(StringBuilder sb, String s) {
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if (c < ' ')
+				sb.append(String.format("\\u%04x", (int) c));
+			else
+				sb.append(c);
+		}
+		sb.append('"');
+	}
+
+	/** Thread name */
+	private final String name;
+
+	/** Current queue depth */
+	private volatile int depth;
+
+	/** Maximum queue depth */
+	private volatile int max_depth;
+
+	/** Lag histogram */
+	private final Histogram lag = new Histogram();
+
+	/** Runtime histograms for each job name */
+	private final ConcurrentHashMap<String, Histogram> runtimes =
+		new ConcurrentHashMap<String, Histogram>();
+
+	/** Create statistics for a thread */
+	SchedStats(String n) {
+		name = n;
+	}
+
+	/** Register the statistics */
+	void register() {
+		ALL.add(this);
+	}
+
+	/** Unregister the statistics */
+	void unregister() {
+		ALL.remove(this);
+	}
+
+	/** Get the thread name */
+	public String getName() {
+		return name;
+	}
+
+	/** Set the current queue depth.
+	 * This may only be called on the owning thread, or while holding its
+	 * lock. */
+	void setDepth(int d) {
+		depth = d;
+		if (d > max_depth)
+			max_depth = d;
+	}
+
+	/** Get the current queue depth */
+	public int getDepth() {
+		return depth;
+	}
+
+	/** Record the lag of a job.
+	 * @param ms Actual start time minus scheduled time (ms). */
+	void recordLag(long ms) {
+		lag.record(ms * 1000);
+	}
+
+	/** Get the lag histogram */
+	public Histogram getLag() {
+		return lag;
+	}
+
+	/** Record the runtime of a job.
+	 * @param n Job name.
+	 * @param c Job class, used if name is empty.
+	 * @param ns Runtime (ns). */
+	void recordRuntime(String n, Class<?> c, long ns) {
+		if (n.isEmpty())
+			n = c.getName();
+		getRuntime(n).record(ns / 1000);
+	}
+
+	/** Get the runtime histogram for a job name */
+	private Histogram getRuntime(String n) {
+		Histogram h = runtimes.get(n);
+		if (h != null)
+			return h;
+		if (runtimes.size() >= MAX_NAMES)
+			n = OTHER;
+		h = new Histogram();
+		Histogram oh = runtimes.putIfAbsent(n, h);
+		return (oh != null) ? oh : h;
+	}
+
+	/** Append the statistics as a JSON object */
+	private void appendJson(StringBuilder sb) {
+		sb.append("{\"name\":");
+		appendString(sb, name);
+		sb.append(",\"depth\":").append(depth);
+		sb.append(",\"max_depth\":").append(max_depth);
+		sb.append(",\"lag\":");
+		lag.appendJson(sb);
+		sb.append(",\"runtime\":{");
+		boolean first = true;
+		for (Map.Entry<String, Histogram> e: runtimes.entrySet()) {
+			if (!first)
+				sb.append(',');
+			appendString(sb, e.getKey());
+			sb.append(':');
+			e.getValue().appendJson(sb);
+			first = false;
+		}
+		sb.append("}}");
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2021  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,11 +15,15 @@
 package us.mn.state.dot.sched;
 
 import java.util.Date;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Scheduler for performing jobs in a dedicated thread.
  *
+ * Jobs are added and removed through a lock-free submission queue, which is
+ * drained by the scheduler thread into a timer wheel.  The scheduler thread
+ * is only notified when a new job is due before it would wake up anyway.
+ *
  * @author Douglas Lau
  */
 public final class Scheduler {
@@ -59,11 +63,35 @@ public final class Scheduler {
 	/** Debug log for scheduled jobs */
 	private final DebugLog slog;
 
-	/** Set of scheduled jobs to do */
-	private final TreeSet<Job> todo = new TreeSet<Job>();
+	/** Scheduler statistics */
+	private final SchedStats stats;
+
+	/** Maximum time to wait before draining submissions (ms) */
+	static private final long MAX_WAIT_MS = 1000;
+
+	/** Wake time while the scheduler thread is awake */
+	static private final long AWAKE = Long.MIN_VALUE;
+
+	/** Job added to or removed from the scheduler */
+	static private final class Submission {
+		private final Job job;
+		private final boolean remove;
+		private Submission(Job j, boolean r) {
+			job = j;
+			remove = r;
+		}
+	}
 
-	/** Set of jobs to remove from scheduler */
-	private final TreeSet<Job> toremove = new TreeSet<Job>();
+	/** Queue of submitted jobs to add or remove */
+	private final ConcurrentLinkedQueue<Submission> submitted =
+		new ConcurrentLinkedQueue<Submission>();
+
+	/** Timer wheel of scheduled jobs (only used by scheduler thread) */
+	private final TimerWheel wheel =
+		new TimerWheel(TimeSteward.currentTimeMillis());
+
+	/** Time the scheduler thread will wake up, or AWAKE */
+	private volatile long wake_time = AWAKE;
 
 	/** Flag to indicate disposing */
 	private boolean disposing = false;
@@ -81,6 +109,7 @@ public final class Scheduler {
 	/** Create a new job scheduler */
 	public Scheduler(String name, ExceptionHandler h) {
 		slog = new DebugLog(name, h);
+		stats = new SchedStats(name);
 		handler = h;
 		thread = new Thread(GROUP, name) {
 			public void run() {
@@ -94,49 +123,75 @@ public final class Scheduler {
 			}
 		};
 		thread.setDaemon(true);
+		stats.register();
 		thread.start();
 	}
 
 	/** Perform jobs as they are scheduled */
 	private void performJobs() throws InterruptedException {
-		Job job = waitJob();
 		while (!thread.isInterrupted()) {
+			Job job = waitJob();
 			performJob(job);
 			if (job.isRepeating())
 				repeatJob(job);
-			removeJobs();
-			job = waitJob();
 		}
 	}
 
 	/** Wait until the next job needs to be performed.
 	 * @return Job to be performed. */
-	private synchronized Job waitJob() throws InterruptedException {
-		Job job = nextJob();
-		long delay = job.delay();
-		while (delay > 0) {
-			TimeSteward.wait(this, delay);
-			// We need to check the next job here in case the job
-			// was removed or a new job was added while we were
-			// waiting
-			job = nextJob();
-			delay = job.delay();
+	private Job waitJob() throws InterruptedException {
+		while (true) {
+			// Submissions must be drained first in case a job was
+			// removed or a new job was added while we were busy
+			drainSubmitted();
+			Job job = wheel.poll(TimeSteward.currentTimeMillis());
+			stats.setDepth(wheel.size());
+			if (job != null)
+				return job;
+			waitNext();
 		}
-		todo.remove(job);
-		return job;
 	}
 
-	/** Get the next job on the "todo" list */
-	private synchronized Job nextJob() throws InterruptedException {
-		while (todo.isEmpty()) {
-			wait();
+	/** Add and remove all submitted jobs */
+	private void drainSubmitted() {
+		Submission sub = submitted.poll();
+		while (sub != null) {
+			if (sub.remove)
+				wheel.remove(sub.job);
+			else {
+				wheel.add(sub.job);
+				if (slog.isOpen() && wheel.size() > 5000)
+					slog.log("OVERLOADED: " + wheel.size());
+			}
+			sub = submitted.poll();
+		}
+	}
+
+	/** Wait until the next job is due, or a new job is submitted */
+	private synchronized void waitNext() throws InterruptedException {
+		long next = wheel.nextTime();
+		wake_time = next;
+		try {
+			// Check for submissions after setting wake_time, so
+			// that any job added later will notify us
+			if (submitted.isEmpty()) {
+				long delay = Math.min(next -
+					TimeSteward.currentTimeMillis(),
+					MAX_WAIT_MS);
+				if (delay > 0)
+					TimeSteward.wait(this, delay);
+			}
+		}
+		finally {
+			wake_time = AWAKE;
 		}
-		return todo.first();
 	}
 
 	/** Perform a job */
 	private void performJob(Job job) {
 		boolean op = slog.isOpen();
+		stats.recordLag(TimeSteward.currentTimeMillis() - job.nextTime());
+		long st = System.nanoTime();
 		try {
 			if (op)
 				slog.log("Starting " + job);
@@ -152,40 +207,37 @@ public final class Scheduler {
 			System.exit(1);
 		}
 		finally {
+			stats.recordRuntime(job.getName(), job.getClass(),
+				System.nanoTime() - st);
 			if (op)
 				slog.log("Finished " + job);
 		}
 	}
 
 	/** Add a job to be repeated */
-	private synchronized void repeatJob(Job job) {
+	private void repeatJob(Job job) {
 		job.computeNextTime();
-		todo.add(job);
+		wheel.add(job);
 	}
 
 	/** Add a job for this scheduler to perform */
-	public synchronized void addJob(Job job) {
-		todo.add(job);
-		if (slog.isOpen() && todo.size() > 5000)
-			slog.log("OVERLOADED: " + todo.size());
-		notify();
+	public void addJob(Job job) {
+		submitted.add(new Submission(job, false));
+		if (job.nextTime() < wake_time)
+			wake();
 	}
 
-	/** Remove a job from this scheduler */
-	public synchronized void removeJob(Job job) {
-		if (job != null) {
-			toremove.add(job);
-			notify();
-		}
+	/** Wake up the scheduler thread */
+	private synchronized void wake() {
+		notify();
 	}
 
-	/** Remove jobs which need to be removed.  This needs to be done on the
-	 * scheduler thread in case the job is being performed while removeJob
-	 * is called. */
-	private synchronized void removeJobs() {
-		for (Job job: toremove)
-			todo.remove(job);
-		toremove.clear();
+	/** Remove a job from this scheduler.  This is done on the scheduler
+	 * thread in case the job is being performed while removeJob is
+	 * called. */
+	public void removeJob(Job job) {
+		if (job != null)
+			submitted.add(new Submission(job, true));
 	}
 
 	/** Test if the current thread is the scheduler thread */
@@ -193,8 +245,14 @@ public final class Scheduler {
 		return Thread.currentThread() == thread;
 	}
 
+	/** Get the scheduler statistics */
+	public SchedStats getStats() {
+		return stats;
+	}
+
 	/** Dispose of the scheduler */
 	public void dispose() {
+		stats.unregister();
 		disposing = true;
 		thread.interrupt();
 	}
@@ -0,0 +1,307 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.IdentityHashMap;
+
+/**
+ * Hierarchical timer wheel for scheduled jobs.  Each level has 64 slots, and
+ * each slot of a level spans all 64 slots of the level below it.  The first
+ * level has a 1 ms slot span.  Jobs are kept in doubly-linked lists of nodes,
+ * so that adding and removing a job are both O(1).  A bitmap of non-empty
+ * slots for each level allows finding the next job without scanning empty
+ * slots.
+ *
+ * A job in a slot of level L always differs from the current time in bit 6L
+ * through 6L+5 and no higher bits.  Jobs are cascaded to lower levels as the
+ * current time reaches the start of their slot.  Slots in the first level and
+ * the due list are kept in Job sort order, so jobs due in the same
+ * millisecond are performed in the same order as with a sorted set.
+ *
+ * Nodes belong to one wheel, so a job can be scheduled on more than one
+ * scheduler.  This is not thread-safe; it must only be used on the scheduler
+ * thread.
+ *
+ * @author Douglas Lau
+ */
+final class TimerWheel {
+
+	/** Number of bits for slots of each level */
+	static private final int SLOT_BITS = 6;
+
+	/** Number of slots in each level */
+	static private final int SLOTS = 1 << SLOT_BITS;
+
+	/** Mask for slot index */
+	static private final int SLOT_MASK = SLOTS - 1;
+
+	/** Number of levels (enough for all 64 bits of time) */
+	static private final int LEVELS = 11;
+
+	/** Level of a job which is due */
+	static private final int DUE = -1;
+
+	/** Node for one job in the wheel */
+	static private final class Node {
+		private final Job job;
+		private long time;
+		private int level;
+		private int slot;
+		private Node prev;
+		private Node next;
+		private Node(Job j) {
+			job = j;
+		}
+	}
+
+	/** Compare the order of two nodes */
+	static private int compare(Node a, Node b) {
+		if (a.time != b.time)
+			return (a.time < b.time) ? -1 : 1;
+		else
+			return a.job.compareTo(b.job);
+	}
+
+	/** List of nodes */
+	static private final class NodeList {
+		private Node head;
+		private Node tail;
+
+		/** Check if the list is empty */
+		private boolean isEmpty() {
+			return head == null;
+		}
+
+		/** Append a node to the end of the list */
+		private void append(Node n) {
+			n.prev = tail;
+			n.next = null;
+			if (tail != null)
+				tail.next = n;
+			else
+				head = n;
+			tail = n;
+		}
+
+		/** Insert a node in sorted order.  Nodes are usually added in
+		 * order, so the list is searched from the end. */
+		private void insertSorted(Node n) {
+			Node p = tail;
+			while (p != null && compare(p, n) > 0)
+				p = p.prev;
+			n.prev = p;
+			n.next = (p != null) ? p.next : head;
+			if (n.next != null)
+				n.next.prev = n;
+			else
+				tail = n;
+			if (p != null)
+				p.next = n;
+			else
+				head = n;
+		}
+
+		/** Unlink a node from the list */
+		private void unlink(Node n) {
+			if (n.prev != null)
+				n.prev.next = n.next;
+			else
+				head = n.next;
+			if (n.next != null)
+				n.next.prev = n.prev;
+			else
+				tail = n.prev;
+			n.prev = null;
+			n.next = null;
+		}
+
+		/** Remove all nodes from the list.
+		 * @return Head node of the removed nodes. */
+		private Node clear() {
+			Node n = head;
+			head = null;
+			tail = null;
+			return n;
+		}
+	}
+
+	/** Node list for each slot of each level */
+	private final NodeList[][] slots = new NodeList[LEVELS][SLOTS];
+
+	/** Bitmap of non-empty slots for each level */
+	private final long[] occupied = new long[LEVELS];
+
+	/** Jobs which are due, in order of time */
+	private final NodeList due = new NodeList();
+
+	/** Nodes of all scheduled jobs */
+	private final IdentityHashMap<Job, Node> nodes =
+		new IdentityHashMap<Job, Node>();
+
+	/** Current time (ms) */
+	private long current;
+
+	/** Create a new timer wheel */
+	TimerWheel(long now) {
+		current = now;
+		for (int lvl = 0; lvl < LEVELS; lvl++) {
+			for (int s = 0; s < SLOTS; s++)
+				slots[lvl][s] = new NodeList();
+		}
+	}
+
+	/** Get the number of scheduled jobs */
+	int size() {
+		return nodes.size();
+	}
+
+	/** Add a job to the wheel.  If it is already scheduled, it is moved
+	 * to the slot for its current next time. */
+	void add(Job job) {
+		Node n = nodes.get(job);
+		if (n != null)
+			unlink(n);
+		else {
+			n = new Node(job);
+			nodes.put(job, n);
+		}
+		n.time = job.nextTime();
+		insert(n);
+	}
+
+	/** Insert a node into a slot, or the due list */
+	private void insert(Node n) {
+		long t = n.time;
+		if (t <= current) {
+			n.level = DUE;
+			due.insertSorted(n);
+			return;
+		}
+		long diff = t ^ current;
+		int lvl = (63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+		int s = (int) (t >>> (SLOT_BITS * lvl)) & SLOT_MASK;
+		// Only first level slots need to be sorted; higher levels
+		// are sorted when they cascade down
+		if (lvl > 0)
+			slots[lvl][s].append(n);
+		else
+			slots[lvl][s].insertSorted(n);
+		occupied[lvl] |= 1L << s;
+		n.level = lvl;
+		n.slot = s;
+	}
+
+	/** Remove a job from the wheel, if it is scheduled */
+	void remove(Job job) {
+		Node n = nodes.remove(job);
+		if (n != null)
+			unlink(n);
+	}
+
+	/** Unlink a node from its slot list or the due list */
+	private void unlink(Node n) {
+		int lvl = n.level;
+		if (lvl == DUE)
+			due.unlink(n);
+		else {
+			NodeList l = slots[lvl][n.slot];
+			l.unlink(n);
+			if (l.isEmpty())
+				occupied[lvl] &= ~(1L << n.slot);
+		}
+	}
+
+	/** Get the next due job, advancing the current time up to now.
+	 * The job is removed from the wheel.
+	 * @param now Current time (ms).
+	 * @return Next due job, or null if no jobs are due. */
+	Job poll(long now) {
+		advance(now);
+		Node n = due.head;
+		if (n != null) {
+			due.unlink(n);
+			nodes.remove(n.job);
+			return n.job;
+		} else
+			return null;
+	}
+	/** Advance the current time, moving jobs to the due queue */
+	private void advance(long now) {
+		while (current < now) {
+			int lvl = nextLevel();
+			if (lvl < 0) {
+				current = now;
+				return;
+			}
+			int sh = SLOT_BITS * lvl;
+			long span = (long) SLOTS << sh;
+			int s = nextSlot(lvl);
+			long start = (current & ~(span - 1)) | ((long) s << sh);
+			if (start > now) {
+				current = now;
+				return;
+			}
+			current = start;
+			cascade(lvl, s);
+		}
+	}
+
+	/** Find the lowest level with a slot after the current time.
+	 * @return Level, or -1 if the wheel is empty. */
+	private int nextLevel() {
+		for (int lvl = 0; lvl < LEVELS; lvl++) {
+			if (nextSlot(lvl) < SLOTS)
+				return lvl;
+		}
+		return -1;
+	}
+
+	/** Find the first occupied slot after the current time in a level.
+	 * @return Slot index, or SLOTS if there is none. */
+	private int nextSlot(int lvl) {
+		int idx = (int) (current >>> (SLOT_BITS * lvl)) & SLOT_MASK;
+		long after = (idx < SLOT_MASK) ? (-1L << (idx + 1)) : 0;
+		long bits = occupied[lvl] & after;
+		return (bits != 0) ? Long.numberOfTrailingZeros(bits) : SLOTS;
+	}
+
+	/** Cascade all jobs in a slot to lower levels (or due list) */
+	private void cascade(int lvl, int s) {
+		Node n = slots[lvl][s].clear();
+		occupied[lvl] &= ~(1L << s);
+		while (n != null) {
+			Node next = n.next;
+			n.prev = null;
+			n.next = null;
+			insert(n);
+			n = next;
+		}
+	}
+
+	/** Get the time of the next job.  For jobs on higher levels, this is
+	 * the start time of their slot, which may be earlier than the time
+	 * of the job itself.
+	 * @return Time (ms), or Long.MAX_VALUE if no jobs are scheduled. */
+	long nextTime() {
+		if (!due.isEmpty())
+			return current;
+		int lvl = nextLevel();
+		if (lvl < 0)
+			return Long.MAX_VALUE;
+		int sh = SLOT_BITS * lvl;
+		long span = (long) SLOTS << sh;
+		return (current & ~(span - 1)) | ((long) nextSlot(lvl) << sh);
+	}
+}
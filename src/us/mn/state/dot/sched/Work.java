@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2016-2020  Minnesota Department of Transportation
+ * Copyright (C) 2016-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -33,6 +33,9 @@ abstract public class Work implements Comparable<Work> {
 	/** Flag to indicate work complete */
 	private boolean is_complete = false;
 
+	/** Time work was added to a worker (only used by worker) */
+	long added_time;
+
 	/** Create Work */
 	public Work() { }
 
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2017  Minnesota Department of Transportation
+ * Copyright (C) 2017-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -40,12 +40,16 @@ public final class Worker {
 	/** Set of work to do */
 	private final PriorityQueue<Work> todo = new PriorityQueue<Work>();
 
+	/** Worker statistics */
+	private final SchedStats stats;
+
 	/** Flag to indicate disposing */
 	private boolean disposing = false;
 
 	/** Create a Worker */
 	public Worker(String name, ExceptionHandler h) {
 		handler = h;
+		stats = new SchedStats(name);
 		thread = new Thread(GROUP, name) {
 			public void run() {
 				try {
@@ -58,6 +62,7 @@ public final class Worker {
 			}
 		};
 		thread.setDaemon(true);
+		stats.register();
 		thread.start();
 	}
 
@@ -75,11 +80,15 @@ public final class Worker {
 	private synchronized Work waitWork() throws InterruptedException {
 		while (todo.isEmpty())
 			wait();
-		return todo.poll();
+		Work w = todo.poll();
+		stats.setDepth(todo.size());
+		return w;
 	}
 
 	/** Perform Work */
 	private void performWork(Work w) {
+		stats.recordLag(TimeSteward.currentTimeMillis() - w.added_time);
+		long st = System.nanoTime();
 		try {
 			w.performWork();
 		}
@@ -92,11 +101,17 @@ public final class Worker {
 			System.err.println("FATAL: RESTARTING");
 			System.exit(1);
 		}
+		finally {
+			stats.recordRuntime(w.getClass().getSimpleName(),
+				w.getClass(), System.nanoTime() - st);
+		}
 	}
 
 	/** Add work to perform */
 	public synchronized void addWork(Work w) {
+		w.added_time = TimeSteward.currentTimeMillis();
 		todo.add(w);
+		stats.setDepth(todo.size());
 		notify();
 	}
 
@@ -105,8 +120,14 @@ public final class Worker {
 		return Thread.currentThread() == thread;
 	}
 
+	/** Get the worker statistics */
+	public SchedStats getStats() {
+		return stats;
+	}
+
 	/** Dispose of the worker */
 	public void dispose() {
+		stats.unregister();
 		disposing = true;
 		thread.interrupt();
 	}
@@ -14,17 +14,28 @@
  */
 package us.mn.state.dot.sonar;
 
-import java.io.InputStreamReader;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 /**
  * A message decoder provides a Java API for decoding messages from the SONAR
- * wire protocol.
+ * wire protocol.  Since the message delimiters are ASCII, they can never
+ * appear within a multi-byte UTF-8 sequence.  This allows the decoder to scan
+ * the input buffer for delimiters directly, and decode each parameter only
+ * once.
+ *
+ * Parameter lists are reused: once a caller has handled a message, it can
+ * recycle the list so that the decoder can fill it with another message.
+ *
+ * If deflate is expected, all data following a DEFLATE message is inflated
+ * before decoding.
  *
  * @author Douglas Lau
  */
@@ -33,63 +44,223 @@ public class MessageDecoder {
 	/** Everything on the wire is encoded to UTF-8 */
 	static private final Charset UTF8 = Charset.forName("UTF-8");
 
+	/** ASCII characters are encoded to ISO-8859-1 identically */
+	static private final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+	/** Record separator byte */
+	static private final byte RECORD_SEP = (byte) Message.RECORD_SEP.code;
+
+	/** Unit separator byte */
+	static private final byte UNIT_SEP = (byte) Message.UNIT_SEP.code;
+
+	/** Initial size of partial parameter buffer */
+	static private final int PARTIAL_SIZE = 256;
+
+	/** Maximum number of spare parameter lists */
+	static private final int MAX_SPARE = 64;
+
+	/** Size of inflated data buffer */
+	static private final int INFLATED_SIZE = 1 << 14;
+
+	/** DEFLATE message code */
+	static private final String DEFLATE_CODE =
+		String.valueOf(Message.DEFLATE.code);
+
+	/** Decode a parameter from a byte array */
+	static private String decodeParam(byte[] b, int off, int len) {
+		for (int i = off; i < off + len; i++) {
+			if (b[i] < 0)
+				return new String(b, off, len, UTF8);
+		}
+		// ASCII fast path
+		return new String(b, off, len, LATIN1);
+	}
+
 	/** Byte buffer to store incoming SONAR data */
 	private final ByteBuffer app_in;
 
-	/** Byte buffer input stream */
-	private final ByteBufferInputStream in_buf;
+	/** Buffer for a parameter which is not yet complete */
+	private byte[] partial = new byte[PARTIAL_SIZE];
 
-	/** Char reader input stream */
-	private InputStreamReader reader;
+	/** Number of bytes in partial buffer */
+	private int n_partial = 0;
 
-	/** String builder to build decoded parameters */
-	private final StringBuilder m_buf = new StringBuilder();
+	/** Spare parameter lists, which have been recycled */
+	private final ArrayDeque<ArrayList<String>> spare =
+		new ArrayDeque<ArrayList<String>>();
 
-	/** List of decoded parameters */
+	/** List of decoded parameters for current message */
 	private ArrayList<String> params = new ArrayList<String>();
 
+	/** Messages decoded but not yet returned */
+	private final ArrayDeque<List<String>> decoded =
+		new ArrayDeque<List<String>>();
+
+	/** Flag to indicate a DEFLATE message is expected */
+	private boolean expect_deflate = false;
+
+	/** Inflater (null before DEFLATE message received) */
+	private Inflater inflater;
+
+	/** Buffer for inflated data */
+	private byte[] inflated;
+
+	/** Flag to indicate the decoder has been closed */
+	private boolean closed = false;
+
 	/** Create a new SONAR message decoder */
 	public MessageDecoder(ByteBuffer in) throws IOException {
 		app_in = in;
-		in_buf = new ByteBufferInputStream(in);
-		reader = new InputStreamReader(in_buf, UTF8);
 	}
 
-	/** Complete the current parameter */
-	private void completeParameter() {
-		params.add(m_buf.toString());
-		m_buf.setLength(0);
+	/** Expect a DEFLATE message.  All data following it will be
+	 * inflated before decoding. */
+	public void expectDeflate() {
+		expect_deflate = true;
+	}
+
+	/** Check if data is being inflated */
+	public boolean isInflating() {
+		return inflater != null;
 	}
 
-	/** Decode messages */
-	public List<String> decode() throws IOException {
+	/** Close the decoder when its connection is closed.  This releases
+	 * the native inflate memory.  It may be called on any thread. */
+	public synchronized void close() {
+		closed = true;
+		if (inflater != null) {
+			inflater.end();
+			inflater = null;
+			inflated = null;
+		}
+	}
+
+	/** Decode messages.
+	 * @return Parameters of next message, or null if none complete. */
+	public synchronized List<String> decode() throws IOException {
+		if (closed)
+			return null;
+		if (decoded.isEmpty()) {
+			try {
+				((Buffer) app_in).flip();
+				_decode();
+			}
+			finally {
+				app_in.compact();
+			}
+		}
+		return decoded.poll();
+	}
+
+	/** Recycle a parameter list after its message has been handled.
+	 * @param p List returned from decode, which must not be used after
+	 *          recycling. */
+	public void recycle(List<String> p) {
+		if (p instanceof ArrayList && spare.size() < MAX_SPARE) {
+			p.clear();
+			spare.push((ArrayList<String>) p);
+		}
+	}
+
+	/** Decode all complete messages in the input buffer */
+	private void _decode() throws IOException {
+		byte[] b;
+		int off;
+		int end;
+		if (app_in.hasArray()) {
+			b = app_in.array();
+			off = app_in.arrayOffset() + app_in.position();
+			end = app_in.arrayOffset() + app_in.limit();
+			((Buffer) app_in).position(app_in.limit());
+		} else {
+			b = new byte[app_in.remaining()];
+			app_in.get(b);
+			off = 0;
+			end = b.length;
+		}
+		if (inflater == null)
+			off = scan(b, off, end);
+		if (off < end)
+			inflate(b, off, end - off);
+	}
+
+	/** Scan bytes for complete messages.
+	 * @param b Byte array.
+	 * @param start Start index.
+	 * @param end End index (exclusive).
+	 * @return Index of first byte following a DEFLATE message, or end. */
+	private int scan(byte[] b, int start, int end) {
+		for (int i = start; i < end; i++) {
+			byte c = b[i];
+			if (RECORD_SEP == c || UNIT_SEP == c) {
+				completeParameter(b, start, i - start);
+				start = i + 1;
+				if (RECORD_SEP == c && completeMessage())
+					return start;
+			}
+		}
+		appendPartial(b, start, end - start);
+		return end;
+	}
+
+	/** Inflate bytes and scan them for complete messages */
+	private void inflate(byte[] b, int off, int len) throws IOException {
+		inflater.setInput(b, off, len);
 		try {
-			((Buffer) app_in).flip();
-			return _decode();
+			int n;
+			do {
+				n = inflater.inflate(inflated);
+				if (n > 0)
+					scan(inflated, 0, n);
+				else if (!inflater.needsInput())
+					throw new IOException("Bad deflate");
+			} while (n > 0);
+		}
+		catch (DataFormatException e) {
+			throw new IOException(e.getMessage());
 		}
-		finally {
-			app_in.compact();
+	}
+
+	/** Append bytes to the partial parameter buffer */
+	private void appendPartial(byte[] b, int off, int len) {
+		if (n_partial + len > partial.length) {
+			int sz = Math.max(partial.length * 2, n_partial + len);
+			byte[] p = new byte[sz];
+			System.arraycopy(partial, 0, p, 0, n_partial);
+			partial = p;
 		}
+		System.arraycopy(b, off, partial, n_partial, len);
+		n_partial += len;
 	}
 
-	/** Decode messages */
-	private List<String> _decode() throws IOException {
-		while (reader.ready()) {
-			int ch = reader.read();
-			if (ch < 0)
-				break;
-			char c = (char) ch;
-			if (Message.RECORD_SEP.code == c) {
-				completeParameter();
-				List<String> p = params;
-				params = new ArrayList<String>();
-				return p;
-			} else if (Message.UNIT_SEP.code == c)
-				completeParameter();
-			else
-				m_buf.append(c);
+	/** Complete the current parameter */
+	private void completeParameter(byte[] b, int off, int len) {
+		if (n_partial > 0) {
+			appendPartial(b, off, len);
+			params.add(decodeParam(partial, 0, n_partial));
+			n_partial = 0;
+		} else
+			params.add(decodeParam(b, off, len));
+	}
+
+	/** Complete the current message.
+	 * @return true if inflating was started by the message. */
+	private boolean completeMessage() {
+		boolean d = expect_deflate && isDeflate(params);
+		decoded.add(params);
+		ArrayList<String> p = spare.poll();
+		params = (p != null) ? p : new ArrayList<String>();
+		if (d) {
+			expect_deflate = false;
+			inflater = new Inflater();
+			inflated = new byte[INFLATED_SIZE];
 		}
-		return null;
+		return d;
+	}
+
+	/** Check if message parameters are a DEFLATE message */
+	private boolean isDeflate(List<String> p) {
+		return p.size() == 1 && DEFLATE_CODE.equals(p.get(0));
 	}
 
 	/** Debug the SONAR parameters */
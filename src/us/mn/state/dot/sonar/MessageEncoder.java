@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2013  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -15,13 +15,19 @@
 package us.mn.state.dot.sonar;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * A message encoder provides a Java API for encoding messages to the SONAR
- * wire protocol.
+ * wire protocol.  After deflate has been started, all encoded data is
+ * compressed into one deflate stream, which is flushed with SYNC_FLUSH.
+ * An encoder is not thread-safe.  On the server, it may only be used on the
+ * Connection thread (connection worker) of its connection.
  *
  * @author Douglas Lau
  */
@@ -36,32 +42,121 @@ public class MessageEncoder {
 		return s.replace(Message.RECORD_SEP.code, ' ');
 	}
 
+	/** Encode one message into a byte array.  The result can be shared
+	 * by encoders for multiple connections, so the message only needs to
+	 * be encoded once.
+	 * @param m Message code.
+	 * @param name Name (may be null).
+	 * @param params Parameters (may be null).
+	 * @return UTF-8 encoded message. */
+	static public byte[] encodeBytes(Message m, String name,
+		String[] params)
+	{
+		StringBuilder sb = new StringBuilder();
+		append(sb, m, name, params);
+		return toBytes(sb);
+	}
+
+	/** Append one message to a string builder.
+	 * @param sb String builder.
+	 * @param m Message code.
+	 * @param name Name (may be null).
+	 * @param params Parameters (may be null). */
+	static public void append(StringBuilder sb, Message m, String name,
+		String[] params)
+	{
+		sb.append(m.code);
+		if (name != null) {
+			sb.append(Message.UNIT_SEP.code);
+			sb.append(name);
+			if (params != null) {
+				for (String p: params) {
+					sb.append(Message.UNIT_SEP.code);
+					sb.append(stripString(p));
+				}
+			}
+		}
+		sb.append(Message.RECORD_SEP.code);
+	}
+
+	/** Encode appended messages to UTF-8 bytes */
+	static public byte[] toBytes(StringBuilder sb) {
+		return sb.toString().getBytes(UTF8);
+	}
+
 	/** Byte buffer output stream */
 	protected final ByteBufferOutputStream out_buf;
 
 	/** Char writer output stream */
 	protected final OutputStreamWriter writer;
 
+	/** Deflater (null before deflate is started) */
+	private Deflater deflater;
+
+	/** Deflate stream (null before deflate is started) */
+	private DeflaterOutputStream deflate_out;
+
+	/** Flag to indicate data was written since the last flush */
+	private boolean dirty = false;
+
+	/** Current output stream (out_buf or deflate_out) */
+	private OutputStream out;
+
+	/** Output stream which forwards to the current output stream.  The
+	 * writer flushes it often, so flushing is handled explicitly. */
+	private final OutputStream sink = new OutputStream() {
+		@Override
+		public void write(int b) throws IOException {
+			dirty = true;
+			out.write(b);
+		}
+		@Override
+		public void write(byte[] b, int off, int len)
+			throws IOException
+		{
+			dirty = true;
+			out.write(b, off, len);
+		}
+	};
+
 	/** Create a new SONAR message encoder */
 	public MessageEncoder(int n_bytes) throws IOException {
 		out_buf = new ByteBufferOutputStream(n_bytes);
-		writer = new OutputStreamWriter(out_buf, UTF8);
+		out = out_buf;
+		writer = new OutputStreamWriter(sink, UTF8);
+	}
+
+	/** Start compressing all subsequent messages.
+	 * This may only be called on the Connection thread. */
+	public void startDeflate() throws IOException {
+		if (deflate_out == null) {
+			writer.flush();
+			deflater = new Deflater(Deflater.BEST_SPEED);
+			deflate_out = new DeflaterOutputStream(out_buf,
+				deflater, true);
+			out = deflate_out;
+		}
+	}
+
+	/** Check if deflate has been started */
+	public boolean isDeflating() {
+		return deflate_out != null;
 	}
 
 	/** Encode one message with the given code.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void encode(Message m) throws IOException {
 		encode(m, null, null);
 	}
 
 	/** Encode one message with the given code and name.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void encode(Message m, String name) throws IOException {
 		encode(m, name, null);
 	}
 
 	/** Encode one message with the given code, name and parameters.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void encode(Message m, String name, String[] params)
 		throws IOException
 	{
@@ -79,9 +174,36 @@ public class MessageEncoder {
 		writer.write(Message.RECORD_SEP.code);
 	}
 
-	/** Flush the encoded data */
+	/** Encode one message which was already encoded to bytes.
+	 * This may only be called on the Connection thread.
+	 * @param msg Message encoded with encodeBytes. */
+	public void encode(byte[] msg) throws IOException {
+		// Flush the writer first to keep messages in order
+		writer.flush();
+		dirty = true;
+		out.write(msg, 0, msg.length);
+	}
+
+	/** Flush the encoded data.  With deflate, each flush adds a sync
+	 * marker, so it is skipped if nothing was encoded since the last one.
+	 * This may only be called on the Connection thread. */
 	public void flush() throws IOException {
 		writer.flush();
+		if (deflate_out != null && dirty)
+			deflate_out.flush();
+		dirty = false;
+	}
+
+	/** Close the encoder when its connection is closed.  This releases
+	 * the native deflate memory; data encoded afterward is discarded.
+	 * This may only be called on the Connection thread. */
+	public void close() {
+		if (deflater != null) {
+			out = out_buf;
+			deflate_out = null;
+			deflater.end();
+			deflater = null;
+		}
 	}
 
 	/** Get the current output buffer */
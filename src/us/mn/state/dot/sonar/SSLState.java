@@ -114,6 +114,9 @@ public class SSLState {
 	/** Encoder for messages to send */
 	public final MessageEncoder encoder;
 
+	/** Flag to allow compressing messages from the server */
+	public final boolean deflate;
+
 	/** Create a new SONAR SSL state */
 	public SSLState(Conduit c, SSLContext context, Properties props,
 		boolean client) throws SSLException, IOException
@@ -131,9 +134,17 @@ public class SSLState {
 		ssl_in = ByteBuffer.allocate(a_size);
 		decoder = new MessageDecoder(app_in);
 		encoder = new MessageEncoder(a_size);
+		deflate = "true".equalsIgnoreCase(
+			props.getProperty("sonar.deflate"));
 		engine.beginHandshake();
 	}
 
+	/** Close the SSL state when its conduit is disconnected */
+	public void close() {
+		encoder.close();
+		decoder.close();
+	}
+
 	/** Get the network out buffer */
 	public ByteBuffer getNetOutBuffer() {
 		return net_out;
@@ -145,7 +156,7 @@ public class SSLState {
 	}
 
 	/** Read available data from network input buffer.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public boolean doRead() throws SSLException {
 		doUnwrap();
 		// Iterate up to 10 times (or 1.0 sec) for handshaking
@@ -189,7 +200,7 @@ public class SSLState {
 	}
 
 	/** Write data to the network output buffer.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void doWrite() throws SSLException {
 		if (canWrite())
 			doWrap();
@@ -198,7 +209,7 @@ public class SSLState {
 	}
 
 	/** Check if data should be written.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public boolean shouldWrite() {
 		return encoder.hasData() && canWrite();
 	}
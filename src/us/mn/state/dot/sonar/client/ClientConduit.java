@@ -52,7 +52,7 @@ class ClientConduit extends Conduit {
 	/** Define the set of valid messages from the server */
 	static private final EnumSet<Message> MESSAGES = EnumSet.of(
 		Message.QUIT, Message.OBJECT, Message.REMOVE, Message.ATTRIBUTE,
-		Message.TYPE, Message.SHOW);
+		Message.TYPE, Message.SHOW, Message.DEFLATE);
 
 	/** Lookup a message from the specified message code */
 	static private Message lookupMessage(char code) throws ProtocolError {
@@ -215,6 +215,7 @@ class ClientConduit extends Conduit {
 		super.disconnect();
 		closeChannel();
 		closeSelector();
+		state.close();
 		loggedIn = false;
 	}
 
@@ -253,6 +254,7 @@ class ClientConduit extends Conduit {
 			while (params != null) {
 				if (params.size() > 0)
 					processMessage(params);
+				state.decoder.recycle(params);
 				params = state.decoder.decode();
 			}
 		}
@@ -325,7 +327,9 @@ class ClientConduit extends Conduit {
 	public void doType(List<String> p) throws SonarException {
 		if (p.size() > 2)
 			throw ProtocolError.wrongParameterCount();
-		if (p.size() > 1)
+		if (p.size() > 1 && p.get(1).equals("") && !loggedIn)
+			requestDeflate();
+		else if (p.size() > 1)
 			namespace.setCurrentType(p.get(1));
 		else {
 			namespace.setCurrentType("");
@@ -334,6 +338,28 @@ class ClientConduit extends Conduit {
 		}
 	}
 
+	/** Request compression after server advertised DEFLATE support */
+	private void requestDeflate() throws SonarException {
+		if (state.deflate && !state.decoder.isInflating()) {
+			try {
+				state.decoder.expectDeflate();
+				state.encoder.encode(Message.DEFLATE);
+				flush();
+			}
+			catch (IOException e) {
+				throw new SonarException(e);
+			}
+		}
+	}
+
+	/** Process a DEFLATE message from the server */
+	@Override
+	public void doDeflate(List<String> p) throws SonarException {
+		if (p.size() != 1)
+			throw ProtocolError.wrongParameterCount();
+		// The decoder has already started inflating
+	}
+
 	/** Notify login success or failure */
 	private synchronized void notifyLogin() {
 		notify();
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2019  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,6 +14,9 @@
  */
 package us.mn.state.dot.sonar.server;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -27,6 +30,8 @@ import us.mn.state.dot.sonar.SonarObject;
 /**
  * An attribute dispatcher is an adapter for SonarObjects. It provides
  * a pair of simple methods to set and get attributes of those objects.
+ * Setters and getters are called through method handles, which avoids the
+ * cost of reflective invocation.
  *
  * @author Douglas Lau
  */
@@ -41,12 +46,34 @@ public class AttributeDispatcher {
 	/** Alternate method name to destroy an object */
 	static private final String DO_DESTROY_METHOD = "doDestroy";
 
-	/** Empty array of parameters */
-	static private final Object[] NO_PARAMS = new Object[0];
-
 	/** Empty array of strings */
 	static private final String[] EMPTY_STRING = new String[0];
 
+	/** Method handle lookup */
+	static private final MethodHandles.Lookup LOOKUP =
+		MethodHandles.lookup();
+
+	/** Create a method handle for a method */
+	static private MethodHandle unreflect(Method m)
+		throws IllegalAccessException
+	{
+		try {
+			return LOOKUP.unreflect(m);
+		}
+		catch (IllegalAccessException e) {
+			// Public method declared in a non-public class
+			m.setAccessible(true);
+			return LOOKUP.unreflect(m);
+		}
+	}
+
+	/** Wrap a throwable from a method handle (errors are rethrown) */
+	static private SonarException wrapThrowable(Throwable t) {
+		if (t instanceof Error)
+			throw (Error) t;
+		return new SonarException((Exception) t);
+	}
+
 	/** Test if a class is an interface extending SonarObject */
 	static private boolean is_sonar_iface(Class iface) {
 		return iface.isInterface() &&
@@ -123,17 +150,162 @@ public class AttributeDispatcher {
 	/** Method to destroy an object */
 	private final Method destroyer;
 
-	/** Mapping of attribute names to setter methods */
-	private final HashMap<String, Method> setters =
-		new HashMap<String, Method>();
+	/** Attribute setter */
+	private class Setter {
+
+		/** Parameter types of setter method */
+		private final Class[] p_types;
+
+		/** Method handle with type (Object, Object[])void */
+		private final MethodHandle handle;
+
+		/** Create a new setter */
+		private Setter(Method m) throws IllegalAccessException {
+			p_types = m.getParameterTypes();
+			handle = unreflect(m)
+				.asSpreader(Object[].class, p_types.length)
+				.asType(MethodType.methodType(void.class,
+					Object.class, Object[].class));
+		}
+
+		/** Set the attribute on an object */
+		private void set(SonarObject o, String[] v)
+			throws SonarException
+		{
+			Object[] params = namespace.unmarshall(p_types, v);
+			try {
+				handle.invokeExact((Object) o, params);
+			}
+			catch (Throwable t) {
+				throw wrapThrowable(t);
+			}
+		}
+	}
 
-	/** Mapping of attribute names to getter methods */
-	private final HashMap<String, Method> getters =
-		new HashMap<String, Method>();
+	/** Attribute getter */
+	private class Getter {
+
+		/** Method handle with type (Object)R, where R is the return
+		 * type (primitive) or Object (reference) */
+		protected final MethodHandle handle;
+
+		/** Create a new getter */
+		private Getter(MethodHandle mh, Class r) {
+			handle = mh.asType(MethodType.methodType(r,
+				Object.class));
+		}
+
+		/** Get the attribute value of an object */
+		protected String[] get(SonarObject o) throws Throwable {
+			Object result = (Object) handle.invokeExact((Object) o);
+			if (result instanceof Object[]) {
+				Object[] r = (Object []) result;
+				String[] res = new String[r.length];
+				for (int i = 0; i < r.length; i++)
+					res[i] = namespace.marshall(r[i]);
+				return res;
+			} else
+				return new String[] {
+					namespace.marshall(result)
+				};
+		}
+	}
+
+	/** Create a getter for a method, with marshalling specialized for
+	 * primitive return types */
+	private Getter createGetter(Method m) throws IllegalAccessException {
+		MethodHandle mh = unreflect(m);
+		Class r = m.getReturnType();
+		if (r == Integer.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					int v = (int) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Integer.toString(v)
+					};
+				}
+			};
+		} else if (r == Boolean.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					boolean v = (boolean) handle
+						.invokeExact((Object) o);
+					return new String[] {
+						Boolean.toString(v)
+					};
+				}
+			};
+		} else if (r == Long.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					long v = (long) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Long.toString(v)
+					};
+				}
+			};
+		} else if (r == Short.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					short v = (short) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Short.toString(v)
+					};
+				}
+			};
+		} else if (r == Float.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					float v = (float) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Float.toString(v)
+					};
+				}
+			};
+		} else if (r == Double.TYPE) {
+			return new Getter(mh, r) {
+				protected String[] get(SonarObject o)
+					throws Throwable
+				{
+					double v = (double) handle.invokeExact(
+						(Object) o);
+					return new String[] {
+						Double.toString(v)
+					};
+				}
+			};
+		} else
+			return new Getter(mh, Object.class);
+	}
+
+	/** Mapping of attribute names to setters */
+	private final HashMap<String, Setter> setters =
+		new HashMap<String, Setter>();
+
+	/** Mapping of attribute names to getters */
+	private final HashMap<String, Getter> getters =
+		new HashMap<String, Getter>();
+
+	/** Array of gettable attribute names */
+	private final String[] gettable;
 
 	/** Get an array of gettable attributes */
 	public String[] getGettableAttributes() {
-		return getters.keySet().toArray(EMPTY_STRING);
+		return gettable;
 	}
 
 	/** Test if an attribute is gettable */
@@ -144,17 +316,20 @@ public class AttributeDispatcher {
 	/** Create a new attribute dispatcher for the given object's type.
 	 * @param c The implementation class.
 	 * @param ns SONAR namespace. */
-	public AttributeDispatcher(Class c, Namespace ns) {
+	public AttributeDispatcher(Class c, Namespace ns)
+		throws IllegalAccessException
+	{
 		the_class = c;
 		namespace = ns;
 		lookup_attributes(c);
+		gettable = getters.keySet().toArray(EMPTY_STRING);
 		constructor = lookup_constructor(c);
 		storer = lookup_storer(c);
 		destroyer = lookup_destroyer(c);
 	}
 
 	/** Lookup all the attributes of the specified class */
-	private void lookup_attributes(Class c) {
+	private void lookup_attributes(Class c) throws IllegalAccessException {
 		// Lookup super classes first to allow method overrides
 		Class sup = c.getSuperclass();
 		if (sup != null)
@@ -166,7 +341,9 @@ public class AttributeDispatcher {
 	}
 
 	/** Lookup all the attributes of the specified interface */
-	private void lookup_iface_attributes(Class iface) {
+	private void lookup_iface_attributes(Class iface)
+		throws IllegalAccessException
+	{
 		// Lookup all methods, in case of overrides
 		for (Method m: iface.getMethods()) {
 			String n = m.getName();
@@ -179,18 +356,20 @@ public class AttributeDispatcher {
 
 	/** Lookup a setter method.
 	 * @param im Setter method from interface. */
-	private void lookup_setter(Method im) {
+	private void lookup_setter(Method im) throws IllegalAccessException {
 		Method m = lookup__etter(im);
 		if (m != null)
-			setters.put(attribute_name(im.getName()), m);
+			setters.put(attribute_name(im.getName()),
+				new Setter(m));
 	}
 
 	/** Lookup a getter method.
 	 * @param im Getter method from interface. */
-	private void lookup_getter(Method im) {
+	private void lookup_getter(Method im) throws IllegalAccessException {
 		Method m = lookup__etter(im);
 		if (m != null)
-			getters.put(attribute_name(im.getName()), m);
+			getters.put(attribute_name(im.getName()),
+				createGetter(m));
 	}
 
 	/** Lookup a setter or getter method.
@@ -278,10 +457,10 @@ public class AttributeDispatcher {
 	public void setValue(SonarObject o, String a, String[] v)
 		throws SonarException
 	{
-		Method m = setters.get(a);
-		if (m == null)
+		Setter s = setters.get(a);
+		if (s == null)
 			throw PermissionDenied.cannotWrite(a);
-		invoke(o, m, v);
+		s.set(o, v);
 	}
 
 	/** Lookup the named field from the given class */
@@ -323,17 +502,14 @@ public class AttributeDispatcher {
 	public String[] getValue(SonarObject o, String a)
 		throws SonarException
 	{
-		Method m = getters.get(a);
-		if (m == null)
+		Getter g = getters.get(a);
+		if (g == null)
 			throw PermissionDenied.cannotRead(a);
-		Object result = _invoke(o, m, NO_PARAMS);
-		if (result instanceof Object[]) {
-			Object[] r = (Object [])result;
-			String[] res = new String[r.length];
-			for (int i = 0; i < r.length; i++)
-				res[i] = namespace.marshall(r[i]);
-			return res;
-		} else
-			return new String[] { namespace.marshall(result) };
+		try {
+			return g.get(o);
+		}
+		catch (Throwable t) {
+			throw wrapThrowable(t);
+		}
 	}
 }
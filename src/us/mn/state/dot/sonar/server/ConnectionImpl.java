@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 import java.nio.BufferOverflowException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashSet;
@@ -51,23 +52,15 @@ import us.mn.state.dot.tms.server.UserImpl;
  */
 public class ConnectionImpl extends Conduit implements Connection {
 
-	/** Check if a name is watch positive. This means that the name can be
-	 * used as a positive entry in the watching set. */
-	static protected boolean isWatchPositive(Name name) {
-		return name.isType() || name.isObject();
-	}
-
-	/** Check if a name is watch negative. This means that the name can
-	 * be used as a negative entry in the watching set. */
-	static protected boolean isWatchNegative(Name name) {
-		return name.isAttribute() && name.getObjectPart().equals("");
-	}
-
 	/** Define the set of valid messages from a client connection */
 	static protected final EnumSet<Message> MESSAGES = EnumSet.of(
 		Message.LOGIN, Message.PASSWORD, Message.QUIT,
 		Message.ENUMERATE, Message.IGNORE, Message.OBJECT,
-		Message.REMOVE, Message.ATTRIBUTE);
+		Message.REMOVE, Message.ATTRIBUTE, Message.DEFLATE);
+
+	/** Messages which must be handled on the Task Processor thread */
+	static protected final EnumSet<Message> NAMESPACE_MESSAGES =
+		EnumSet.of(Message.OBJECT, Message.REMOVE, Message.ATTRIBUTE);
 
 	/** Lookup a message from the specified message code */
 	static protected Message lookupMessage(char code) throws ProtocolError {
@@ -108,7 +101,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 
 	/** User logged in on the connection.
 	 * May be null (before a successful login). */
-	protected UserImpl user;
+	protected volatile UserImpl user;
 
 	/** Get the user logged in on the connection.
 	 * May be null (before a successful login). */
@@ -135,6 +128,14 @@ public class ConnectionImpl extends Conduit implements Connection {
 	/** Task processor */
 	private final TaskProcessor processor;
 
+	/** Connection thread assigned by task processor */
+	private final int shard;
+
+	/** Get the connection thread assigned by task processor */
+	int getShard() {
+		return shard;
+	}
+
 	/** SONAR namepsace */
 	protected final ServerNamespace namespace;
 
@@ -150,19 +151,40 @@ public class ConnectionImpl extends Conduit implements Connection {
 	/** SSL state for encrypting network data */
 	protected final SSLState state;
 
-	/** Set of names the connection is watching */
+	/** Set of names the connection is watching (or ignoring) */
 	protected final Set<String> watching = new HashSet<String>();
 
+	/** Index of names watched by all connections */
+	private final WatchIndex<ConnectionImpl> watchers;
+
 	/** Phantom object for setting attributes before storing a new object
 	 * in the database. */
 	protected SonarObject phantom;
 
+	/** Decoded messages waiting to be processed */
+	private final ArrayDeque<List<String>> pending =
+		new ArrayDeque<List<String>>();
+
+	/** Flag to indicate message processing is suspended while waiting for
+	 * the Task Processor thread to handle a message */
+	private boolean suspended = false;
+
+	/** Flag to indicate a flush is scheduled.
+	 * This may only be accessed on the Connection thread. */
+	private boolean flush_scheduled = false;
+
+	/** Parameters of message being handled by the Task Processor thread,
+	 * which are recycled when processing resumes */
+	private List<String> handling;
+
 	/** Create a new connection */
 	public ConnectionImpl(TaskProcessor p, SelectionKey k, SocketChannel c)
 		throws SSLException, IOException
 	{
 		processor = p;
 		namespace = processor.getNamespace();
+		shard = processor.assignShard();
+		watchers = processor.getWatchIndex();
 		skey = k;
 		channel = c;
 		state = processor.createSSLState(this);
@@ -185,48 +207,54 @@ public class ConnectionImpl extends Conduit implements Connection {
 	/** Start watching the specified name */
 	protected void startWatching(Name name) {
 		synchronized (watching) {
-			watching.remove(name.toString());
-			if (isWatchPositive(name))
-				watching.add(name.toString());
+			unwatch(name);
+			if (WatchIndex.isWatchPositive(name))
+				watch(name);
 		}
 	}
 
 	/** Stop watching the specified name */
 	protected void stopWatching(Name name) {
 		synchronized (watching) {
-			watching.remove(name.toString());
-			if (isWatchNegative(name))
-				watching.add(name.toString());
+			unwatch(name);
+			if (WatchIndex.isWatchNegative(name))
+				watch(name);
 		}
 	}
 
-	/** Check if the connection is watching a name */
-	protected boolean isWatching(Name name) {
+	/** Add a name to the watching set and index */
+	private void watch(Name name) {
+		watching.add(name.toString());
+		watchers.add(name, this);
+	}
+
+	/** Remove a name from the watching set and index */
+	private void unwatch(Name name) {
+		if (watching.remove(name.toString()))
+			watchers.remove(name, this);
+	}
+
+	/** Clear all names from the watching set and index */
+	private void clearWatching() {
 		synchronized (watching) {
-			// Object watch is highest priority (positive)
-			if (watching.contains(name.getObjectName()))
-				return true;
-			// Attribute watch is middle priority (negative)
-			if (watching.contains(name.getAttributeName()))
-				return false;
-			// Type watch is lowest priority (positive)
-			return watching.contains(name.getTypePart());
+			for (String n: watching)
+				watchers.remove(new Name(n), this);
+			watching.clear();
 		}
 	}
 
 	/** Destroy the connection */
 	public void destroy() {
 		if (isConnected())
-			disconnect("Connection destroyed");
+			processor.scheduleDisconnect(this,
+				"Connection destroyed");
 	}
 
 	/** Disconnect the client connection.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void disconnect() {
 		super.disconnect();
-		synchronized (watching) {
-			watching.clear();
-		}
+		clearWatching();
 		processor.disconnect(skey);
 		try {
 			channel.close();
@@ -235,10 +263,11 @@ public class ConnectionImpl extends Conduit implements Connection {
 			TaskProcessor.DEBUG.log("Close error: " +
 				e.getMessage() + " on " + getName());
 		}
+		state.close();
 	}
 
 	/** Disconnect the client connection.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void disconnect(String msg) {
 		TaskProcessor.DEBUG.log(msg + " on " + getName() + ", " +
 			getUserName());
@@ -288,11 +317,11 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Notify the client of a new object being added.
-	 * This may only be called on the Task Processor thread. */
-	protected void notifyObject(SonarObject o) {
+	 * This may only be called on the Connection thread. */
+	void notifyObject(SonarObject o) {
 		try {
 			namespace.enumerateObject(state.encoder, o);
-			flush();
+			scheduleFlush();
 		}
 		catch (SonarException e) {
 			disconnect("Notify error: " + e.getMessage());
@@ -302,55 +331,37 @@ public class ConnectionImpl extends Conduit implements Connection {
 		}
 	}
 
-	/** Notify the client of a new object being added.
-	 * This may only be called on the Task Processor thread. */
-	void notifyObject(Name name, SonarObject o) {
-		if (isWatching(name))
-			notifyObject(o);
-	}
-
 	/** Notify the client of an attribute change.
-	 * This may only be called on the Task Processor thread. */
-	void notifyAttribute(Name name, String[] params) {
+	 * This may only be called on the Connection thread.
+	 * @param name Attribute name.
+	 * @param msg Encoded ATTRIBUTE message (shared by connections). */
+	void notifyAttribute(Name name, byte[] msg) {
 		User u = user;
 		if (u != null &&
-		    isWatching(name) &&
 		    namespace.accessLevel(name, u) >= AccessLevel.VIEW.ordinal())
 		{
-			notifyAttribute(name.toString(), params);
-		}
-	}
-
-	/** Notify the client of an attribute change.
-	 * This may only be called on the Task Processor thread. */
-	private void notifyAttribute(String name, String[] params) {
-		try {
-			state.encoder.encode(Message.ATTRIBUTE, name, params);
-			flush();
-		}
-		catch (IOException e) {
-			disconnect("I/O error: notifyAttribute " + name);
+			notifyEncoded(name, msg);
 		}
 	}
 
 	/** Notify the client of a name being removed.
-	 * This may only be called on the Task Processor thread. */
-	void notifyRemove(Name name) {
-		if (isWatching(name)) {
-			notifyRemove(name.toString());
-			stopWatching(name);
-		}
+	 * This may only be called on the Connection thread.
+	 * @param name Removed name.
+	 * @param msg Encoded REMOVE message (shared by connections). */
+	void notifyRemove(Name name, byte[] msg) {
+		notifyEncoded(name, msg);
+		stopWatching(name);
 	}
 
-	/** Notify the client of a name being removed.
-	 * This may only be called on the Task Processor thread. */
-	protected void notifyRemove(String name) {
+	/** Send an encoded notification to the client.
+	 * This may only be called on the Connection thread. */
+	private void notifyEncoded(Name name, byte[] msg) {
 		try {
-			state.encoder.encode(Message.REMOVE, name);
-			flush();
+			state.encoder.encode(msg);
+			scheduleFlush();
 		}
 		catch (IOException e) {
-			disconnect("I/O error: notifyRemove " + name);
+			disconnect("I/O error: notify " + name);
 		}
 	}
 
@@ -361,7 +372,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Process any incoming messages.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	void processMessages() {
 		if (!isConnected())
 			return;
@@ -377,20 +388,65 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Process any incoming messages.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void _processMessages() throws SSLException, IOException {
 		while (state.doRead()) {
 			List<String> params = state.decoder.decode();
 			while (params != null) {
-				processMessage(params);
+				pending.add(params);
 				params = state.decoder.decode();
 			}
 		}
+		drainMessages();
+	}
+
+	/** Resume processing messages after the Task Processor thread has
+	 * handled a message.
+	 * This may only be called on the Connection thread.
+	 * @param err Error message from handling, or null. */
+	void resumeMessages(String err) {
+		suspended = false;
+		if (handling != null) {
+			state.decoder.recycle(handling);
+			handling = null;
+		}
+		if (!isConnected())
+			return;
+		try {
+			if (err != null)
+				showError(err);
+			drainMessages();
+		}
+		catch (IOException e) {
+			disconnect("I/O error: resumeMessages");
+		}
+	}
+
+	/** Process pending messages until done or suspended.
+	 * This may only be called on the Connection thread. */
+	private void drainMessages() throws IOException {
+		while (!suspended) {
+			List<String> params = pending.poll();
+			if (params == null)
+				break;
+			processMessage(params);
+			if (suspended)
+				handling = params;
+			else
+				state.decoder.recycle(params);
+		}
 		flush();
 	}
 
+	/** Show an error message to the client.
+	 * This may only be called on the Connection thread. */
+	private void showError(String msg) throws IOException {
+		state.encoder.encode(Message.SHOW, msg);
+		TaskProcessor.DEBUG.log("Message error: " + msg);
+	}
+
 	/** Process one message from the client.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void processMessage(List<String> params)
 		throws IOException
 	{
@@ -399,25 +455,43 @@ public class ConnectionImpl extends Conduit implements Connection {
 				_processMessage(params);
 		}
 		catch (SonarException e) {
-			state.encoder.encode(Message.SHOW, e.getMessage());
-			TaskProcessor.DEBUG.log("Message error: " +
-				e.getMessage());
+			showError(e.getMessage());
 		}
 	}
 
 	/** Process one message from the client.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void _processMessage(List<String> params)
 		throws SonarException
 	{
 		String c = params.get(0);
 		if (c.length() != 1)
 			throw ProtocolError.invalidMessageCode();
-		_processMessage(lookupMessage(c.charAt(0)), params);
+		Message m = lookupMessage(c.charAt(0));
+		if (NAMESPACE_MESSAGES.contains(m)) {
+			// Suspend until the Task Processor handles it
+			suspended = true;
+			processor.processMessage(this, m, params);
+		} else
+			_processMessage(m, params);
 	}
 
-	/** Process one message from the client.
-	 * This may only be called on the Task Processor thread. */
+	/** Handle a message which changes the namespace.
+	 * This may only be called on the Task Processor thread.
+	 * @return Error message, or null on success. */
+	String handleMessage(Message m, List<String> params) {
+		if (!isConnected())
+			return null;
+		try {
+			_processMessage(m, params);
+			return null;
+		}
+		catch (SonarException e) {
+			return e.getMessage();
+		}
+	}
+
+	/** Process one message from the client. */
 	private void _processMessage(Message m, List<String> params)
 		throws SonarException
 	{
@@ -435,16 +509,28 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Start writing data to client.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	protected void startWrite() throws IOException {
 		if (state.shouldWrite())
 			state.doWrite();
 	}
 
+	/** Schedule a flush after a batch of notifications.  Notifications
+	 * queued before the flush are sent together, so that a deflate stream
+	 * is not sync flushed after every one.
+	 * This may only be called on the Connection thread. */
+	private void scheduleFlush() {
+		if (!flush_scheduled) {
+			flush_scheduled = true;
+			processor.flush(this);
+		}
+	}
+
 	/** Tell the I/O thread to flush the output buffer.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	@Override
 	public void flush() {
+		flush_scheduled = false;
 		try {
 			state.encoder.flush();
 			if (isConnected())
@@ -459,7 +545,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Respond to a LOGIN message.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	@Override
 	public void doLogin(List<String> params) throws SonarException {
 		if (user != null)
@@ -477,10 +563,14 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Finish a LOGIN after user has been authenticated.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void finishLogin(UserImpl u) {
 		try {
 			user = u;
+			// An empty TYPE name advertises DEFLATE support;
+			// older clients treat it as a no-op
+			if (state.deflate)
+				state.encoder.encode(Message.TYPE, "");
 			// The first TYPE message indicates a successful login
 			state.encoder.encode(Message.TYPE);
 			// Send the connection name to the client first
@@ -493,7 +583,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Fail a LOGIN attempt.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	public void failLogin() {
 		try {
 			state.encoder.encode(Message.SHOW, PermissionDenied.
@@ -528,14 +618,34 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Respond to a QUIT message.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	@Override
 	public void doQuit(List<String> params) {
 		disconnect();
 	}
 
+	/** Respond to a DEFLATE message.
+	 * This may only be called on the Connection thread. */
+	@Override
+	public void doDeflate(List<String> params) throws SonarException {
+		checkLoggedIn();
+		if (!state.deflate)
+			throw ProtocolError.invalidMessageCode();
+		if (params.size() != 1)
+			throw ProtocolError.wrongParameterCount();
+		try {
+			// Acknowledge, then compress everything after it
+			state.encoder.encode(Message.DEFLATE);
+			state.encoder.startDeflate();
+			flush();
+		}
+		catch (IOException e) {
+			disconnect("I/O error: doDeflate " + e.getMessage());
+		}
+	}
+
 	/** Respond to an ENUMERATE message.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	@Override
 	public void doEnumerate(List<String> params) throws SonarException {
 		checkLoggedIn();
@@ -562,7 +672,7 @@ public class ConnectionImpl extends Conduit implements Connection {
 	}
 
 	/** Respond to an IGNORE message.
-	 * This may only be called on the Task Processor thread. */
+	 * This may only be called on the Connection thread. */
 	@Override
 	public void doIgnore(List<String> params) throws SonarException {
 		checkLoggedIn();
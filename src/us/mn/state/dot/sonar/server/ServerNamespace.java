@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -87,6 +87,13 @@ public class ServerNamespace extends Namespace {
 		t.setField(phantom, name.getAttributePart(), v);
 	}
 
+	/** Invalidate the enumeration snapshot for an attribute change */
+	void invalidate(Name name) {
+		TypeNode t = _getTypeNode(name.getTypePart());
+		if (t != null)
+			t.invalidate(name.getObjectPart());
+	}
+
 	/** Test if an attribute is gettable */
 	boolean isGettable(Name name) {
 		try {
@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -34,6 +34,8 @@ import us.mn.state.dot.sched.Work;
 import us.mn.state.dot.sched.Worker;
 import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
 import us.mn.state.dot.sonar.ConfigurationError;
+import us.mn.state.dot.sonar.Message;
+import us.mn.state.dot.sonar.MessageEncoder;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.sonar.Namespace;
 import us.mn.state.dot.sonar.NamespaceError;
@@ -47,7 +49,12 @@ import us.mn.state.dot.tms.server.HashProvider;
 import us.mn.state.dot.tms.server.UserImpl;
 
 /**
- * The task processor handles all SONAR tasks.
+ * The task processor handles all SONAR tasks.  Tasks which change the
+ * namespace are performed on a single processor thread.  Tasks for one client
+ * connection (decoding, encoding, enumerating and flushing) are performed on
+ * one of several connection threads, so that independent connections can be
+ * serviced in parallel.  Each connection is assigned to one thread, which
+ * preserves FIFO ordering of all work for that connection.
  *
  * @author Douglas Lau
  */
@@ -87,10 +94,20 @@ public class TaskProcessor {
 			DEBUG_TIME.log(msg + " ELAPSED: " + Long.toString(el));
 	}
 
+	/** Debug task queue latency */
+	static private void debugLatency(String msg, long lat, int depth) {
+		if (lat > MIN_ELAPSED_LOG_MS) {
+			DEBUG_TIME.log(msg + " LATENCY: " + Long.toString(lat)
+				+ ", DEPTH: " + Integer.toString(depth));
+		}
+	}
+
 	/** Task processor work */
 	static abstract private class TaskWork extends Work {
 		private final String name;
 		private final ConnectionImpl conn;
+		private long queued;
+		private int depth;
 		private TaskWork(String n, ConnectionImpl c) {
 			name = n;
 			conn = c;
@@ -98,10 +115,17 @@ public class TaskProcessor {
 		private TaskWork(String n) {
 			this(n, null);
 		}
+		private void addTo(Worker w) {
+			queued = currentTimeMillis();
+			depth = w.size();
+			w.addWork(this);
+		}
 		@Override public final void perform() throws Exception {
 			final boolean op = DEBUG_TIME.isOpen();
 			final long st = (op) ? currentTimeMillis() : 0;
 			try {
+				if (op)
+					debugLatency(name, st - queued, depth);
 				debugTask(name, conn);
 				doPerform();
 			}
@@ -115,22 +139,22 @@ public class TaskProcessor {
 		abstract protected void doPerform() throws Exception;
 	}
 
-	/** SONAR namespace being served */
-	private final ServerNamespace namespace;
-
-	/** Server properties */
-	private final Properties props;
-
-	/** Access logger */
-	private final AccessLogger access_logger;
-
-	/** SSL context */
-	private final SSLContext context;
+	/** Get the number of connection threads */
+	static private int connThreads(Properties props) {
+		String t = props.getProperty("sonar.threads");
+		if (t != null) {
+			try {
+				return Math.max(1, Integer.parseInt(t));
+			}
+			catch (NumberFormatException e) {
+				DEBUG.log("Invalid sonar.threads: " + t);
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
 
-	/** Task processor worker */
-	private final Worker processor = new Worker("sonar_proc",
- 		new ExceptionHandler()
-	{
+	/** Exception handler for task processor threads */
+	static private final ExceptionHandler HANDLER = new ExceptionHandler() {
 		public boolean handle(Exception e) {
 			if (e instanceof CancelledKeyException)
 				DEBUG.log("Key already cancelled");
@@ -142,7 +166,28 @@ public class TaskProcessor {
 			}
 			return true;
 		}
-	});
+	};
+
+	/** SONAR namespace being served */
+	private final ServerNamespace namespace;
+
+	/** Server properties */
+	private final Properties props;
+
+	/** Access logger */
+	private final AccessLogger access_logger;
+
+	/** SSL context */
+	private final SSLContext context;
+
+	/** Task processor worker (for namespace tasks) */
+	private final Worker processor = new Worker("sonar_proc", HANDLER);
+
+	/** Connection workers (for per-connection tasks) */
+	private final Worker[] conn_workers;
+
+	/** Next connection worker to assign */
+	private int next_shard = 0;
 
 	/** Authenticator for user credentials */
 	private final Authenticator authenticator;
@@ -158,6 +203,10 @@ public class TaskProcessor {
 	/** File to write session list */
 	private final String session_file;
 
+	/** Index of names watched by client connections */
+	private final WatchIndex<ConnectionImpl> watchers =
+		new WatchIndex<ConnectionImpl>();
+
 	/** Connection for current message processing */
 	private ConnectionImpl proc_conn = null;
 
@@ -176,6 +225,42 @@ public class TaskProcessor {
 		if (url != null)
 			authenticator.setLdapProvider(new LdapProvider(url));
 		session_file = props.getProperty("sonar.session.file");
+		conn_workers = new Worker[connThreads(props)];
+		for (int i = 0; i < conn_workers.length; i++) {
+			conn_workers[i] = new Worker("sonar_conn_" + i,
+				HANDLER);
+		}
+	}
+
+	/** Add work for the task processor thread */
+	private void addWork(TaskWork w) {
+		w.addTo(processor);
+	}
+
+	/** Add work for a connection thread */
+	private void addWork(int shard, TaskWork w) {
+		w.addTo(conn_workers[shard]);
+	}
+
+	/** Add work for the thread of one connection */
+	private void addWork(ConnectionImpl c, TaskWork w) {
+		addWork(c.getShard(), w);
+	}
+
+	/** Assign a connection thread for a new connection.
+	 * This may only be called on the Task Processor thread. */
+	int assignShard() {
+		int s = next_shard;
+		next_shard = (s + 1) % conn_workers.length;
+		return s;
+	}
+
+	/** Get the total count of queued tasks */
+	public int getQueueDepth() {
+		int depth = processor.size();
+		for (Worker w: conn_workers)
+			depth += w.size();
+		return depth;
 	}
 
 	/** Create SSL state */
@@ -190,6 +275,11 @@ public class TaskProcessor {
 		return namespace;
 	}
 
+	/** Get the index of names watched by client connections */
+	WatchIndex<ConnectionImpl> getWatchIndex() {
+		return watchers;
+	}
+
 	/** Get connection for current message processing */
 	public ConnectionImpl getProcConnection() {
 		return proc_conn;
@@ -212,7 +302,7 @@ public class TaskProcessor {
 	public void scheduleConnect(final SelectionKey skey,
 		final SocketChannel sc)
 	{
-		processor.addWork(new TaskWork("Connect") {
+		addWork(new TaskWork("Connect") {
 			protected void doPerform() throws Exception {
 				try {
 					doConnect(skey, sc);
@@ -245,7 +335,7 @@ public class TaskProcessor {
 
 	/** Schedule a disconnect on a selection key */
 	public void scheduleDisconnect(final SelectionKey skey) {
-		processor.addWork(new TaskWork("Disconnect key") {
+		addWork(new TaskWork("Disconnect key") {
 			protected void doPerform() {
 				disconnect(skey);
 			}
@@ -256,7 +346,7 @@ public class TaskProcessor {
 	public void scheduleDisconnect(final ConnectionImpl c,
 		final String msg)
 	{
-		processor.addWork(new TaskWork("Disconnect", c) {
+		addWork(c, new TaskWork("Disconnect", c) {
 			protected void doPerform() {
 				if (msg != null)
 					c.disconnect(msg);
@@ -266,7 +356,8 @@ public class TaskProcessor {
 		});
 	}
 
-	/** Disconnect the client associated with the selection key. */
+	/** Disconnect the client associated with the selection key.
+	 * This may be called on any task processor thread. */
 	void disconnect(SelectionKey skey) {
 		skey.cancel();
 		ConnectionImpl c;
@@ -283,7 +374,7 @@ public class TaskProcessor {
 	}
 
 	/** Update list of valid session IDs */
-	private void updateSessionList() {
+	private synchronized void updateSessionList() {
 		if (session_file == null)
 			return;
 		try {
@@ -307,18 +398,45 @@ public class TaskProcessor {
 
 	/** Process messages on one connection */
 	void processMessages(final ConnectionImpl c) {
-		processor.addWork(new TaskWork("Processing msgs", c) {
+		addWork(c, new TaskWork("Processing msgs", c) {
 			protected void doPerform() {
-				proc_conn = c;
 				c.processMessages();
-				proc_conn = null;
+			}
+		});
+	}
+
+	/** Process a message which changes the namespace.  After it has been
+	 * handled, message processing is resumed on the connection thread. */
+	void processMessage(final ConnectionImpl c, final Message m,
+		final List<String> params)
+	{
+		addWork(new TaskWork("Processing msg", c) {
+			protected void doPerform() {
+				String err;
+				proc_conn = c;
+				try {
+					err = c.handleMessage(m, params);
+				}
+				finally {
+					proc_conn = null;
+				}
+				resumeMessages(c, err);
+			}
+		});
+	}
+
+	/** Resume processing messages on one connection */
+	private void resumeMessages(final ConnectionImpl c, final String err) {
+		addWork(c, new TaskWork("Resuming msgs", c) {
+			protected void doPerform() {
+				c.resumeMessages(err);
 			}
 		});
 	}
 
 	/** Flush outgoing data for one connection */
 	void flush(final ConnectionImpl c) {
-		processor.addWork(new TaskWork("Flush", c) {
+		addWork(c, new TaskWork("Flush", c) {
 			protected void doPerform() {
 				c.flush();
 			}
@@ -343,12 +461,12 @@ public class TaskProcessor {
 
 	/** Finish a LOGIN */
 	void finishLogin(final ConnectionImpl c, final UserImpl u) {
-		processor.addWork(new TaskWork("Finish LOGIN", c) {
+		addWork(c, new TaskWork("Finish LOGIN", c) {
 			protected void doPerform() {
 				access_logger.authenticate(c.getName(),
 					u.getName());
-				scheduleSetAttribute(c, "user");
 				c.finishLogin(u);
+				scheduleSetAttribute(c, "user");
 			}
 		});
 	}
@@ -357,7 +475,7 @@ public class TaskProcessor {
 	void failLogin(final ConnectionImpl c, final String name,
 		final boolean domain)
 	{
-		processor.addWork(new TaskWork("Fail LOGIN", c) {
+		addWork(c, new TaskWork("Fail LOGIN", c) {
 			protected void doPerform() {
 				if (domain) {
 					access_logger.failDomain(c.getName(),
@@ -386,7 +504,7 @@ public class TaskProcessor {
 	{
 		// Need to copy password, since authenticator will clear it
 		final String pwd = new String(pwd_new);
-		processor.addWork(new TaskWork("Finish PASSWORD", c) {
+		addWork(new TaskWork("Finish PASSWORD", c) {
 			protected void doPerform() {
 				try {
 					u.doSetPassword(pwd);
@@ -411,7 +529,7 @@ public class TaskProcessor {
 	void failPassword(final ConnectionImpl c, final UserImpl u,
 		final String msg)
 	{
-		processor.addWork(new TaskWork("Fail PASSWORD", c) {
+		addWork(c, new TaskWork("Fail PASSWORD", c) {
 			protected void doPerform() {
 				c.failPassword(msg);
 				access_logger.failPassword(c.getName(),
@@ -427,34 +545,99 @@ public class TaskProcessor {
 		}
 	}
 
+	/** Lookup connections watching a name.
+	 * @param name Object or attribute name.
+	 * @return Lists of watching connections, indexed by connection
+	 *         thread (null for threads with no watching connections). */
+	@SuppressWarnings("unchecked")
+	private ArrayList<ConnectionImpl>[] lookupWatchers(Name name) {
+		ArrayList<ConnectionImpl> cons =
+			new ArrayList<ConnectionImpl>();
+		watchers.lookup(name, cons);
+		if (cons.isEmpty())
+			return null;
+		ArrayList<ConnectionImpl>[] shards =
+			new ArrayList[conn_workers.length];
+		for (ConnectionImpl c: cons) {
+			int s = c.getShard();
+			if (shards[s] == null)
+				shards[s] = new ArrayList<ConnectionImpl>();
+			shards[s].add(c);
+		}
+		return shards;
+	}
+
 	/** Notify all connections watching a name of an object add. */
-	private void notifyObject(SonarObject o) {
+	private void notifyObject(final SonarObject o) {
 		Name name = new Name(o);
-		for (ConnectionImpl c: getConnectionList())
-			c.notifyObject(name, o);
+		ArrayList<ConnectionImpl>[] shards = lookupWatchers(name);
+		if (shards == null)
+			return;
+		for (int s = 0; s < shards.length; s++) {
+			final ArrayList<ConnectionImpl> cons = shards[s];
+			if (cons == null)
+				continue;
+			addWork(s, new TaskWork("Notify object") {
+				protected void doPerform() {
+					for (ConnectionImpl c: cons)
+						c.notifyObject(o);
+				}
+			});
+		}
 	}
 
 	/** Notify all connections watching a name of an attribute change. */
-	void notifyAttribute(Name name, String[] params) {
+	void notifyAttribute(final Name name, String[] params) {
 		if (DEBUG_TASK.isOpen()) {
 			debugTask("Notify attribute", name.toString() + " (" +
-				processor.size() + ")");
+				getQueueDepth() + ")");
 		}
-		if (namespace.isGettable(name)) {
-			for (ConnectionImpl c: getConnectionList())
-				c.notifyAttribute(name, params);
+		namespace.invalidate(name);
+		if (!namespace.isGettable(name))
+			return;
+		ArrayList<ConnectionImpl>[] shards = lookupWatchers(name);
+		if (shards == null)
+			return;
+		// Encode once, to be shared by all connections
+		final byte[] msg = MessageEncoder.encodeBytes(Message.ATTRIBUTE,
+			name.toString(), params);
+		for (int s = 0; s < shards.length; s++) {
+			final ArrayList<ConnectionImpl> cons = shards[s];
+			if (cons == null)
+				continue;
+			addWork(s, new TaskWork("Notify attribute") {
+				protected void doPerform() {
+					for (ConnectionImpl c: cons)
+						c.notifyAttribute(name, msg);
+				}
+			});
 		}
 	}
 
 	/** Notify all connections watching a name of an object remove. */
-	void notifyRemove(Name name) {
-		for (ConnectionImpl c: getConnectionList())
-			c.notifyRemove(name);
+	void notifyRemove(final Name name) {
+		ArrayList<ConnectionImpl>[] shards = lookupWatchers(name);
+		if (shards == null)
+			return;
+		// Encode once, to be shared by all connections
+		final byte[] msg = MessageEncoder.encodeBytes(Message.REMOVE,
+			name.toString(), null);
+		for (int s = 0; s < shards.length; s++) {
+			final ArrayList<ConnectionImpl> cons = shards[s];
+			if (cons == null)
+				continue;
+			addWork(s, new TaskWork("Notify remove") {
+				protected void doPerform() {
+					for (ConnectionImpl c: cons)
+						c.notifyRemove(name, msg);
+				}
+			});
+		}
 	}
 
 	/** Schedule an object to be added to the server's namespace */
 	public void scheduleAddObject(final SonarObject o) {
-		processor.addWork(new TaskWork("Add object") {
+		addWork(new TaskWork("Add object") {
 			protected void doPerform() throws SonarException {
 				doAddObject(o);
 			}
@@ -478,7 +661,7 @@ public class TaskProcessor {
 		}
 		// Array used to capture exception from processor thread
 		final SonarException[] se = new SonarException[1];
-		Work w = new TaskWork("Store object") {
+		TaskWork w = new TaskWork("Store object") {
 			protected void doPerform() {
 				try {
 					doStoreObject(o);
@@ -488,7 +671,7 @@ public class TaskProcessor {
 				}
 			}
 		};
-		processor.addWork(w);
+		addWork(w);
 		try {
 			// Only wait for 30 seconds before giving up
 			w.waitForCompletion(30000);
@@ -510,7 +693,7 @@ public class TaskProcessor {
 
 	/** Remove the specified object from the server's namespace */
 	public void scheduleRemoveObject(final SonarObject o) {
-		processor.addWork(new TaskWork("Remove object") {
+		addWork(new TaskWork("Remove object") {
 			protected void doPerform() throws SonarException {
 				doRemoveObject(o);
 			}
@@ -527,7 +710,10 @@ public class TaskProcessor {
 	/** Set the specified attribute in the server's namespace */
 	public void scheduleSetAttribute(SonarObject o, String a) {
 		final Name name = new Name(o, a);
-		processor.addWork(new TaskWork("Set attribute") {
+		// Invalidate now, so an enumeration queued before the
+		// notification can't send the old value from a snapshot
+		namespace.invalidate(name);
+		addWork(new TaskWork("Set attribute") {
 			protected void doPerform() throws SonarException {
 				doSetAttribute(name);
 			}
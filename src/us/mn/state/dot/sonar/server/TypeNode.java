@@ -1,6 +1,6 @@
 /*
  * SONAR -- Simple Object Notification And Replication
- * Copyright (C) 2006-2024  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
+import static us.mn.state.dot.sched.TimeSteward.currentTimeMillis;
 import us.mn.state.dot.sonar.Message;
 import us.mn.state.dot.sonar.MessageEncoder;
 import us.mn.state.dot.sonar.Name;
@@ -37,6 +38,37 @@ public class TypeNode {
 	/** Initial capacity of type hash */
 	static private final int INITIAL_CAPACITY = 256;
 
+	/** Maximum age of an object snapshot (ms).  Snapshots are invalidated
+	 * when attributes are set or notified, but this limits how stale an
+	 * attribute which changes without notification can be. */
+	static private final long SNAPSHOT_MAX_MS = 30000;
+
+	/** Encoded snapshot of all attributes of one object.  A snapshot is
+	 * invalidated whenever an attribute of the object is set or notified,
+	 * and dropped when the object is added or removed. */
+	static private class Snapshot {
+
+		/** Version, incremented each time it is invalidated */
+		private int version;
+
+		/** Encoded messages (null if invalid) */
+		private byte[] bytes;
+
+		/** Time snapshot was encoded */
+		private long stamp;
+
+		/** Get encoded messages, if still valid */
+		private byte[] getBytes(long now) {
+			return (now - stamp < SNAPSHOT_MAX_MS) ? bytes : null;
+		}
+
+		/** Invalidate the snapshot */
+		private synchronized void invalidate() {
+			version++;
+			bytes = null;
+		}
+	}
+
 	/** Type name */
 	public final String tname;
 
@@ -50,6 +82,11 @@ public class TypeNode {
 		new ConcurrentHashMap<String, SonarObject>(INITIAL_CAPACITY,
 		0.75f, 1);
 
+	/** Encoded snapshots of child objects, for fast enumeration */
+	private final ConcurrentHashMap<String, Snapshot> snapshots =
+		new ConcurrentHashMap<String, Snapshot>(INITIAL_CAPACITY,
+		0.75f, 4);
+
 	/** An attribute dispatcher can set and get attributes on objects */
 	private final AttributeDispatcher dispatcher;
 
@@ -77,6 +114,7 @@ public class TypeNode {
 				throw NamespaceError.nameExists(name);
 			dispatcher.storeObject(o);
 			children.put(name, o);
+			snapshots.remove(name);
 		}
 	}
 
@@ -86,8 +124,10 @@ public class TypeNode {
 		synchronized (children) {
 			if (children.containsKey(name))
 				throw NamespaceError.nameExists(name);
-			else
+			else {
 				children.put(name, o);
+				snapshots.remove(name);
+			}
 		}
 	}
 
@@ -107,9 +147,17 @@ public class TypeNode {
 				children.put(n, o);
 				throw e;
 			}
+			snapshots.remove(n);
 		}
 	}
 
+	/** Invalidate the snapshot of an object after an attribute change */
+	public void invalidate(String n) {
+		Snapshot snap = snapshots.get(n);
+		if (snap != null)
+			snap.invalidate();
+	}
+
 	/** Lookup an object from the given name */
 	public SonarObject lookupObject(String n) {
 		return children.get(n);
@@ -132,6 +180,41 @@ public class TypeNode {
 		throws SonarException, IOException
 	{
 		assert(o.getTypeName() == tname);
+		enc.encode(getSnapshot(o));
+	}
+
+	/** Get an encoded snapshot of all attributes of an object */
+	private byte[] getSnapshot(SonarObject o) throws SonarException {
+		String n = o.getName();
+		Snapshot snap = snapshots.get(n);
+		if (snap == null) {
+			snap = new Snapshot();
+			Snapshot s = snapshots.putIfAbsent(n, snap);
+			if (s != null)
+				snap = s;
+		}
+		long now = currentTimeMillis();
+		int ver;
+		synchronized (snap) {
+			byte[] b = snap.getBytes(now);
+			if (b != null)
+				return b;
+			ver = snap.version;
+		}
+		byte[] b = encodeObject(o);
+		synchronized (snap) {
+			// Don't cache if invalidated or removed while encoding
+			if (snap.version == ver && children.get(n) == o) {
+				snap.bytes = b;
+				snap.stamp = now;
+			}
+		}
+		return b;
+	}
+
+	/** Encode all attributes of an object */
+	private byte[] encodeObject(SonarObject o) throws SonarException {
+		StringBuilder sb = new StringBuilder();
 		boolean first = true;
 		for (String a: dispatcher.getGettableAttributes()) {
 			String[] v = getValue(o, a);
@@ -139,11 +222,12 @@ public class TypeNode {
 				a = new Name(o, a).toString();
 				first = false;
 			}
-			enc.encode(Message.ATTRIBUTE, a, v);
+			MessageEncoder.append(sb, Message.ATTRIBUTE, a, v);
 		}
 		if (first)
-			enc.encode(Message.TYPE, tname);
-		enc.encode(Message.OBJECT, o.getName());
+			MessageEncoder.append(sb, Message.TYPE, tname, null);
+		MessageEncoder.append(sb, Message.OBJECT, o.getName(), null);
+		return MessageEncoder.toBytes(sb);
 	}
 
 	/** Enumerate all the objects of the type node */
@@ -169,7 +253,13 @@ public class TypeNode {
 		String aname = name.getAttributePart();
 		SonarObject o = children.get(oname);
 		if (o != null) {
-			dispatcher.setValue(o, aname, v);
+			try {
+				dispatcher.setValue(o, aname, v);
+			}
+			finally {
+				// Setter may change other attributes too
+				invalidate(oname);
+			}
 			return null;
 		} else {
 			o = dispatcher.createObject(oname);
@@ -146,7 +146,7 @@ public class AlarmImpl extends ControllerIoImpl implements Alarm {
 			setTriggerTime();
 		AlarmEvent ev = new AlarmEvent(getEventType(s), getName());
 		try {
-			store.update(this, "state", s);
+			store.updateDurable(this, "state", s);
 			ev.doStore();
 			state = s;
 			notifyAttribute("state");
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2013  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,32 +14,43 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FilenameFilter;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.Date;
-import java.util.Enumeration;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-import java.util.zip.ZipOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 
 /**
- * Job to create sample data archive files.
+ * Job to create sample data archive files.  Each day directory is archived
+ * to a .traffic (zip) file, along with a columnar archive file.  Sample
+ * files are read and compressed in parallel, and written to the zip file
+ * in order.  The day is locked while it is archived, so that late samples
+ * are not written to files being archived.
  *
  * @author Douglas Lau
  */
 public class ArchiveSamplesJob extends Job {
 
-	/** Buffer for reading sample data files */
-	protected final byte[] buffer = new byte[8192];
+	/** Number of threads for compressing entries */
+	static private final int N_THREADS = Math.max(1, Math.min(4,
+		Runtime.getRuntime().availableProcessors()));
+
+	/** Maximum number of entries being compressed (or waiting to be
+	 * written) at once */
+	static private final int WINDOW = 64 * N_THREADS;
+
+	/** Thread pool for compressing entries */
+	static private final ForkJoinPool pool = new ForkJoinPool(N_THREADS);
 
 	/** Sample archive factory */
 	private final SampleArchiveFactory a_factory;
@@ -95,85 +106,139 @@ public class ArchiveSamplesJob extends Job {
 	/** Create a sample archive file for the given day */
 	protected void createSampleArchive(File day) throws IOException {
 		File traf = new File(day.toString() + ".traffic");
-		if(!traf.exists())
-			createSampleArchive(traf, day);
+		if(!traf.exists()) {
+			Lock lock = a_factory.getDayLock(day.getName())
+				.writeLock();
+			lock.lock();
+			try {
+				createSampleArchive(traf, day);
+			}
+			finally {
+				lock.unlock();
+			}
+		}
 	}
 
 	/** Create a sample archive file and delete the original sample files */
 	protected void createSampleArchive(File traf, File day)
 		throws IOException
 	{
-		FileOutputStream fos = new FileOutputStream(traf);
-		try {
-			addSampleEntries(fos, day);
-			deleteOriginalSampleFiles(traf, day);
-		}
-		finally {
-			fos.close();
-		}
+		createColumnarArchive(day);
+		File tmp = new File(traf.getPath() + ".tmp");
+		ArrayList<SampleFile> files = addSampleEntries(tmp, day);
+		if(!tmp.renameTo(traf))
+			throw new IOException("rename failed: " + traf);
+		deleteOriginalSampleFiles(files, day);
 	}
 
-	/** Add all valid sample file entries to an archive file */
-	protected void addSampleEntries(FileOutputStream fos, File day)
-		throws IOException
-	{
-		ZipOutputStream zos = new ZipOutputStream(
-			new BufferedOutputStream(fos));
-		addSampleEntries(zos, day);
-		zos.finish();
-		zos.close();
+	/** Create a columnar archive file for the given day */
+	protected void createColumnarArchive(File day) throws IOException {
+		File col = new File(day.toString() + ColumnarArchiveWriter.EXT);
+		if(!col.exists())
+			new ColumnarArchiveWriter(day).write(col);
 	}
 
-	/** Add all valid sample file entries to an archive file */
-	protected void addSampleEntries(ZipOutputStream zos, File day)
+	/** Add all valid sample file entries to an archive file.
+	 * @return List of sample files which were written. */
+	protected ArrayList<SampleFile> addSampleEntries(File zip, File day)
 		throws IOException
 	{
+		ArrayList<SampleFile> files = new ArrayList<SampleFile>();
+		ZipArchiveWriter zw = new ZipArchiveWriter(zip);
+		ArrayDeque<SampleFile> pending = new ArrayDeque<SampleFile>();
+		try {
+			for(String name: listSampleFiles(day)) {
+				if(pending.size() >= WINDOW)
+					writeEntry(zw, pending.poll(), files);
+				File f = new File(day, name);
+				pending.add(new SampleFile(f));
+			}
+			while(!pending.isEmpty())
+				writeEntry(zw, pending.poll(), files);
+		}
+		finally {
+			for(SampleFile sf: pending)
+				sf.entry.cancel(false);
+			zw.close();
+		}
+		return files;
+	}
+
+	/** Get a sorted array of valid sample file names in a day */
+	private String[] listSampleFiles(File day) throws IOException {
 		String[] entries = day.list(new FilenameFilter() {
 			public boolean accept(File dir, String name) {
 				return a_factory.hasKnownExtension(name);
 			}
 		});
+		if(entries == null)
+			throw new IOException("list failed: " + day);
 		Arrays.sort(entries);
-		for(String entry: entries)
-			addSampleEntry(zos, day, entry);
+		return entries;
+	}
+
+	/** Sample file being archived.  Its size and modified time are
+	 * recorded before it is read, to check that it has not changed
+	 * before it is deleted. */
+	static protected class SampleFile {
+		private final File file;
+		private final long length;
+		private final long modified;
+		private final Future<ZipArchiveWriter.Entry> entry;
+		private SampleFile(File f) {
+			file = f;
+			length = f.length();
+			modified = f.lastModified();
+			entry = pool.submit(new EntryReader(f));
+		}
+		private boolean isUnchanged() {
+			return file.isFile() &&
+			       file.length() == length &&
+			       file.lastModified() == modified;
+		}
+	}
+
+	/** Task to read and compress one sample file */
+	static private class EntryReader
+		implements Callable<ZipArchiveWriter.Entry>
+	{
+		private final File file;
+		private EntryReader(File f) {
+			file = f;
+		}
+		public ZipArchiveWriter.Entry call() throws IOException {
+			return ZipArchiveWriter.Entry.read(file);
+		}
 	}
 
-	/** Add one sample file entry to an archive file */
-	protected void addSampleEntry(ZipOutputStream zos, File day,
-		String name) throws IOException
+	/** Wait for an entry to be compressed, and write it */
+	private void writeEntry(ZipArchiveWriter zw, SampleFile sf,
+		ArrayList<SampleFile> files) throws IOException
 	{
-		zos.putNextEntry(new ZipEntry(name));
-		FileInputStream fis = new FileInputStream(new File(day, name));
 		try {
-			synchronized(buffer) {
-				while(true) {
-					int n_bytes = fis.read(buffer);
-					if(n_bytes < 0)
-						break;
-					zos.write(buffer, 0, n_bytes);
-				}
-			}
+			zw.add(sf.entry.get());
+			files.add(sf);
 		}
-		finally {
-			fis.close();
+		catch(InterruptedException e) {
+			throw new IOException(e);
+		}
+		catch(ExecutionException e) {
+			Throwable c = e.getCause();
+			if(c instanceof IOException)
+				throw (IOException)c;
+			throw new IOException(c);
 		}
 	}
 
 	/** Delete the original sample files that have been copied into an
-	 * archive file */
-	protected void deleteOriginalSampleFiles(File traf, File day)
-		throws IOException
+	 * archive file.  Files which have changed since they were read are
+	 * kept, along with the day directory. */
+	protected void deleteOriginalSampleFiles(ArrayList<SampleFile> files,
+		File day)
 	{
-		ZipFile zf = new ZipFile(traf);
-		Enumeration e = zf.entries();
-		while(e.hasMoreElements()) {
-			ZipEntry ze = (ZipEntry)e.nextElement();
-			String name = ze.getName();
-			if(a_factory.hasKnownExtension(name)) {
-				File file = new File(day, name);
-				if(file.isFile())
-					file.delete();
-			}
+		for(SampleFile sf: files) {
+			if(sf.isUnchanged())
+				sf.file.delete();
 		}
 		day.delete();
 	}
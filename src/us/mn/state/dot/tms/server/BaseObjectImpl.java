@@ -20,7 +20,6 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.Date;
-import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.sonar.SonarException;
 import us.mn.state.dot.sonar.SonarObject;
@@ -28,8 +27,10 @@ import us.mn.state.dot.sonar.server.Server;
 import us.mn.state.dot.sonar.server.ServerNamespace;
 import us.mn.state.dot.tms.BaseHelper;
 import us.mn.state.dot.tms.TMSException;
+import us.mn.state.dot.tms.server.StartupLoader.Step;
 import static us.mn.state.dot.tms.server.MainServer.FLUSH;
 import us.mn.state.dot.tms.server.event.BaseEvent;
+import us.mn.state.dot.tms.server.event.EventSink;
 
 /**
  * Base object class for storable SONAR objects.
@@ -53,73 +54,108 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 	{
 		store = s;
 		namespace = ns;
+		// Users, roles and system attributes are needed by everything
 		DomainImpl.loadAll();
 		RoleImpl.loadAll();
 		PermissionImpl.loadAll();
 		UserImpl.loadAll();
 		SystemAttributeImpl.loadAll();
 		EventConfigImpl.loadAll();
-		GraphicImpl.loadAll();
-		FontImpl.loadAll();
-		GlyphImpl.loadAll();
-		RoadImpl.loadAll();
-		RoadAffixImpl.loadAll();
-		GeoLocImpl.loadAll();
-		MapExtentImpl.loadAll();
-		IncDetailImpl.loadAll();
-		CommConfigImpl.loadAll();
-		CommLinkImpl.loadAll();
-		CabinetStyleImpl.loadAll();
-		ControllerImpl.loadAll();
-		SignConfigImpl.loadAll();
-		SignDetailImpl.loadAll();
-		DayPlanImpl.loadAll();
-		DayMatcherImpl.loadAll();
-		PlanPhaseImpl.loadAll();
-		ActionPlanImpl.loadAll();
-		R_NodeImpl.loadAll();
-		/* NOTE: must happen after r_nodes are loaded */
-		corridors.createCorridors();
-		AlarmImpl.loadAll();
-		GpsImpl.loadAll();
-		CameraTemplateImpl.loadAll();
-		VidSourceTemplateImpl.loadAll();
-		CameraVidSourceOrderImpl.loadAll();
-		DetectorImpl.loadAll();
-		TollZoneImpl.loadAll();
-		EncoderTypeImpl.loadAll();
-		EncoderStreamImpl.loadAll();
-		CameraImpl.loadAll();
-		CameraPresetImpl.loadAll();
-		PlayListImpl.loadAll();
-		MonitorStyleImpl.loadAll();
-		VideoMonitorImpl.loadAll();
-		FlowStreamImpl.loadAll();
-		BeaconImpl.loadAll();
-		WeatherSensorImpl.loadAll();
-		RampMeterImpl.loadAll();
-		SignMessageImpl.loadAll();
-		DMSImpl.loadAll();
-		MsgPatternImpl.loadAll();
-		MsgLineImpl.loadAll();
-		GateArmImpl.loadAll();
-		TagReaderImpl.loadAll();
-		LcsImpl.loadAll();
-		LcsStateImpl.loadAll();
-		ParkingAreaImpl.loadAll();
-		IncidentImpl.loadAll();
-		IncDescriptorImpl.loadAll();
-		IncLocatorImpl.loadAll();
-		IncAdviceImpl.loadAll();
-		TimeActionImpl.loadAll();
-		PhaseActionImpl.loadAll();
-		DeviceActionImpl.loadAll();
-		WordImpl.loadAll();
-		DMSImpl.updateAllStyles();
-		RptConduitImpl.loadAll();
-		AlertConfigImpl.loadAll();
-		AlertMessageImpl.loadAll();
-		AlertInfoImpl.loadAll();
+		StartupLoader ld = new StartupLoader(s);
+		Step graphic = ld.add(GraphicImpl.class);
+		Step font = ld.add(FontImpl.class);
+		Step glyph = ld.add(GlyphImpl.class, font);
+		Step road = ld.add(RoadImpl.class);
+		Step road_affix = ld.add(RoadAffixImpl.class);
+		Step geo_loc = ld.add(GeoLocImpl.class, road);
+		Step map_extent = ld.add(MapExtentImpl.class);
+		Step inc_detail = ld.add(IncDetailImpl.class);
+		Step comm_config = ld.add(CommConfigImpl.class);
+		Step comm_link = ld.add(CommLinkImpl.class, comm_config);
+		Step cabinet_style = ld.add(CabinetStyleImpl.class);
+		Step controller = ld.add(ControllerImpl.class, geo_loc,
+			comm_link, cabinet_style);
+		Step sign_config = ld.add(SignConfigImpl.class, font);
+		Step sign_detail = ld.add(SignDetailImpl.class);
+		Step day_plan = ld.add(DayPlanImpl.class);
+		Step day_matcher = ld.add(DayMatcherImpl.class, day_plan);
+		Step plan_phase = ld.add(PlanPhaseImpl.class);
+		Step action_plan = ld.add(ActionPlanImpl.class, plan_phase);
+		Step r_node = ld.add(R_NodeImpl.class, geo_loc);
+		Step corr = ld.add("corridors", new StartupLoader.Task() {
+			public void perform() {
+				corridors.createCorridors();
+			}
+		}, r_node);
+		Step alarm = ld.add(AlarmImpl.class, controller);
+		Step gps = ld.add(GpsImpl.class, geo_loc, controller);
+		Step cam_tmpl = ld.add(CameraTemplateImpl.class);
+		Step vid_tmpl = ld.add(VidSourceTemplateImpl.class);
+		Step vid_order = ld.add(CameraVidSourceOrderImpl.class);
+		Step detector = ld.add(DetectorImpl.class, geo_loc, controller,
+			r_node, corr);
+		Step toll_zone = ld.add(TollZoneImpl.class, geo_loc, detector);
+		Step enc_type = ld.add(EncoderTypeImpl.class);
+		Step enc_stream = ld.add(EncoderStreamImpl.class, enc_type);
+		Step camera = ld.add(CameraImpl.class, geo_loc, controller,
+			cam_tmpl, enc_type);
+		Step preset = ld.add(CameraPresetImpl.class, camera);
+		Step play_list = ld.add(PlayListImpl.class, camera);
+		Step mon_style = ld.add(MonitorStyleImpl.class);
+		Step monitor = ld.add(VideoMonitorImpl.class, controller,
+			camera, mon_style);
+		Step flow_stream = ld.add(FlowStreamImpl.class, geo_loc,
+			controller, camera, monitor);
+		Step beacon = ld.add(BeaconImpl.class, geo_loc, controller,
+			preset);
+		Step weather = ld.add(WeatherSensorImpl.class, geo_loc,
+			controller);
+		Step meter = ld.add(RampMeterImpl.class, geo_loc, controller,
+			r_node, corr, detector, preset, beacon);
+		Step sign_msg = ld.add(SignMessageImpl.class, sign_config);
+		Step dms = ld.add(DMSImpl.class, graphic, geo_loc, controller,
+			sign_config, sign_detail, preset, beacon, weather,
+			sign_msg);
+		Step msg_pattern = ld.add(MsgPatternImpl.class);
+		Step msg_line = ld.add(MsgLineImpl.class);
+		Step gate_arm = ld.add(GateArmImpl.class, geo_loc, controller,
+			action_plan, preset);
+		Step tag_reader = ld.add(TagReaderImpl.class, geo_loc,
+			controller, toll_zone, dms);
+		Step lcs = ld.add(LcsImpl.class, geo_loc, controller, preset);
+		Step lcs_state = ld.add(LcsStateImpl.class, controller,
+			msg_pattern, lcs);
+		Step parking = ld.add(ParkingAreaImpl.class, geo_loc, r_node,
+			corr, detector, preset);
+		Step incident = ld.add(IncidentImpl.class, road, geo_loc, corr,
+			inc_detail, camera);
+		Step inc_desc = ld.add(IncDescriptorImpl.class, inc_detail);
+		Step inc_loc = ld.add(IncLocatorImpl.class);
+		Step inc_adv = ld.add(IncAdviceImpl.class);
+		Step time_action = ld.add(TimeActionImpl.class, day_plan,
+			plan_phase, action_plan);
+		Step phase_action = ld.add(PhaseActionImpl.class, day_plan,
+			plan_phase, action_plan, alarm, detector);
+		Step dev_action = ld.add(DeviceActionImpl.class, plan_phase,
+			action_plan, msg_pattern);
+		Step word = ld.add(WordImpl.class);
+		/* NOTE: must happen after everything before it is loaded */
+		Step styles = ld.add("styles", new StartupLoader.Task() {
+			public void perform() {
+				DMSImpl.updateAllStyles();
+			}
+		}, graphic, glyph, road_affix, map_extent, sign_detail,
+			day_matcher, gps, vid_tmpl, vid_order, enc_stream,
+			play_list, flow_stream, meter, dms, msg_line, gate_arm,
+			tag_reader, lcs_state, parking, incident, inc_desc,
+			inc_loc, inc_adv, time_action, phase_action,
+			dev_action, word);
+		ld.add(RptConduitImpl.class, styles);
+		Step alert_config = ld.add(AlertConfigImpl.class, styles);
+		ld.add(AlertMessageImpl.class, sign_config, dms, msg_pattern,
+			alert_config);
+		ld.add(AlertInfoImpl.class, action_plan, styles);
+		ld.run();
 	}
 
 	/** Get the time as a time stamp */
@@ -585,12 +621,11 @@ abstract public class BaseObjectImpl implements Storable, SonarObject {
 		return null;
 	}
 
+	/** Event sink for storing events */
+	static public final EventSink EVENT_SINK = new EventSink(FLUSH);
+
 	/** Log an event */
-	static public void logEvent(final BaseEvent ev) {
-		FLUSH.addJob(new Job() {
-			public void perform() throws TMSException {
-				ev.doStore();
-			}
-		});
+	static public void logEvent(BaseEvent ev) {
+		EVENT_SINK.add(ev);
 	}
 }
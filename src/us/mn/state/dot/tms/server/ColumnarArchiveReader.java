@@ -0,0 +1,235 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Columnar archive reader.  The whole file is memory-mapped, and only the
+ * blocks containing requested sensors are decompressed.
+ *
+ * @see ColumnarArchiveWriter
+ * @author Douglas Lau
+ */
+public class ColumnarArchiveReader {
+
+	/** Number of sensors in each compressed block */
+	static private final int BLOCK = ColumnarArchiveWriter.BLOCK_SENSORS;
+
+	/** Read samples for a set of sensors over a number of days.
+	 * @param files Columnar archive files, one for each day.
+	 * @param sids Sensor IDs.
+	 * @param ext Sample file extension (such as "v30").
+	 * @return Samples indexed by day, then sensor.  Missing days or
+	 *         sensors are null. */
+	static public int[][][] read(List<File> files, String[] sids,
+		String ext) throws IOException
+	{
+		int[][][] samples = new int[files.size()][][];
+		for (int d = 0; d < files.size(); d++) {
+			File f = files.get(d);
+			if (f.isFile())
+				samples[d] = new ColumnarArchiveReader(f).read(
+					sids, ext);
+		}
+		return samples;
+	}
+
+	/** Column of samples for one file extension */
+	static private class Column {
+		private final int sample_bytes;
+		private final int samples;
+		private final long[] offsets;
+		private final int[] lengths;
+		private Column(ByteBuffer buf) {
+			sample_bytes = buf.get();
+			samples = buf.getInt();
+			int n_blocks = buf.getInt();
+			offsets = new long[n_blocks];
+			lengths = new int[n_blocks];
+			for (int b = 0; b < n_blocks; b++) {
+				offsets[b] = buf.getLong();
+				lengths[b] = buf.getInt();
+			}
+		}
+		private int sensorBytes() {
+			return samples * sample_bytes;
+		}
+	}
+
+	/** Read a string as a short length and UTF-8 bytes */
+	static private String readString(ByteBuffer buf) {
+		byte[] b = new byte[buf.getShort() & 0xFFFF];
+		buf.get(b);
+		return new String(b, StandardCharsets.UTF_8);
+	}
+
+	/** Mapped file buffer */
+	private final MappedByteBuffer map;
+
+	/** Sensor index, by sensor ID */
+	private final HashMap<String, Integer> sensors =
+		new HashMap<String, Integer>();
+
+	/** Columns, by extension */
+	private final HashMap<String, Column> columns =
+		new HashMap<String, Column>();
+
+	/** Create a new columnar archive reader */
+	public ColumnarArchiveReader(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel chan = raf.getChannel();
+			map = chan.map(FileChannel.MapMode.READ_ONLY, 0,
+				chan.size());
+		}
+		finally {
+			// Mapping remains valid after the file is closed
+			raf.close();
+		}
+		try {
+			readHeader();
+		}
+		catch (RuntimeException e) {
+			throw new IOException("Invalid archive: " + file, e);
+		}
+	}
+
+	/** Read the file header */
+	private void readHeader() throws IOException {
+		ByteBuffer buf = map.duplicate();
+		if (buf.getInt() != ColumnarArchiveWriter.MAGIC)
+			throw new IOException("Bad magic");
+		if (buf.getShort() != ColumnarArchiveWriter.VERSION)
+			throw new IOException("Bad version");
+		int n_sensors = buf.getInt();
+		for (int i = 0; i < n_sensors; i++)
+			sensors.put(readString(buf), i);
+		int n_columns = buf.getShort() & 0xFFFF;
+		for (int c = 0; c < n_columns; c++) {
+			String ext = readString(buf);
+			columns.put(ext, new Column(buf));
+		}
+	}
+
+	/** Get the set of sample file extensions */
+	public Set<String> getExtensions() {
+		return columns.keySet();
+	}
+
+	/** Check if a sensor is in the archive */
+	public boolean hasSensor(String sid) {
+		return sensors.containsKey(sid);
+	}
+
+	/** Read samples for one sensor.
+	 * @param sid Sensor ID.
+	 * @param ext Sample file extension (such as "v30").
+	 * @return Samples, or null if not in archive. */
+	public int[] read(String sid, String ext) throws IOException {
+		return read(new String[] { sid }, ext)[0];
+	}
+
+	/** Read samples for a set of sensors.  Each block is decompressed
+	 * at most once.
+	 * @param sids Sensor IDs.
+	 * @param ext Sample file extension (such as "v30").
+	 * @return Samples for each sensor; null if not in archive. */
+	public int[][] read(String[] sids, String ext) throws IOException {
+		int[][] samples = new int[sids.length][];
+		Column col = columns.get(ext);
+		if (col == null)
+			return samples;
+		PeriodicSampleType st = ColumnarArchiveWriter.sampleType(ext);
+		if (st == null || st.sample_bytes != col.sample_bytes)
+			throw new IOException("Bad column: " + ext);
+		HashMap<Integer, ByteBuffer> blocks =
+			new HashMap<Integer, ByteBuffer>();
+		Inflater inf = new Inflater();
+		try {
+			for (int i = 0; i < sids.length; i++) {
+				Integer idx = sensors.get(sids[i]);
+				if (idx == null)
+					continue;
+				int b = idx / BLOCK;
+				ByteBuffer blk = blocks.get(b);
+				if (blk == null) {
+					blk = inflateBlock(inf, col, b);
+					blocks.put(b, blk);
+				}
+				int s = idx % BLOCK;
+				samples[i] = decode(blk, s * col.sensorBytes(),
+					col);
+			}
+		}
+		finally {
+			inf.end();
+		}
+		return samples;
+	}
+
+	/** Decompress one block of a column */
+	private ByteBuffer inflateBlock(Inflater inf, Column col, int b)
+		throws IOException
+	{
+		byte[] comp = new byte[col.lengths[b]];
+		ByteBuffer src = map.duplicate();
+		src.position((int) col.offsets[b]);
+		src.get(comp);
+		int n = Math.min(BLOCK, sensors.size() - b * BLOCK);
+		byte[] data = new byte[n * col.sensorBytes()];
+		inf.reset();
+		inf.setInput(comp);
+		try {
+			int len = 0;
+			while (len < data.length && !inf.finished()) {
+				int r = inf.inflate(data, len,
+					data.length - len);
+				if (r == 0 && inf.needsInput())
+					break;
+				len += r;
+			}
+			if (len != data.length)
+				throw new IOException("Short block");
+		}
+		catch (DataFormatException e) {
+			throw new IOException(e);
+		}
+		return ByteBuffer.wrap(data);
+	}
+
+	/** Decode samples for one sensor from a block */
+	static private int[] decode(ByteBuffer blk, int off, Column col) {
+		int[] samples = new int[col.samples];
+		for (int i = 0; i < samples.length; i++) {
+			int p = off + i * col.sample_bytes;
+			samples[i] = (col.sample_bytes == 2)
+			           ? blk.getShort(p)
+			           : blk.get(p);
+		}
+		return samples;
+	}
+}
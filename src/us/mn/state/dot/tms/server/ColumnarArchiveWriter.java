@@ -0,0 +1,307 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.Deflater;
+import us.mn.state.dot.tms.units.Interval;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+
+/**
+ * Columnar archive writer.  All periodic sample files in a day directory are
+ * combined into one file.  There is one column for each sample file extension
+ * (such as "v30"), holding a contiguous array of samples for every sensor
+ * in the day, in sensor order.  Sensors without a sample file are filled with
+ * MISSING_DATA.  Each column is split into blocks of BLOCK_SENSORS sensors,
+ * and each block is compressed separately.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   int     MAGIC
+ *   short   VERSION
+ *   int     sensor count
+ *   string  sensor ID (for each sensor, sorted)
+ *   short   column count
+ *   for each column:
+ *     string  extension
+ *     byte    bytes per sample
+ *     int     samples per sensor
+ *     int     block count
+ *     long    block offset, int block length (for each block)
+ *   compressed blocks
+ * </pre>
+ * Strings are a short byte length followed by UTF-8 bytes.
+ *
+ * @author Douglas Lau
+ */
+public class ColumnarArchiveWriter {
+
+	/** Magic number ("IRIS") */
+	static final int MAGIC = 0x49524953;
+
+	/** Format version */
+	static final short VERSION = 1;
+
+	/** Number of sensors in each compressed block */
+	static final int BLOCK_SENSORS = 64;
+
+	/** File extension for columnar archives */
+	static public final String EXT = ".tcol";
+
+	/** Get the sample type for a file extension (such as "v30").
+	 * @return Sample type, or null if not a periodic sample file. */
+	static PeriodicSampleType sampleType(String ext) {
+		PeriodicSampleType st = null;
+		for (PeriodicSampleType t: PeriodicSampleType.values()) {
+			if (ext.startsWith(t.extension) && isPeriod(
+			    ext.substring(t.extension.length())))
+			{
+				// Use longest match ("vs30" is SHORT, not "v")
+				if (st == null || t.extension.length() >
+				    st.extension.length())
+					st = t;
+			}
+		}
+		return st;
+	}
+
+	/** Check if a string is a valid sample period (seconds) */
+	static private boolean isPeriod(String p) {
+		try {
+			int s = Integer.parseInt(p);
+			return s > 0 && Interval.DAY.seconds() % s == 0;
+		}
+		catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/** Get the number of samples per day for a file extension */
+	static int samplesPerDay(String ext, PeriodicSampleType st) {
+		int per_sec = Integer.parseInt(ext.substring(
+			st.extension.length()));
+		return (int) (Interval.DAY.seconds() / per_sec);
+	}
+
+	/** Column of samples for one file extension */
+	static private class Column {
+		private final String ext;
+		private final PeriodicSampleType s_type;
+		private final int samples;
+		private final TreeSet<String> sensors = new TreeSet<String>();
+		private final ArrayList<Long> offsets = new ArrayList<Long>();
+		private final ArrayList<Integer> lengths =
+			new ArrayList<Integer>();
+		private Column(String e, PeriodicSampleType st) {
+			ext = e;
+			s_type = st;
+			samples = samplesPerDay(e, st);
+		}
+		private int sensorBytes() {
+			return samples * s_type.sample_bytes;
+		}
+	}
+
+	/** Day directory */
+	private final File day;
+
+	/** All sensor IDs, sorted */
+	private final ArrayList<String> sensors = new ArrayList<String>();
+
+	/** Columns, by extension */
+	private final TreeMap<String, Column> columns =
+		new TreeMap<String, Column>();
+
+	/** Deflater for compressing blocks */
+	private final Deflater deflater = new Deflater();
+
+	/** Create a new columnar archive writer for a day directory */
+	public ColumnarArchiveWriter(File d) {
+		day = d;
+	}
+
+	/** Write the columnar archive file.
+	 * @param file File to write.
+	 * @return true if any sample files were archived. */
+	public boolean write(File file) throws IOException {
+		scanFiles();
+		if (columns.isEmpty())
+			return false;
+		File tmp = new File(file.getPath() + ".tmp");
+		FileChannel chan = new RandomAccessFile(tmp, "rw").getChannel();
+		try {
+			chan.truncate(0);
+			long pos = encodeHeader().length;
+			for (Column col: columns.values())
+				pos = writeColumn(chan, col, pos);
+			writeFully(chan, ByteBuffer.wrap(encodeHeader()), 0);
+			chan.force(true);
+		}
+		finally {
+			chan.close();
+			deflater.end();
+		}
+		if (!tmp.renameTo(file))
+			throw new IOException("rename failed: " + file);
+		return true;
+	}
+
+	/** Scan the day directory for periodic sample files */
+	private void scanFiles() throws IOException {
+		String[] names = day.list();
+		if (names == null)
+			throw new IOException("list failed: " + day);
+		TreeSet<String> sids = new TreeSet<String>();
+		for (String name: names) {
+			int dot = name.lastIndexOf('.');
+			if (dot <= 0)
+				continue;
+			String ext = name.substring(dot + 1);
+			PeriodicSampleType st = sampleType(ext);
+			if (st != null) {
+				Column col = columns.get(ext);
+				if (col == null) {
+					col = new Column(ext, st);
+					columns.put(ext, col);
+				}
+				String sid = name.substring(0, dot);
+				col.sensors.add(sid);
+				sids.add(sid);
+			}
+		}
+		sensors.addAll(sids);
+	}
+
+	/** Write all blocks of a column.
+	 * @return File position after column. */
+	private long writeColumn(FileChannel chan, Column col, long pos)
+		throws IOException
+	{
+		byte[] block = new byte[BLOCK_SENSORS * col.sensorBytes()];
+		byte[] comp = new byte[block.length + block.length / 8 + 64];
+		for (int s = 0; s < sensors.size(); s += BLOCK_SENSORS) {
+			int n = Math.min(BLOCK_SENSORS, sensors.size() - s);
+			int len = n * col.sensorBytes();
+			for (int i = 0; i < n; i++) {
+				readSamples(col, sensors.get(s + i), block,
+					i * col.sensorBytes());
+			}
+			deflater.reset();
+			deflater.setInput(block, 0, len);
+			deflater.finish();
+			int c_len = 0;
+			while (!deflater.finished()) {
+				if (c_len == comp.length) {
+					comp = Arrays.copyOf(comp,
+						comp.length * 2);
+				}
+				c_len += deflater.deflate(comp, c_len,
+					comp.length - c_len);
+			}
+			writeFully(chan, ByteBuffer.wrap(comp, 0, c_len), pos);
+			col.offsets.add(pos);
+			col.lengths.add(c_len);
+			pos += c_len;
+		}
+		return pos;
+	}
+
+	/** Read samples for one sensor into a block.  Short files are padded
+	 * with MISSING_DATA, and long files are truncated. */
+	private void readSamples(Column col, String sid, byte[] block,
+		int off) throws IOException
+	{
+		int len = col.sensorBytes();
+		int n = 0;
+		if (col.sensors.contains(sid)) {
+			File f = new File(day, sid + "." + col.ext);
+			FileInputStream fis = new FileInputStream(f);
+			try {
+				while (n < len) {
+					int r = fis.read(block, off + n,
+						len - n);
+					if (r < 0)
+						break;
+					n += r;
+				}
+			}
+			finally {
+				fis.close();
+			}
+		}
+		// Round down to a whole sample, then pad
+		n = n / col.s_type.sample_bytes * col.s_type.sample_bytes;
+		ByteBuffer buf = ByteBuffer.wrap(block, off + n, len - n);
+		while (buf.hasRemaining())
+			col.s_type.putValue(buf, MISSING_DATA);
+	}
+
+	/** Write a buffer to a channel at a position */
+	static private void writeFully(FileChannel chan, ByteBuffer buf,
+		long pos) throws IOException
+	{
+		while (buf.hasRemaining())
+			pos += chan.write(buf, pos);
+	}
+
+	/** Encode the file header.  Block offsets are fixed width, so the
+	 * header length does not depend on them. */
+	private byte[] encodeHeader() throws IOException {
+		int n_blocks = (sensors.size() + BLOCK_SENSORS - 1) /
+			BLOCK_SENSORS;
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		dos.writeInt(MAGIC);
+		dos.writeShort(VERSION);
+		dos.writeInt(sensors.size());
+		for (String sid: sensors)
+			writeString(dos, sid);
+		dos.writeShort(columns.size());
+		for (Column col: columns.values()) {
+			writeString(dos, col.ext);
+			dos.writeByte(col.s_type.sample_bytes);
+			dos.writeInt(col.samples);
+			dos.writeInt(n_blocks);
+			for (int b = 0; b < n_blocks; b++) {
+				boolean w = b < col.offsets.size();
+				dos.writeLong(w ? col.offsets.get(b) : 0);
+				dos.writeInt(w ? col.lengths.get(b) : 0);
+			}
+		}
+		dos.flush();
+		return bos.toByteArray();
+	}
+
+	/** Write a string as a short length and UTF-8 bytes */
+	static private void writeString(DataOutputStream dos, String s)
+		throws IOException
+	{
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		dos.writeShort(b.length);
+		dos.write(b);
+	}
+}
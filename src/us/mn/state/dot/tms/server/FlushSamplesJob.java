@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,10 +14,16 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.ExceptionHandler;
 import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sched.Work;
+import us.mn.state.dot.sched.Worker;
 import us.mn.state.dot.tms.Detector;
 import us.mn.state.dot.tms.DetectorHelper;
 import us.mn.state.dot.tms.SystemAttrEnum;
@@ -26,12 +32,32 @@ import us.mn.state.dot.tms.WeatherSensorHelper;
 import us.mn.state.dot.tms.units.Interval;
 
 /**
- * Job to flush sample data to disk.
+ * Job to flush sample data to disk.  Detectors and weather sensors are
+ * partitioned by name into shards, and each shard is flushed on its own
+ * worker thread with its own writer.  This job only hands out the work, so
+ * it does not block other jobs on the FLUSH scheduler.  If a shard is still
+ * busy from the previous flush, it is skipped; its samples remain unflushed
+ * and are written on the next flush.
  *
  * @author Douglas Lau
  */
 public class FlushSamplesJob extends Job {
 
+	/** Flush debug log */
+	static private final DebugLog FLUSH_LOG = new DebugLog("flush");
+
+	/** Number of flush shards */
+	static private final int N_SHARDS = Math.max(1, Math.min(4,
+		Runtime.getRuntime().availableProcessors()));
+
+	/** Exception handler for flush workers */
+	static private final ExceptionHandler HANDLER = new ExceptionHandler() {
+		@Override public boolean handle(Exception e) {
+			e.printStackTrace();
+			return true;
+		}
+	};
+
 	/** Is archiving enabled? */
 	static private boolean isArchiveEnabled() {
 		return SystemAttrEnum.DETECTOR_DATA_ARCHIVE_ENABLE.getBoolean();
@@ -46,48 +72,135 @@ public class FlushSamplesJob extends Job {
 		return TimeSteward.currentTimeMillis() - SAMPLE_CACHE_MS;
 	}
 
-	/** Periodic sample writer */
-	private final PeriodicSampleWriter writer;
+	/** Get the shard number for a name */
+	static private int shardNum(String name) {
+		return Math.floorMod(name.hashCode(), N_SHARDS);
+	}
+
+	/** Shard of detectors and weather sensors to flush */
+	static private class Shard {
+
+		/** Worker thread for flushing */
+		private final Worker worker;
+
+		/** Periodic sample writer (only used by worker thread) */
+		private final PeriodicSampleWriter writer;
+
+		/** Flag to indicate shard is busy flushing */
+		private final AtomicBoolean busy = new AtomicBoolean();
+
+		/** Detectors to flush */
+		private ArrayList<DetectorImpl> dets;
+
+		/** Weather sensors to flush */
+		private ArrayList<WeatherSensorImpl> wss;
+
+		/** Create a new flush shard */
+		private Shard(int n, SampleArchiveFactory saf) {
+			worker = new Worker("flush_" + n, HANDLER);
+			writer = new PeriodicSampleWriter(saf);
+		}
+
+		/** Clear the shard lists */
+		private void clear() {
+			dets = new ArrayList<DetectorImpl>();
+			wss = new ArrayList<WeatherSensorImpl>();
+		}
+
+		/** Start flushing the shard.
+		 * @return false if shard is still busy. */
+		private boolean start(final boolean do_flush,
+			final long before)
+		{
+			if (!busy.compareAndSet(false, true))
+				return false;
+			final ArrayList<DetectorImpl> d = dets;
+			final ArrayList<WeatherSensorImpl> w = wss;
+			worker.addWork(new Work() {
+				@Override protected void perform() {
+					flush(d, w, do_flush, before);
+				}
+				@Override protected void complete() {
+					busy.set(false);
+				}
+			});
+			return true;
+		}
+
+		/** Flush sample data to disk.
+		 * This may only be called on the worker thread. */
+		private void flush(ArrayList<DetectorImpl> d,
+			ArrayList<WeatherSensorImpl> w, boolean do_flush,
+			long before)
+		{
+			long st = TimeSteward.currentTimeMillis();
+			for (DetectorImpl det: d) {
+				if (do_flush)
+					det.flush(writer);
+				det.purge(before);
+			}
+			for (WeatherSensorImpl ws: w) {
+				if (do_flush)
+					ws.flush(writer);
+				ws.purge(before);
+			}
+			if (FLUSH_LOG.isOpen()) {
+				long el = TimeSteward.currentTimeMillis() - st;
+				FLUSH_LOG.log(worker.getStats().getName() +
+					": " + d.size() + " detectors, " +
+					w.size() + " weather sensors, " + el +
+					" ms");
+			}
+		}
+	}
+
+	/** Flush shards */
+	private final Shard[] shards = new Shard[N_SHARDS];
 
 	/** Create a new flush samples job */
 	public FlushSamplesJob(SampleArchiveFactory saf) {
 		super(Calendar.MINUTE, 2);
-		writer = new PeriodicSampleWriter(saf);
+		for (int i = 0; i < shards.length; i++)
+			shards[i] = new Shard(i, saf);
 	}
 
 	/** Perform the flush samples job */
 	public void perform() {
+		for (Shard s: shards)
+			s.clear();
+		partitionDetectors();
+		partitionWeatherSensors();
+		boolean do_flush = isArchiveEnabled();
 		long before = calculatePurgeStamp();
-		flushDetectorSamples(before);
-		flushWeatherSamples(before);
+		for (Shard s: shards) {
+			if (!s.start(do_flush, before) && FLUSH_LOG.isOpen()) {
+				FLUSH_LOG.log(s.worker.getStats().getName() +
+					": busy, skipping");
+			}
+		}
 	}
 
-	/** Flush detector sample data to disk */
-	private void flushDetectorSamples(long before) {
-		boolean do_flush = isArchiveEnabled();
+	/** Partition detectors into shards */
+	private void partitionDetectors() {
 		Iterator<Detector> it = DetectorHelper.iterator();
 		while (it.hasNext()) {
 			Detector d = it.next();
 			if (d instanceof DetectorImpl) {
-				DetectorImpl det = (DetectorImpl) d;
-				if (do_flush)
-					det.flush(writer);
-				det.purge(before);
+				String n = d.getName();
+				shards[shardNum(n)].dets.add((DetectorImpl) d);
 			}
 		}
 	}
 
-	/** Flush weather sample data to disk */
-	private void flushWeatherSamples(long before) {
-		boolean do_flush = isArchiveEnabled();
+	/** Partition weather sensors into shards */
+	private void partitionWeatherSensors() {
 		Iterator<WeatherSensor> it = WeatherSensorHelper.iterator();
 		while (it.hasNext()) {
 			WeatherSensor w = it.next();
 			if (w instanceof WeatherSensorImpl) {
-				WeatherSensorImpl ws = (WeatherSensorImpl) w;
-				if (do_flush)
-					ws.flush(writer);
-				ws.purge(before);
+				String n = w.getName();
+				shards[shardNum(n)].wss.add(
+					(WeatherSensorImpl) w);
 			}
 		}
 	}
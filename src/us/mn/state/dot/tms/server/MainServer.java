@@ -34,6 +34,7 @@ import us.mn.state.dot.tms.Station;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import us.mn.state.dot.tms.TMSException;
 import us.mn.state.dot.tms.server.event.BaseEvent;
+import us.mn.state.dot.tms.server.comm.CommThread;
 import us.mn.state.dot.tms.server.comm.cux50.CUx50;
 import us.mn.state.dot.tms.server.comm.cux50.PrServer;
 import us.mn.state.dot.tms.utils.DevelCfg;
@@ -70,6 +71,9 @@ public class MainServer {
 	/** Flush thread for disk writing jobs */
 	static public final Scheduler FLUSH = new Scheduler("flush");
 
+	/** Archive thread for sample archiving jobs */
+	static public final Scheduler ARCHIVE = new Scheduler("archive");
+
 	/** Sample archive factory */
 	static public final SampleArchiveFactoryImpl a_factory =
 		new SampleArchiveFactoryImpl();
@@ -102,13 +106,15 @@ public class MainServer {
 			BaseEvent.store = store;
 			I18N.initialize(props);
 			ActionPlanImpl.initAllowList(props);
+			CommThread.initThreadMode(props);
 			ServerNamespace ns = createNamespace();
 			BaseObjectImpl.loadAll(store, ns);
 			scheduleTimerJobs();
 			scheduleFlushJobs();
+			addFlushHook();
 			startProtocolServer();
 			hash_provider = new HashProvider();
-			server = new Server(ns, props, new AccessLogger(FLUSH),
+			server = new Server(ns, props, new AccessLogger(),
 				hash_provider);
 			System.err.println("IRIS Server active");
 			server.join();
@@ -180,11 +186,42 @@ public class MainServer {
 	static private SQLConnection createStore(Properties props)
 		throws IOException, TMSException
 	{
-		return new SQLConnection(
+		final SQLConnection s = new SQLConnection(
 			props.getProperty("db.url"),
 			props.getProperty("db.user"),
 			props.getProperty("db.password")
 		);
+		int ms = Integer.parseInt(props.getProperty("db.coalesce.ms",
+			"0"));
+		if (ms > 0) {
+			s.enableCoalescing(FLUSH, ms);
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				@Override public void run() {
+					try {
+						s.flushPending();
+					}
+					catch (TMSException e) {
+						e.printStackTrace();
+					}
+				}
+			});
+		}
+		return s;
+	}
+
+	/** Add a shutdown hook to write buffered data */
+	static private void addFlushHook() {
+		Runtime.getRuntime().addShutdownHook(new Thread() {
+			@Override public void run() {
+				VehicleLogWriter.flushAll();
+				try {
+					BaseObjectImpl.EVENT_SINK.flush();
+				}
+				catch (TMSException e) {
+					e.printStackTrace();
+				}
+			}
+		});
 	}
 
 	/** Create the server namespace */
@@ -275,7 +312,7 @@ public class MainServer {
 	static private void scheduleFlushJobs() {
 		a_factory.addExtension(".vlg");
 		FLUSH.addJob(new FlushSamplesJob(a_factory));
-		FLUSH.addJob(new ArchiveSamplesJob(a_factory));
+		ARCHIVE.addJob(new ArchiveSamplesJob(a_factory));
 		FLUSH.addJob(new ProfilingJob());
 		FLUSH.addJob(new CreateCorridorsJob(FLUSH));
 		FLUSH.addJob(new XmlConfigJob(1000));
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2021  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,16 +14,23 @@
  */
 package us.mn.state.dot.tms.server;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.List;
+import java.util.TreeSet;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.units.Interval;
 import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
 
 /**
- * A cache for periodic sample data.  
+ * A cache for periodic sample data.  Samples are kept in a ring buffer of
+ * primitive values, indexed by period number, so adding a sample is O(1) and
+ * aggregating a time interval only visits the samples within it.
  *
  * @author Douglas Lau
  */
@@ -127,13 +134,37 @@ public class PeriodicSampleCache {
 		return vals;
 	}
 
+	/** Time span of samples kept in ring buffer (seconds).  This must
+	 * be longer than the time samples are cached before being purged. */
+	static private final int RING_SEC = 20 * 60;
+
+	/** Get ring buffer capacity for a sample period */
+	static private int ringCapacity(int per_sec) {
+		return Math.max(4, (RING_SEC + per_sec - 1) / per_sec);
+	}
+
 	/** Sample type */
 	public final PeriodicSampleType sample_type;
 
-	/** Collection of periodic samples.  Every sample is guaranteed to
-	 * have the same sampling period. */
-	private final ConcurrentSkipListSet<PeriodicSample> samples =
-		new ConcurrentSkipListSet<PeriodicSample>();
+	/** Sample period (seconds) of all cached samples */
+	private int per_sec;
+
+	/** Ring buffer of sample values, indexed by period number (start / per
+	 * ms) modulo capacity.  Missing samples are MISSING_DATA. */
+	private int[] ring = new int[0];
+
+	/** Period number of newest slot in ring buffer */
+	private long head;
+
+	/** Number of samples in ring buffer */
+	private int n_ring;
+
+	/** Ring buffer slots which have not been written to a file */
+	private final BitSet dirty = new BitSet();
+
+	/** Samples which do not fit in ring buffer: too old, or in the future
+	 * (null if none) */
+	private TreeSet<PeriodicSample> outliers;
 
 	/** Create a new periodic sample cache.
 	 * @param tp Sample type. */
@@ -147,14 +178,8 @@ public class PeriodicSampleCache {
 	 * @param ps Sample to add to the cache. */
 	public void add(PeriodicSample ps, String name) {
 		if (checkStamp(ps.stamp)) {
-			if (sample_type.isValid(ps)) {
-				if (!isPeriodOk(ps.per_sec))
-					samples.clear();
-				if (isPeriodSame(ps.per_sec))
-					addSample(ps);
-				else
-					interpolate(ps);
-			}
+			if (sample_type.isValid(ps))
+				addValid(ps);
 		} else {
 			if (SAMPLE_LOG.isOpen()) {
 				SAMPLE_LOG.log(name + ": invalid stamp: " +
@@ -163,6 +188,29 @@ public class PeriodicSampleCache {
 		}
 	}
 
+	/** Add a valid periodic sample to the cache */
+	private synchronized void addValid(PeriodicSample ps) {
+		if (!isPeriodOk(ps.per_sec))
+			clear();
+		if (isPeriodSame(ps.per_sec))
+			addSample(ps.start(), ps.per_sec, ps.value);
+		else
+			interpolate(ps);
+	}
+
+	/** Clear all samples */
+	private void clear() {
+		Arrays.fill(ring, MISSING_DATA);
+		dirty.clear();
+		n_ring = 0;
+		outliers = null;
+	}
+
+	/** Check if the cache is empty */
+	private boolean isEmpty() {
+		return n_ring == 0 && outliers == null;
+	}
+
 	/** Check if a period is OK to be cached.
 	 * @param per_sec Period to check (seconds).
 	 * @return true if period is OK to be cached. */
@@ -176,28 +224,113 @@ public class PeriodicSampleCache {
 	}
 
 	/** Get the sample period.
-	 * @param per_sec Default sample period.
+	 * @param ps Default sample period.
 	 * @return Sample period (seconds). */
-	private int getPeriod(int per_sec) {
-		return samples.isEmpty()
-		      ? per_sec
-		      : samples.first().per_sec;
+	private int getPeriod(int ps) {
+		return isEmpty() ? ps : per_sec;
 	}
 
-	/** Add a sample */
-	private void addSample(PeriodicSample ps) {
-		assert ps.per_sec == getPeriod(ps.per_sec) : "Invalid period";
-		assert !exists(ps.start()) : "Duplicate start time";
-		samples.add(ps);
+	/** Get the sample period in milliseconds */
+	private long periodMillis() {
+		return per_sec * 1000L;
+	}
+
+	/** Add a sample.
+	 * @param start Time stamp at start of sample.
+	 * @param ps Sample period (seconds).
+	 * @param value Sample value. */
+	private void addSample(long start, int ps, int value) {
+		assert ps == getPeriod(ps) : "Invalid period";
+		if (isEmpty())
+			setPeriod(ps);
+		long pn = start / periodMillis();
+		if (isInRing(pn) || advanceRing(pn, start)) {
+			int s = slot(pn);
+			assert ring[s] == MISSING_DATA : "Duplicate start time";
+			if (ring[s] == MISSING_DATA) {
+				ring[s] = value;
+				dirty.set(s);
+				n_ring++;
+			}
+		} else {
+			if (outliers == null)
+				outliers = new TreeSet<PeriodicSample>();
+			outliers.add(new PeriodicSample(start + periodMillis(),
+				ps, value));
+		}
 	}
 
-	/** Check if a sample exists with the given time stamp (start) */
-	private boolean exists(long stamp) {
-		for (PeriodicSample ps: samples) {
-			if (ps.start() == stamp)
-				return true;
+	/** Set the sample period (cache must be empty) */
+	private void setPeriod(int ps) {
+		per_sec = ps;
+		int cap = ringCapacity(ps);
+		if (ring.length != cap) {
+			ring = new int[cap];
+			Arrays.fill(ring, MISSING_DATA);
+		}
+	}
+
+	/** Get the ring buffer slot for a period number */
+	private int slot(long pn) {
+		return (int) Math.floorMod(pn, (long) ring.length);
+	}
+
+	/** Check if a period number is within the ring buffer */
+	private boolean isInRing(long pn) {
+		return n_ring > 0 && pn <= head && pn > head - ring.length;
+	}
+
+	/** Advance the ring buffer to a new head, if the sample is newer than
+	 * the current head but not in the future.  Samples which scroll out
+	 * are older than RING_SEC, so they have usually been purged.  If not
+	 * (flushing has stalled), unwritten samples are kept as outliers.
+	 * @return true if ring buffer was advanced. */
+	private boolean advanceRing(long pn, long start) {
+		if (start > TimeSteward.currentTimeMillis())
+			return false;
+		if (n_ring == 0) {
+			head = pn;
+			return true;
+		}
+		if (pn <= head)
+			return false;
+		long n = Math.min(pn - head, ring.length);
+		int n_kept = 0;
+		for (long i = 1; i <= n; i++) {
+			if (scrollOut(head + i - ring.length))
+				n_kept++;
+		}
+		head = pn;
+		if (n_kept > 0 && SAMPLE_LOG.isOpen()) {
+			SAMPLE_LOG.log(sample_type + ": " + n_kept +
+				" unwritten samples kept");
+		}
+		return true;
+	}
+
+	/** Scroll one period out of the ring buffer.
+	 * @param pn Period number to scroll out.
+	 * @return true if an unwritten sample was kept as an outlier. */
+	private boolean scrollOut(long pn) {
+		int s = slot(pn);
+		boolean keep = dirty.get(s);
+		if (keep) {
+			if (outliers == null)
+				outliers = new TreeSet<PeriodicSample>();
+			outliers.add(new PeriodicSample((pn + 1) *
+				periodMillis(), per_sec, ring[s]));
+		}
+		clearSlot(s);
+		return keep;
+	}
+
+	/** Clear one slot of the ring buffer */
+	private void clearSlot(int s) {
+		if (ring[s] != MISSING_DATA) {
+			ring[s] = MISSING_DATA;
+			dirty.clear(s);
+			n_ring--;
 		}
-		return false;
 	}
 
 	/** Interpolate sample data from a sample with a larger period.
@@ -205,17 +338,15 @@ public class PeriodicSampleCache {
 	 * @param ps Periodic sample (with a larger period). */
 	private void interpolate(PeriodicSample ps) {
 		long start = ps.start();
-		int per_sec = getPeriod(ps.per_sec);
 		int n_samples = ps.per_sec / per_sec;
 		assert n_samples > 1;
-		int[] values = getValues(start, ps.end(), n_samples, per_sec);
+		int[] values = getValues(start, n_samples);
 		switch (sample_type.aggregation) {
 		case SUM:
-			addSamples(start, per_sec, interpolateSum(values,
-				ps.value));
+			addSamples(start, interpolateSum(values, ps.value));
 			return;
 		case AVERAGE:
-			addSamples(start, per_sec, interpolateAverage(values,
+			addSamples(start, interpolateAverage(values,
 				ps.value));
 			return;
 		default:
@@ -225,29 +356,37 @@ public class PeriodicSampleCache {
 
 	/** Get an array of sample values from the cache.
 	 * @param start Time stamp at start of samples.
-	 * @param end Time stamp at end of samples.
 	 * @param n_samples Number of sample values.
-	 * @param per_sec Period used for samples.
 	 * @return Array of samples values. */
-	private int[] getValues(long start, long end, int n_samples,
-		int per_sec)
-	{
-		int per_ms = per_sec * 1000;
+	private int[] getValues(long start, int n_samples) {
+		long per_ms = periodMillis();
 		int[] values = new int[n_samples];
 		for (int i = 0; i < values.length; i++)
-			values[i] = MISSING_DATA;
-		for (PeriodicSample ps: samples) {
-			long stamp = ps.start();
-			if (stamp >= start && stamp < end) {
-				int i = (int) ((stamp - start) / per_ms);
-				values[i] = ps.value;
+			values[i] = getSample(start + i * per_ms);
+		return values;
+	}
+
+	/** Get one sample value.
+	 * @param start Time stamp at start of sample.
+	 * @return Sample value, or MISSING_DATA. */
+	private int getSample(long start) {
+		long per_ms = periodMillis();
+		if (start % per_ms == 0) {
+			long pn = start / per_ms;
+			if (isInRing(pn))
+				return ring[slot(pn)];
+		}
+		if (outliers != null) {
+			for (PeriodicSample ps: outliers) {
+				if (ps.start() == start)
+					return ps.value;
 			}
 		}
-		return values;
+		return MISSING_DATA;
 	}
 
 	/** Get aggregate of sampled values in a time interval */
-	public int getValue(long start, long end) {
+	public synchronized int getValue(long start, long end) {
 		switch (sample_type.aggregation) {
 		case SUM:
 			return getSum(start, end);
@@ -260,24 +399,12 @@ public class PeriodicSampleCache {
 
 	/** Get sum of sampled values in a time interval */
 	private int getSum(long start, long end) {
-		int per_sec = 0;
-		int total = 0;
-		int n_samples = 0;
-		for (PeriodicSample ps: samples) {
-			if (0 == per_sec)
-				per_sec = ps.per_sec;
-			else if (per_sec != ps.per_sec)
-				break;
-			if (ps.value >= 0) {
-				long stamp = ps.start();
-				if (stamp >= start && stamp < end) {
-					total += ps.value;
-					n_samples++;
-				}
-			}
-		}
-		long sam_ms = n_samples * per_sec * 1000; // sampled period
-		long full_ms = end - start;               // full period
+		int ps = isEmpty() ? 0 : per_sec;
+		int[] tc = getTotalCount(start, end);
+		int total = tc[0];
+		int n_samples = tc[1];
+		long sam_ms = n_samples * ps * 1000; // sampled period
+		long full_ms = end - start;          // full period
 		if (sam_ms == full_ms)
 			return total;
 		else if (2 * sam_ms >= full_ms) {  // at least half sampled
@@ -289,10 +416,37 @@ public class PeriodicSampleCache {
 
 	/** Get average of sampled values in a time interval */
 	private int getAverage(long start, long end) {
+		int[] tc = getTotalCount(start, end);
+		int total = tc[0];
+		int n_samples = tc[1];
+		return (n_samples > 0)
+		      ? Math.round(total / (float) n_samples)
+		      : MISSING_DATA;
+	}
+
+	/** Get the total and count of sampled values in a time interval.
+	 * @param start Start time stamp (inclusive).
+	 * @param end End time stamp (exclusive).
+	 * @return Array of total and count. */
+	private int[] getTotalCount(long start, long end) {
 		int total = 0;
 		int n_samples = 0;
-		for (PeriodicSample ps: samples) {
-			if (ps.value >= 0) {
+		if (n_ring > 0) {
+			long per_ms = periodMillis();
+			long first = Math.max(Math.floorDiv(start + per_ms - 1,
+				per_ms), head - ring.length + 1);
+			long last = Math.min(Math.floorDiv(end - 1, per_ms),
+				head);
+			for (long pn = first; pn <= last; pn++) {
+				int v = ring[slot(pn)];
+				if (v >= 0) {
+					total += v;
+					n_samples++;
+				}
+			}
+		}
+		if (outliers != null) {
+			for (PeriodicSample ps: outliers) {
 				long stamp = ps.start();
 				if (stamp >= start && stamp < end) {
 					total += ps.value;
@@ -300,41 +454,96 @@ public class PeriodicSampleCache {
 				}
 			}
 		}
-		return (n_samples > 0)
-		      ? Math.round(total / (float) n_samples)
-		      : MISSING_DATA;
+		return new int[] { total, n_samples };
 	}
 
 	/** Add an array of samples.
 	 * @param start Start time of sample array.
-	 * @param per_sec Sampling period (seconds).
 	 * @param vals Array of sample values to add. */
-	private void addSamples(long start, int per_sec, int[] vals) {
-		int per_ms = per_sec * 1000;
+	private void addSamples(long start, int[] vals) {
+		long per_ms = periodMillis();
 		for (int i = 0; i < vals.length; i++) {
-			if (vals[i] >= 0) {
-				long stamp = start + per_ms * (i + 1);
-				addSample(new PeriodicSample(stamp, per_sec,
-					vals[i]));
+			if (vals[i] >= 0)
+				addSample(start + per_ms * i, per_sec, vals[i]);
+		}
+	}
+
+	/** Get a sample iterator.  The iterator is over a snapshot of samples
+	 * in the cache, in order of time. */
+	public synchronized Iterator<PeriodicSample> iterator() {
+		ArrayList<PeriodicSample> list =
+			new ArrayList<PeriodicSample>();
+		if (n_ring > 0) {
+			long per_ms = periodMillis();
+			long tail = head - ring.length + 1;
+			for (long pn = tail; pn <= head; pn++) {
+				int v = ring[slot(pn)];
+				if (v >= 0) {
+					list.add(new PeriodicSample(
+						(pn + 1) * per_ms, per_sec, v));
+				}
 			}
 		}
+		if (outliers != null) {
+			list.addAll(outliers);
+			Collections.sort(list);
+		}
+		return list.iterator();
 	}
 
-	/** Get a sample iterator. */
-	public Iterator<PeriodicSample> iterator() {
-		return samples.iterator();
+	/** Get samples which have not been written to a file, in order of
+	 * time.  Samples outside the ring buffer are always included. */
+	public synchronized List<PeriodicSample> getDirty() {
+		ArrayList<PeriodicSample> list =
+			new ArrayList<PeriodicSample>();
+		if (n_ring > 0) {
+			long per_ms = periodMillis();
+			long tail = head - ring.length + 1;
+			for (long pn = tail; pn <= head; pn++) {
+				int s = slot(pn);
+				if (dirty.get(s)) {
+					list.add(new PeriodicSample(
+						(pn + 1) * per_ms, per_sec,
+						ring[s]));
+				}
+			}
+		}
+		if (outliers != null) {
+			list.addAll(outliers);
+			Collections.sort(list);
+		}
+		return list;
+	}
+
+	/** Mark samples as written to a file.
+	 * @param written Samples returned by getDirty. */
+	public synchronized void setClean(List<PeriodicSample> written) {
+		for (PeriodicSample ps: written) {
+			if (ps.per_sec == per_sec) {
+				long pn = ps.start() / periodMillis();
+				if (isInRing(pn) && ring[slot(pn)] == ps.value)
+					dirty.clear(slot(pn));
+			}
+		}
 	}
 
 	/** Purge all samples before a specified time stamp.
 	 * @param before Time stamp to purge before. */
-	public void purge(long before) {
-		Iterator<PeriodicSample> it = iterator();
-		while (it.hasNext()) {
-			PeriodicSample ps = it.next();
-			if (ps.end() < before)
-				it.remove();
-			else
-				break;
+	public synchronized void purge(long before) {
+		if (n_ring > 0) {
+			long per_ms = periodMillis();
+			long pn = head - ring.length + 1;
+			for (; pn <= head && (pn + 1) * per_ms < before; pn++)
+				clearSlot(slot(pn));
+		}
+		if (outliers != null) {
+			Iterator<PeriodicSample> it = outliers.iterator();
+			while (it.hasNext()) {
+				if (it.next().end() < before)
+					it.remove();
+			}
+			if (outliers.isEmpty())
+				outliers = null;
 		}
 	}
 }
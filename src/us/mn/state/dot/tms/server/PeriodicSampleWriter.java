@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2010-2021  Minnesota Department of Transportation
+ * Copyright (C) 2010-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -19,7 +19,8 @@ import java.io.RandomAccessFile;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.units.Interval;
@@ -33,7 +34,13 @@ import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
  *
  * Sample files are binary with a fixed number of bytes per sample.
  * Each file contains one day of sample data.  For example, a vehicle count file
- * with a 30-second period would have 2880 bytes.
+ * with a 30-second period would have 2880 bytes.  Files are padded with
+ * MISSING_DATA to a full day when opened, and then only samples which have
+ * not been written yet are written, at their positions in the file.
+ *
+ * Files for a day are only written while holding the read lock for that day.
+ * If the day is being archived, the samples are left dirty, to be written on
+ * a later flush.
  *
  * @author Douglas Lau
  */
@@ -53,11 +60,11 @@ public class PeriodicSampleWriter {
 	/** Sample archive factory */
 	private final SampleArchiveFactory factory;
 
-	/** Byte buffer for flushing samples to file */
+	/** Byte buffer for writing samples to file */
 	private final ByteBuffer buffer = ByteBuffer.allocate(
 		samplesPerDay(MIN_PERIOD) * PeriodicSampleType.MAX_BYTES);
 
-	/** Sample period for current cache */
+	/** Sample period for current file */
 	private transient Interval period;
 
 	/** Current file */
@@ -66,6 +73,15 @@ public class PeriodicSampleWriter {
 	/** Current file channel */
 	private transient FileChannel channel;
 
+	/** File position after end of buffered samples */
+	private transient long buf_end;
+
+	/** Date of current day lock */
+	private transient String day;
+
+	/** Current day lock (read lock) */
+	private transient Lock day_lock;
+
 	/** Create a new periodic sample writer */
 	public PeriodicSampleWriter(SampleArchiveFactory f) {
 		factory = f;
@@ -73,12 +89,17 @@ public class PeriodicSampleWriter {
 
 	/** Flush samples from a cache to files */
 	public void flush(PeriodicSampleCache cache, String sensor_id) {
+		List<PeriodicSample> dirty = cache.getDirty();
+		if (dirty.isEmpty())
+			return;
 		period = new Interval(0);
 		file = null;
 		channel = null;
+		day = null;
 		buffer.clear();
 		try {
-			flush(cache.iterator(), sensor_id, cache.sample_type);
+			flush(dirty, sensor_id, cache.sample_type);
+			cache.setClean(dirty);
 		}
 		catch (IOException e) {
 			String name = (file != null)
@@ -91,93 +112,124 @@ public class PeriodicSampleWriter {
 		}
 	}
 
-	/** Flush an iterator of samples to files */
-	private void flush(Iterator<PeriodicSample> it, String sensor_id,
+	/** Flush a list of samples to files */
+	private void flush(List<PeriodicSample> samples, String sensor_id,
 		PeriodicSampleType s_type) throws IOException
 	{
 		try {
-			while (it.hasNext()) {
-				PeriodicSample ps = it.next();
+			for (PeriodicSample ps: samples) {
 				period = new Interval(ps.per_sec);
+				lockDay(ps.start());
 				File f = factory.createFile(sensor_id, s_type,
 					ps);
 				if (!f.equals(file)) {
+					writeBuffer();
+					closeChannel();
 					file = f;
-					readNextFile(s_type);
+					openChannel(s_type);
 				}
 				putSample(ps, s_type);
 			}
-			writeBuffer(s_type.sample_bytes);
+			writeBuffer();
 		}
 		finally {
-			if (channel != null)
-				channel.close();
+			try {
+				closeChannel();
+			}
+			finally {
+				unlockDay();
+			}
 		}
 	}
 
-	/** Read next file (after writing current file buffer). */
-	private void readNextFile(PeriodicSampleType s_type) throws IOException{
-		writeBuffer(s_type.sample_bytes);
-		readBuffer(s_type);
+	/** Lock the day of a sample, if it is not already locked.
+	 * @param stamp Sample time stamp.
+	 * @throws IOException If the day is being archived. */
+	private void lockDay(long stamp) throws IOException {
+		String d = TimeSteward.dateShortString(stamp);
+		if (!d.equals(day)) {
+			writeBuffer();
+			closeChannel();
+			file = null;
+			unlockDay();
+			Lock lock = factory.getDayLock(d).readLock();
+			if (!lock.tryLock())
+				throw new IOException("archiving " + d);
+			day_lock = lock;
+			day = d;
+		}
 	}
 
-	/** Read the contents of the given file into the buffer.
+	/** Unlock the current day lock */
+	private void unlockDay() {
+		if (day_lock != null) {
+			day_lock.unlock();
+			day_lock = null;
+		}
+		day = null;
+	}
+
+	/** Open a channel to the current file, and pad it with MISSING_DATA
+	 * to one full day.
 	 * @param s_type Sample type. */
-	private void readBuffer(PeriodicSampleType s_type) throws IOException {
+	private void openChannel(PeriodicSampleType s_type) throws IOException {
 		int n_size = bufferBytes(s_type.sample_bytes);
 		channel = new RandomAccessFile(file, "rw").getChannel();
+		long size = channel.size();
+		if (size < n_size) {
+			int pos = (int) size / s_type.sample_bytes *
+				s_type.sample_bytes;
+			buffer.clear();
+			for (int p = pos; p < n_size; p += s_type.sample_bytes)
+				s_type.putValue(buffer, MISSING_DATA);
+			buffer.flip();
+			writeFully(pos);
+		} else if (size > n_size)
+			channel.truncate(n_size);
 		buffer.clear();
-		readBuffer();
-		// Buffer should contain no more than one day of samples
-		if (buffer.position() > n_size)
-			buffer.position(n_size);
-		padBuffer(s_type);
-		buffer.flip();
 	}
 
-	/** Get the number of bytes in buffer for one day.
+	/** Get the number of bytes in file for one day.
 	 * @param s_bytes Bytes per sample.
-	 * @return Size of buffer in bytes. */
+	 * @return Size of file in bytes. */
 	private int bufferBytes(int s_bytes) {
 		return samplesPerDay(period) * s_bytes;
 	}
 
-	/** Read all existing sample data from file */
-	private void readBuffer() throws IOException {
-		while (channel.read(buffer) >= 0 && buffer.hasRemaining());
+	/** Write the buffer to the file channel at a position */
+	private void writeFully(long pos) throws IOException {
+		while (buffer.hasRemaining())
+			pos += channel.write(buffer, pos);
 	}
 
-	/** Pad the buffer with MISSING_DATA for full day.
-	 * @param s_type Sample type. */
-	private void padBuffer(PeriodicSampleType s_type) {
-		int n_size = bufferBytes(s_type.sample_bytes);
-		int n_sam = (n_size - buffer.position()) / s_type.sample_bytes;
-		for (int i = 0; i < n_sam; i++)
-			s_type.putValue(buffer, MISSING_DATA);
+	/** Write buffered samples to the file channel */
+	private void writeBuffer() throws IOException {
+		if (channel != null && buffer.position() > 0) {
+			buffer.flip();
+			writeFully(buf_end - buffer.remaining());
+		}
+		buffer.clear();
 	}
 
-	/** Write the buffer to the file channel and close the file. */
-	private void writeBuffer(int s_bytes) throws IOException {
+	/** Close the file channel */
+	private void closeChannel() throws IOException {
 		if (channel != null) {
-			int n_size = bufferBytes(s_bytes);
-			channel.position(0);
-			buffer.position(0);
-			// Write sample data buffer to file
-			while (buffer.hasRemaining())
-				channel.write(buffer);
-			// Truncate file if it's larger than buffer
-			if (channel.size() > n_size)
-				channel.truncate(n_size);
 			channel.close();
 			channel = null;
 		}
 	}
 
-	/** Put one sample into the buffer.
+	/** Put one sample into the buffer.  Samples are buffered while they
+	 * are contiguous in the file.
 	 * @param ps Periodic sample. */
-	private void putSample(PeriodicSample ps, PeriodicSampleType s_type) {
-		buffer.position(samplePosition(ps, s_type.sample_bytes));
+	private void putSample(PeriodicSample ps, PeriodicSampleType s_type)
+		throws IOException
+	{
+		int pos = samplePosition(ps, s_type.sample_bytes);
+		if (pos != buf_end || buffer.remaining() < s_type.sample_bytes)
+			writeBuffer();
 		s_type.putValue(buffer, ps.value);
+		buf_end = pos + s_type.sample_bytes;
 	}
 
 	/** Compute the position of a sample in the file.
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -18,10 +18,12 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
 import java.text.NumberFormat;
 import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.SchedStats;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.sonar.Connection;
 import us.mn.state.dot.sonar.Namespace;
 import us.mn.state.dot.tms.BaseHelper;
+import us.mn.state.dot.tms.server.event.EventSink;
 
 /**
  * The server profiler is used to periodically write interesting server 
@@ -45,6 +47,12 @@ public class Profiler {
 	/** Uptime debug log */
 	private final DebugLog UPTIME_LOG = new DebugLog("uptime");
 
+	/** Scheduler statistics debug log */
+	private final DebugLog SCHED_LOG = new DebugLog("sched_stats");
+
+	/** Event sink statistics debug log */
+	private final DebugLog EVENT_LOG = new DebugLog("event_stats");
+
 	/** Runtime used to get memory information */
 	private final Runtime jvm = Runtime.getRuntime();
 
@@ -127,6 +135,31 @@ public class Profiler {
 		PROFILE_LOG.log(sb.toString());
 	}
 
+	/** Debug scheduler and worker statistics, as one line of JSON */
+	public void debugSchedStats() {
+		if (SCHED_LOG.isOpen())
+			SCHED_LOG.log(SchedStats.toJson());
+	}
+
+	/** Debug event sink statistics, as one line of JSON */
+	public void debugEventSink() {
+		if (EVENT_LOG.isOpen()) {
+			EventSink es = BaseObjectImpl.EVENT_SINK;
+			StringBuilder sb = new StringBuilder();
+			sb.append("{\"time\":\"");
+			sb.append(TimeSteward.currentDateTimeString(true));
+			sb.append("\",\"depth\":").append(es.getDepth());
+			sb.append(",\"max_depth\":").append(es.getMaxDepth());
+			sb.append(",\"stored\":").append(es.getStored());
+			sb.append(",\"dropped\":").append(es.getDropped());
+			sb.append(",\"failed\":").append(es.getFailed());
+			sb.append(",\"latency\":");
+			es.getLatency().appendJson(sb);
+			sb.append('}');
+			EVENT_LOG.log(sb.toString());
+		}
+	}
+
 	/** Append to uptime log file */
 	public void appendUptimeLog() {
 		if (UPTIME_LOG.isOpen()) {
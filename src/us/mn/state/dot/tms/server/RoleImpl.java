@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2007-2024  Minnesota Department of Transportation
+ * Copyright (C) 2007-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -110,7 +110,7 @@ public class RoleImpl extends BaseObjectImpl implements Role,
 	/** Set the enabled flag */
 	public void doSetEnabled(boolean e) throws TMSException {
 		if (e != enabled) {
-			store.update(this, "enabled", e);
+			store.updateDurable(this, "enabled", e);
 			setEnabled(e);
 		}
 	}
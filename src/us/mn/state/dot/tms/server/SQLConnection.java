@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2021  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,23 +17,39 @@ package us.mn.state.dot.tms.server;
 import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 import org.postgis.MultiPolygon;
 import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
 import us.mn.state.dot.sonar.Message;
 import us.mn.state.dot.sonar.Name;
 import us.mn.state.dot.tms.ChangeVetoException;
 import us.mn.state.dot.tms.TMSException;
 
 /**
- * Simple SQL database abstraction stuff
+ * Simple SQL database abstraction stuff.  A small pool of connections is
+ * kept, and each connection caches prepared statements for storable updates,
+ * inserts and deletes.
+ *
+ * Storable field updates can optionally be coalesced: only the latest value
+ * for each field is kept, and written after a short delay in a batch.
+ * Pending updates are written before any other statement, so queries always
+ * see them.
  *
  * @author Douglas Lau
  */
@@ -42,6 +58,15 @@ public class SQLConnection {
 	/** SQL debug log */
 	static private final DebugLog SQL_LOG = new DebugLog("sql");
 
+	/** Maximum number of pooled connections */
+	static final int MAX_CONNECTIONS = 4;
+
+	/** Maximum number of cached prepared statements per connection */
+	static private final int MAX_PREPARED = 256;
+
+	/** Maximum number of rows in one multi-row INSERT */
+	static private final int MAX_INSERT_ROWS = 64;
+
 	/** Pattern to match for an invalid SONAR name */
 	static private final Pattern INVALID_NAME = Pattern.compile("[" +
 		Message.RECORD_SEP.code +
@@ -121,6 +146,93 @@ public class SQLConnection {
 		return null;
 	}
 
+	/** Set a statement parameter.  The type is left unspecified, so that
+	 * the server will infer it from the column, just as it would for a
+	 * string literal. */
+	static private void setParam(PreparedStatement ps, int i, String v)
+		throws SQLException
+	{
+		if (v != null)
+			ps.setObject(i, v, Types.OTHER);
+		else
+			ps.setNull(i, Types.OTHER);
+	}
+
+	/** Close a statement, ignoring errors */
+	static private void closeQuietly(Statement s) {
+		try {
+			s.close();
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("close -> " + e);
+		}
+	}
+
+	/** Pooled connection to the SQL database */
+	static private class PooledConnection {
+
+		/** Connection to the SQL database */
+		private final Connection connection;
+
+		/** Statement for plain SQL */
+		private Statement statement;
+
+		/** Cached prepared statements, in LRU order */
+		private final LinkedHashMap<String, PreparedStatement>
+			prepared = new LinkedHashMap<String,
+			PreparedStatement>(16, 0.75f, true)
+		{
+			@Override protected boolean removeEldestEntry(
+				Map.Entry<String, PreparedStatement> e)
+			{
+				if (size() > MAX_PREPARED) {
+					closeQuietly(e.getValue());
+					return true;
+				} else
+					return false;
+			}
+		};
+
+		/** Open a new pooled connection */
+		private PooledConnection(String url, String usr, String pswd)
+			throws SQLException
+		{
+			connection = DriverManager.getConnection(url, usr,
+				pswd);
+			connection.setAutoCommit(true);
+		}
+
+		/** Get the statement for plain SQL */
+		private Statement getStatement() throws SQLException {
+			if (statement == null)
+				statement = connection.createStatement();
+			return statement;
+		}
+
+		/** Get a cached prepared statement.
+		 * @param sql SQL with parameter placeholders. */
+		private PreparedStatement prepare(String sql)
+			throws SQLException
+		{
+			PreparedStatement ps = prepared.get(sql);
+			if (ps == null) {
+				ps = connection.prepareStatement(sql);
+				prepared.put(sql, ps);
+			}
+			return ps;
+		}
+
+		/** Close the connection, ignoring errors */
+		private void close() {
+			try {
+				connection.close();
+			}
+			catch (SQLException e) {
+				SQL_LOG.log("close -> " + e);
+			}
+		}
+	}
+
 	/** Location of database server */
 	private final String location;
 
@@ -130,12 +242,45 @@ public class SQLConnection {
 	/** Password to log into database server */
 	private final String password;
 
-	/** Connection to the SQL database */
-	private Connection connection = null;
+	/** Idle pooled connections */
+	private final ArrayDeque<PooledConnection> idle =
+		new ArrayDeque<PooledConnection>();
 
-	/** Available SQL statements */
-	private final ArrayDeque<Statement> statements =
-		new ArrayDeque<Statement>();
+	/** Number of open connections (idle or in use) */
+	private int n_open = 0;
+
+	/** Scheduler for writing coalesced updates (null if disabled) */
+	private Scheduler coalesce_sched;
+
+	/** Delay before writing coalesced updates (ms) */
+	private int coalesce_ms;
+
+	/** Lock for pending and flush_scheduled */
+	private final Object pending_lock = new Object();
+
+	/** Pending coalesced updates; UPDATE SQL mapped to pkey/value map.
+	 * A null value means NULL. */
+	private LinkedHashMap<String, LinkedHashMap<String, String>> pending =
+		new LinkedHashMap<String, LinkedHashMap<String, String>>();
+
+	/** Flag to indicate a coalesced flush job is scheduled */
+	private boolean flush_scheduled = false;
+
+	/** Lock to write pending updates in order.  It is held while pending
+	 * updates are being written, after they are taken. */
+	private final Object flush_lock = new Object();
+
+	/** Lock to release while waiting for query results (may be null) */
+	private volatile ReentrantLock query_lock;
+
+	/** Number of open result sets for each thread */
+	private final ThreadLocal<int[]> query_depth =
+		new ThreadLocal<int[]>()
+	{
+		@Override protected int[] initialValue() {
+			return new int[1];
+		}
+	};
 
 	/** Create a new SQL connection */
 	public SQLConnection(String url, String usr, String pswd)
@@ -152,178 +297,555 @@ public class SQLConnection {
 		password = pswd;
 	}
 
-	/** Close the current database connection */
-	private void close() throws SQLException {
-		statements.clear();
-		if (connection != null) {
+	/** Enable coalescing of storable field updates.
+	 * @param s Scheduler for writing updates.
+	 * @param ms Delay before writing updates (ms). */
+	public void enableCoalescing(Scheduler s, int ms) {
+		synchronized (pending_lock) {
+			coalesce_sched = s;
+			coalesce_ms = ms;
+		}
+	}
+
+	/** Add a coalesced update.
+	 * @return false if coalescing is disabled. */
+	private boolean addPending(String sql, String key, String value) {
+		synchronized (pending_lock) {
+			if (coalesce_sched == null)
+				return false;
+			LinkedHashMap<String, String> rows = pending.get(sql);
+			if (rows == null) {
+				rows = new LinkedHashMap<String, String>();
+				pending.put(sql, rows);
+			}
+			rows.remove(key);
+			rows.put(key, value);
+			scheduleFlush();
+			return true;
+		}
+	}
+
+	/** Schedule a job to write pending updates (pending_lock held) */
+	private void scheduleFlush() {
+		if (!flush_scheduled && coalesce_sched != null) {
+			flush_scheduled = true;
+			coalesce_sched.addJob(new Job(coalesce_ms) {
+				public void perform() throws TMSException {
+					flushPending();
+				}
+			});
+		}
+	}
+
+	/** Remove a pending update for one field */
+	private void removePending(String sql, String key) {
+		synchronized (pending_lock) {
+			LinkedHashMap<String, String> rows = pending.get(sql);
+			if (rows != null) {
+				rows.remove(key);
+				if (rows.isEmpty())
+					pending.remove(sql);
+			}
+		}
+	}
+
+	/** Take all pending updates */
+	private LinkedHashMap<String, LinkedHashMap<String, String>>
+		takePending()
+	{
+		synchronized (pending_lock) {
+			LinkedHashMap<String, LinkedHashMap<String, String>> p =
+				pending;
+			pending = new LinkedHashMap<String,
+				LinkedHashMap<String, String>>();
+			flush_scheduled = false;
+			return p;
+		}
+	}
+
+	/** Put back pending updates which could not be written, unless they
+	 * have been replaced by newer values */
+	private void restorePending(String sql, Map<String, String> rows) {
+		if (rows.isEmpty())
+			return;
+		synchronized (pending_lock) {
+			LinkedHashMap<String, String> p = pending.get(sql);
+			if (p == null) {
+				p = new LinkedHashMap<String, String>();
+				pending.put(sql, p);
+			}
+			for (Map.Entry<String, String> r: rows.entrySet()) {
+				if (!p.containsKey(r.getKey()))
+					p.put(r.getKey(), r.getValue());
+			}
+			scheduleFlush();
+		}
+	}
+
+	/** Check if there are no pending updates */
+	private boolean isPendingEmpty() {
+		synchronized (pending_lock) {
+			return pending.isEmpty();
+		}
+	}
+
+	/** Write all pending coalesced updates, as batches of prepared
+	 * UPDATE statements.  This must be called before shutdown.  An
+	 * update which is rejected by the database is logged and dropped.
+	 * If the database is unavailable, unwritten updates are put back
+	 * to be retried later. */
+	public void flushPending() throws TMSException {
+		synchronized (flush_lock) {
+			LinkedHashMap<String, LinkedHashMap<String, String>> p =
+				takePending();
+			for (String sql: new ArrayList<String>(p.keySet())) {
+				try {
+					writePending(sql, p.get(sql));
+				}
+				catch (TMSException e) {
+					for (String sq: p.keySet())
+						restorePending(sq, p.get(sq));
+					throw e;
+				}
+				p.remove(sql);
+			}
+		}
+	}
+
+	/** Write pending updates for one statement.  If the batch fails,
+	 * rows are written one at a time, so that only rejected rows are
+	 * dropped.  Rows are removed from the map as they are written.
+	 * @throws TMSException if the database is unavailable. */
+	private void writePending(String sql,
+		LinkedHashMap<String, String> rows) throws TMSException
+	{
+		if (rows.isEmpty())
+			return;
+		try {
+			updateBatch(sql, rows);
+			rows.clear();
+			return;
+		}
+		catch (TMSException e) {
+			if (isDisconnected(e))
+				throw e;
+		}
+		Iterator<Map.Entry<String, String>> it =
+			rows.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<String, String> r = it.next();
 			try {
-				connection.close();
+				updatePrepared(sql, r.getValue(), r.getKey());
 			}
-			finally {
-				connection = null;
+			catch (TMSException e) {
+				if (isDisconnected(e))
+					throw e;
+				SQL_LOG.log(sql + " dropped: " + r.getKey() +
+					" = " + r.getValue());
 			}
+			it.remove();
 		}
 	}
 
-	/** Open a new database connection */
-	private void open() throws SQLException {
-		connection = DriverManager.getConnection(location, user,
-			password);
-		connection.setAutoCommit(true);
+	/** Check if an exception was caused by a connection failure */
+	static private boolean isDisconnected(TMSException e) {
+		Throwable c = e.getCause();
+		if (c instanceof SQLException) {
+			String state = ((SQLException) c).getSQLState();
+			return state != null && state.startsWith("08");
+		}
+		return false;
 	}
 
-	/** Create a database statement */
-	private Statement _createStatement() throws SQLException {
-		if (connection == null)
-			open();
-		return connection.createStatement();
+	/** Write pending updates before another statement.  If pending
+	 * updates are being written by another thread, wait for them. */
+	private void flushBefore() throws TMSException {
+		synchronized (flush_lock) {
+			if (!isPendingEmpty())
+				flushPending();
+		}
 	}
 
-	/** Create a database statement */
-	private Statement createStatement() throws TMSException {
+	/** Update the database with a batch of one prepared statement.
+	 * @param sql UPDATE SQL with value and key parameters.
+	 * @param rows Mapping of key to value. */
+	private void updateBatch(String sql, Map<String, String> rows)
+		throws TMSException
+	{
+		PooledConnection pc = acquire();
 		try {
-			return _createStatement();
+			PreparedStatement ps = pc.prepare(sql);
+			try {
+				for (Map.Entry<String, String> r:
+				     rows.entrySet())
+				{
+					setParam(ps, 1, r.getValue());
+					setParam(ps, 2, r.getKey());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+			}
+			finally {
+				ps.clearBatch();
+			}
+			release(pc);
 		}
 		catch (SQLException e) {
-			SQL_LOG.log("createStatement -> " + e);
-			try {
-				close();
-				return _createStatement();
+			discard(pc);
+			SQL_LOG.log(sql + " (batch) -> " + e);
+			throw new TMSException(e);
+		}
+	}
+
+	/** Get a connection from the pool, opening a new one if needed.  If
+	 * all connections are in use, wait for one to be released. */
+	private PooledConnection acquire() throws TMSException {
+		synchronized (this) {
+			while (idle.isEmpty() && n_open >= MAX_CONNECTIONS) {
+				try {
+					wait();
+				}
+				catch (InterruptedException e) {
+					throw new TMSException(e);
+				}
 			}
-			catch (SQLException e2) {
-				SQL_LOG.log("createStatement.2 -> " + e2);
-				throw new TMSException(e2);
+			if (!idle.isEmpty())
+				return idle.removeLast();
+			n_open++;
+		}
+		try {
+			return new PooledConnection(location, user, password);
+		}
+		catch (SQLException e) {
+			SQL_LOG.log("connect -> " + e);
+			synchronized (this) {
+				n_open--;
+				notify();
 			}
+			throw new TMSException(e);
 		}
 	}
 
-	/** Get an available statement */
-	private synchronized Statement getStatement() throws TMSException {
-		if (statements.isEmpty())
-			return createStatement();
-		else
-			return statements.removeLast();
+	/** Put a connection back in the pool after using it */
+	private synchronized void release(PooledConnection pc) {
+		idle.add(pc);
+		notify();
+	}
+
+	/** Discard a connection after an SQL error.  Idle connections are
+	 * also closed, since they are likely broken too (server restart). */
+	private void discard(PooledConnection pc) {
+		ArrayDeque<PooledConnection> closing =
+			new ArrayDeque<PooledConnection>();
+		synchronized (this) {
+			closing.addAll(idle);
+			idle.clear();
+			n_open -= closing.size() + 1;
+			notifyAll();
+		}
+		pc.close();
+		for (PooledConnection c: closing)
+			c.close();
 	}
 
-	/** Put a statement back after using it */
-	private synchronized void putStatement(Statement s) {
-		statements.add(s);
+	/** Set a lock to release while waiting for query results.  If the
+	 * calling thread holds the lock, other threads can run while the
+	 * query is executed.  Results are handled after locking again.
+	 * The lock is not released for a query nested inside the results
+	 * of another query, since the outer results are being handled. */
+	void setQueryLock(ReentrantLock l) {
+		query_lock = l;
 	}
 
 	/** Query the database and call a factory for each result */
 	public void query(String sql, ResultFactory factory)
 		throws TMSException
 	{
-		Statement s = getStatement();
+		flushBefore();
+		int[] depth = query_depth.get();
+		ReentrantLock ql = query_lock;
+		boolean held = (depth[0] == 0) && (ql != null) &&
+			ql.isHeldByCurrentThread();
+		if (held)
+			ql.unlock();
+		PooledConnection pc = null;
+		ResultSet set;
 		try {
-			ResultSet set = s.executeQuery(sql);
+			pc = acquire();
+			set = pc.getStatement().executeQuery(sql);
+		}
+		catch (SQLException e) {
+			discard(pc);
+			throw new TMSException(e);
+		}
+		finally {
+			if (held)
+				ql.lock();
+		}
+		try {
+			depth[0]++;
 			try {
 				while (set.next())
 					factory.create(set);
 			}
 			finally {
+				depth[0]--;
 				set.close();
 			}
-			putStatement(s);
+			release(pc);
+		}
+		catch (SQLException e) {
+			discard(pc);
+			throw new TMSException(e);
 		}
 		catch (Exception e) {
+			release(pc);
 			throw new TMSException(e);
 		}
 	}
 
 	/** Update the database with the given SQL command */
 	public void update(String sql) throws TMSException {
-		Statement s = getStatement();
+		flushBefore();
+		PooledConnection pc = acquire();
 		try {
-			s.executeUpdate(sql);
-			putStatement(s);
+			pc.getStatement().executeUpdate(sql);
+			release(pc);
 		}
 		catch (SQLException e) {
+			discard(pc);
 			SQL_LOG.log(sql + " -> " + e);
 			throw new TMSException(e);
 		}
 	}
 
-	/** Update one field in a storable database table */
-	public void update(Storable s, String field, Object value)
+	/** Update the database with a prepared statement.
+	 * @param sql SQL with parameter placeholders.
+	 * @param params Parameter values (null for NULL). */
+	private void updatePrepared(String sql, String... params)
 		throws TMSException
 	{
-		validateIdentifier(field);
-		String key = escapeValue(s.getPKey());
-		validateValue(key);
-		if (value == null) {
-			updateNull(s, field, key);
-			return;
+		PooledConnection pc = acquire();
+		try {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++)
+				setParam(ps, i + 1, params[i]);
+			ps.executeUpdate();
+			release(pc);
+		}
+		catch (SQLException e) {
+			discard(pc);
+			SQL_LOG.log(sql + " -> " + e);
+			throw new TMSException(e);
 		}
-		String av = prepareArray(value);
-		String ev = escapeValue(av);
-		validateValue(ev);
-		update("UPDATE " + s.getTable() +
-		      " SET " + field + " = '" + ev + "'" +
-		      " WHERE " + s.getPKeyName() + " = '" + key + "';");
 	}
 
-	/** Update one field with a NULL value */
-	private void updateNull(Storable s, String field, String key)
+	/** Update one field in a storable database table.  If coalescing is
+	 * enabled, the update is written later. */
+	public void update(Storable s, String field, Object value)
 		throws TMSException
 	{
-		update("UPDATE " + s.getTable() +
-		      " SET " + field + " = NULL" +
-		      " WHERE " + s.getPKeyName() + " = '" + key + "';");
+		String sql = updateSQL(s, field);
+		String key = s.getPKey();
+		String av = updateValue(key, value);
+		if (!addPending(sql, key, av))
+			updatePrepared(sql, av, key);
 	}
 
-	/** Create one storable record */
-	public void create(Storable s) throws TMSException {
+	/** Update one field in a storable database table, without
+	 * coalescing.  This is for fields which must be durable as soon as
+	 * they are set. */
+	public void updateDurable(Storable s, String field, Object value)
+		throws TMSException
+	{
+		String sql = updateSQL(s, field);
+		String key = s.getPKey();
+		String av = updateValue(key, value);
+		removePending(sql, key);
+		updatePrepared(sql, av, key);
+	}
+
+	/** Get SQL to update one field in a storable database table */
+	static private String updateSQL(Storable s, String field)
+		throws ChangeVetoException
+	{
+		validateIdentifier(field);
+		return "UPDATE " + s.getTable() +
+		      " SET " + field + " = ?" +
+		      " WHERE " + s.getPKeyName() + " = ?;";
+	}
+
+	/** Validate a key and get a value for an update */
+	static private String updateValue(String key, Object value)
+		throws ChangeVetoException
+	{
+		validateValue(key);
+		String av = (value != null) ? prepareArray(value) : null;
+		if (av != null)
+			validateValue(av);
+		return av;
+	}
+
+	/** Row of values to insert into a table */
+	static private class InsertRow {
+		private final String table;
+		private final String columns;
+		private final String[] params;
+		private InsertRow(String t, String c, String[] p) {
+			table = t;
+			columns = c;
+			params = p;
+		}
+	}
+
+	/** Make a row to insert for a storable record.  Null columns are left
+	 * out, so that the default value is used. */
+	static private InsertRow insertRow(Storable s)
+		throws ChangeVetoException
+	{
 		validateName(s.getPKey());
 		Map<String, Object> columns = s.getColumns();
 		StringBuilder keys = new StringBuilder();
-		StringBuilder values = new StringBuilder();
+		ArrayList<String> params = new ArrayList<String>();
 		for (Map.Entry<String, Object> col: columns.entrySet()) {
 			Object value = col.getValue();
 			if (value != null) {
 				String field = col.getKey();
 				validateIdentifier(field);
+				if (keys.length() > 0)
+					keys.append(",");
 				keys.append(field);
-				keys.append(",");
 				String av = prepareArray(value);
-				String ev = escapeValue(av);
-				validateValue(ev);
-				values.append("'");
-				values.append(ev);
-				values.append("',");
+				validateValue(av);
+				params.add(av);
 			}
 		}
-		keys.setLength(keys.length() - 1);
-		values.setLength(values.length() - 1);
-		String sql = "INSERT INTO " + s.getTable() + " (" + keys +
-			") VALUES (" + values + ");";
-		update(sql);
+		return new InsertRow(s.getTable(), keys.toString(),
+			params.toArray(new String[0]));
+	}
+
+	/** Create one storable record */
+	public void create(Storable s) throws TMSException {
+		InsertRow row = insertRow(s);
+		flushBefore();
+		insertRows(Collections.singletonList(row));
+	}
+
+	/** Create a list of storable records.  Records for the same table
+	 * and set of columns are inserted together with multi-row INSERTs.
+	 * If an INSERT fails, its records are inserted one at a time, so
+	 * that only the invalid records are dropped.
+	 * @return Number of records which could not be created. */
+	public int create(List<? extends Storable> records)
+		throws TMSException
+	{
+		int n_failed = 0;
+		LinkedHashMap<String, ArrayList<InsertRow>> groups =
+			new LinkedHashMap<String, ArrayList<InsertRow>>();
+		for (Storable s: records) {
+			InsertRow row;
+			try {
+				row = insertRow(s);
+			}
+			catch (ChangeVetoException e) {
+				SQL_LOG.log(s.getTable() + " dropped -> " + e);
+				n_failed++;
+				continue;
+			}
+			String key = row.table + " (" + row.columns + ")";
+			ArrayList<InsertRow> rows = groups.get(key);
+			if (rows == null) {
+				rows = new ArrayList<InsertRow>();
+				groups.put(key, rows);
+			}
+			rows.add(row);
+		}
+		flushBefore();
+		for (ArrayList<InsertRow> rows: groups.values()) {
+			for (int r = 0; r < rows.size(); r += MAX_INSERT_ROWS) {
+				int n = Math.min(MAX_INSERT_ROWS,
+					rows.size() - r);
+				n_failed += insertEach(rows.subList(r, r + n));
+			}
+		}
+		return n_failed;
+	}
+
+	/** Insert rows with one INSERT, or one at a time if that fails.
+	 * @return Number of rows which could not be inserted. */
+	private int insertEach(List<InsertRow> rows) {
+		try {
+			insertRows(rows);
+			return 0;
+		}
+		catch (TMSException e) {
+			if (rows.size() == 1) {
+				SQL_LOG.log(rows.get(0).table + " dropped -> " +
+					e.getMessage());
+				return 1;
+			}
+		}
+		int n_failed = 0;
+		for (InsertRow row: rows)
+			n_failed += insertEach(Collections.singletonList(row));
+		return n_failed;
+	}
+
+	/** Insert rows with the same columns into a table with one INSERT */
+	private void insertRows(List<InsertRow> rows) throws TMSException {
+		InsertRow first = rows.get(0);
+		int n = rows.size();
+		int n_cols = first.params.length;
+		String row_sql = "(?" + repeat(",?", n_cols - 1) + ")";
+		String[] params = new String[n * n_cols];
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(rows.get(i).params, 0, params,
+				i * n_cols, n_cols);
+		}
+		updatePrepared("INSERT INTO " + first.table + " (" +
+			first.columns + ") VALUES " + row_sql +
+			repeat("," + row_sql, n - 1) + ";", params);
+	}
+
+	/** Repeat a string n times */
+	static private String repeat(String s, int n) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < n; i++)
+			sb.append(s);
+		return sb.toString();
 	}
 
 	/** Destroy one storable record */
 	public void destroy(Storable s) throws TMSException {
-		String esc_val = escapeValue(s.getPKey());
-		String val = prepareArray(esc_val);
+		String val = prepareArray(s.getPKey());
 		validateValue(val);
-		update("DELETE FROM " + s.getTable() +
-		      " WHERE " + s.getPKeyName() + " = '" + val + "';");
+		flushBefore();
+		updatePrepared("DELETE FROM " + s.getTable() +
+		      " WHERE " + s.getPKeyName() + " = ?;", val);
 	}
 
 	/** Update the database with a batch of SQL commands */
 	public void batch(BatchFactory f) throws TMSException {
-		Statement s = getStatement();
+		flushBefore();
+		PooledConnection pc = acquire();
 		try {
-			while (true) {
-				String sql = f.next();
-				if (sql == null)
-					break;
-				s.addBatch(sql);
+			Statement s = pc.getStatement();
+			try {
+				while (true) {
+					String sql = f.next();
+					if (sql == null)
+						break;
+					s.addBatch(sql);
+				}
+				s.executeBatch();
+			}
+			finally {
+				s.clearBatch();
 			}
-			s.executeBatch();
-			s.clearBatch();
-			putStatement(s);
+			release(pc);
 		}
 		catch (SQLException e) {
+			discard(pc);
 			SQL_LOG.log("batch -> " + e);
 			throw new TMSException(e);
 		}
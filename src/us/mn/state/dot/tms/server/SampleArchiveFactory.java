@@ -16,6 +16,7 @@ package us.mn.state.dot.tms.server;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Interface for creating sample archive files.  This allows unit testing of
@@ -43,4 +44,10 @@ public interface SampleArchiveFactory {
 
 	/** Test if a sample file name has a known extension */
 	boolean hasKnownExtension(String name);
+
+	/** Get the lock for sample files of one day.  Files are written while
+	 * holding the read lock, and archived while holding the write lock.
+	 * @param date Date string (yyyyMMdd).
+	 * @return Lock for the day. */
+	ReadWriteLock getDayLock(String date);
 }
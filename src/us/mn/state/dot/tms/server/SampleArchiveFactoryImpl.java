@@ -17,6 +17,9 @@ package us.mn.state.dot.tms.server;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import us.mn.state.dot.sched.TimeSteward;
 
 /**
@@ -53,6 +56,11 @@ public class SampleArchiveFactoryImpl implements SampleArchiveFactory {
 	/** Set of all archive file extensions */
 	private final HashSet<String> extensions = new HashSet<String>();
 
+	/** Locks for sample files of each day (one small lock is kept for
+	 * each day written or archived since startup) */
+	private final ConcurrentHashMap<String, ReadWriteLock> day_locks =
+		new ConcurrentHashMap<String, ReadWriteLock>();
+
 	/** Add a file extension */
 	public void addExtension(String ext) {
 		synchronized(extensions) {
@@ -71,6 +79,21 @@ public class SampleArchiveFactoryImpl implements SampleArchiveFactory {
 		return false;
 	}
 
+	/** Get the lock for sample files of one day.  Files are written while
+	 * holding the read lock, and archived while holding the write lock.
+	 * @param date Date string (yyyyMMdd).
+	 * @return Lock for the day. */
+	public ReadWriteLock getDayLock(String date) {
+		ReadWriteLock lock = day_locks.get(date);
+		if(lock == null) {
+			ReadWriteLock l = new ReentrantReadWriteLock();
+			lock = day_locks.putIfAbsent(date, l);
+			if(lock == null)
+				lock = l;
+		}
+		return lock;
+	}
+
 	/** Create an archive file.
 	 * @param sensor_id Sensor identifier.
 	 * @param ext File extension.
@@ -0,0 +1,257 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Startup loader runs a DAG of load steps on a few threads.  A step starts
+ * once all of its dependencies are complete.
+ *
+ * Object constructors update shared state (controller IO, r_node detectors,
+ * etc.), so steps hold a lock while running.  The lock is released while
+ * waiting for query results, so that queries for independent steps run
+ * concurrently on separate pooled connections.  It is not released for a
+ * query nested inside the results of another query.
+ *
+ * @author Douglas Lau
+ */
+public class StartupLoader {
+
+	/** Startup debug log */
+	static private final DebugLog STARTUP_LOG = new DebugLog("startup");
+
+	/** Number of loader threads.  Each thread can hold a connection while
+	 * waiting for the lock, and the thread holding the lock may need
+	 * another for a nested query, so there must be fewer threads than
+	 * pooled connections. */
+	static private final int N_THREADS = SQLConnection.MAX_CONNECTIONS - 1;
+
+	/** Task to perform for a step */
+	static public interface Task {
+		void perform() throws TMSException;
+	}
+
+	/** Load step */
+	static public final class Step {
+		private final String name;
+		private final Task task;
+		private final ArrayList<Step> dependents =
+			new ArrayList<Step>();
+		private int n_waiting;
+		private Step(String n, Task t, Step[] deps) {
+			name = n;
+			task = t;
+			n_waiting = deps.length;
+			for (Step d: deps)
+				d.dependents.add(this);
+		}
+	}
+
+	/** Create a task to call the static loadAll method of a class */
+	static private Task loadAllTask(Class<?> c) {
+		final Method m;
+		try {
+			m = c.getDeclaredMethod("loadAll");
+			m.setAccessible(true);
+		}
+		catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(c.getName());
+		}
+		return new Task() {
+			public void perform() throws TMSException {
+				try {
+					m.invoke(null);
+				}
+				catch (InvocationTargetException e) {
+					Throwable t = e.getCause();
+					if (t instanceof TMSException)
+						throw (TMSException) t;
+					throw new TMSException(t);
+				}
+				catch (IllegalAccessException e) {
+					throw new TMSException(e);
+				}
+			}
+		};
+	}
+
+	/** SQL connection */
+	private final SQLConnection store;
+
+	/** Lock held while running a step */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** All steps */
+	private final ArrayList<Step> steps = new ArrayList<Step>();
+
+	/** Steps ready to run */
+	private final ArrayDeque<Step> ready = new ArrayDeque<Step>();
+
+	/** Number of running steps */
+	private int n_running = 0;
+
+	/** Number of completed steps */
+	private int n_done = 0;
+
+	/** First error from any step */
+	private TMSException error;
+
+	/** Create a new startup loader */
+	public StartupLoader(SQLConnection s) {
+		store = s;
+	}
+
+	/** Add a step.
+	 * @param n Step name.
+	 * @param t Task to perform.
+	 * @param deps Steps which must complete first.
+	 * @return New step. */
+	public Step add(String n, Task t, Step... deps) {
+		Step s = new Step(n, t, deps);
+		steps.add(s);
+		return s;
+	}
+
+	/** Add a step to call the static loadAll method of a class.
+	 * @param c Class to load.
+	 * @param deps Steps which must complete first.
+	 * @return New step. */
+	public Step add(Class<?> c, Step... deps) {
+		return add(c.getSimpleName(), loadAllTask(c), deps);
+	}
+
+	/** Run all steps, and wait for them to complete */
+	public void run() throws TMSException {
+		long st = System.currentTimeMillis();
+		for (Step s: steps) {
+			if (s.n_waiting == 0)
+				ready.add(s);
+		}
+		store.setQueryLock(lock);
+		try {
+			runThreads();
+		}
+		finally {
+			store.setQueryLock(null);
+		}
+		if (error != null)
+			throw error;
+		if (n_done < steps.size())
+			throw new TMSException("Startup dependency cycle");
+		if (STARTUP_LOG.isOpen()) {
+			STARTUP_LOG.log("total: " +
+				(System.currentTimeMillis() - st) + " ms");
+		}
+	}
+
+	/** Start loader threads, and wait for them to finish */
+	private void runThreads() throws TMSException {
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < N_THREADS; i++) {
+			Thread t = new Thread("startup_" + i) {
+				@Override public void run() {
+					runSteps();
+				}
+			};
+			t.start();
+			threads.add(t);
+		}
+		try {
+			for (Thread t: threads)
+				t.join();
+		}
+		catch (InterruptedException e) {
+			throw new TMSException(e);
+		}
+	}
+
+	/** Run steps until all are complete */
+	private void runSteps() {
+		for (Step s = take(); s != null; s = take()) {
+			long st = System.currentTimeMillis();
+			lock.lock();
+			try {
+				s.task.perform();
+			}
+			catch (TMSException e) {
+				fail(e);
+				return;
+			}
+			catch (RuntimeException e) {
+				fail(new TMSException(e));
+				return;
+			}
+			finally {
+				lock.unlock();
+			}
+			if (STARTUP_LOG.isOpen()) {
+				long el = System.currentTimeMillis() - st;
+				STARTUP_LOG.log(s.name + ": " + el + " ms");
+			}
+			complete(s);
+		}
+	}
+
+	/** Take a ready step, waiting if necessary.
+	 * @return Step, or null if finished. */
+	private synchronized Step take() {
+		while (ready.isEmpty() && error == null &&
+		       n_done < steps.size() && !isStalled())
+		{
+			try {
+				wait();
+			}
+			catch (InterruptedException e) {
+				return null;
+			}
+		}
+		Step s = (error == null) ? ready.poll() : null;
+		if (s != null)
+			n_running++;
+		return s;
+	}
+
+	/** Check if no steps are running or ready (dependency cycle) */
+	private boolean isStalled() {
+		return ready.isEmpty() && n_running == 0;
+	}
+
+	/** Mark a step complete, and make its dependents ready */
+	private synchronized void complete(Step s) {
+		n_running--;
+		n_done++;
+		for (Step d: s.dependents) {
+			d.n_waiting--;
+			if (d.n_waiting == 0)
+				ready.add(d);
+		}
+		notifyAll();
+	}
+
+	/** Record a step failure */
+	private synchronized void fail(TMSException e) {
+		n_running--;
+		if (error == null)
+			error = e;
+		notifyAll();
+	}
+}
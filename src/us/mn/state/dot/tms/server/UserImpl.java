@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -140,7 +140,7 @@ public class UserImpl extends BaseObjectImpl implements User {
 		checkPassword(pwd);
 		String ph = MainServer.hash_provider.createHash(
 			pwd.toCharArray());
-		store.update(this, "password", ph);
+		store.updateDurable(this, "password", ph);
 		setPassword(ph);
 	}
 
@@ -214,7 +214,7 @@ public class UserImpl extends BaseObjectImpl implements User {
 	/** Set the role assigned to the user */
 	public void doSetRole(Role r) throws TMSException {
 		if (!objectEquals(r, role)) {
-			store.update(this, "role", r);
+			store.updateDurable(this, "role", r);
 			setRole(r);
 		}
 	}
@@ -237,7 +237,7 @@ public class UserImpl extends BaseObjectImpl implements User {
 	/** Set the enabled flag */
 	public void doSetEnabled(boolean e) throws TMSException {
 		if (e != enabled) {
-			store.update(this, "enabled", e);
+			store.updateDurable(this, "enabled", e);
 			setEnabled(e);
 		}
 	}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2006-2025  Minnesota Department of Transportation
+ * Copyright (C) 2006-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,11 +14,7 @@
  */
 package us.mn.state.dot.tms.server;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.Calendar;
-import us.mn.state.dot.sched.Job;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.SystemAttrEnum;
 import static us.mn.state.dot.tms.server.MainServer.FLUSH;
@@ -111,11 +107,8 @@ public class VehicleEventLog {
 		return b.toString();
 	}
 
-	/** Sample archive factory */
-	private final SampleArchiveFactory factory;
-
-	/** Sensor ID */
-	private final String sensor_id;
+	/** Vehicle log writer */
+	private final VehicleLogWriter writer;
 
 	/** Time stamp of binning period */
 	private long bin_stamp = 0;
@@ -134,13 +127,12 @@ public class VehicleEventLog {
 
 	/** Create a new vehicle event log */
 	public VehicleEventLog(String sid) {
-		sensor_id = sid;
-		factory = MainServer.a_factory;
+		writer = new VehicleLogWriter(MainServer.a_factory, sid, FLUSH);
 	}
 
 	/** Log a vehicle detection event */
-	public void logVehicle(final int duration, final int headway,
-		final long stamp, final int speed, final int length)
+	public void logVehicle(int duration, int headway, long stamp,
+		int speed, int length)
 	{
 		if (stamp >= bin_stamp) {
 			bin_vehicles++;
@@ -158,7 +150,7 @@ public class VehicleEventLog {
 			long st = shouldLogStamp(head, stamp, p_stamp)
 			        ? stamp
 			        : 0;
-			final String ev = formatEvent(duration, head, st, speed,
+			String ev = formatEvent(duration, head, st, speed,
 				length);
 			long stamp_ms = getStampMillis(stamp);
 			// Are we *inside* a gap and starting a new day?
@@ -168,25 +160,7 @@ public class VehicleEventLog {
 			}
 			p_stamp = stamp;
 			gap = 0;
-			FLUSH.addJob(new Job() {
-				public void perform() throws IOException {
-					appendEvent(stamp_ms, ev);
-				}
-			});
-		}
-	}
-
-	/** Append an event to the log */
-	private void appendEvent(long stamp, String line) throws IOException {
-		File file = factory.createFile(sensor_id, "vlog", stamp);
-		if (file != null) {
-			FileWriter fw = new FileWriter(file, true);
-			try {
-				fw.write(line);
-			}
-			finally {
-				fw.close();
-			}
+			writer.append(stamp_ms, ev);
 		}
 	}
 
@@ -196,11 +170,7 @@ public class VehicleEventLog {
 		if (isArchiveEnabled() && gap == 0) {
 			p_stamp = 0;
 			gap = stamp_ms;
-			FLUSH.addJob(new Job() {
-				public void perform() throws IOException {
-					appendEvent(stamp_ms, "*\n");
-				}
-			});
+			writer.append(stamp_ms, "*\n");
 		}
 	}
 
@@ -0,0 +1,241 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Vehicle log writer buffers events for one detector, and appends them to the
+ * .vlog file in batches.  A batch is written after a delay, or sooner if the
+ * buffer gets large.  Events are kept in a separate chunk for each day, so
+ * that each is written to the file for that day.  A chunk for a day which is
+ * being archived is kept, and written later.
+ *
+ * @author Douglas Lau
+ */
+public class VehicleLogWriter {
+
+	/** Delay before writing buffered events (ms) */
+	static private final int FLUSH_DELAY_MS = 10 * 1000;
+
+	/** Buffer size to write events without delay (chars) */
+	static private final int FLUSH_CHARS = 16 * 1024;
+
+	/** All vehicle log writers */
+	static private final Set<VehicleLogWriter> ALL =
+		Collections.synchronizedSet(Collections.newSetFromMap(
+		new WeakHashMap<VehicleLogWriter, Boolean>()));
+
+	/** Write buffered events for all vehicle logs (on shutdown) */
+	static public void flushAll() {
+		ArrayList<VehicleLogWriter> writers;
+		synchronized (ALL) {
+			writers = new ArrayList<VehicleLogWriter>(ALL);
+		}
+		for (VehicleLogWriter w: writers) {
+			try {
+				w.flush();
+			}
+			catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/** Get the start of the (local) day for a given timestamp */
+	static private long dayStart(long stamp) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(stamp);
+		cal.set(Calendar.HOUR_OF_DAY, 0);
+		cal.set(Calendar.MINUTE, 0);
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		return cal.getTimeInMillis();
+	}
+
+	/** Get the start of the next (local) day for a given timestamp */
+	static private long nextDayStart(long stamp) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(dayStart(stamp));
+		cal.add(Calendar.DATE, 1);
+		return cal.getTimeInMillis();
+	}
+
+	/** Chunk of buffered events for one day */
+	static private class Chunk {
+		private final long start;
+		private final long end;
+		private final StringBuilder sb = new StringBuilder();
+		private Chunk(long stamp) {
+			start = dayStart(stamp);
+			end = nextDayStart(stamp);
+		}
+		private boolean contains(long stamp) {
+			return stamp >= start && stamp < end;
+		}
+	}
+
+	/** Sample archive factory */
+	private final SampleArchiveFactory factory;
+
+	/** Sensor ID */
+	private final String sensor_id;
+
+	/** Scheduler for writing events */
+	private final Scheduler sched;
+
+	/** Buffered chunks of events */
+	private ArrayList<Chunk> chunks = new ArrayList<Chunk>();
+
+	/** Number of buffered chars */
+	private int n_chars = 0;
+
+	/** Flag to indicate a delayed flush job is scheduled */
+	private boolean delayed = false;
+
+	/** Flag to indicate an immediate flush job is scheduled */
+	private boolean urgent = false;
+
+	/** Lock for writing to the file */
+	private final Object write_lock = new Object();
+
+	/** Start of day for cached file (protected by write_lock) */
+	private long file_start = Long.MIN_VALUE;
+
+	/** Cached file (protected by write_lock) */
+	private File file;
+
+	/** Create a new vehicle log writer */
+	public VehicleLogWriter(SampleArchiveFactory saf, String sid,
+		Scheduler s)
+	{
+		factory = saf;
+		sensor_id = sid;
+		sched = s;
+		ALL.add(this);
+	}
+
+	/** Append an event line to the log */
+	public synchronized void append(long stamp, String line) {
+		Chunk c = chunks.isEmpty() ? null
+		        : chunks.get(chunks.size() - 1);
+		if (c == null || !c.contains(stamp)) {
+			c = new Chunk(stamp);
+			chunks.add(c);
+		}
+		c.sb.append(line);
+		n_chars += line.length();
+		scheduleDelayed();
+		if (n_chars >= FLUSH_CHARS && !urgent) {
+			urgent = true;
+			sched.addJob(new Job() {
+				public void perform() throws IOException {
+					flush();
+				}
+			});
+		}
+	}
+
+	/** Schedule a delayed flush job, if needed */
+	private void scheduleDelayed() {
+		if (!delayed) {
+			delayed = true;
+			sched.addJob(new Job(FLUSH_DELAY_MS) {
+				public void perform() throws IOException {
+					flush();
+				}
+			});
+		}
+	}
+
+	/** Put back chunks which could not be written yet */
+	private synchronized void putBack(ArrayList<Chunk> c) {
+		chunks.addAll(0, c);
+		for (Chunk ch: c)
+			n_chars += ch.sb.length();
+		scheduleDelayed();
+	}
+
+	/** Take all buffered chunks */
+	private synchronized ArrayList<Chunk> takeChunks() {
+		ArrayList<Chunk> c = chunks;
+		chunks = new ArrayList<Chunk>();
+		n_chars = 0;
+		delayed = false;
+		urgent = false;
+		return c;
+	}
+
+	/** Write all buffered events to the log */
+	public void flush() throws IOException {
+		synchronized (write_lock) {
+			ArrayList<Chunk> later = new ArrayList<Chunk>();
+			for (Chunk c: takeChunks()) {
+				if (!writeChunk(c))
+					later.add(c);
+			}
+			if (!later.isEmpty())
+				putBack(later);
+		}
+	}
+
+	/** Write one chunk of events to the log.
+	 * @return false if the day is being archived. */
+	private boolean writeChunk(Chunk c) throws IOException {
+		Lock lock = factory.getDayLock(TimeSteward.dateShortString(
+			c.start)).readLock();
+		if (!lock.tryLock())
+			return false;
+		try {
+			File f = getFile(c.start);
+			if (f != null) {
+				FileWriter fw = new FileWriter(f, true);
+				try {
+					fw.write(c.sb.toString());
+				}
+				finally {
+					fw.close();
+				}
+			}
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Get the log file for a day.  It is cached for repeated use, unless
+	 * its directory has been removed. */
+	private File getFile(long start) throws IOException {
+		if (start != file_start || file == null ||
+		    !file.getParentFile().isDirectory())
+		{
+			file = factory.createFile(sensor_id, "vlog", start);
+			file_start = start;
+		}
+		return file;
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Zip archive writer for entries which have already been compressed.  This
+ * allows entries to be compressed in parallel, while the archive itself is
+ * written sequentially.  ZIP64 records are written when needed (more than
+ * 65535 entries, or offsets past 4 GB).
+ *
+ * @author Douglas Lau
+ */
+public class ZipArchiveWriter {
+
+	/** Local file header signature */
+	static private final int LOCAL_SIG = 0x04034b50;
+
+	/** Central directory header signature */
+	static private final int CENTRAL_SIG = 0x02014b50;
+
+	/** End of central directory signature */
+	static private final int END_SIG = 0x06054b50;
+
+	/** ZIP64 end of central directory signature */
+	static private final int END64_SIG = 0x06064b50;
+
+	/** ZIP64 end of central directory locator signature */
+	static private final int LOC64_SIG = 0x07064b50;
+
+	/** Version needed to extract (2.0) */
+	static private final int VERSION = 20;
+
+	/** Version needed to extract ZIP64 (4.5) */
+	static private final int VERSION64 = 45;
+
+	/** General purpose flag for UTF-8 names */
+	static private final int FLAG_UTF8 = 0x0800;
+
+	/** Stored compression method */
+	static private final int STORED = 0;
+
+	/** Deflated compression method */
+	static private final int DEFLATED = 8;
+
+	/** Maximum 16-bit value */
+	static private final int MAX16 = 0xFFFF;
+
+	/** Maximum 32-bit value */
+	static private final long MAX32 = 0xFFFFFFFFL;
+
+	/** Output buffer size */
+	static private final int BUF_SIZE = 256 * 1024;
+
+	/** Per-thread deflater (raw, without zlib wrapper) */
+	static private final ThreadLocal<Deflater> DEFLATER =
+		new ThreadLocal<Deflater>()
+	{
+		@Override protected Deflater initialValue() {
+			return new Deflater(Deflater.DEFAULT_COMPRESSION,
+				true);
+		}
+	};
+
+	/** Per-thread read buffer */
+	static private final ThreadLocal<byte[]> READ_BUF =
+		new ThreadLocal<byte[]>()
+	{
+		@Override protected byte[] initialValue() {
+			return new byte[64 * 1024];
+		}
+	};
+
+	/** Convert a time stamp to MS-DOS date/time */
+	static private int dosTime(long stamp) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(stamp);
+		int year = Math.max(cal.get(Calendar.YEAR), 1980) - 1980;
+		return (year << 25) |
+		       ((cal.get(Calendar.MONTH) + 1) << 21) |
+		       (cal.get(Calendar.DAY_OF_MONTH) << 16) |
+		       (cal.get(Calendar.HOUR_OF_DAY) << 11) |
+		       (cal.get(Calendar.MINUTE) << 5) |
+		       (cal.get(Calendar.SECOND) >> 1);
+	}
+
+	/** A compressed zip entry */
+	static public final class Entry {
+		private final byte[] name;
+		private final int time;
+		private final int crc;
+		private final long size;
+		private final int method;
+		private final int data_len;
+		private byte[] data;
+		private long offset;
+
+		/** Create a zip entry by compressing raw data.
+		 * This is thread-safe. */
+		public Entry(String n, long stamp, byte[] raw, int len) {
+			name = n.getBytes(StandardCharsets.UTF_8);
+			time = dosTime(stamp);
+			CRC32 c = new CRC32();
+			c.update(raw, 0, len);
+			crc = (int) c.getValue();
+			size = len;
+			Deflater def = DEFLATER.get();
+			def.reset();
+			def.setInput(raw, 0, len);
+			def.finish();
+			byte[] buf = new byte[len + len / 8 + 64];
+			int n_buf = 0;
+			while (!def.finished() && n_buf < buf.length) {
+				n_buf += def.deflate(buf, n_buf,
+					buf.length - n_buf);
+			}
+			if (def.finished() && n_buf < len) {
+				method = DEFLATED;
+				data = buf;
+				data_len = n_buf;
+			} else {
+				method = STORED;
+				data = raw;
+				data_len = len;
+			}
+		}
+
+		/** Create a zip entry by reading and compressing a file.
+		 * This is thread-safe. */
+		static public Entry read(File file) throws IOException {
+			FileInputStream fis = new FileInputStream(file);
+			try {
+				FileChannel chan = fis.getChannel();
+				long sz = chan.size();
+				if (sz > Integer.MAX_VALUE / 2) {
+					throw new IOException("Too large: " +
+						file);
+				}
+				int len = (int) sz;
+				byte[] buf = READ_BUF.get();
+				if (buf.length < len) {
+					buf = new byte[len];
+					READ_BUF.set(buf);
+				}
+				ByteBuffer bb = ByteBuffer.wrap(buf, 0, len);
+				while (bb.hasRemaining()) {
+					if (chan.read(bb) < 0)
+						break;
+				}
+				// Buffer is reused, so copy it if stored
+				return new Entry(file.getName(),
+					file.lastModified(),
+					buf, bb.position()).detach(buf);
+			}
+			finally {
+				fis.close();
+			}
+		}
+
+		/** Create a copy which does not refer to a shared buffer */
+		private Entry detach(byte[] shared) {
+			return (data == shared) ? new Entry(this) : this;
+		}
+
+		/** Copy an entry, including its data */
+		private Entry(Entry e) {
+			name = e.name;
+			time = e.time;
+			crc = e.crc;
+			size = e.size;
+			method = e.method;
+			data = Arrays.copyOf(e.data, e.data_len);
+			data_len = e.data_len;
+		}
+
+		/** Get the entry name */
+		public String getName() {
+			return new String(name, StandardCharsets.UTF_8);
+		}
+	}
+
+	/** Output stream */
+	private final OutputStream out;
+
+	/** Written entries */
+	private final ArrayList<Entry> entries = new ArrayList<Entry>();
+
+	/** Header buffer */
+	private final ByteBuffer hdr = ByteBuffer.allocate(1024)
+		.order(ByteOrder.LITTLE_ENDIAN);
+
+	/** Current file offset */
+	private long offset = 0;
+
+	/** Create a new zip archive writer */
+	public ZipArchiveWriter(File file) throws IOException {
+		out = new BufferedOutputStream(new FileOutputStream(file),
+			BUF_SIZE);
+	}
+
+	/** Write the header buffer */
+	private void writeHeader() throws IOException {
+		out.write(hdr.array(), 0, hdr.position());
+		offset += hdr.position();
+		hdr.clear();
+	}
+
+	/** Add an entry to the archive */
+	public void add(Entry e) throws IOException {
+		if (e.name.length > hdr.capacity() - 128)
+			throw new IOException("Name too long");
+		e.offset = offset;
+		hdr.putInt(LOCAL_SIG);
+		hdr.putShort((short) VERSION);
+		hdr.putShort((short) FLAG_UTF8);
+		hdr.putShort((short) e.method);
+		hdr.putInt(e.time);
+		hdr.putInt(e.crc);
+		hdr.putInt(e.data_len);
+		hdr.putInt((int) e.size);
+		hdr.putShort((short) e.name.length);
+		hdr.putShort((short) 0);
+		hdr.put(e.name);
+		writeHeader();
+		out.write(e.data, 0, e.data_len);
+		offset += e.data_len;
+		// Only headers are needed for the central directory
+		e.data = null;
+		entries.add(e);
+	}
+
+	/** Get the number of entries written */
+	public int size() {
+		return entries.size();
+	}
+
+	/** Finish the archive, writing the central directory, and close it */
+	public void close() throws IOException {
+		try {
+			finish();
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	/** Write the central directory and end records */
+	private void finish() throws IOException {
+		long cd_start = offset;
+		for (Entry e: entries)
+			writeCentral(e);
+		long cd_size = offset - cd_start;
+		int n = entries.size();
+		boolean z64 = n >= MAX16 || cd_start >= MAX32 ||
+			cd_size >= MAX32;
+		if (z64) {
+			long end64 = offset;
+			hdr.putInt(END64_SIG);
+			hdr.putLong(44);
+			hdr.putShort((short) VERSION64);
+			hdr.putShort((short) VERSION64);
+			hdr.putInt(0);
+			hdr.putInt(0);
+			hdr.putLong(n);
+			hdr.putLong(n);
+			hdr.putLong(cd_size);
+			hdr.putLong(cd_start);
+			hdr.putInt(LOC64_SIG);
+			hdr.putInt(0);
+			hdr.putLong(end64);
+			hdr.putInt(1);
+		}
+		hdr.putInt(END_SIG);
+		hdr.putShort((short) 0);
+		hdr.putShort((short) 0);
+		hdr.putShort((short) Math.min(n, MAX16));
+		hdr.putShort((short) Math.min(n, MAX16));
+		hdr.putInt((int) Math.min(cd_size, MAX32));
+		hdr.putInt((int) Math.min(cd_start, MAX32));
+		hdr.putShort((short) 0);
+		writeHeader();
+	}
+
+	/** Write a central directory header for an entry */
+	private void writeCentral(Entry e) throws IOException {
+		boolean z64 = e.offset >= MAX32;
+		int ver = z64 ? VERSION64 : VERSION;
+		hdr.putInt(CENTRAL_SIG);
+		hdr.putShort((short) ver);
+		hdr.putShort((short) ver);
+		hdr.putShort((short) FLAG_UTF8);
+		hdr.putShort((short) e.method);
+		hdr.putInt(e.time);
+		hdr.putInt(e.crc);
+		hdr.putInt(e.data_len);
+		hdr.putInt((int) e.size);
+		hdr.putShort((short) e.name.length);
+		hdr.putShort((short) (z64 ? 12 : 0));
+		hdr.putShort((short) 0);
+		hdr.putShort((short) 0);
+		hdr.putShort((short) 0);
+		hdr.putInt(0);
+		hdr.putInt(z64 ? (int) MAX32 : (int) e.offset);
+		hdr.put(e.name);
+		if (z64) {
+			hdr.putShort((short) 1);
+			hdr.putShort((short) 8);
+			hdr.putLong(e.offset);
+		}
+		writeHeader();
+	}
+}
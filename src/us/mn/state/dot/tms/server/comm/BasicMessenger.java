@@ -29,7 +29,7 @@ import us.mn.state.dot.tms.server.ControllerImpl;
  *
  * @author John L. Stanley - SRF Consulting
  */
-abstract class BasicMessenger extends Messenger {
+abstract public class BasicMessenger extends Messenger {
 
 	/** Scheduler for no-response jobs */
 	static private final Scheduler NORESPONSE = new Scheduler("noResponse");
@@ -16,10 +16,12 @@
 package us.mn.state.dot.tms.server.comm;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.ConnectException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.util.Properties;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.sched.TimeSteward;
 import us.mn.state.dot.tms.CommState;
@@ -54,6 +56,69 @@ public class CommThread<T extends ControllerProperty> {
 	/** Thread group for all comm threads */
 	static private final ThreadGroup GROUP = new ThreadGroup("Comm");
 
+	/** Methods to create a virtual thread (JDK 21+), or null to create
+	 * platform threads.  They are looked up by reflection, since the
+	 * server is built for Java 8. */
+	static private Method OF_VIRTUAL;
+	static private Method BUILDER_NAME;
+	static private Method BUILDER_UNSTARTED;
+
+	/** Initialize the comm thread mode from server properties */
+	static public void initThreadMode(Properties props) {
+		if (Boolean.parseBoolean(props.getProperty(
+			"comm.virtual.threads", "false")))
+		{
+			try {
+				Class<?> b = Class.forName(
+					"java.lang.Thread$Builder");
+				OF_VIRTUAL = Thread.class.getMethod(
+					"ofVirtual");
+				BUILDER_NAME = b.getMethod("name",
+					String.class);
+				BUILDER_UNSTARTED = b.getMethod("unstarted",
+					Runnable.class);
+				// With preview disabled (JDK 19-20), this
+				// throws InvocationTargetException
+				OF_VIRTUAL.invoke(null);
+			}
+			catch (ReflectiveOperationException e) {
+				OF_VIRTUAL = null;
+				System.err.println("Virtual comm threads not " +
+					"supported, using platform threads: " +
+					e);
+			}
+		}
+	}
+
+	/** Check if comm threads are virtual */
+	static public boolean isVirtual() {
+		return OF_VIRTUAL != null;
+	}
+
+	/** Create an unstarted comm thread.
+	 * @param g Thread group (for platform threads).
+	 * @param name Thread name.
+	 * @param r Runnable for the thread. */
+	static protected Thread createThread(ThreadGroup g, String name,
+		Runnable r)
+	{
+		if (isVirtual()) {
+			try {
+				Object b = OF_VIRTUAL.invoke(null);
+				b = BUILDER_NAME.invoke(b, name);
+				return (Thread) BUILDER_UNSTARTED.invoke(b, r);
+			}
+			catch (ReflectiveOperationException e) {
+				System.err.println("Virtual comm thread " +
+					name + " failed, using platform " +
+					"thread: " + e);
+			}
+		}
+		Thread t = new Thread(g, r, name);
+		t.setDaemon(true);
+		return t;
+	}
+
 	/** Check if messenger needs reconnect after read timeout failure.
 	 * For a datagram messenger (UDP), a reconnect may be required if a
 	 * network error caused the information cached during the connect call
@@ -132,13 +197,13 @@ public class CommThread<T extends ControllerProperty> {
 		int rt, int nrd, DebugLog log)
 	{
 		poller = dp;
- 		thread = new Thread(GROUP, "Comm: " + poller.name) {
-			@Override
+		thread = createThread(GROUP, "Comm: " + poller.name,
+			new Runnable()
+		{
 			public void run() {
 				doRun();
 			}
-		};
-		thread.setDaemon(true);
+		});
 		queue = q;
 		scheme = s;
 		uri = u;
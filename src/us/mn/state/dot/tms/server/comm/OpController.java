@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2005-2025  Minnesota Department of Transportation
+ * Copyright (C) 2005-2026  Minnesota Department of Transportation
  * Copyright (C) 2012  Iteris Inc.
  * Copyright (C) 2014-2015  AHMCT, University of California
  *
@@ -159,6 +159,14 @@ abstract public class OpController<T extends ControllerProperty> {
 		       ((OpController) o).controller == controller;
 	}
 
+	/** Get a hash code for the operation.  Subclasses which override
+	 * equals must only consider operations of the same class and
+	 * controller to be equal. */
+	@Override
+	public int hashCode() {
+		return getClass().hashCode() * 31 + controller.hashCode();
+	}
+
 	/** Get a string description of the operation */
 	@Override
 	public final String toString() {
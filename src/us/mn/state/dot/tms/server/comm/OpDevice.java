@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2014  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -51,6 +51,12 @@ abstract public class OpDevice<T extends ControllerProperty>
 		       ((OpDevice)o).device == device;
 	}
 
+	/** Get a hash code for the operation */
+	@Override
+	public int hashCode() {
+		return getClass().hashCode() * 31 + device.hashCode();
+	}
+
 	/** Phase to acquire exclusive ownership of the device */
 	protected class AcquireDevice extends Phase<T> {
 
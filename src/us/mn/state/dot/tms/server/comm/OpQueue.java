@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2017       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -16,42 +16,81 @@
 package us.mn.state.dot.tms.server.comm;
 
 import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import us.mn.state.dot.tms.CommState;
 
 /**
  * A prioritized queue which sorts Operation objects by their priority
- * class.  Operations with the same priority are sorted FIFO.
+ * class.  Operations with the same priority are sorted FIFO.  There is one
+ * deque for each priority level, and a hash index of pending operations to
+ * check for duplicates.  Removed nodes are only marked dead, and skipped
+ * when they reach the front of their deque.  A lock and condition are used
+ * instead of monitors, so that a virtual comm thread waiting for an
+ * operation does not pin its carrier thread.
  *
  * @author Douglas Lau
  * @author John L. Stanley
  */
 public final class OpQueue<T extends ControllerProperty> {
 
+	/** Number of priority levels */
+	static private final int N_LEVELS = PriorityLevel.values().length;
+
 	/** Inner class for nodes in the queue */
 	static private final class Node<T extends ControllerProperty> {
 		final OpController<T> operation;
 		final PriorityLevel priority;
-		Node<T> next;
-		Node(OpController<T> op, Node<T> n) {
+		boolean live = true;
+		Node(OpController<T> op) {
 			operation = op;
 			priority = op.getPriority();
-			next = n;
 		}
 	}
 
-	/** Front node in the queue */
-	private Node<T> front = null;
+	/** Lock for queue state */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Condition signalled when an operation is added */
+	private final Condition added = lock.newCondition();
+
+	/** Deques of nodes for each priority level */
+	@SuppressWarnings("unchecked")
+	private final ArrayDeque<Node<T>>[] levels = new ArrayDeque[N_LEVELS];
+
+	/** Index of pending operations (queued or work).  If there are
+	 * "equal" operations, the most recently added one is indexed. */
+	private final HashMap<OpController<T>, Node<T>> index =
+		new HashMap<OpController<T>, Node<T>>();
+
+	/** Number of live nodes in the deques */
+	private int n_live = 0;
 
-	/** Current working operation.  This is needed so that an "equal"
+	/** Current working node.  This is needed so that an "equal"
 	 * operation cannot be added while work is in progress. */
-	private OpController<T> work = null;
+	private Node<T> work = null;
 
 	/** Flag to tell when the poller is closing */
 	private boolean closing = false;
 
+	/** Create a new operation queue */
+	public OpQueue() {
+		for (int i = 0; i < N_LEVELS; i++)
+			levels[i] = new ArrayDeque<Node<T>>();
+	}
+
 	/** Close the queue for new operations */
-	public synchronized void close() {
-		closing = true;
+	public void close() {
+		lock.lock();
+		try {
+			closing = true;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if the queue is open */
@@ -60,24 +99,42 @@ public final class OpQueue<T extends ControllerProperty> {
 	}
 
 	/** Check if the queue is empty */
-	public synchronized boolean isEmpty() {
-		return (work == null) && (front == null);
+	public boolean isEmpty() {
+		lock.lock();
+		try {
+			return (work == null) && (n_live == 0);
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if the queue has any more ops to process.
 	 * (Like isEmpty(), but ignores the current work op.) */
-	public synchronized boolean noMoreOps() {
-		return (front == null);
+	public boolean noMoreOps() {
+		lock.lock();
+		try {
+			return (n_live == 0);
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Enqueue a new operation */
-	public synchronized boolean enqueue(OpController<T> op) {
-		if (shouldAdd(op)) {
-			op.begin();
-			add(op);
-			return true;
-		} else
-			return false;
+	public boolean enqueue(OpController<T> op) {
+		lock.lock();
+		try {
+			if (shouldAdd(op)) {
+				op.begin();
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Check if an operation should be added to the queue */
@@ -87,64 +144,73 @@ public final class OpQueue<T extends ControllerProperty> {
 
 	/** Check if the queue contains a given operation */
 	private boolean contains(OpController<T> op) {
-		if (op.equals(work) && !work.isDone())
-			return true;
-		Node<T> node = front;
-		while (node != null) {
-			OpController<T> nop = node.operation;
-			if (op.equals(nop) && !nop.isDone())
-				return true;
-			node = node.next;
-		}
-		return false;
+		Node<T> node = index.get(op);
+		return (node != null) && !node.operation.isDone();
 	}
 
 	/** Add an operation to the queue */
 	private void add(OpController<T> op) {
-		PriorityLevel priority = op.getPriority();
-		Node<T> prev = null;
-		Node<T> node = front;
-		while (node != null) {
-			if (priority.ordinal() < node.priority.ordinal())
-				break;
-			prev = node;
-			node = node.next;
-		}
-		node = new Node<T>(op, node);
-		if (prev == null)
-			front = node;
-		else
-			prev.next = node;
-		notify();
+		Node<T> node = new Node<T>(op);
+		levels[node.priority.ordinal()].addLast(node);
+		n_live++;
+		// Replace key, in case an "equal" op is indexed
+		index.remove(op);
+		index.put(op, node);
+		added.signal();
+	}
+
+	/** Remove a node from the index, unless a newer node replaced it */
+	private void unindex(Node<T> node) {
+		if (index.get(node.operation) == node)
+			index.remove(node.operation);
 	}
 
 	/** Requeue an in-progress operation */
-	public synchronized boolean requeue(OpController<T> op) {
-		if ((remove(op) == op) && isOpen()) {
-			add(op);
-			return true;
-		} else
-			return false;
+	public boolean requeue(OpController<T> op) {
+		lock.lock();
+		try {
+			if (remove(op) && isOpen()) {
+				add(op);
+				return true;
+			} else
+				return false;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
-	/** Remove an operation from the queue */
-	private OpController<T> remove(OpController<T> op) {
-		if (op == work) {
+	/** Remove an operation from the queue.
+	 * @return true if the operation was removed. */
+	private boolean remove(OpController<T> op) {
+		Node<T> node = index.get(op);
+		if (node == null || node.operation != op)
+			return false;
+		if (node == work)
 			work = null;
-			return op;
-		}
-		Node<T> prev = null;
-		Node<T> node = front;
-		while (node != null) {
-			if (node.operation == op) {
-				if (prev == null)
-					front = node;
-				else
-					prev.next = node;
-				return op;
+		else {
+			node.live = false;
+			n_live--;
+		}
+		index.remove(op);
+		return true;
+	}
+
+	/** Remove the front live node (lock held).
+	 * @return Front node, or null if there are no live nodes. */
+	private Node<T> pollFront() {
+		if (n_live == 0)
+			return null;
+		for (ArrayDeque<Node<T>> level: levels) {
+			Node<T> node = level.pollFirst();
+			while (node != null) {
+				if (node.live) {
+					node.live = false;
+					n_live--;
+					return node;
+				}
+				node = level.pollFirst();
 			}
-			prev = node;
-			node = node.next;
 		}
 		return null;
 	}
@@ -156,53 +222,87 @@ public final class OpQueue<T extends ControllerProperty> {
 	 * @return Operation at front of queue.
 	 * @throws DisconnectException If idle timeout expires or comm thread is
 	 *                             destroyed. */
-	public synchronized OpController<T> next(long idle_ms)
+	public OpController<T> next(long idle_ms)
 		throws DisconnectException
 	{
-		work = null;
-		while (null == front) {
-			try {
-				wait(idle_ms);
-			}
-			catch (InterruptedException e) {
-				throw new DisconnectException("DESTROYED");
+		lock.lock();
+		try {
+			if (work != null) {
+				unindex(work);
+				work = null;
 			}
-			if (idle_ms > 0 && null == front) {
-				// Empty msg (status) doesn't fail controllers
-				throw new DisconnectException("");
+			while (0 == n_live) {
+				awaitAdded(idle_ms);
+				if (idle_ms > 0 && 0 == n_live) {
+					// Empty msg (status) doesn't fail
+					// controllers
+					throw new DisconnectException("");
+				}
 			}
+			work = pollFront();
+			return work.operation;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Wait for an operation to be added (lock held).
+	 * @param idle_ms Idle timeout (ms); 0 indicates no timeout. */
+	private void awaitAdded(long idle_ms) throws DisconnectException {
+		try {
+			if (idle_ms > 0)
+				added.await(idle_ms, TimeUnit.MILLISECONDS);
+			else
+				added.await();
+		}
+		catch (InterruptedException e) {
+			throw new DisconnectException("DESTROYED");
 		}
-		work = front.operation;
-		front = front.next;
-		return work;
 	}
 
 	/** Get the next operation from the queue (and remove it).
 	 * If there's no op in the queue, immediately return null. */
-	public synchronized OpController<T> tryNext() {
-		OpController<T> w = work;
-		if (w != null) {
-			work = null;
-			return w;
+	public OpController<T> tryNext() {
+		lock.lock();
+		try {
+			Node<T> node = work;
+			if (node != null)
+				work = null;
+			else
+				node = pollFront();
+			if (node != null) {
+				unindex(node);
+				return node.operation;
+			} else
+				return null;
 		}
-		OpController<T> op = null;
-		if (front != null) {
-			op = front.operation;
-			front = front.next;
+		finally {
+			lock.unlock();
 		}
-		return op;
 	}
 
 	/** Do something to each operation in the queue */
-	public synchronized boolean forEach(OpHandler<T> handler) {
-		OpController<T> w = work;
-		boolean flag = (w != null) ? handler.handle(w) : true;
-		Node<T> node = front;
-		while (node != null) {
-			flag &= handler.handle(node.operation);
-			node = node.next;
-		}
-		return flag;
+	public boolean forEach(OpHandler<T> handler) {
+		lock.lock();
+		try {
+			Node<T> w = work;
+			boolean flag = (w != null)
+			             ? handler.handle(w.operation)
+			             : true;
+			for (ArrayDeque<Node<T>> level: levels) {
+				for (Node<T> n: level) {
+					if (n.live) {
+						flag &= handler.handle(
+							n.operation);
+					}
+				}
+			}
+			return flag;
+		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	/** Drain the operation queue */
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2018  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -19,6 +19,9 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.server.comm.ChecksumException;
 import us.mn.state.dot.tms.server.comm.ControllerException;
@@ -66,6 +69,14 @@ public class E6Packet {
 	/** Number of bytes in packet */
 	private int n_bytes = 0;
 
+	/** Lock for packet state.  This is used instead of a monitor, so a
+	 * virtual comm thread waiting for a response does not pin its
+	 * carrier thread. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Condition signalled when a response is received */
+	private final Condition received = lock.newCondition();
+
 	/** Message sequence number */
 	private byte msn = 0;
 
@@ -79,18 +90,22 @@ public class E6Packet {
 	}
 
 	/** Send the packet */
-	public synchronized void send(Command cmd, byte[] data)
-		throws IOException
-	{
-		if (!cmd.acknowledge) {
-			updateMsn();
-			if (cmd.group == CommandGroup.SYSTEM_INFO)
-				csn++;
+	public void send(Command cmd, byte[] data) throws IOException {
+		lock.lock();
+		try {
+			if (!cmd.acknowledge) {
+				updateMsn();
+				if (cmd.group == CommandGroup.SYSTEM_INFO)
+					csn++;
+			}
+			format(cmd, data);
+			datagram.setLength(n_bytes);
+			socket.send(datagram);
+			log("tx");
+		}
+		finally {
+			lock.unlock();
 		}
-		format(cmd, data);
-		datagram.setLength(n_bytes);
-		socket.send(datagram);
-		log("tx");
 	}
 
 	/** Format command packet */
@@ -120,9 +135,18 @@ public class E6Packet {
 	private Response response;
 
 	/** Check for a response to a pending command */
-	public synchronized boolean checkResponse(E6Packet p)
-		throws IOException
-	{
+	public boolean checkResponse(E6Packet p) throws IOException {
+		lock.lock();
+		try {
+			return checkPending(p);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Check for a response to a pending command (lock held) */
+	private boolean checkPending(E6Packet p) throws IOException {
 		if (pending != null) {
 			response = p.parseResponse();
 			if (Response.COMMAND_COMPLETE == response) {
@@ -135,7 +159,7 @@ public class E6Packet {
 				}
 			}
 			if (Response.SUB_COMMAND_ERROR == response)
-				notify();
+				received.signal();
 		}
 		return false;
 	}
@@ -147,18 +171,19 @@ public class E6Packet {
 		n_bytes = p.n_bytes;
 		msn = p.msn;
 		csn = p.csn;
-		notify();
+		received.signal();
 	}
 
 	/** Wait for a response to a pending command */
-	public synchronized byte[] waitData(int timeout, PendingCommand pc)
+	public byte[] waitData(int timeout, PendingCommand pc)
 		throws IOException
 	{
+		lock.lock();
 		try {
 			pending = pc;
 			response = null;
 			try {
-				wait(timeout);
+				received.await(timeout, TimeUnit.MILLISECONDS);
 			}
 			catch (InterruptedException e) {
 				// doesn't matter
@@ -172,6 +197,7 @@ public class E6Packet {
 		finally {
 			pending = null;
 			response = null;
+			lock.unlock();
 		}
 	}
 
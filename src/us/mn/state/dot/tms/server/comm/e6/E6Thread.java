@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2015-2024  Minnesota Department of Transportation
+ * Copyright (C) 2015-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -76,13 +76,13 @@ public class E6Thread extends CommThread<E6Property> {
 		super(dp, q, s, u, rt, nrd, E6_LOG);
 		poller = dp;
 		timeout = rt;
- 		rx_thread = new Thread(RECV, "Recv: " + dp.name) {
-			@Override
+		rx_thread = createThread(RECV, "Recv: " + dp.name,
+			new Runnable()
+		{
 			public void run() {
 				receivePackets();
 			}
-		};
-		rx_thread.setDaemon(true);
+		});
 	}
 
 	/** Start the thread */
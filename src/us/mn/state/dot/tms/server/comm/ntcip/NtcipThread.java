@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2023  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,6 +17,7 @@ package us.mn.state.dot.tms.server.comm.ntcip;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Random;
+import java.util.WeakHashMap;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.CommProtocol;
 import us.mn.state.dot.tms.server.ControllerImpl;
@@ -26,7 +27,9 @@ import us.mn.state.dot.tms.server.comm.Messenger;
 import us.mn.state.dot.tms.server.comm.MessengerException;
 import us.mn.state.dot.tms.server.comm.OpController;
 import us.mn.state.dot.tms.server.comm.OpQueue;
+import us.mn.state.dot.tms.server.comm.snmp.AgentProfile;
 import us.mn.state.dot.tms.server.comm.snmp.SNMP;
+import us.mn.state.dot.tms.server.comm.snmp.SnmpMessenger;
 import us.mn.state.dot.tms.server.comm.snmp.ReqIdGenerator;
 
 /**
@@ -96,14 +99,14 @@ public class NtcipThread extends CommThread {
 		return (o instanceof OpNtcip) && ((OpNtcip) o).isVaisalaLx();
 	}
 
-	/** Generate a request-ID */
-	private int generateReqId(OpController o) {
+	/** Get the request-ID generator for an operation */
+	private ReqIdGenerator reqIdGenerator(OpController o) {
 		if (isLedstar(o))
-			return req_id_gen_ledstar.next();
+			return req_id_gen_ledstar;
 		else if (isVaisalaLx(o))
-			return req_id_gen_lx.next();
+			return req_id_gen_lx;
 		else
-			return req_id_gen.next();
+			return req_id_gen;
 	}
 
 	/** Communication protocol */
@@ -112,6 +115,20 @@ public class NtcipThread extends CommThread {
 	/** SNMP message protocol */
 	private final SNMP snmp = new SNMP();
 
+	/** Agent profiles learned for each controller */
+	private final WeakHashMap<ControllerImpl, AgentProfile> profiles =
+		new WeakHashMap<ControllerImpl, AgentProfile>();
+
+	/** Get the agent profile for a controller */
+	private synchronized AgentProfile getProfile(ControllerImpl c) {
+		AgentProfile ap = profiles.get(c);
+		if (ap == null) {
+			ap = new AgentProfile();
+			profiles.put(c, ap);
+		}
+		return ap;
+	}
+
 	/** Create a new Ntcip thread */
 	@SuppressWarnings("unchecked")
 	public NtcipThread(NtcipPoller p, OpQueue q, URI s, String u,
@@ -126,6 +143,10 @@ public class NtcipThread extends CommThread {
 	protected Messenger createMessenger(URI s, String u, int rt, int nrd)
 		throws MessengerException, IOException
 	{
+		URI uri = Messenger.createURI(s, u);
+		if (protocol == CommProtocol.NTCIP_A &&
+		    "udp".equals(uri.getScheme()))
+			return SnmpMessenger.create(uri, rt, nrd);
 		Messenger m = Messenger.create(s, u, rt, nrd);
 		if (protocol == CommProtocol.NTCIP_B)
 			return new HDLCMessenger(m);
@@ -142,8 +163,8 @@ public class NtcipThread extends CommThread {
 		throws IOException
 	{
 		ControllerImpl c = o.getController();
-		int req_id = generateReqId(o);
 		return snmp.new Message(m.getOutputStream(c),
-			m.getInputStream("", c), c.getPassword(), req_id);
+			m.getInputStream("", c), c.getPassword(),
+			reqIdGenerator(o), getProfile(c));
 	}
 }
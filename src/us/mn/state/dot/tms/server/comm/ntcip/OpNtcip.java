@@ -15,6 +15,8 @@
 package us.mn.state.dot.tms.server.comm.ntcip;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.regex.Pattern;
 import us.mn.state.dot.sched.DebugLog;
@@ -25,10 +27,12 @@ import us.mn.state.dot.tms.LcsState;
 import us.mn.state.dot.tms.LcsStateHelper;
 import us.mn.state.dot.tms.MsgPattern;
 import us.mn.state.dot.tms.server.DeviceImpl;
+import us.mn.state.dot.tms.server.comm.CommMessage;
 import us.mn.state.dot.tms.server.comm.OpDevice;
 import us.mn.state.dot.tms.server.comm.PriorityLevel;
 import us.mn.state.dot.tms.server.comm.ntcip.mib1203.GraphicInfoList;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Object;
+import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
 import us.mn.state.dot.tms.utils.HexString;
 import us.mn.state.dot.tms.utils.MultiBuilder;
 import us.mn.state.dot.tms.utils.MultiString;
@@ -139,6 +143,84 @@ abstract public class OpNtcip extends OpDevice {
 		super(p, d);
 	}
 
+	/** A read of some objects, which does not depend on other reads.
+	 * Independent reads can be merged into one phase. */
+	abstract protected class Read {
+
+		/** Objects to query */
+		private final ArrayList<ASN1Object> objs =
+			new ArrayList<ASN1Object>();
+
+		/** Add an object to query */
+		protected void add(ASN1Object obj) {
+			objs.add(obj);
+		}
+
+		/** Process the query results */
+		abstract protected void process() throws IOException;
+
+		/** Handle a NoSuchName error for one of the objects.  By
+		 * default, the operation fails. */
+		protected void noSuchName(NoSuchName e) throws IOException {
+			throw e;
+		}
+	}
+
+	/** Phase to query merged reads.  All objects are added to one
+	 * message, which is split into as few requests as the controller
+	 * allows.  If an object is not found, the read containing it
+	 * handles the error, and the remaining reads are queried again. */
+	protected class MergedReads extends Phase {
+
+		/** Reads to query */
+		private final ArrayList<Read> reads;
+
+		/** Create a phase to query merged reads */
+		protected MergedReads(Read... rs) {
+			reads = new ArrayList<Read>(Arrays.asList(rs));
+		}
+
+		/** Get the next phase, after all reads are processed */
+		protected Phase next() {
+			return null;
+		}
+
+		/** Query the merged reads */
+		@SuppressWarnings("unchecked")
+		protected Phase poll(CommMessage mess) throws IOException {
+			for (Read r: reads) {
+				for (ASN1Object obj: r.objs)
+					mess.add(obj);
+			}
+			try {
+				mess.queryProps();
+			}
+			catch (NoSuchName e) {
+				Read r = findRead(e.getObject());
+				if (r == null)
+					throw e;
+				reads.remove(r);
+				r.noSuchName(e);
+				return reads.isEmpty() ? next() : this;
+			}
+			for (Read r: reads) {
+				for (ASN1Object obj: r.objs)
+					logQuery(obj);
+				r.process();
+			}
+			return next();
+		}
+
+		/** Find the read containing an object */
+		private Read findRead(ASN1Object obj) {
+			for (Read r: reads) {
+				if (r.objs.contains(obj))
+					return r;
+			}
+			return null;
+		}
+	}
+
 	/** Put FAULTS into controller status */
 	@Override
 	protected void putCtrlFaults(String fault, String msg) {
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2025  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2023       SRF Consulting Group
  *
  * This program is free software; you can redistribute it and/or modify
@@ -34,6 +34,7 @@ import us.mn.state.dot.tms.server.comm.snmp.ASN1Flags;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
 import us.mn.state.dot.tms.server.comm.snmp.DisplayString;
 import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
+import us.mn.state.dot.tms.server.comm.snmp.SNMP;
 
 /**
  * This operation queries the status of a DMS.  This includes temperature and
@@ -116,119 +117,99 @@ public class OpQueryDMSStatus extends OpDMS {
 	/** Create the second phase of the operation */
 	@Override
 	protected Phase phaseTwo() {
-		return new QueryBrightness();
+		return new QueryStatus();
 	}
 
-	/** Phase to query the brightness status */
-	protected class QueryBrightness extends Phase {
-
-		/** Query the DMS brightness status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			ASN1Integer b_level =
-				dmsIllumBrightLevelStatus.makeInt();
-			ASN1Integer light =
-				dmsIllumLightOutputStatus.makeInt();
-			ASN1Enum<DmsIllumControl> control = new ASN1Enum<
-				DmsIllumControl>(DmsIllumControl.class,
-				dmsIllumControl.node);
-			mess.add(p_level);
-			mess.add(max_level);
-			mess.add(b_level);
-			mess.add(light);
-			mess.add(control);
-			mess.queryProps();
-			logQuery(p_level);
-			logQuery(max_level);
-			logQuery(b_level);
-			logQuery(light);
-			logQuery(control);
-			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
-			return new QueryMessageTable();
+	/** Phase to query brightness, message table, temperature and
+	 * failure status, merged into as few requests as possible */
+	protected class QueryStatus extends MergedReads {
+		protected QueryStatus() {
+			super(new BrightnessStatus(),
+			      new MessageTableStatus(),
+			      new TempStatus(DMS.CABINET_TEMPS,
+			                     tempMinCtrlCabinet,
+			                     tempMaxCtrlCabinet),
+			      new TempStatus(DMS.AMBIENT_TEMPS,
+			                     tempMinAmbient, tempMaxAmbient),
+			      new TempStatus(DMS.HOUSING_TEMPS,
+			                     tempMinSignHousing,
+			                     tempMaxSignHousing),
+			      new FailureStatus());
 		}
-	}
-
-	/** Phase to query the DMS message table status */
-	protected class QueryMessageTable extends Phase {
-
-		/** Query the DMS message table status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			ASN1Integer perm_num = dmsNumPermanentMsg.makeInt();
-			ASN1Integer chg_num = dmsNumChangeableMsg.makeInt();
-			ASN1Integer chg_max = dmsMaxChangeableMsg.makeInt();
-			ASN1Integer chg_mem = dmsFreeChangeableMemory.makeInt();
-			ASN1Integer vol_num = dmsNumVolatileMsg.makeInt();
-			ASN1Integer vol_max = dmsMaxVolatileMsg.makeInt();
-			ASN1Integer vol_mem = dmsFreeVolatileMemory.makeInt();
-			mess.add(perm_num);
-			mess.add(chg_num);
-			mess.add(chg_max);
-			mess.add(chg_mem);
-			mess.add(vol_num);
-			mess.add(vol_max);
-			mess.add(vol_mem);
-			mess.queryProps();
-			logQuery(perm_num);
-			logQuery(chg_num);
-			logQuery(chg_max);
-			logQuery(chg_mem);
-			logQuery(vol_num);
-			logQuery(vol_max);
-			logQuery(vol_mem);
-			return new ControllerTemperature();
+		@Override protected Phase next() {
+			return new MoreFailures();
 		}
 	}
 
-	/** Phase to query the DMS controller temperature status */
-	protected class ControllerTemperature extends Phase {
-
-		/** Query the DMS controller temperature */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			pollTemp(mess, DMS.CABINET_TEMPS, tempMinCtrlCabinet,
-				tempMaxCtrlCabinet);
-			return new AmbientTemperature();
+	/** Read DMS brightness status */
+	protected class BrightnessStatus extends Read {
+		private final ASN1Integer b_level =
+			dmsIllumBrightLevelStatus.makeInt();
+		private final ASN1Integer light =
+			dmsIllumLightOutputStatus.makeInt();
+		private final ASN1Enum<DmsIllumControl> control = new ASN1Enum<
+			DmsIllumControl>(DmsIllumControl.class,
+			dmsIllumControl.node);
+		protected BrightnessStatus() {
+			add(p_level);
+			add(max_level);
+			add(b_level);
+			add(light);
+			add(control);
+		}
+		@Override protected void process() {
+			putStatus(DMS.LIGHT_OUTPUT, getPercent(light));
 		}
 	}
 
-	/** Phase to query the DMS ambient temperature status */
-	protected class AmbientTemperature extends Phase {
-
-		/** Query the DMS ambient temperature */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			pollTemp(mess, DMS.AMBIENT_TEMPS, tempMinAmbient,
-				tempMaxAmbient);
-			return new HousingTemperature();
+	/** Read DMS message table status */
+	protected class MessageTableStatus extends Read {
+		protected MessageTableStatus() {
+			add(dmsNumPermanentMsg.makeInt());
+			add(dmsNumChangeableMsg.makeInt());
+			add(dmsMaxChangeableMsg.makeInt());
+			add(dmsFreeChangeableMemory.makeInt());
+			add(dmsNumVolatileMsg.makeInt());
+			add(dmsMaxVolatileMsg.makeInt());
+			add(dmsFreeVolatileMemory.makeInt());
+		}
+		@Override protected void process() {
+			// only logged
 		}
 	}
 
-	/** Phase to query the DMS housing temperature status */
-	protected class HousingTemperature extends Phase {
-
-		/** Query the DMS housing temperature */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			pollTemp(mess, DMS.HOUSING_TEMPS, tempMinSignHousing,
-				tempMaxSignHousing);
-			return new Failures();
+	/** Read DMS temperature status */
+	protected class TempStatus extends Read {
+		private final String key;
+		private final ASN1Integer min_temp;
+		private final ASN1Integer max_temp;
+		protected TempStatus(String k, MIB1203 min_obj,
+			MIB1203 max_obj)
+		{
+			key = k;
+			min_temp = min_obj.makeInt();
+			max_temp = max_obj.makeInt();
+			add(min_temp);
+			add(max_temp);
+		}
+		@Override protected void process() {
+			putTemps(key, min_temp.getInteger(),
+				max_temp.getInteger());
+		}
+		@Override protected void noSuchName(NoSuchName e) {
+			// Some signs don't have all temperature objects.
 		}
 	}
 
-	/** Phase to query the DMS failure status */
-	protected class Failures extends Phase {
-
-		/** Query the DMS failure status */
-		@SuppressWarnings("unchecked")
-		protected Phase poll(CommMessage mess) throws IOException {
-			mess.add(shortError);
-			mess.queryProps();
-			logQuery(shortError);
+	/** Read DMS failure status */
+	protected class FailureStatus extends Read {
+		protected FailureStatus() {
+			add(shortError);
+		}
+		@Override protected void process() {
 			String faults = shortError.getValue(";");
 			if (faults.length() > 0)
 				putFaults(faults.toLowerCase());
-			return new MoreFailures();
 		}
 	}
 
@@ -316,63 +297,67 @@ public class OpQueryDMSStatus extends OpDMS {
 
 	/** Phase to query power supply status */
 	protected class QueryPowerStatus extends Phase {
-		private final JSONArray supplies;
 		private final int n_supplies;
-		private int row = 1; // row in DmsPowerStatusTable
-		private int n_failed = 0;
 		protected QueryPowerStatus(int n) {
 			n_supplies = n;
-			supplies = new JSONArray();
 		}
 
-		/** Query status of one power supply */
+		/** Query status of all power supplies */
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
-			DisplayString desc = new DisplayString(
-				dmsPowerDescription.node, row);
-			ASN1Enum<DmsPowerType> p_type = new ASN1Enum<
-				DmsPowerType>(DmsPowerType.class,
-				dmsPowerType.node, row);
-			ASN1Enum<DmsPowerStatus> p_stat = new ASN1Enum<
-				DmsPowerStatus>(DmsPowerStatus.class,
-				dmsPowerStatus.node, row);
-			DisplayString mfr_status = new DisplayString(
-				dmsPowerMfrStatus.node, row);
-			ASN1Integer voltage = dmsPowerVoltage.makeInt(row);
-			mess.add(desc);
-			mess.add(p_type);
-			mess.add(p_stat);
-			mess.add(mfr_status);
-			mess.add(voltage);
+			DisplayString[] desc = new DisplayString[n_supplies];
+			ASN1Enum<DmsPowerType>[] p_type =
+				new ASN1Enum[n_supplies];
+			ASN1Enum<DmsPowerStatus>[] p_stat =
+				new ASN1Enum[n_supplies];
+			DisplayString[] mfr_status =
+				new DisplayString[n_supplies];
+			ASN1Integer[] voltage = new ASN1Integer[n_supplies];
+			for (int i = 0; i < n_supplies; i++) {
+				int row = i + 1;
+				desc[i] = new DisplayString(
+					dmsPowerDescription.node, row);
+				p_type[i] = new ASN1Enum<DmsPowerType>(
+					DmsPowerType.class, dmsPowerType.node,
+					row);
+				p_stat[i] = new ASN1Enum<DmsPowerStatus>(
+					DmsPowerStatus.class,
+					dmsPowerStatus.node, row);
+				mfr_status[i] = new DisplayString(
+					dmsPowerMfrStatus.node, row);
+				voltage[i] = dmsPowerVoltage.makeInt(row);
+				mess.add(desc[i]);
+				mess.add(p_type[i]);
+				mess.add(p_stat[i]);
+				mess.add(mfr_status[i]);
+				mess.add(voltage[i]);
+			}
 			try {
-				mess.queryProps();
+				((SNMP.Message) mess).queryBulk(5);
 			}
 			catch (NoSuchName e) {
 				// Come on, man!  If we got here, 1203v2
 				// objects should really be supported ...
 				return vendorStatus();
 			}
-			logQuery(desc);
-			logQuery(p_type);
-			logQuery(p_stat);
-			logQuery(mfr_status);
-			logQuery(voltage);
-			JSONObject supply = new JSONObject();
-			supply.put("description", desc.getValue());
-			supply.put("supply_type", p_type.getValue());
-			supply.put("voltage", (p_stat.getEnum().isError())
-				? p_stat.getEnum().getDetail(mfr_status)
-				: getVoltage(voltage));
-			supplies.put(supply);
-			if (p_stat.getEnum() == DmsPowerStatus.powerFail)
-				n_failed++;
-			row++;
-			if (row <= n_supplies)
-				return this;
-			else {
-				putStatus(DMS.POWER_SUPPLIES, supplies);
-				return new LightSensorCount();
+			JSONArray supplies = new JSONArray();
+			for (int i = 0; i < n_supplies; i++) {
+				logQuery(desc[i]);
+				logQuery(p_type[i]);
+				logQuery(p_stat[i]);
+				logQuery(mfr_status[i]);
+				logQuery(voltage[i]);
+				DmsPowerStatus ps = p_stat[i].getEnum();
+				JSONObject supply = new JSONObject();
+				supply.put("description", desc[i].getValue());
+				supply.put("supply_type", p_type[i].getValue());
+				supply.put("voltage", (ps.isError())
+					? ps.getDetail(mfr_status[i])
+					: getVoltage(voltage[i]));
+				supplies.put(supply);
 			}
+			putStatus(DMS.POWER_SUPPLIES, supplies);
+			return new LightSensorCount();
 		}
 	}
 
@@ -402,48 +387,51 @@ public class OpQueryDMSStatus extends OpDMS {
 
 	/** Phase to query light sensor status */
 	protected class QueryLightSensorStatus extends Phase {
-		private final JSONArray photocells;
 		private final int n_sensors;
-		private int row = 1;	// row in DmsLightSensorStatusTable
 		protected QueryLightSensorStatus(int n) {
 			n_sensors = n;
-			photocells = new JSONArray();
 		}
 
-		/** Query status of one light sensor */
+		/** Query status of all light sensors */
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
-			DisplayString desc = new DisplayString(
-				dmsLightSensorDescription.node, row);
-			ASN1Enum<DmsLightSensorStatus> s_stat = new ASN1Enum<
-				DmsLightSensorStatus>(DmsLightSensorStatus.class,
-				dmsLightSensorStatus.node, row);
-			ASN1Integer reading = dmsLightSensorCurrentReading
-				.makeInt(row);
-			mess.add(desc);
-			mess.add(s_stat);
-			mess.add(reading);
-			mess.queryProps();
-			logQuery(desc);
-			logQuery(s_stat);
-			logQuery(reading);
-			JSONObject photocell = new JSONObject();
-			photocell.put("description", desc.getValue());
-			photocell.put("reading", (s_stat.getEnum().isError())
-				? s_stat.getValue()
-				: getReading(reading)
-			);
-			photocells.put(photocell);
-			row++;
-			if (row <= n_sensors)
-				return this;
-			else {
-				photocell = virtualPhotocell();
-				if (photocell != null)
-					photocells.put(photocell);
-				putStatus(DMS.PHOTOCELLS, photocells);
-				return vendorStatus();
+			DisplayString[] desc = new DisplayString[n_sensors];
+			ASN1Enum<DmsLightSensorStatus>[] s_stat =
+				new ASN1Enum[n_sensors];
+			ASN1Integer[] reading = new ASN1Integer[n_sensors];
+			for (int i = 0; i < n_sensors; i++) {
+				int row = i + 1;
+				desc[i] = new DisplayString(
+					dmsLightSensorDescription.node, row);
+				s_stat[i] = new ASN1Enum<DmsLightSensorStatus>(
+					DmsLightSensorStatus.class,
+					dmsLightSensorStatus.node, row);
+				reading[i] = dmsLightSensorCurrentReading
+					.makeInt(row);
+				mess.add(desc[i]);
+				mess.add(s_stat[i]);
+				mess.add(reading[i]);
 			}
+			((SNMP.Message) mess).queryBulk(3);
+			JSONArray photocells = new JSONArray();
+			for (int i = 0; i < n_sensors; i++) {
+				logQuery(desc[i]);
+				logQuery(s_stat[i]);
+				logQuery(reading[i]);
+				JSONObject photocell = new JSONObject();
+				photocell.put("description",
+					desc[i].getValue());
+				photocell.put("reading",
+					(s_stat[i].getEnum().isError())
+					? s_stat[i].getValue()
+					: getReading(reading[i]));
+				photocells.put(photocell);
+			}
+			JSONObject photocell = virtualPhotocell();
+			if (photocell != null)
+				photocells.put(photocell);
+			putStatus(DMS.PHOTOCELLS, photocells);
+			return vendorStatus();
 		}
 	}
 
@@ -541,39 +529,25 @@ public class OpQueryDMSStatus extends OpDMS {
 		}
 	}
 
-	/** Consolidated method to query temperature status */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private void pollTemp(CommMessage mess, String key, MIB1203 min_obj,
-		MIB1203 max_obj) throws IOException
-	{
-		ASN1Integer min_temp = min_obj.makeInt();
-		ASN1Integer max_temp = max_obj.makeInt();
-		mess.add(min_temp);
-		mess.add(max_temp);
-		try {
-			mess.queryProps();
-			logQuery(min_temp);
-			logQuery(max_temp);
-			int mn = min_temp.getInteger();
-			int mx = max_temp.getInteger();
-			boolean mn_valid = (mn > TEMP_MIN && mn < TEMP_MAX);
-			boolean mx_valid = (mx > TEMP_MIN && mx < TEMP_MAX);
-			if (mn_valid && mx_valid && mn > mx) {
-				// swap min/max temps
-				int v = mn;
-				mn = mx;
-				mx = v;
-			}
-			JSONArray temps = new JSONArray();
-			if (mn_valid)
-				temps.put(mn);
-			if (mx_valid && (mx > mn || !mn_valid))
-				temps.put(mx);
-			if (mn_valid || mx_valid)
-				putStatus(key, temps);
-		}
-		catch (NoSuchName e) {
-			// Some signs don't have all temperature objects.
+	/** Put temperature status.
+	 * @param key Status key.
+	 * @param mn Minimum temperature.
+	 * @param mx Maximum temperature. */
+	private void putTemps(String key, int mn, int mx) {
+		boolean mn_valid = (mn > TEMP_MIN && mn < TEMP_MAX);
+		boolean mx_valid = (mx > TEMP_MIN && mx < TEMP_MAX);
+		if (mn_valid && mx_valid && mn > mx) {
+			// swap min/max temps
+			int v = mn;
+			mn = mx;
+			mx = v;
 		}
+		JSONArray temps = new JSONArray();
+		if (mn_valid)
+			temps.put(mn);
+		if (mx_valid && (mx > mn || !mn_valid))
+			temps.put(mx);
+		if (mn_valid || mx_valid)
+			putStatus(key, temps);
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2008-2025  Minnesota Department of Transportation
+ * Copyright (C) 2008-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -28,6 +28,7 @@ import us.mn.state.dot.tms.server.comm.snmp.ASN1Enum;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Flags;
 import us.mn.state.dot.tms.server.comm.snmp.ASN1Integer;
 import us.mn.state.dot.tms.server.comm.snmp.NoSuchName;
+import us.mn.state.dot.tms.server.comm.snmp.SNMP;
 
 /**
  * This operation tests the pixel status of a DMS.
@@ -39,6 +40,9 @@ public class OpTestDMSPixels extends OpDMS {
 	/** Timeout before failing pixel test (ms) */
 	static private final long PIXEL_TEST_TIMEOUT_MS = 45 * 1000;
 
+	/** Maximum number of pixel failure table rows to query per poll */
+	static private final int ROWS_PER_POLL = 64;
+
 	/** Flag to indicate whether a pixel test should be performed */
 	private final boolean perform_test;
 
@@ -193,9 +197,12 @@ public class OpTestDMSPixels extends OpDMS {
 		/** Number of rows to query */
 		private final int n_rows;
 
-		/** Row to query */
+		/** First row to query */
 		private int row = 1;
 
+		/** Flag to query multiple rows in each poll */
+		private boolean batch = true;
+
 		/** Create a new phase to query the rows */
 		public QueryRows(PixelFailureDetectionType dt) {
 			detectionType = dt;
@@ -211,35 +218,53 @@ public class OpTestDMSPixels extends OpDMS {
 			       PixelFailureDetectionType.pixelTest;
 		}
 
-		/** Query one row in the pixel failure table */
+		/** Query a batch of rows in the pixel failure table */
 		@SuppressWarnings("unchecked")
 		protected Phase poll(CommMessage mess) throws IOException {
-			ASN1Integer x_loc = pixelFailureXLocation.makeInt(
-				detectionType.ordinal(), row);
-			ASN1Integer y_loc = pixelFailureYLocation.makeInt(
-				detectionType.ordinal(), row);
-			ASN1Flags<PixelFailureStatus> status = new ASN1Flags<
-				PixelFailureStatus>(PixelFailureStatus.class,
-				pixelFailureStatus.node,detectionType.ordinal(),
-				row);
-			mess.add(x_loc);
-			mess.add(y_loc);
-			mess.add(status);
+			int n = batch
+			      ? Math.min(ROWS_PER_POLL, n_rows - row + 1)
+			      : 1;
+			int dt = detectionType.ordinal();
+			ASN1Integer[] x_loc = new ASN1Integer[n];
+			ASN1Integer[] y_loc = new ASN1Integer[n];
+			ASN1Flags<PixelFailureStatus>[] status =
+				new ASN1Flags[n];
+			for (int i = 0; i < n; i++) {
+				x_loc[i] = pixelFailureXLocation.makeInt(dt,
+					row + i);
+				y_loc[i] = pixelFailureYLocation.makeInt(dt,
+					row + i);
+				status[i] = new ASN1Flags<PixelFailureStatus>(
+					PixelFailureStatus.class,
+					pixelFailureStatus.node, dt, row + i);
+				mess.add(x_loc[i]);
+				mess.add(y_loc[i]);
+				mess.add(status[i]);
+			}
 			try {
-				mess.queryProps();
+				((SNMP.Message) mess).queryBulk(3);
 			}
 			catch (NoSuchName e) {
+				// Some sign firmware reports more rows than
+				// are in the table; query one row at a time
+				// to find the end
+				if (n > 1) {
+					batch = false;
+					return this;
+				}
 				// We've gone past the end of the table for
 				// this detection type.  Must be a v1 sign.
 				return nextTablePhase();
 			}
-			logQuery(x_loc);
-			logQuery(y_loc);
-			logQuery(status);
-			int x = x_loc.getInteger() - 1;
-			int y = y_loc.getInteger() - 1;
-			setPixelStatus(x, y, status.getInteger());
-			row++;
+			for (int i = 0; i < n; i++) {
+				logQuery(x_loc[i]);
+				logQuery(y_loc[i]);
+				logQuery(status[i]);
+				int x = x_loc[i].getInteger() - 1;
+				int y = y_loc[i].getInteger() - 1;
+				setPixelStatus(x, y, status[i].getInteger());
+			}
+			row += n;
 			if (row <= n_rows)
 				return this;
 			else
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2015  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,9 +14,8 @@
  */
 package us.mn.state.dot.tms.server.comm.snmp;
 
-import java.io.InputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Abstract Syntax Notation One (ASN.1)
@@ -30,9 +29,38 @@ abstract public class ASN1 {
 		return ASN1Tag.fromValues(clazz, constructed, number);
 	}
 
-	/** Byte array output stream used to encode messages */
-	protected final ByteArrayOutputStream encoder =
-		new ByteArrayOutputStream();
+	/** Maximum size of an encoded message */
+	static public final int MAX_MESSAGE = 65535;
+
+	/** Initial size of encoder and decoder buffers */
+	static private final int INITIAL_SIZE = 1024;
+
+	/** Buffer used to encode messages.  It is reused for every message,
+	 * and only replaced when it must grow. */
+	protected ByteBuffer encoder = ByteBuffer.allocate(INITIAL_SIZE);
+
+	/** Buffer used to decode received messages */
+	protected ByteBuffer decoder = ByteBuffer.allocate(INITIAL_SIZE);
+
+	/** Grow a buffer to hold a number of bytes.
+	 * @param buf Buffer to grow (flipped if replaced).
+	 * @param n Total number of bytes needed.
+	 * @return Buffer with enough capacity. */
+	static protected ByteBuffer grow(ByteBuffer buf, int n)
+		throws IOException
+	{
+		if (n <= buf.capacity())
+			return buf;
+		if (n > MAX_MESSAGE + 8)
+			throw new IOException("MESSAGE TOO BIG: " + n);
+		int cap = buf.capacity();
+		while (cap < n)
+			cap *= 2;
+		ByteBuffer b = ByteBuffer.allocate(cap);
+		buf.flip();
+		b.put(buf);
+		return b;
+	}
 
 	/** Encode an ASN.1 identifier (tag) */
 	abstract protected void encodeIdentifier(Tag tag) throws IOException;
@@ -40,17 +68,10 @@ abstract public class ASN1 {
 	/** Encode an ASN.1 length */
 	abstract protected void encodeLength(int length) throws IOException;
 
-	/** Get encoded data as byte array (and reset the encoder) */
-	protected byte[] getEncodedData() {
-		byte[] buffer = encoder.toByteArray();
-		encoder.reset();
-		return buffer;
-	}
-
 	/** Decode an ASN.1 identifier (tag) */
-	abstract protected Tag decodeIdentifier(InputStream is)
+	abstract protected Tag decodeIdentifier(ByteBuffer buf)
 		throws IOException;
 
 	/** Decode an ASN.1 length */
-	abstract protected int decodeLength(InputStream is) throws IOException;
+	abstract protected int decodeLength(ByteBuffer buf) throws IOException;
 }
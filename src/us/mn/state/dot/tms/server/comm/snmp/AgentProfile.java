@@ -0,0 +1,91 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+/**
+ * Agent profile contains protocol limits learned from one SNMP agent.
+ *
+ * @author Douglas Lau
+ */
+public class AgentProfile {
+
+	/** Default maximum size of a get-request message (octets).  This is
+	 * small enough to fit into one ethernet frame. */
+	static public final int DEFAULT_MAX_SIZE = 1400;
+
+	/** Number of get-bulk timeouts to disable get-bulk, when get-requests
+	 * are answered */
+	static private final int MAX_BULK_TIMEOUTS = 3;
+
+	/** Maximum size of a get-request message (octets) */
+	private int max_size = DEFAULT_MAX_SIZE;
+
+	/** Get-bulk support (null if unknown) */
+	private Boolean bulk;
+
+	/** Count of get-bulk timeouts while support is unknown */
+	private int bulk_timeouts = 0;
+
+	/** Get the maximum size of a get-request message */
+	public synchronized int getMaxSize() {
+		return max_size;
+	}
+
+	/** Handle a tooBig response to a get-request.
+	 * @param size Size of request message.
+	 * @return true if the maximum size was reduced. */
+	public synchronized boolean tooBig(int size) {
+		int ms = Math.min(max_size, size / 2);
+		if (ms < max_size) {
+			max_size = ms;
+			return true;
+		} else
+			return false;
+	}
+
+	/** Check if get-bulk requests should be tried */
+	public synchronized boolean isBulkAllowed() {
+		return bulk == null || bulk;
+	}
+
+	/** Check if get-bulk support is known */
+	public synchronized boolean isBulkKnown() {
+		return bulk != null;
+	}
+
+	/** Set get-bulk support */
+	public synchronized void setBulk(boolean b) {
+		bulk = b;
+		bulk_timeouts = 0;
+	}
+
+	/** Handle a get-bulk timeout, when a get-request was answered.
+	 * @return true if get-bulk was disabled. */
+	public synchronized boolean bulkTimedOut() {
+		bulk_timeouts++;
+		if (bulk == null && bulk_timeouts >= MAX_BULK_TIMEOUTS) {
+			bulk = false;
+			return true;
+		} else
+			return false;
+	}
+
+	/** Get a string representation */
+	@Override
+	public synchronized String toString() {
+		return "max_size: " + max_size + ", bulk: " + bulk +
+			", bulk_timeouts: " + bulk_timeouts;
+	}
+}
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2002-2023  Minnesota Department of Transportation
+ * Copyright (C) 2002-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -17,12 +17,17 @@ package us.mn.state.dot.tms.server.comm.snmp;
 import java.io.EOFException;
 import java.io.InputStream;
 import java.io.IOException;
-import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import us.mn.state.dot.tms.server.comm.ParsingException;
 
 /**
  * Basic Encoding Rules for ASN.1
  *
+ * Messages are encoded in a single pass into the encoder buffer.  The length
+ * of a constructed value is not known until its contents are encoded, so a
+ * one-octet length is reserved and backpatched afterwards.  Decoding reads
+ * from a cursor over the received message in the decoder buffer.
+ *
  * @author Douglas Lau
  */
 abstract public class BER extends ASN1 {
@@ -44,89 +49,143 @@ abstract public class BER extends ASN1 {
 	 * than one octet */
 	static private final int ONE_OCTET = 0x1F;
 
-	/** Encode a BER identifier to the output stream */
+	/** Get the number of octets to encode a length */
+	static private int lengthOctets(int length) {
+		if (length < 128)
+			return 1;
+		else if (length < 256)
+			return 2;
+		else
+			return 3;
+	}
+
+	/** Get the number of octets to encode a subidentifier */
+	static private int subidentifierOctets(int subid) {
+		int n = 1;
+		for (subid >>>= 7; subid != 0; subid >>>= 7)
+			n++;
+		return n;
+	}
+
+	/** Get the number of octets to encode an integer */
+	static private int integerOctets(int value) {
+		int len = 4;
+		for (; len > 1; len--) {
+			int test = (value >> (len * 8 - 9)) & 0x1FF;
+			if (test != 0 && test != 0x1FF)
+				break;
+		}
+		return len;
+	}
+
+	/** Make sure the encoder has room for more bytes */
+	private void reserve(int n) throws IOException {
+		if (encoder.remaining() < n)
+			encoder = grow(encoder, encoder.position() + n);
+	}
+
+	/** Encode a subidentifier (base 128, high bit on all but last) */
+	private void encodeSubidentifier(int subid) {
+		int s = (subidentifierOctets(subid) - 1) * 7;
+		for (; s > 0; s -= 7) {
+			int b = (subid >>> s) & SEVEN_BITS;
+			encoder.put((byte) (b | HIGH_BIT));
+		}
+		encoder.put((byte) (subid & SEVEN_BITS));
+	}
+
+	/** Encode a BER identifier to the encoder buffer */
+	@Override
 	protected void encodeIdentifier(Tag tag) throws IOException {
 		byte first = tag.getClazz();
 		int number = tag.getNumber();
 		if (tag.isConstructed())
 			first |= Tag.CONSTRUCTED;
-		if (number < ONE_OCTET) {
-			encoder.write(first | number);
-			return;
-		}
-		encoder.write(first | ONE_OCTET);
-		byte[] buffer = new byte[5];
-		int start = 4;
-		buffer[start] = (byte)(number & SEVEN_BITS);
-		for (number >>= 7; number > SEVEN_BITS; number >>= 7) {
-			buffer[--start] = (byte)
-				((number & SEVEN_BITS) | HIGH_BIT);
+		reserve(6);
+		if (number < ONE_OCTET)
+			encoder.put((byte) (first | number));
+		else {
+			encoder.put((byte) (first | ONE_OCTET));
+			encodeSubidentifier(number);
 		}
-		encoder.write(buffer, start, 5 - start);
 	}
 
 	/** Encode a BER length */
+	@Override
 	protected void encodeLength(int length) throws IOException {
+		reserve(3);
 		if (length < 128)
-			encoder.write(length);
+			encoder.put((byte) length);
 		else if (length < 256) {
-			encoder.write(HIGH_BIT | 1);
-			encoder.write(length);
+			encoder.put((byte) (HIGH_BIT | 1));
+			encoder.put((byte) length);
 		} else {
-			encoder.write(HIGH_BIT | 2);
-			encoder.write((byte)(length >> 8));
-			encoder.write((byte)(length & 0xFF));
+			encoder.put((byte) (HIGH_BIT | 2));
+			encoder.put((byte) (length >> 8));
+			encoder.put((byte) (length & 0xFF));
 		}
 	}
 
+	/** Begin encoding a constructed value (sequence or PDU).  A one-octet
+	 * length is reserved, to be patched by endConstructed.
+	 * @param tag Tag of constructed value.
+	 * @return Start position of contents. */
+	protected int beginConstructed(Tag tag) throws IOException {
+		encodeIdentifier(tag);
+		reserve(1);
+		encoder.put((byte) 0);
+		return encoder.position();
+	}
+
+	/** End encoding a constructed value, and patch its length.  If the
+	 * length needs more than one octet, the contents are moved up.
+	 * @param start Start position of contents. */
+	protected void endConstructed(int start) throws IOException {
+		int len = encoder.position() - start;
+		int extra = lengthOctets(len) - 1;
+		if (extra > 0) {
+			reserve(extra);
+			byte[] buf = encoder.array();
+			System.arraycopy(buf, start, buf, start + extra, len);
+		}
+		encoder.position(start - 1);
+		encodeLength(len);
+		encoder.position(start + extra + len);
+	}
+
 	/** Encode a boolean value */
 	protected void encodeBoolean(boolean value) throws IOException {
 		encodeIdentifier(ASN1Tag.BOOLEAN);
 		encodeLength(1);
-		if (value)
-			encoder.write(0xFF);
-		else
-			encoder.write(0x00);
+		encoder.put(value ? (byte) 0xFF : (byte) 0x00);
 	}
 
 	/** Encode an integer value */
 	protected void encodeInteger(int value) throws IOException {
-		byte[] buffer = new byte[4];
-		int len = encodeInt(value, buffer);
-		encodeIdentifier(ASN1Tag.INTEGER);
-		encodeLength(len);
-		encoder.write(buffer, 0, len);
+		encodeInteger(ASN1Tag.INTEGER, value);
 	}
 
-	/** Encode an integer value */
-	private int encodeInt(int value, byte[] buffer) throws IOException {
-		int len = 0;
-		boolean flag = false;
-		for (int shift = 23; shift > 0; shift -= 8) {
-			int test = (value >> shift) & 0x1FF;
-			if (test != 0 && test != 0x1FF)
-				flag = true;
-			if (flag)
-				buffer[len++] = (byte) (test >> 1);
-		}
-		buffer[len++] = (byte) (value & 0xFF);
-		return len;
+	/** Encode an integer value with a tag */
+	private void encodeInteger(Tag tag, int value) throws IOException {
+		int len = integerOctets(value);
+		encodeIdentifier(tag);
+		encodeLength(len);
+		reserve(len);
+		for (int s = (len - 1) * 8; s >= 0; s -= 8)
+			encoder.put((byte) (value >> s));
 	}
 
 	/** Encode a Counter value */
 	public void encodeCounter(int value) throws IOException {
-		byte[] buffer = new byte[4];
-		int len = encodeInt(value, buffer);
-		encodeIdentifier(SNMPTag.COUNTER);
-		encodeLength(len);
-		encoder.write(buffer, 0, len);
+		encodeInteger(SNMPTag.COUNTER, value);
 	}
 
 	/** Encode an octet string */
 	protected void encodeOctetString(byte[] string) throws IOException {
 		encodeIdentifier(ASN1Tag.OCTET_STRING);
 		encodeLength(string.length);
-		encoder.write(string);
+		reserve(string.length);
+		encoder.put(string);
 	}
 
 	/** Encode a null value */
@@ -137,62 +196,103 @@ abstract public class BER extends ASN1 {
 
 	/** Encode an object identifier */
 	protected void encodeObjectIdentifier(int[] oid) throws IOException {
-		ByteArrayOutputStream bs = new ByteArrayOutputStream();
-		bs.write(oid[0] * 40 + oid[1]);
-		for (int i = 2; i < oid.length; i++) {
-			int subid = oid[i];
-			if (subid > SEVEN_BITS) {
-				bs.write(HIGH_BIT | (subid >> 7));
-				subid &= SEVEN_BITS;
+		int first = oid[0] * 40 + oid[1];
+		int len = subidentifierOctets(first);
+		for (int i = 2; i < oid.length; i++)
+			len += subidentifierOctets(oid[i]);
+		encodeIdentifier(ASN1Tag.OBJECT_IDENTIFIER);
+		encodeLength(len);
+		reserve(len);
+		encodeSubidentifier(first);
+		for (int i = 2; i < oid.length; i++)
+			encodeSubidentifier(oid[i]);
+	}
+
+	/** Read one byte from an input stream */
+	static private int readByte(InputStream is) throws IOException {
+		int b = is.read();
+		if (b < 0)
+			throw END_OF_STREAM;
+		return b;
+	}
+
+	/** Receive a message from an input stream into the decoder buffer.
+	 * Only the identifier, length and contents of one value are read.
+	 * @param is Input stream.
+	 * @return Decoder buffer, positioned at the start of the message. */
+	protected ByteBuffer receive(InputStream is) throws IOException {
+		decoder.clear();
+		decoder.put((byte) readByte(is));
+		int first = readByte(is);
+		decoder.put((byte) first);
+		int length = first & SEVEN_BITS;
+		if (length != first) {
+			if (length == 0 || length > 3) {
+				throw new ParsingException(
+					"INVALID LENGTH CODE: " + first);
+			}
+			int i = length;
+			for (length = 0; i > 0; i--) {
+				int lg = readByte(is);
+				decoder.put((byte) lg);
+				length = (length << 8) | lg;
 			}
-			bs.write(subid);
 		}
-		byte[] buffer = bs.toByteArray();
-		encodeIdentifier(ASN1Tag.OBJECT_IDENTIFIER);
-		encodeLength(buffer.length);
-		encoder.write(buffer);
+		if (length > is.available()) {
+			throw new ParsingException("INVALID LENGTH: " + length +
+				" > " + is.available());
+		}
+		decoder = grow(decoder, decoder.position() + length);
+		byte[] buf = decoder.array();
+		int pos = decoder.position();
+		int end = pos + length;
+		while (pos < end) {
+			int n = is.read(buf, pos, end - pos);
+			if (n < 0)
+				throw END_OF_STREAM;
+			pos += n;
+		}
+		decoder.position(end);
+		decoder.flip();
+		return decoder;
 	}
 
-	/** Encode a sequence (or sequence-of) */
-	protected void encodeSequence(byte[] seq) throws IOException {
-		encodeIdentifier(ASN1Tag.SEQUENCE);
-		encodeLength(seq.length);
-		encoder.write(seq);
+	/** Get one byte from a decode buffer */
+	static private int getByte(ByteBuffer buf) throws IOException {
+		if (!buf.hasRemaining())
+			throw END_OF_STREAM;
+		return buf.get() & 0xFF;
 	}
 
 	/** Decode a BER identifier (tag) */
-	protected Tag decodeIdentifier(InputStream is) throws IOException {
-		int first = is.read();
-		if (first < 0)
-			throw END_OF_STREAM;
+	@Override
+	protected Tag decodeIdentifier(ByteBuffer buf) throws IOException {
+		int first = getByte(buf);
 		byte clazz = (byte)(first & Tag.CLASS_MASK);
 		boolean constructed = (first & Tag.CONSTRUCTED) != 0;
 		int number = (first & ONE_OCTET);
 		if (number == ONE_OCTET)
-			number = decodeSubidentifier(is);
+			number = decodeSubidentifier(buf);
 		return getTag(clazz, constructed, number);
 	}
 
 	/** Decode a BER subidentifier */
-	protected int decodeSubidentifier(InputStream is) throws IOException {
+	protected int decodeSubidentifier(ByteBuffer buf) throws IOException {
 		int number = 0;
 		for (int i = 0; i < 4; i++) {
-			int next = is.read();
-			if (next < 0)
-				throw END_OF_STREAM;
+			int next = getByte(buf);
 			number <<= 7;
 			number |= (next & SEVEN_BITS);
-			if ((next & HIGH_BIT) != 0)
+			if ((next & HIGH_BIT) == 0)
 				return number;
 		}
 		throw new ParsingException("INVALID SUBIDENTIFIER");
 	}
 
 	/** Decode a BER length */
-	protected int decodeLength(InputStream is) throws IOException {
-		int first = is.read();
-		if (first < 0)
-			throw END_OF_STREAM;
+	@Override
+	protected int decodeLength(ByteBuffer buf) throws IOException {
+		int first = getByte(buf);
 		if (first == RESERVED)
 			throw new ParsingException("RESERVED LENGTH CODE");
 		int length = first & SEVEN_BITS;
@@ -202,102 +302,117 @@ abstract public class BER extends ASN1 {
 			int i = length;
 			for (length = 0; i > 0; i--) {
 				length <<= 8;
-				int lg = is.read();
-				if (lg < 0)
-					throw END_OF_STREAM;
-				length |= lg;
+				length |= getByte(buf);
 			}
 		}
-		if (length > is.available()) {
+		if (length < 0 || length > buf.remaining()) {
 			throw new ParsingException("INVALID LENGTH: " + length +
-				" > " + is.available());
+				" > " + buf.remaining());
 		}
 		return length;
 	}
 
 	/** Decode an integer */
-	protected int decodeInteger(InputStream is) throws IOException {
-		Tag tag = decodeIdentifier(is);
-		// Skyline signs return dmsFreeChangeableMemory and 
+	protected int decodeInteger(ByteBuffer buf) throws IOException {
+		Tag tag = decodeIdentifier(buf);
+		// Skyline signs return dmsFreeChangeableMemory and
 		// dmsFreeVolatileMemory as INTEGER_SKYLINE instead of INTEGER
 		if (tag != ASN1Tag.INTEGER && tag != SNMPTag.INTEGER_SKYLINE)
 			throw new ParsingException("EXPECTED AN INTEGER TAG");
-		return decodeInt(is);
+		return decodeInt(buf);
 	}
 
 	/** Decode an integer length/value */
-	private int decodeInt(InputStream is) throws IOException {
-		int length = decodeLength(is);
+	private int decodeInt(ByteBuffer buf) throws IOException {
+		int length = decodeLength(buf);
 		if (length < 1 || length > 4)
 			throw new ParsingException("INVALID INTEGER LENGTH");
-		int value = is.read();
-		if (value < 0)
-			throw END_OF_STREAM;
-		value = (byte) value;  // NOTE: cast to preserve sign
+		int value = buf.get();	// NOTE: sign extend first byte
 		for (int i = 1; i < length; i++) {
 			value <<= 8;
-			int v = is.read();
-			if (v < 0)
-				throw END_OF_STREAM;
-			value |= v;
+			value |= buf.get() & 0xFF;
 		}
 		return value;
 	}
 
 	/** Decode a counter */
-	public int decodeCounter(InputStream is) throws IOException {
-		Tag tag = decodeIdentifier(is);
+	public int decodeCounter(ByteBuffer buf) throws IOException {
+		Tag tag = decodeIdentifier(buf);
 		if (tag != SNMPTag.COUNTER)
 			throw new ParsingException("EXPECTED COUNTER");
-		return decodeInt(is);
+		return decodeInt(buf);
 	}
 
 	/** Decode an octet string */
-	protected byte[] decodeOctetString(InputStream is) throws IOException {
-		if (decodeIdentifier(is) != ASN1Tag.OCTET_STRING)
+	protected byte[] decodeOctetString(ByteBuffer buf) throws IOException {
+		if (decodeIdentifier(buf) != ASN1Tag.OCTET_STRING)
 			throw new ParsingException("EXPECTED OCTET STRING TAG");
-		int length = decodeLength(is);
-		if (length < 0)
-			throw new ParsingException("NEGATIVE STRING LENGTH");
-		byte[] buffer = new byte[length];
-		if (length > 0) {
-			int blen = is.read(buffer);
-			if (blen < 0)
-				throw END_OF_STREAM;
-			if (blen != length)
-				throw new ParsingException("READ STRING FAIL");
+		byte[] string = new byte[decodeLength(buf)];
+		buf.get(string);
+		return string;
+	}
+
+	/** Skip an object identifier.
+	 * FIXME: compare with expected OID */
+	protected void skipObjectIdentifier(ByteBuffer buf)
+		throws IOException
+	{
+		if (decodeIdentifier(buf) != ASN1Tag.OBJECT_IDENTIFIER) {
+			throw new ParsingException(
+				"EXPECTED OBJECT IDENTIFIER TAG");
 		}
-		return buffer;
+		int length = decodeLength(buf);
+		if (length < 1)
+			throw new ParsingException("NEGATIVE OID LENGTH");
+		buf.position(buf.position() + length);
 	}
 
-	/** Decode an object identifier */
-	protected int[] decodeObjectIdentifier(InputStream is)
+	/** Decode an object identifier, and compare it with another.
+	 * @param buf Decode buffer.
+	 * @param oid Object identifier to compare.
+	 * @return true if they match. */
+	protected boolean matchObjectIdentifier(ByteBuffer buf, int[] oid)
 		throws IOException
 	{
-		if (decodeIdentifier(is) != ASN1Tag.OBJECT_IDENTIFIER) {
+		if (decodeIdentifier(buf) != ASN1Tag.OBJECT_IDENTIFIER) {
 			throw new ParsingException(
 				"EXPECTED OBJECT IDENTIFIER TAG");
 		}
-		int length = decodeLength(is);
+		int length = decodeLength(buf);
 		if (length < 1)
 			throw new ParsingException("NEGATIVE OID LENGTH");
-		byte[] buffer = new byte[length];
-		if (length > 0) {
-			int blen = is.read(buffer);
-			if (blen < 0)
-				throw END_OF_STREAM;
-			if (blen != length)
-				throw new ParsingException("READ OID FAIL");
+		int end = buf.position() + length;
+		boolean m = oid.length >= 2;
+		int i = 1;
+		while (buf.position() < end) {
+			int subid = 0;
+			int next = HIGH_BIT;
+			while ((next & HIGH_BIT) != 0 && buf.position() < end) {
+				next = getByte(buf);
+				subid = (subid << 7) | (next & SEVEN_BITS);
+			}
+			if (i == 1)
+				m &= (subid == oid[0] * 40 + oid[1]);
+			else
+				m &= (i < oid.length && subid == oid[i]);
+			i++;
 		}
-		// NOTE: when the length is zero, there is no OID
-		return new int[0];
+		return m && (i == oid.length);
+	}
+
+	/** Decode the next identifier (tag), without moving the position */
+	protected Tag peekIdentifier(ByteBuffer buf) throws IOException {
+		int pos = buf.position();
+		Tag tag = decodeIdentifier(buf);
+		buf.position(pos);
+		return tag;
 	}
 
 	/** Decode a sequence (or sequence-of)
 	  * @return Length of sequence */
-	protected int decodeSequence(InputStream is) throws IOException {
-		if (decodeIdentifier(is) != ASN1Tag.SEQUENCE)
+	protected int decodeSequence(ByteBuffer buf) throws IOException {
+		if (decodeIdentifier(buf) != ASN1Tag.SEQUENCE)
 			throw new ParsingException("EXPECTED SEQUENCE TAG");
-		return decodeLength(is);
+		return decodeLength(buf);
 	}
 }
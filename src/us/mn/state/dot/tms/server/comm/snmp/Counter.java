@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2009-2024  Minnesota Department of Transportation
+ * Copyright (C) 2009-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -14,8 +14,8 @@
  */
 package us.mn.state.dot.tms.server.comm.snmp;
 
-import java.io.InputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Counter from RFC1155-SMI.
@@ -37,7 +37,7 @@ public class Counter extends ASN1Integer {
 
 	/** Decode a counter */
 	@Override
-	public void decode(InputStream is, BER er) throws IOException {
-		setInteger(er.decodeCounter(is));
+	public void decode(ByteBuffer buf, BER er) throws IOException {
+		setInteger(er.decodeCounter(buf));
 	}
 }
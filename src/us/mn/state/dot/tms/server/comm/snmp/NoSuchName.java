@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2015  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  *
  * This program is free software; you can redistribute it and/or modify
  * it under the terms of the GNU General Public License as published by
@@ -23,8 +23,23 @@ import us.mn.state.dot.tms.server.comm.ControllerException;
  */
 public class NoSuchName extends ControllerException {
 
+	/** Object which caused the error (may be null) */
+	private final ASN1Object obj;
+
 	/** Create a new NoSuchName exception */
 	public NoSuchName(String n) {
 		super("SNMP: NO SUCH NAME: " + n);
+		obj = null;
+	}
+
+	/** Create a new NoSuchName exception */
+	public NoSuchName(ASN1Object o) {
+		super("SNMP: NO SUCH NAME: " + o.getName());
+		obj = o;
+	}
+
+	/** Get the object which caused the error (may be null) */
+	public ASN1Object getObject() {
+		return obj;
 	}
 }
@@ -17,8 +17,10 @@ package us.mn.state.dot.tms.server.comm.snmp;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.ByteArrayOutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import us.mn.state.dot.sched.DebugLog;
 import us.mn.state.dot.tms.server.comm.CommMessage;
 import us.mn.state.dot.tms.server.comm.ParsingException;
@@ -54,31 +56,58 @@ public class SNMP extends BER {
 	/** SNMP version number */
 	static public final int SNMP_VERSION = 0;
 
+	/** SNMPv2c version number (for get-bulk requests) */
+	static public final int SNMP_VERSION_2C = 1;
+
 	/** Public community name */
 	static public final String PUBLIC = "Public";
 
-	/** Encode an SNMP message */
-	private void encodeSNMPMessage(String community) throws IOException {
-		byte[] pdu = getEncodedData();
-		encodeInteger(SNMP_VERSION);
-		encodeOctetString(community.getBytes());
-		encoder.write(pdu);
-		encodeSequence(getEncodedData());
-	}
+	/** Room for length octets of message, PDU and varbind list */
+	static private final int LENGTH_ROOM = 6;
 
-	/** Decode an SNMP message */
-	private void decodeSNMPMessage(InputStream is, String community)
-		throws IOException
+	/** Decode an SNMP message header */
+	private void decodeSNMPMessage(ByteBuffer buf, int version,
+		byte[] community) throws IOException
 	{
-		if (decodeSequence(is) > is.available())
-			throw new ParsingException("INVALID SNMP LENGTH");
-		if (decodeInteger(is) != 0)
+		decodeSequence(buf);
+		if (decodeInteger(buf) != version)
 			throw new ParsingException("SNMP VERSION MISMATCH");
-		String c = new String(decodeOctetString(is));
-		if (!c.equals(community))
+		if (decodeIdentifier(buf) != ASN1Tag.OCTET_STRING)
+			throw new ParsingException("EXPECTED OCTET STRING TAG");
+		int len = decodeLength(buf);
+		if (!matches(buf, community, len))
 			throw new ParsingException("SNMP COMMUNITY MISMATCH");
 	}
 
+	/** Check if the next bytes in a buffer match an array (and skip) */
+	static private boolean matches(ByteBuffer buf, byte[] b, int len) {
+		boolean m = (len == b.length);
+		int pos = buf.position();
+		for (int i = 0; m && i < len; i++)
+			m = (buf.get(pos + i) == b[i]);
+		buf.position(pos + len);
+		return m;
+	}
+
+	/** Check if a tag is a varbind exception (SNMPv2) */
+	static private boolean isException(Tag tag) {
+		return tag == SNMPTag.NO_SUCH_OBJECT ||
+		       tag == SNMPTag.NO_SUCH_INSTANCE ||
+		       tag == SNMPTag.END_OF_MIB_VIEW;
+	}
+
+	/** Get the OID of the object which precedes another.  A get-next
+	 * request for the result will return the original object. */
+	static private int[] previousOID(ASN1Object mo) {
+		int[] oid = mo.oid();
+		int n = oid.length - 1;
+		if (oid[n] > 0) {
+			oid[n]--;
+			return oid;
+		} else
+			return Arrays.copyOf(oid, n);
+	}
+
 	/** SNMP message class */
 	public class Message implements CommMessage<ASN1Object> {
 
@@ -89,23 +118,62 @@ public class SNMP extends BER {
 		private final InputStream is;
 
 		/** Community name */
-		private final String community;
+		private final byte[] community;
+
+		/** Request-ID generator */
+		private final ReqIdGenerator req_id_gen;
+
+		/** SNMP request-id of current request */
+		private int request_id;
 
-		/** SNMP request-id */
-		public final int request_id;
+		/** Profile of the agent */
+		private final AgentProfile profile;
 
 		/** List of objects set or get with this message */
 		private final ArrayList<ASN1Object> mos =
 			new ArrayList<ASN1Object>();
 
-		/** Create a new SNMP message */
+		/** Index of first object in current request */
+		private int first;
+
+		/** Index after last object in current request */
+		private int last;
+
+		/** Flag indicating a get-next or get-bulk response went past
+		 * the expected objects */
+		private boolean past_end;
+
+		/** Create a new SNMP message.  A new request-id is taken
+		 * from the generator for each request sent. */
 		public Message(OutputStream o, InputStream i, String c,
-			int req_id)
+			ReqIdGenerator g, AgentProfile ap)
 		{
 			os = o;
 			is = i;
-			community = (c != null) ? c : PUBLIC;
-			request_id = req_id;
+			community = ((c != null) ? c : PUBLIC).getBytes();
+			req_id_gen = g;
+			profile = ap;
+		}
+
+		/** Create a new SNMP message, with sequential request-ids.
+		 * @param req_id Request-id of first request. */
+		public Message(OutputStream o, InputStream i, String c,
+			final int req_id, AgentProfile ap)
+		{
+			this(o, i, c, new ReqIdGenerator() {
+				private int next_id = req_id;
+				@Override public int next() {
+					return next_id++;
+				}
+			}, ap);
+		}
+
+		/** Create a new SNMP message, with sequential request-ids.
+		 * @param req_id Request-id of first request. */
+		public Message(OutputStream o, InputStream i, String c,
+			int req_id)
+		{
+			this(o, i, c, req_id, new AgentProfile());
 		}
 
 		/** Set flag to enable query logging */
@@ -120,20 +188,192 @@ public class SNMP extends BER {
 		}
 
 		/** Query the controller properties.  This is accomplished with
-		 * an SNMP get-request.
+		 * SNMP get-requests.  The objects are split into as few
+		 * requests as the maximum size for the agent allows.
 		 * @throws IOException On any errors sending a request or
 		 *         receiving response */
 		public void queryProps() throws IOException {
+			for (first = 0; first < mos.size(); first = last) {
+				is.skip(is.available());
+				encoder.clear();
+				encodeRequest(SNMPTag.GET_REQUEST, SNMP_VERSION,
+					profile.getMaxSize());
+				sendRequest();
+				try {
+					decodeResponse(SNMP_VERSION);
+				}
+				catch (TooBig e) {
+					if (last - first < 2)
+						throw e;
+					int size = encoder.position();
+					if (!profile.tooBig(size))
+						throw e;
+					if (SNMP_LOG.isOpen()) {
+						SNMP_LOG.log("tooBig: " + size +
+							", " + profile);
+					}
+					last = first;
+				}
+			}
+		}
+
+		/** Query the controller properties with SNMP get-next
+		 * requests.  The response to each request is checked to
+		 * make sure it contains the added objects.
+		 * @throws IOException On any errors sending a request or
+		 *         receiving response */
+		public void queryNext() throws IOException {
 			if (mos.isEmpty())
 				return;
+			int missing = requestNext(SNMPTag.GET_NEXT_REQUEST,
+				SNMP_VERSION, 0, mos.size(), 0);
+			if (past_end || missing < mos.size())
+				throw new NoSuchName(mos.get(missing));
+		}
+
+		/** Query rows of a table with SNMPv2c get-bulk requests.  The
+		 * objects must be added in row order, with the same columns
+		 * in each row.  When the agent does not support get-bulk,
+		 * get-requests are used instead.  Lack of support is learned
+		 * from an error response, or from repeated get-bulk timeouts
+		 * when get-requests are answered.
+		 * @param n_cols Number of columns in each row.
+		 * @throws IOException On any errors sending a request or
+		 *         receiving response */
+		public void queryBulk(int n_cols) throws IOException {
+			if (mos.isEmpty())
+				return;
+			if (!profile.isBulkAllowed()) {
+				queryProps();
+				return;
+			}
+			int missing;
+			try {
+				missing = requestBulk(n_cols);
+			}
+			catch (SocketTimeoutException e) {
+				if (profile.isBulkKnown())
+					throw e;
+				// Timeout may be transient, so only learn
+				// if get-requests are answered repeatedly
+				queryProps();
+				profile.bulkTimedOut();
+				if (SNMP_LOG.isOpen()) {
+					SNMP_LOG.log("get-bulk timeout: " +
+						profile);
+				}
+				return;
+			}
+			catch (NoSuchName | GenError | ParsingException e) {
+				if (profile.isBulkKnown())
+					throw e;
+				profile.setBulk(false);
+				if (SNMP_LOG.isOpen())
+					SNMP_LOG.log("get-bulk failed: " + e);
+				queryProps();
+				return;
+			}
+			profile.setBulk(true);
+			if (missing < mos.size())
+				throw new NoSuchName(mos.get(missing));
+		}
+
+		/** Send get-bulk requests until all objects are received.
+		 * @return Index of first missing object, or mos.size(). */
+		private int requestBulk(int n_cols) throws IOException {
+			int f = 0;
+			while (f < mos.size()) {
+				int rem = mos.size() - f;
+				int n_rep = Math.min(n_cols, rem);
+				int max_rep = (rem + n_rep - 1) / n_rep;
+				int n = requestNext(SNMPTag.GET_BULK_REQUEST,
+					SNMP_VERSION_2C, f, n_rep, max_rep);
+				if (past_end)
+					return n;
+				if (n == f)
+					throw new ParsingException(
+						"NO VARBINDS");
+				f = n;
+			}
+			return f;
+		}
+
+		/** Send a get-next or get-bulk request, and decode the
+		 * response.
+		 * @param tag PDU type identifier.
+		 * @param version SNMP version.
+		 * @param f Index of first object.
+		 * @param n_req Number of objects to request.
+		 * @param max_rep Maximum repetitions (get-bulk only).
+		 * @return Index after last object received. */
+		private int requestNext(Tag tag, int version, int f,
+			int n_req, int max_rep) throws IOException
+		{
+			first = f;
+			last = Math.min(f + n_req * Math.max(max_rep, 1),
+				mos.size());
 			is.skip(is.available());
-			encodeVarBindList(false);
-			encodeRequestPDU(SNMPTag.GET_REQUEST);
-			encodeSNMPMessage(community);
-			encoder.writeTo(os);
-			encoder.reset();
-			os.flush();
-			decodeResponse();
+			encoder.clear();
+			request_id = req_id_gen.next();
+			int msg = beginConstructed(ASN1Tag.SEQUENCE);
+			encodeInteger(version);
+			encodeOctetString(community);
+			int pdu = beginConstructed(tag);
+			encodeInteger(request_id);
+			// non-repeaters and max-repetitions replace
+			// error-status and error-index for get-bulk
+			encodeInteger(0);
+			encodeInteger(max_rep);
+			int vbl = beginConstructed(ASN1Tag.SEQUENCE);
+			for (int i = f; i < f + n_req; i++) {
+				int vb = beginConstructed(ASN1Tag.SEQUENCE);
+				encodeObjectIdentifier(previousOID(mos.get(i)));
+				encodeNull();
+				endConstructed(vb);
+			}
+			endConstructed(vbl);
+			endConstructed(pdu);
+			endConstructed(msg);
+			sendRequest();
+			for (int i = 0;; i++) {
+				try {
+					ByteBuffer buf = receive(is);
+					decodeSNMPMessage(buf, version,
+						community);
+					decodeResponsePDU(buf);
+					return decodeNextVarBinds(buf);
+				}
+				catch (RequestIDException e) {
+					SNMP_LOG.log(e.getMessage());
+					is.skip(is.available());
+					if (i >= 5)
+						throw e;
+				}
+			}
+		}
+
+		/** Decode the variable bindings of a get-next or get-bulk
+		 * response.  Decoding stops at the first object with an
+		 * unexpected OID or an exception value.
+		 * @return Index after last object received. */
+		private int decodeNextVarBinds(ByteBuffer buf)
+			throws IOException
+		{
+			past_end = false;
+			decodeSequence(buf);
+			int i = first;
+			for (; i < last && buf.hasRemaining(); i++) {
+				ASN1Object mo = mos.get(i);
+				decodeSequence(buf);
+				if (!matchObjectIdentifier(buf, mo.oid()) ||
+				    isException(peekIdentifier(buf)))
+				{
+					past_end = true;
+					return i;
+				}
+				mo.decode(buf, SNMP.this);
+			}
+			return i;
 		}
 
 		/** Log a property query */
@@ -155,29 +395,31 @@ public class SNMP extends BER {
 		}
 
 		/** Store the controller properties.  This is accomplished with
-		 * an SNMP set-request.
+		 * an SNMP set-request.  All objects are always sent in one
+		 * request, since they must be set together.
 		 * @throws IOException On any errors sending a request or
 		 *         receiving response */
 		public void storeProps() throws IOException {
 			if (mos.isEmpty())
 				return;
 			is.skip(is.available());
-			encodeVarBindList(true);
-			encodeRequestPDU(SNMPTag.SET_REQUEST);
-			encodeSNMPMessage(community);
-			encoder.writeTo(os);
-			encoder.reset();
-			os.flush();
-			decodeResponse();
+			first = 0;
+			encoder.clear();
+			encodeRequest(SNMPTag.SET_REQUEST, SNMP_VERSION,
+				Integer.MAX_VALUE);
+			sendRequest();
+			decodeResponse(SNMP_VERSION);
 		}
 
 		/** Decode a response to a SET or GET request */
-		private void decodeResponse() throws IOException {
+		private void decodeResponse(int version) throws IOException {
 			for (int i = 0;; i++) {
 				try {
-					decodeSNMPMessage(is, community);
-					decodeResponsePDU(is);
-					decodeVarBindList(is);
+					ByteBuffer buf = receive(is);
+					decodeSNMPMessage(buf, version,
+						community);
+					decodeResponsePDU(buf);
+					decodeVarBindList(buf);
 					return;
 				}
 				catch (RequestIDException e) {
@@ -189,79 +431,99 @@ public class SNMP extends BER {
 			}
 		}
 
-		/** Encode a null variable binding */
+		/** Send the request message in the encoder buffer */
+		private void sendRequest() throws IOException {
+			os.write(encoder.array(), 0, encoder.position());
+			os.flush();
+		}
+
+		/** Encode a request message into the encoder buffer, with a
+		 * new request-id.  Objects are added, starting with the
+		 * first, until the maximum size would be exceeded (but always
+		 * at least one).
+		 * @param tag PDU type identifier.
+		 * @param version SNMP version.
+		 * @param max_size Maximum message size. */
+		private void encodeRequest(Tag tag, int version, int max_size)
+			throws IOException
+		{
+			boolean set = (tag == SNMPTag.SET_REQUEST);
+			request_id = req_id_gen.next();
+			int msg = beginConstructed(ASN1Tag.SEQUENCE);
+			encodeInteger(version);
+			encodeOctetString(community);
+			int pdu = beginConstructed(tag);
+			encodeInteger(request_id);
+			encodeInteger(0);	// error-status
+			encodeInteger(0);	// error-index
+			int vbl = beginConstructed(ASN1Tag.SEQUENCE);
+			for (last = first; last < mos.size(); last++) {
+				int pos = encoder.position();
+				encodeVarBind(mos.get(last), set);
+				if (last > first && encoder.position() +
+				    LENGTH_ROOM > max_size)
+				{
+					encoder.position(pos);
+					break;
+				}
+			}
+			endConstructed(vbl);
+			endConstructed(pdu);
+			endConstructed(msg);
+		}
+
+		/** Encode a variable binding */
 		private void encodeVarBind(ASN1Object mo, boolean set)
 			throws IOException
 		{
+			int vb = beginConstructed(ASN1Tag.SEQUENCE);
 			encodeObjectIdentifier(mo.oid());
 			if (set)
 				mo.encode(SNMP.this);
 			else
 				encodeNull();
-			encodeSequence(getEncodedData());
-		}
-
-		/** Encode the variable binding list */
-		private void encodeVarBindList(boolean set) throws IOException {
-			ByteArrayOutputStream vb = new ByteArrayOutputStream();
-			for (ASN1Object mo: mos) {
-				encodeVarBind(mo, set);
-				vb.write(getEncodedData());
-			}
-			encodeSequence(vb.toByteArray());
+			endConstructed(vb);
 		}
 
-		/** Encode an SNMP request PDU
-		 * @param tag PDU type identifier */
-		private void encodeRequestPDU(Tag tag) throws IOException {
-			byte[] varBindList = getEncodedData();
-			encodeInteger(request_id);
-			encodeInteger(0);	// error-status
-			encodeInteger(0);	// error-index
-			encoder.write(varBindList);
-			byte[] buffer = getEncodedData();
-			encodeIdentifier(tag);
-			encodeLength(buffer.length);
-			encoder.write(buffer);
-		}
-
-		/** Decode a variable binding */
-		private void decodeVarBind(InputStream is, ASN1Object mo)
+		/** Decode a variable binding.  The OID is checked, so that a
+		 * response with the wrong objects is never decoded. */
+		private void decodeVarBind(ByteBuffer buf, ASN1Object mo)
 			throws IOException
 		{
-			decodeSequence(is);
-			// FIXME: compare with OID from mo
-			decodeObjectIdentifier(is);
-			mo.decode(is, SNMP.this);
+			decodeSequence(buf);
+			if (!matchObjectIdentifier(buf, mo.oid())) {
+				throw new ParsingException("SNMP OID MISMATCH: "
+					+ mo.getName());
+			}
+			mo.decode(buf, SNMP.this);
 		}
 
 		/** Decode the variable binding list */
-		private void decodeVarBindList(InputStream is)
+		private void decodeVarBindList(ByteBuffer buf)
 			throws IOException
 		{
-			decodeSequence(is);
-			for (ASN1Object mo: mos)
-				decodeVarBind(is, mo);
+			decodeSequence(buf);
+			for (int i = first; i < last; i++)
+				decodeVarBind(buf, mos.get(i));
 		}
 
 		/** Decode an SNMP response PDU */
-		private void decodeResponsePDU(InputStream is)
+		private void decodeResponsePDU(ByteBuffer buf)
 			throws IOException
 		{
-			if (decodeIdentifier(is) != SNMPTag.GET_RESPONSE)
+			if (decodeIdentifier(buf) != SNMPTag.GET_RESPONSE)
 				throw new ParsingException("!GET_RESPONSE TAG");
-			if (decodeLength(is) > is.available())
-				throw new ParsingException("INVALID PDU LEN");
-			int req = decodeInteger(is);
+			decodeLength(buf);
+			int req = decodeInteger(buf);
 			if (req != request_id)
 				throw new RequestIDException(req, request_id);
-			int error = decodeInteger(is);
-			int index = decodeInteger(is);
+			int error = decodeInteger(buf);
+			int index = decodeInteger(buf);
 			switch (error) {
 			case TOO_BIG:
 				throw new TooBig();
 			case NO_SUCH_NAME:
-				throw new NoSuchName(getName(index));
+				throw noSuchName(index);
 			case BAD_VALUE:
 				throw new BadValue(getObject(index));
 			case READ_ONLY:
@@ -271,20 +533,30 @@ public class SNMP extends BER {
 			}
 		}
 
+		/** Create a NoSuchName exception for an error index */
+		private NoSuchName noSuchName(int i) {
+			ASN1Object mo = getMo(i);
+			return (mo != null)
+			      ? new NoSuchName(mo)
+			      : new NoSuchName(String.valueOf(i));
+		}
+
+		/** Get an object by error index in the current request */
+		private ASN1Object getMo(int i) {
+			int n = first + i - 1;
+			return (i > 0 && n < last) ? mos.get(n) : null;
+		}
+
 		/** Get the object name/value */
 		private String getObject(int i) {
-			if (i > 0 && i <= mos.size())
-				return mos.get(i - 1).toString();
-			else
-				return String.valueOf(i);
+			ASN1Object mo = getMo(i);
+			return (mo != null) ? mo.toString() : String.valueOf(i);
 		}
 
 		/** Get the object name */
 		private String getName(int i) {
-			if (i > 0 && i <= mos.size())
-				return mos.get(i - 1).getName();
-			else
-				return String.valueOf(i);
+			ASN1Object mo = getMo(i);
+			return (mo != null) ? mo.getName() : String.valueOf(i);
 		}
 	}
 }
@@ -1,6 +1,6 @@
 /*
  * IRIS -- Intelligent Roadway Information System
- * Copyright (C) 2000-2015  Minnesota Department of Transportation
+ * Copyright (C) 2000-2026  Minnesota Department of Transportation
  * Copyright (C) 2015  Iteris Inc.
  *
  * This program is free software; you can redistribute it and/or modify
@@ -27,6 +27,10 @@ public enum SNMPTag implements Tag {
 	GET_RESPONSE		(CONTEXT, true, 2),
 	SET_REQUEST		(CONTEXT, true, 3),
 	TRAP			(CONTEXT, true, 4),
+	GET_BULK_REQUEST	(CONTEXT, true, 5),
+	NO_SUCH_OBJECT		(CONTEXT, false, 0),
+	NO_SUCH_INSTANCE	(CONTEXT, false, 1),
+	END_OF_MIB_VIEW		(CONTEXT, false, 2),
 	COUNTER			(APPLICATION, false, 1),
 	INTEGER_SKYLINE		(APPLICATION, false, 2);
 
@@ -0,0 +1,387 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.tms.server.comm.ParsingException;
+
+/**
+ * SNMP engine sends requests for all UDP links over a few shared datagram
+ * channels.  One selector thread receives all responses, and matches them
+ * to requests by remote address and request-id.  Timeouts are scheduled as
+ * jobs, which are kept on the scheduler's timer wheel.
+ *
+ * @author Douglas Lau
+ */
+public final class SnmpEngine {
+
+	/** SNMP engine debug log */
+	static private final DebugLog ENGINE_LOG = new DebugLog("snmp_engine");
+
+	/** Number of shared datagram channels */
+	static private final int N_CHANNELS = 4;
+
+	/** Maximum datagram size */
+	static private final int MAX_DATAGRAM = 65535;
+
+	/** BER sequence tag */
+	static private final int SEQUENCE = 0x30;
+
+	/** BER integer tag */
+	static private final int INTEGER = 0x02;
+
+	/** BER octet string tag */
+	static private final int OCTET_STRING = 0x04;
+
+	/** Scheduler for request timeouts */
+	static private final Scheduler TIMEOUT = new Scheduler("snmp_timeout");
+
+	/** Singleton engine */
+	static private SnmpEngine ENGINE;
+
+	/** Get the shared SNMP engine, starting it if necessary */
+	static public synchronized SnmpEngine get() throws IOException {
+		if (ENGINE == null)
+			ENGINE = new SnmpEngine(N_CHANNELS);
+		return ENGINE;
+	}
+
+	/** Listener for the result of a request.  Methods are called on the
+	 * selector or timeout thread, so they must not block. */
+	static public interface Listener {
+
+		/** Handle a response.
+		 * @param rx Buffer containing the whole response message. */
+		void responseReceived(ByteBuffer rx);
+
+		/** Handle a request which timed out */
+		void requestTimedOut();
+	}
+
+	/** Read a BER length */
+	static private int getLength(ByteBuffer buf) throws ParsingException {
+		int len = buf.get() & 0xFF;
+		if (len < 0x80)
+			return len;
+		int n = len & 0x7F;
+		if (n < 1 || n > 3)
+			throw new ParsingException("INVALID LENGTH");
+		len = 0;
+		for (int i = 0; i < n; i++)
+			len = (len << 8) | (buf.get() & 0xFF);
+		return len;
+	}
+
+	/** Check the tag of the next element */
+	static private void expectTag(ByteBuffer buf, int tag)
+		throws ParsingException
+	{
+		if ((buf.get() & 0xFF) != tag)
+			throw new ParsingException("UNEXPECTED TAG");
+	}
+
+	/** Parse the request-id of an SNMP message.  The buffer position is
+	 * not changed.
+	 * @param msg Buffer containing an SNMP message.
+	 * @return The request-id of the PDU. */
+	static public int parseRequestId(ByteBuffer msg)
+		throws ParsingException
+	{
+		ByteBuffer buf = msg.duplicate();
+		try {
+			expectTag(buf, SEQUENCE);
+			getLength(buf);
+			expectTag(buf, INTEGER);
+			int vlen = getLength(buf);
+			buf.position(buf.position() + vlen);
+			expectTag(buf, OCTET_STRING);
+			int clen = getLength(buf);
+			buf.position(buf.position() + clen);
+			// PDU tag is context-specific and constructed
+			if ((buf.get() & 0xE0) != 0xA0)
+				throw new ParsingException("INVALID PDU TAG");
+			getLength(buf);
+			expectTag(buf, INTEGER);
+			int ilen = getLength(buf);
+			if (ilen < 1 || ilen > 4) {
+				throw new ParsingException(
+					"INVALID REQUEST-ID");
+			}
+			int id = buf.get();	// sign extend first byte
+			for (int i = 1; i < ilen; i++)
+				id = (id << 8) | (buf.get() & 0xFF);
+			return id;
+		}
+		catch (BufferUnderflowException e) {
+			throw new ParsingException("SHORT MESSAGE");
+		}
+		catch (IllegalArgumentException e) {
+			throw new ParsingException("SHORT MESSAGE");
+		}
+	}
+
+	/** Key to match a response to a request */
+	static private final class Key {
+		private final SocketAddress remote;
+		private final int request_id;
+		private Key(SocketAddress r, int id) {
+			remote = r;
+			request_id = id;
+		}
+		@Override public int hashCode() {
+			return remote.hashCode() * 31 + request_id;
+		}
+		@Override public boolean equals(Object o) {
+			if (o instanceof Key) {
+				Key k = (Key) o;
+				return request_id == k.request_id &&
+				       remote.equals(k.remote);
+			} else
+				return false;
+		}
+	}
+
+	/** Pending request */
+	private final class Request extends Job {
+		private final Key key;
+		private final Listener listener;
+		private Request(Key k, Listener l, int timeout_ms) {
+			super(timeout_ms);
+			key = k;
+			listener = l;
+		}
+		@Override public String getName() {
+			return "snmp_timeout";
+		}
+		@Override public void perform() {
+			if (pending.remove(key, this)) {
+				n_timeout.incrementAndGet();
+				listener.requestTimedOut();
+			}
+		}
+	}
+
+	/** Selector for all channels */
+	private final Selector selector;
+
+	/** Shared datagram channels */
+	private final DatagramChannel[] channels;
+
+	/** Pending requests */
+	private final ConcurrentHashMap<Key, Request> pending =
+		new ConcurrentHashMap<Key, Request>();
+
+	/** Receive buffer (selector thread only) */
+	private final ByteBuffer rx_buf = ByteBuffer.allocate(MAX_DATAGRAM);
+
+	/** Count of sent requests */
+	private final AtomicLong n_sent = new AtomicLong();
+
+	/** Count of matched responses */
+	private final AtomicLong n_received = new AtomicLong();
+
+	/** Count of requests which timed out */
+	private final AtomicLong n_timeout = new AtomicLong();
+
+	/** Count of responses which did not match any request */
+	private final AtomicLong n_stray = new AtomicLong();
+
+	/** Create a new SNMP engine.
+	 * @param n_chan Number of shared datagram channels. */
+	public SnmpEngine(int n_chan) throws IOException {
+		selector = Selector.open();
+		channels = new DatagramChannel[n_chan];
+		for (int i = 0; i < n_chan; i++) {
+			DatagramChannel dc = DatagramChannel.open();
+			dc.configureBlocking(false);
+			dc.bind(null);
+			dc.register(selector, SelectionKey.OP_READ);
+			channels[i] = dc;
+		}
+		Thread t = new Thread("snmp_engine") {
+			@Override public void run() {
+				selectLoop();
+			}
+		};
+		t.setDaemon(true);
+		t.start();
+	}
+
+	/** Select loop to receive responses.  Errors are logged, and do not
+	 * stop the loop until the engine is closed. */
+	private void selectLoop() {
+		while (selector.isOpen()) {
+			try {
+				selectKeys();
+			}
+			catch (IOException e) {
+				ENGINE_LOG.log("select -> " + e);
+			}
+			catch (ClosedSelectorException e) {
+				// engine closed
+				return;
+			}
+		}
+	}
+
+	/** Select ready channels and receive their datagrams */
+	private void selectKeys() throws IOException {
+		selector.select();
+		Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+		while (it.hasNext()) {
+			SelectionKey sk = it.next();
+			it.remove();
+			if (sk.isValid() && sk.isReadable()) {
+				try {
+					receiveAll((DatagramChannel)
+						sk.channel());
+				}
+				catch (IOException e) {
+					ENGINE_LOG.log("receive -> " + e);
+				}
+			}
+		}
+	}
+
+	/** Receive all queued datagrams on a channel */
+	private void receiveAll(DatagramChannel dc) throws IOException {
+		while (true) {
+			rx_buf.clear();
+			SocketAddress src = dc.receive(rx_buf);
+			if (src == null)
+				return;
+			rx_buf.flip();
+			dispatch(src, rx_buf);
+		}
+	}
+
+	/** Dispatch a response to the matching request */
+	private void dispatch(SocketAddress src, ByteBuffer rx) {
+		Request req = null;
+		try {
+			Key k = new Key(src, parseRequestId(rx));
+			req = pending.remove(k);
+		}
+		catch (ParsingException e) {
+			// not a valid SNMP message
+		}
+		if (req != null) {
+			TIMEOUT.removeJob(req);
+			n_received.incrementAndGet();
+			try {
+				req.listener.responseReceived(
+					rx.asReadOnlyBuffer());
+			}
+			catch (RuntimeException e) {
+				ENGINE_LOG.log("listener -> " + e);
+			}
+		} else {
+			n_stray.incrementAndGet();
+			if (ENGINE_LOG.isOpen())
+				ENGINE_LOG.log("stray response from " + src);
+		}
+	}
+
+	/** Get the channel for a remote address.  Each address always uses
+	 * the same channel, so the device sees a consistent source port. */
+	private DatagramChannel channel(SocketAddress remote) {
+		int h = remote.hashCode();
+		return channels[Math.floorMod(h ^ (h >>> 16), channels.length)];
+	}
+
+	/** Send a request.  Only one request with the same remote address and
+	 * request-id can be pending; an older one is timed out immediately.
+	 * @param remote Remote socket address.
+	 * @param msg Buffer containing an encoded SNMP message.
+	 * @param timeout_ms Response timeout (ms).
+	 * @param l Listener to be notified of the result. */
+	public void send(InetSocketAddress remote, ByteBuffer msg,
+		int timeout_ms, Listener l) throws IOException
+	{
+		Key k = new Key(remote, parseRequestId(msg));
+		Request req = new Request(k, l, timeout_ms);
+		Request old = pending.put(k, req);
+		if (old != null) {
+			TIMEOUT.removeJob(old);
+			n_timeout.incrementAndGet();
+			old.listener.requestTimedOut();
+		}
+		TIMEOUT.addJob(req);
+		n_sent.incrementAndGet();
+		try {
+			// Non-blocking send drops the datagram if the socket
+			// buffer is full; the request will time out
+			channel(remote).send(msg, remote);
+		}
+		catch (IOException e) {
+			if (pending.remove(k, req))
+				TIMEOUT.removeJob(req);
+			throw e;
+		}
+	}
+
+	/** Cancel a pending request, without notifying its listener */
+	public void cancel(InetSocketAddress remote, int request_id) {
+		Request req = pending.remove(new Key(remote, request_id));
+		if (req != null)
+			TIMEOUT.removeJob(req);
+	}
+
+	/** Get the number of pending requests */
+	public int getPending() {
+		return pending.size();
+	}
+
+	/** Get the count of sent requests */
+	public long getSent() {
+		return n_sent.get();
+	}
+
+	/** Get the count of matched responses */
+	public long getReceived() {
+		return n_received.get();
+	}
+
+	/** Get the count of requests which timed out */
+	public long getTimedOut() {
+		return n_timeout.get();
+	}
+
+	/** Get the count of responses which did not match a request */
+	public long getStray() {
+		return n_stray.get();
+	}
+
+	/** Close the engine */
+	public void close() throws IOException {
+		selector.close();
+		for (DatagramChannel dc: channels)
+			dc.close();
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import us.mn.state.dot.tms.server.ControllerImpl;
+import us.mn.state.dot.tms.server.comm.BasicMessenger;
+import us.mn.state.dot.tms.server.comm.MessengerException;
+
+/**
+ * SNMP messenger sends requests through the shared SNMP engine, instead of
+ * a datagram socket for each comm link.  Reading from the input stream waits
+ * for the response matching the last request.  A lock and condition are
+ * used instead of monitors, so a virtual comm thread waiting for a response
+ * does not pin its carrier thread.  The no-response disconnect timer is
+ * handled by BasicMessenger.
+ *
+ * @author Douglas Lau
+ */
+public class SnmpMessenger extends BasicMessenger {
+
+	/** Maximum request size */
+	static private final int MAX_REQUEST = 65535;
+
+	/** Create an SNMP messenger.
+	 * @param u URI of remote host.
+	 * @param rt Receive timeout (ms).
+	 * @param nrd No-response disconnect (sec). */
+	static public SnmpMessenger create(URI u, int rt, int nrd)
+		throws MessengerException, IOException
+	{
+		return new SnmpMessenger(SnmpEngine.get(),
+			createSocketAddress(u), rt, nrd);
+	}
+
+	/** SNMP engine */
+	private final SnmpEngine engine;
+
+	/** Remote address */
+	private final InetSocketAddress remote;
+
+	/** Receive timeout (ms) */
+	private final int timeout;
+
+	/** Request buffer */
+	private final ByteBuffer tx_buf = ByteBuffer.allocate(MAX_REQUEST);
+
+	/** Lock for response state */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Condition signalled when a response is received */
+	private final Condition received = lock.newCondition();
+
+	/** Response buffer (empty until a response is received) */
+	private ByteBuffer rx_buf = ByteBuffer.allocate(0);
+
+	/** Request-id of pending request */
+	private int request_id;
+
+	/** Flag indicating a request is pending */
+	private boolean waiting = false;
+
+	/** Flag indicating the messenger is closed */
+	private boolean closed = false;
+
+	/** Input stream */
+	private final InputStream input = new InputStream() {
+		@Override public int read() throws IOException {
+			lock.lock();
+			try {
+				if (!rx_buf.hasRemaining())
+					waitResponse();
+				return rx_buf.get() & 0xFF;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		@Override public int read(byte[] b, int off, int len)
+			throws IOException
+		{
+			lock.lock();
+			try {
+				if (!rx_buf.hasRemaining())
+					waitResponse();
+				int n = Math.min(len, rx_buf.remaining());
+				rx_buf.get(b, off, n);
+				return n;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		@Override public int available() {
+			lock.lock();
+			try {
+				return rx_buf.remaining();
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+		@Override public long skip(long n) {
+			lock.lock();
+			try {
+				int s = (int) Math.min(n, rx_buf.remaining());
+				rx_buf.position(rx_buf.position() + s);
+				return s;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+	};
+
+	/** Output stream */
+	private final OutputStream output = new OutputStream() {
+		@Override public void write(int b) {
+			tx_buf.put((byte) b);
+		}
+		@Override public void write(byte[] b, int off, int len) {
+			tx_buf.put(b, off, len);
+		}
+		@Override public void flush() throws IOException {
+			sendRequest();
+		}
+	};
+
+	/** Listener for one request */
+	private final class Pending implements SnmpEngine.Listener {
+		private final int id;
+		private Pending(int i) {
+			id = i;
+		}
+		@Override public void responseReceived(ByteBuffer rx) {
+			ByteBuffer b = ByteBuffer.allocate(rx.remaining());
+			b.put(rx);
+			b.flip();
+			setResponse(id, b);
+		}
+		@Override public void requestTimedOut() {
+			setResponse(id, null);
+		}
+	}
+
+	/** Create a new SNMP messenger */
+	public SnmpMessenger(SnmpEngine e, InetSocketAddress ra, int rt,
+		int nrd)
+	{
+		super(nrd);
+		engine = e;
+		remote = ra;
+		timeout = rt;
+	}
+
+	/** Send the buffered request */
+	private void sendRequest() throws IOException {
+		tx_buf.flip();
+		try {
+			if (!tx_buf.hasRemaining())
+				return;
+			int id = SnmpEngine.parseRequestId(tx_buf);
+			lock.lock();
+			try {
+				if (closed)
+					throw new SocketException("CLOSED");
+				request_id = id;
+				rx_buf = ByteBuffer.allocate(0);
+				waiting = true;
+			}
+			finally {
+				lock.unlock();
+			}
+			engine.send(remote, tx_buf, timeout, new Pending(id));
+		}
+		finally {
+			tx_buf.clear();
+		}
+	}
+
+	/** Set the response to the pending request.
+	 * @param id Request-id of response.
+	 * @param b Response buffer, or null on timeout. */
+	private void setResponse(int id, ByteBuffer b) {
+		lock.lock();
+		try {
+			if (waiting && id == request_id) {
+				if (b != null)
+					rx_buf = b;
+				waiting = false;
+				received.signalAll();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Wait for the response to the pending request (lock held) */
+	private void waitResponse() throws IOException {
+		try {
+			while (waiting && !closed)
+				received.await();
+		}
+		catch (InterruptedException e) {
+			throw new InterruptedIOException();
+		}
+		if (closed)
+			throw new SocketException("CLOSED");
+		if (!rx_buf.hasRemaining())
+			throw new SocketTimeoutException("SNMP TIMEOUT");
+	}
+
+	/** Close the messenger */
+	@Override
+	protected void close2() {
+		boolean cancel;
+		lock.lock();
+		try {
+			cancel = waiting;
+			closed = true;
+			waiting = false;
+			received.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+		if (cancel)
+			engine.cancel(remote, request_id);
+	}
+
+	/** Get the raw input stream */
+	@Override
+	protected InputStream getRawInputStream(String path) {
+		return input;
+	}
+
+	/** Get the raw output stream */
+	@Override
+	protected OutputStream getRawOutputStream(ControllerImpl c) {
+		return output;
+	}
+
+	/** Drain any bytes from the input stream */
+	@Override
+	public void drain() {
+		lock.lock();
+		try {
+			rx_buf.position(rx_buf.limit());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+}
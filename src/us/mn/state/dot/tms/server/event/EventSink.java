@@ -0,0 +1,185 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import us.mn.state.dot.sched.DebugLog;
+import us.mn.state.dot.sched.Histogram;
+import us.mn.state.dot.sched.Job;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.tms.EventConfigHelper;
+import us.mn.state.dot.tms.TMSException;
+
+/**
+ * Event sink queues events and stores them in batches.  A batch is stored
+ * after a delay, or sooner if enough events are queued.  Events are grouped
+ * by table into multi-row INSERTs.  If the queue is full, the oldest event
+ * is dropped.  An event which cannot be stored is dropped without losing
+ * the rest of its batch.
+ *
+ * @author Douglas Lau
+ */
+public class EventSink {
+
+	/** Event sink debug log */
+	static private final DebugLog EVENT_LOG = new DebugLog("event_sink");
+
+	/** Delay before storing queued events (ms) */
+	static private final int FLUSH_DELAY_MS = 1000;
+
+	/** Number of queued events to store without delay */
+	static private final int FLUSH_EVENTS = 256;
+
+	/** Maximum number of queued events */
+	static private final int MAX_EVENTS = 16384;
+
+	/** Scheduler for storing events */
+	private final Scheduler sched;
+
+	/** Queued events */
+	private ArrayDeque<BaseEvent> events = new ArrayDeque<BaseEvent>();
+
+	/** Flag to indicate a delayed flush job is scheduled */
+	private boolean delayed = false;
+
+	/** Flag to indicate an immediate flush job is scheduled */
+	private boolean urgent = false;
+
+	/** Maximum queue depth */
+	private int max_depth = 0;
+
+	/** Count of stored events */
+	private long n_stored = 0;
+
+	/** Count of events dropped because the queue was full */
+	private long n_dropped = 0;
+
+	/** Count of events which failed to store */
+	private long n_failed = 0;
+
+	/** Flush latency histogram */
+	private final Histogram latency = new Histogram();
+
+	/** Create a new event sink */
+	public EventSink(Scheduler s) {
+		sched = s;
+	}
+
+	/** Add an event to be stored */
+	public synchronized void add(BaseEvent ev) {
+		if (events.size() >= MAX_EVENTS) {
+			events.poll();
+			n_dropped++;
+		}
+		events.add(ev);
+		max_depth = Math.max(max_depth, events.size());
+		if (!delayed) {
+			delayed = true;
+			sched.addJob(new Job(FLUSH_DELAY_MS) {
+				public void perform() throws TMSException {
+					flush();
+				}
+			});
+		}
+		if (events.size() >= FLUSH_EVENTS && !urgent) {
+			urgent = true;
+			sched.addJob(new Job() {
+				public void perform() throws TMSException {
+					flush();
+				}
+			});
+		}
+	}
+
+	/** Take all queued events */
+	private synchronized ArrayDeque<BaseEvent> takeEvents() {
+		ArrayDeque<BaseEvent> evs = events;
+		events = new ArrayDeque<BaseEvent>();
+		delayed = false;
+		urgent = false;
+		return evs;
+	}
+
+	/** Store all queued events.  Events which cannot be stored are
+	 * dropped and counted as failed. */
+	public void flush() throws TMSException {
+		ArrayDeque<BaseEvent> evs = takeEvents();
+		if (evs.isEmpty())
+			return;
+		long st = System.nanoTime();
+		ArrayList<BaseEvent> store = new ArrayList<BaseEvent>();
+		for (BaseEvent ev: evs) {
+			if (EventConfigHelper.isStoreEnabled(
+			    ev.eventConfigName()))
+				store.add(ev);
+		}
+		try {
+			int failed = store.isEmpty()
+			           ? 0
+			           : BaseEvent.store.create(store);
+			recordFlush(store.size() - failed, failed, st);
+		}
+		catch (TMSException e) {
+			recordFlush(0, store.size(), st);
+			throw e;
+		}
+	}
+
+	/** Record flush statistics */
+	private void recordFlush(int stored, int failed, long st) {
+		long us = (System.nanoTime() - st) / 1000;
+		latency.record(us);
+		synchronized (this) {
+			n_stored += stored;
+			n_failed += failed;
+		}
+		if (EVENT_LOG.isOpen()) {
+			EVENT_LOG.log("stored: " + stored + ", failed: " +
+				failed + ", dropped: " + getDropped() + ", " +
+				us + " us");
+		}
+	}
+
+	/** Get the current queue depth */
+	public synchronized int getDepth() {
+		return events.size();
+	}
+
+	/** Get the maximum queue depth */
+	public synchronized int getMaxDepth() {
+		return max_depth;
+	}
+
+	/** Get the count of stored events */
+	public synchronized long getStored() {
+		return n_stored;
+	}
+
+	/** Get the count of events dropped because the queue was full */
+	public synchronized long getDropped() {
+		return n_dropped;
+	}
+
+	/** Get the count of events which failed to store */
+	public synchronized long getFailed() {
+		return n_failed;
+	}
+
+	/** Get the flush latency histogram */
+	public Histogram getLatency() {
+		return latency;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+/**
+ * A benchmark times a pass of operations, after warmup passes to allow for
+ * JIT compilation.  The best of several timed passes is reported.
+ * Benchmarks are not run as junit tests; use the "bench" ant target.
+ *
+ * @author Douglas Lau
+ */
+abstract public class Benchmark {
+
+	/** Number of warmup passes */
+	static private final int WARMUP_PASSES = 3;
+
+	/** Number of timed passes */
+	static private final int TIMED_PASSES = 5;
+
+	/** Benchmark name */
+	private final String name;
+
+	/** Number of operations in each pass */
+	private final int n_ops;
+
+	/** Create a new benchmark.
+	 * @param n Benchmark name.
+	 * @param o Number of operations in each pass. */
+	protected Benchmark(String n, int o) {
+		name = n;
+		n_ops = o;
+	}
+
+	/** Perform one pass of operations */
+	abstract protected void pass() throws Exception;
+
+	/** Run the benchmark, and print the time per operation */
+	public void run() throws Exception {
+		for (int p = 0; p < WARMUP_PASSES; p++)
+			pass();
+		long ns = Long.MAX_VALUE;
+		for (int p = 0; p < TIMED_PASSES; p++) {
+			long st = System.nanoTime();
+			pass();
+			ns = Math.min(ns, System.nanoTime() - st);
+		}
+		System.out.println(String.format("%-40s %10.1f ns/op", name,
+			(double) ns / n_ops));
+	}
+}
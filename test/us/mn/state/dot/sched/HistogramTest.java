@@ -0,0 +1,64 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import junit.framework.TestCase;
+
+/**
+ * Histogram tests
+ *
+ * @author Douglas Lau
+ */
+public class HistogramTest extends TestCase {
+
+	public HistogramTest(String name) {
+		super(name);
+	}
+
+	public void testEmpty() {
+		Histogram h = new Histogram();
+		assertTrue(h.getCount() == 0);
+		assertTrue(h.getMean() == 0);
+		assertTrue(h.getPercentile(50) == 0);
+		StringBuilder sb = new StringBuilder();
+		h.appendJson(sb);
+		assertTrue(sb.toString().equals("{\"count\":0,\"mean_us\":0," +
+			"\"p50_us\":0,\"p90_us\":0,\"p99_us\":0,\"max_us\":0," +
+			"\"buckets\":[0]}"));
+	}
+
+	public void testPercentile() {
+		Histogram h = new Histogram();
+		for (int i = 0; i < 90; i++)
+			h.record(100);
+		for (int i = 0; i < 10; i++)
+			h.record(5000);
+		h.record(-5);
+		assertTrue(h.getCount() == 101);
+		assertTrue(h.getMax() == 5000);
+		assertTrue(h.getMean() == (90 * 100 + 10 * 5000) / 101);
+		// 100 us is in bucket [64, 128)
+		assertTrue(h.getPercentile(50) == 128);
+		assertTrue(h.getPercentile(90) == 128);
+		// 5000 us is in bucket [4096, 8192), capped by max
+		assertTrue(h.getPercentile(99) == 5000);
+	}
+
+	public void testLarge() {
+		Histogram h = new Histogram();
+		h.record(Long.MAX_VALUE / 2);
+		assertTrue(h.getPercentile(50) == Long.MAX_VALUE / 2);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.Random;
+import java.util.TreeSet;
+import us.mn.state.dot.sched.TimerWheelTest.NopJob;
+
+/**
+ * Timer wheel benchmark.  Jobs are added and removed with many pending jobs,
+ * using a timer wheel and a TreeSet (as the scheduler used before).
+ *
+ * @author Douglas Lau
+ */
+public class TimerWheelBench {
+
+	/** Number of operations in each pass */
+	static private final int N_OPS = 1000000;
+
+	/** Create pending jobs at random times */
+	static private Job[] createJobs(int n, Random rnd) {
+		Job[] jobs = new Job[n];
+		for (int i = 0; i < n; i++)
+			jobs[i] = new NopJob(rnd.nextInt(1 << 24));
+		return jobs;
+	}
+
+	/** Run the benchmarks */
+	static public void main(String[] args) throws Exception {
+		for (int n: new int[] { 10000, 100000 }) {
+			Random rnd = new Random(n);
+			final int n_pend = n;
+			final Job[] pending = createJobs(n, rnd);
+			final Job[] jobs = createJobs(1024, rnd);
+			final TimerWheel w = new TimerWheel(
+				TimeSteward.currentTimeMillis());
+			for (Job j: pending)
+				w.add(j);
+			new Benchmark("TimerWheel, " + n + " pending", N_OPS) {
+				protected void pass() {
+					for (int i = 0; i < N_OPS; i++) {
+						Job p = pending[i % n_pend];
+						Job j = jobs[i & 1023];
+						w.add(j);
+						w.remove(p);
+						w.add(p);
+						w.remove(j);
+					}
+				}
+			}.run();
+			final TreeSet<Job> tree = new TreeSet<Job>();
+			for (Job j: pending)
+				tree.add(j);
+			new Benchmark("TreeSet, " + n + " pending", N_OPS) {
+				protected void pass() {
+					for (int i = 0; i < N_OPS; i++) {
+						Job p = pending[i % n_pend];
+						Job j = jobs[i & 1023];
+						tree.add(j);
+						tree.remove(p);
+						tree.add(p);
+						tree.remove(j);
+					}
+				}
+			}.run();
+		}
+	}
+}
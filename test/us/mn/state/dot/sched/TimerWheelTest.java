@@ -0,0 +1,166 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sched;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import junit.framework.TestCase;
+
+/**
+ * Timer wheel tests
+ *
+ * @author Douglas Lau
+ */
+public class TimerWheelTest extends TestCase {
+
+	/** One-shot job which does nothing */
+	static class NopJob extends Job {
+		NopJob(int ms) {
+			super(ms);
+		}
+		public void perform() { }
+	}
+
+	public TimerWheelTest(String name) {
+		super(name);
+	}
+
+	/** Poll all jobs due up to a time */
+	private ArrayList<Job> pollAll(TimerWheel w, long now) {
+		ArrayList<Job> jobs = new ArrayList<Job>();
+		for (Job j = w.poll(now); j != null; j = w.poll(now))
+			jobs.add(j);
+		return jobs;
+	}
+
+	public void testOrder() {
+		long now = TimeSteward.currentTimeMillis();
+		TimerWheel w = new TimerWheel(now);
+		Random rnd = new Random(1234);
+		ArrayList<Job> jobs = new ArrayList<Job>();
+		for (int i = 0; i < 10000; i++) {
+			Job j = new NopJob(rnd.nextInt(1 << 30));
+			jobs.add(j);
+			w.add(j);
+		}
+		assertTrue(w.size() == 10000);
+		long last = Long.MIN_VALUE;
+		int n = 0;
+		for (long t = now; n < jobs.size();
+		     t += rnd.nextInt(1 << 20))
+		{
+			for (Job j: pollAll(w, t)) {
+				assertTrue(j.nextTime() <= t);
+				assertTrue(j.nextTime() >= last);
+				last = j.nextTime();
+				n++;
+			}
+		}
+		assertTrue(w.size() == 0);
+		assertTrue(w.nextTime() == Long.MAX_VALUE);
+	}
+
+	public void testRemove() {
+		long now = TimeSteward.currentTimeMillis();
+		TimerWheel w = new TimerWheel(now);
+		Job a = new NopJob(10);
+		Job b = new NopJob(100000);
+		Job c = new NopJob(0);
+		w.add(a);
+		w.add(b);
+		w.add(c);
+		w.add(b);
+		assertTrue(w.size() == 3);
+		w.remove(b);
+		w.remove(c);
+		w.remove(c);
+		assertTrue(w.size() == 1);
+		ArrayList<Job> jobs = pollAll(w, now + 1000000);
+		assertTrue(jobs.size() == 1);
+		assertTrue(jobs.get(0) == a);
+		assertTrue(w.size() == 0);
+	}
+
+	public void testScheduler() throws InterruptedException {
+		Scheduler s = new Scheduler();
+		final CountDownLatch latch = new CountDownLatch(1000);
+		final boolean[] removed_performed = new boolean[1];
+		Job removed = new Job(200) {
+			public void perform() {
+				removed_performed[0] = true;
+			}
+		};
+		s.addJob(removed);
+		for (int i = 0; i < 1000; i++) {
+			s.addJob(new Job(i % 50) {
+				public void perform() {
+					latch.countDown();
+				}
+			});
+		}
+		s.removeJob(removed);
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		Thread.sleep(400);
+		assertTrue(!removed_performed[0]);
+		s.dispose();
+	}
+
+	public void testSameTime() {
+		long now = TimeSteward.currentTimeMillis();
+		TimerWheel w = new TimerWheel(now);
+		TreeSet<Job> tree = new TreeSet<Job>();
+		Random rnd = new Random(5678);
+		ArrayList<Job> jobs = new ArrayList<Job>();
+		for (int i = 0; i < 2000; i++)
+			jobs.add(new NopJob((rnd.nextInt(8) + 1) * 1000));
+		// Add in a different order than created, at different times
+		// so that some are cascaded from higher levels
+		for (int k = 0; k < 3; k++) {
+			for (int i = k; i < jobs.size(); i += 3) {
+				w.add(jobs.get(i));
+				tree.add(jobs.get(i));
+			}
+			assertTrue(pollAll(w, now + k * 100).isEmpty());
+		}
+		ArrayList<Job> polled = pollAll(w, now + 100000);
+		assertTrue(polled.size() == jobs.size());
+		assertTrue(polled.equals(new ArrayList<Job>(tree)));
+	}
+
+	public void testTwoWheels() {
+		long now = TimeSteward.currentTimeMillis();
+		TimerWheel w0 = new TimerWheel(now);
+		TimerWheel w1 = new TimerWheel(now);
+		Job a = new NopJob(10);
+		Job b = new NopJob(20);
+		w0.add(a);
+		w0.add(b);
+		w1.add(b);
+		w1.add(a);
+		w1.remove(a);
+		assertTrue(w0.size() == 2);
+		assertTrue(w1.size() == 1);
+		ArrayList<Job> jobs = pollAll(w0, now + 1000);
+		assertTrue(jobs.size() == 2);
+		assertTrue(jobs.get(0) == a);
+		assertTrue(jobs.get(1) == b);
+		jobs = pollAll(w1, now + 1000);
+		assertTrue(jobs.size() == 1);
+		assertTrue(jobs.get(0) == b);
+	}
+}
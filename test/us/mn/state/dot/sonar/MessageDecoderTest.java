@@ -0,0 +1,162 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import junit.framework.TestCase;
+
+/**
+ * Message decoder tests
+ *
+ * @author Douglas Lau
+ */
+public class MessageDecoderTest extends TestCase {
+
+	public MessageDecoderTest(String name) {
+		super(name);
+	}
+
+	/** Encode a few messages */
+	private byte[] encoded() {
+		String[] p = { "1", "été", "" };
+		byte[] a = MessageEncoder.encodeBytes(Message.ATTRIBUTE,
+			"dms/V1/msg", p);
+		byte[] b = MessageEncoder.encodeBytes(Message.REMOVE, "dms/V1",
+			null);
+		byte[] c = new byte[a.length + b.length];
+		System.arraycopy(a, 0, c, 0, a.length);
+		System.arraycopy(b, 0, c, a.length, b.length);
+		return c;
+	}
+
+	/** Check decoded messages */
+	private void check(List<String> m0, List<String> m1) {
+		assertTrue(Arrays.asList("a", "dms/V1/msg", "1",
+			"été", "").equals(m0));
+		assertTrue(Arrays.asList("r", "dms/V1").equals(m1));
+	}
+
+	public void testDecode() throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(64);
+		MessageDecoder dec = new MessageDecoder(buf);
+		assertTrue(dec.decode() == null);
+		buf.put(encoded());
+		List<String> m0 = dec.decode();
+		List<String> m1 = dec.decode();
+		check(m0, m1);
+		assertTrue(dec.decode() == null);
+		assertTrue(buf.position() == 0);
+	}
+
+	public void testSplit() throws IOException {
+		byte[] b = encoded();
+		for (int s = 0; s < b.length; s++) {
+			ByteBuffer buf = ByteBuffer.allocateDirect(64);
+			MessageDecoder dec = new MessageDecoder(buf);
+			buf.put(b, 0, s);
+			List<String> m0 = dec.decode();
+			if (m0 == null) {
+				buf.put(b, s, b.length - s);
+				m0 = dec.decode();
+			} else
+				buf.put(b, s, b.length - s);
+			List<String> m1 = dec.decode();
+			check(m0, m1);
+			assertTrue(dec.decode() == null);
+		}
+	}
+
+	public void testOversized() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++)
+			sb.append("éx");
+		String v = sb.toString();
+		byte[] b = MessageEncoder.encodeBytes(Message.ATTRIBUTE,
+			"dms/V1/msg", new String[] { v });
+		ByteBuffer buf = ByteBuffer.allocate(64);
+		MessageDecoder dec = new MessageDecoder(buf);
+		List<String> m = null;
+		for (int off = 0; off < b.length; off += 64) {
+			assertTrue(m == null);
+			buf.put(b, off, Math.min(64, b.length - off));
+			m = dec.decode();
+		}
+		assertTrue(Arrays.asList("a", "dms/V1/msg", v).equals(m));
+	}
+
+	public void testRecycle() throws IOException {
+		ByteBuffer buf = ByteBuffer.allocate(64);
+		MessageDecoder dec = new MessageDecoder(buf);
+		buf.put(encoded());
+		List<String> m0 = dec.decode();
+		assertTrue(Arrays.asList("a", "dms/V1/msg", "1", "été", "")
+			.equals(m0));
+		dec.recycle(m0);
+		// Already decoded message is not affected by recycling
+		List<String> m1 = dec.decode();
+		assertTrue(Arrays.asList("r", "dms/V1").equals(m1));
+		assertTrue(m1 != m0);
+		buf.put(encoded());
+		List<String> m2 = dec.decode();
+		List<String> m3 = dec.decode();
+		check(m2, m3);
+		// Recycled list was reused for a later message
+		assertTrue(m3 == m0);
+	}
+
+	/** Encode a few messages, then deflate some more */
+	private byte[] deflated() throws IOException {
+		MessageEncoder enc = new MessageEncoder(0);
+		enc.encode(Message.TYPE, "");
+		enc.encode(Message.DEFLATE);
+		enc.startDeflate();
+		enc.encode(encoded());
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		((Buffer) buf).flip();
+		byte[] b = new byte[buf.remaining()];
+		buf.get(b);
+		return b;
+	}
+
+	public void testDeflate() throws IOException {
+		byte[] b = deflated();
+		for (int s = 0; s < b.length; s++) {
+			ByteBuffer buf = ByteBuffer.allocate(64);
+			MessageDecoder dec = new MessageDecoder(buf);
+			dec.expectDeflate();
+			ArrayList<List<String>> msgs =
+				new ArrayList<List<String>>();
+			buf.put(b, 0, s);
+			for (List<String> m = dec.decode(); m != null;
+			     m = dec.decode())
+				msgs.add(m);
+			buf.put(b, s, b.length - s);
+			for (List<String> m = dec.decode(); m != null;
+			     m = dec.decode())
+				msgs.add(m);
+			assertTrue(dec.isInflating());
+			assertTrue(msgs.size() == 4);
+			assertTrue(Arrays.asList("t", "").equals(msgs.get(0)));
+			assertTrue(Arrays.asList("z").equals(msgs.get(1)));
+			check(msgs.get(2), msgs.get(3));
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * Message encoder tests
+ *
+ * @author Douglas Lau
+ */
+public class MessageEncoderTest extends TestCase {
+
+	public MessageEncoderTest(String name) {
+		super(name);
+	}
+
+	/** Get encoded bytes from an encoder */
+	private byte[] encoded(MessageEncoder enc) throws IOException {
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		((Buffer) buf).flip();
+		byte[] b = new byte[buf.remaining()];
+		buf.get(b);
+		enc.compact();
+		return b;
+	}
+
+	public void testEncodeBytes() throws IOException {
+		MessageEncoder enc = new MessageEncoder(0);
+		String[] p = { "1", "two\u001fthree", "\u00e9t\u00e9" };
+		enc.encode(Message.ATTRIBUTE, "dms/V1/msg", p);
+		assertTrue(Arrays.equals(encoded(enc), MessageEncoder
+			.encodeBytes(Message.ATTRIBUTE, "dms/V1/msg", p)));
+		enc.encode(Message.REMOVE, "dms/V1");
+		assertTrue(Arrays.equals(encoded(enc), MessageEncoder
+			.encodeBytes(Message.REMOVE, "dms/V1", null)));
+		enc.encode(Message.TYPE);
+		assertTrue(Arrays.equals(encoded(enc), MessageEncoder
+			.encodeBytes(Message.TYPE, null, null)));
+	}
+
+	public void testEncodeOrder() throws IOException {
+		MessageEncoder enc = new MessageEncoder(0);
+		enc.encode(Message.TYPE, "dms");
+		enc.encode(MessageEncoder.encodeBytes(Message.OBJECT, "V1",
+			null));
+		enc.encode(Message.TYPE);
+		assertTrue(new String(encoded(enc), "UTF-8").equals(
+			"t\u001fdms\u001eo\u001fV1\u001et\u001e"));
+	}
+
+	/** Encode some objects, with a flush after each one */
+	private int encodeObjects(MessageEncoder enc, MessageDecoder dec,
+		ByteBuffer in) throws IOException
+	{
+		int n_msgs = 0;
+		for (int i = 0; i < 100; i++) {
+			String n = "dms/V" + i;
+			enc.encode(Message.OBJECT, n);
+			enc.encode(Message.ATTRIBUTE, n + "/msgCurrent",
+				new String[] { "msg_" + i });
+			enc.flush();
+			transfer(enc, in);
+			while (dec.decode() != null)
+				n_msgs++;
+		}
+		return n_msgs;
+	}
+
+	/** Transfer encoded bytes to a decoder input buffer */
+	private int transfer(MessageEncoder enc, ByteBuffer in) {
+		ByteBuffer buf = enc.getBuffer();
+		((Buffer) buf).flip();
+		int n = buf.remaining();
+		in.put(buf);
+		enc.compact();
+		return n;
+	}
+
+	public void testDeflate() throws IOException {
+		MessageEncoder enc = new MessageEncoder(0);
+		ByteBuffer in = ByteBuffer.allocate(1 << 12);
+		MessageDecoder dec = new MessageDecoder(in);
+		dec.expectDeflate();
+		enc.encode(Message.DEFLATE);
+		enc.startDeflate();
+		assertTrue(enc.isDeflating());
+		assertTrue(encodeObjects(enc, dec, in) == 201);
+		assertTrue(dec.isInflating());
+		// No sync marker is added if nothing was encoded
+		enc.flush();
+		assertFalse(enc.hasData());
+		enc.close();
+		dec.close();
+		assertFalse(enc.isDeflating());
+		assertFalse(dec.isInflating());
+		// Encoding after close does not fail
+		enc.encode(Message.TYPE);
+		enc.flush();
+		assertTrue(dec.decode() == null);
+	}
+}
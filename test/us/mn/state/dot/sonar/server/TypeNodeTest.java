@@ -0,0 +1,134 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.SystemTimeSource;
+import us.mn.state.dot.sched.TimeSteward;
+import us.mn.state.dot.sonar.MessageEncoder;
+import us.mn.state.dot.sonar.Name;
+import us.mn.state.dot.sonar.SonarObject;
+
+/**
+ * Type node enumeration snapshot tests
+ *
+ * @author Douglas Lau
+ */
+public class TypeNodeTest extends TestCase {
+
+	/** Test SONAR interface */
+	public interface Gauge extends SonarObject {
+		String SONAR_TYPE = "gauge";
+		int getLevel();
+		void setLevel(int l);
+		int getPeak();
+	}
+
+	/** Test SONAR object, with a peak which changes when the level is
+	 * set (without a notification) */
+	static public class GaugeImpl implements Gauge {
+		private final String name;
+		private int level;
+		private int peak;
+		public GaugeImpl(String n) {
+			name = n;
+		}
+		public String getTypeName() {
+			return SONAR_TYPE;
+		}
+		public String getName() {
+			return name;
+		}
+		public String getNotes() {
+			return null;
+		}
+		public void destroy() { }
+		public int getLevel() {
+			return level;
+		}
+		public void setLevel(int l) {
+			level = l;
+			peak = Math.max(peak, l);
+		}
+		public int getPeak() {
+			return peak;
+		}
+	}
+
+	/** Time source which is ahead of the system time */
+	static private class AheadTimeSource extends SystemTimeSource {
+		private final long ahead;
+		private AheadTimeSource(long a) {
+			ahead = a;
+		}
+		@Override public long currentTimeMillis() {
+			return super.currentTimeMillis() + ahead;
+		}
+	}
+
+	/** Enumerate one object to a string */
+	static private String enumerate(TypeNode t, SonarObject o)
+		throws Exception
+	{
+		MessageEncoder enc = new MessageEncoder(0);
+		t.enumerateObject(enc, o);
+		enc.flush();
+		ByteBuffer buf = enc.getBuffer();
+		((Buffer) buf).flip();
+		byte[] b = new byte[buf.remaining()];
+		buf.get(b);
+		return new String(b, "UTF-8");
+	}
+
+	public TypeNodeTest(String name) {
+		super(name);
+	}
+
+	public void testSnapshot() throws Exception {
+		TypeNode t = new TypeNode(new ServerNamespace(),
+			GaugeImpl.class);
+		GaugeImpl g = new GaugeImpl("g1");
+		g.setLevel(3);
+		t.addObject(g);
+		assertTrue(enumerate(t, g).contains("peak\u001f3\u001e"));
+		// Setting an attribute invalidates the whole object
+		t.setValue(new Name("gauge/g1/level"), new String[] { "7" });
+		String e = enumerate(t, g);
+		assertTrue(e.contains("level\u001f7\u001e"));
+		assertTrue(e.contains("peak\u001f7\u001e"));
+		// Notifying a change invalidates the snapshot
+		g.setLevel(9);
+		t.invalidate("g1");
+		assertTrue(enumerate(t, g).contains("peak\u001f9\u001e"));
+		// A change without notification is sent once the snapshot
+		// expires
+		g.setLevel(11);
+		TimeSteward.setTimeSource(new AheadTimeSource(31000));
+		try {
+			assertTrue(enumerate(t, g).contains(
+				"peak\u001f11\u001e"));
+		}
+		finally {
+			TimeSteward.setTimeSource(new SystemTimeSource());
+		}
+		// Removing and adding an object drops its snapshot
+		t.removeObject(g);
+		GaugeImpl g2 = new GaugeImpl("g1");
+		t.addObject(g2);
+		assertTrue(enumerate(t, g2).contains("peak\u001f0\u001e"));
+	}
+}
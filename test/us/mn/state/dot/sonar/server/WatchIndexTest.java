@@ -0,0 +1,136 @@
+/*
+ * SONAR -- Simple Object Notification And Replication
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.sonar.server;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import junit.framework.TestCase;
+import us.mn.state.dot.sonar.Name;
+
+/**
+ * Watch index tests
+ *
+ * @author Douglas Lau
+ */
+public class WatchIndexTest extends TestCase {
+
+	static private final String[] NAMES = {
+		"dms", "dms/V1", "dms/V2", "dms//msgCurrent", "dms//status",
+		"detector", "detector/D1", "detector//autoFail",
+	};
+
+	static private final String[] NOTIFY = {
+		"dms/V1", "dms/V2", "dms/V3", "dms/V1/msgCurrent",
+		"dms/V2/msgCurrent", "dms/V3/status", "dms/V1/styles",
+		"detector/D1", "detector/D1/autoFail", "detector/D2/autoFail",
+		"camera/C1", "camera/C1/ptz",
+	};
+
+	/** Watching set, as it was checked before the index existed */
+	static private class Watcher {
+		private final HashSet<String> watching = new HashSet<String>();
+		private void start(Name name) {
+			watching.remove(name.toString());
+			if (WatchIndex.isWatchPositive(name))
+				watching.add(name.toString());
+		}
+		private void stop(Name name) {
+			watching.remove(name.toString());
+			if (WatchIndex.isWatchNegative(name))
+				watching.add(name.toString());
+		}
+		private boolean isWatching(Name name) {
+			if (watching.contains(name.getObjectName()))
+				return true;
+			if (watching.contains(name.getAttributeName()))
+				return false;
+			return watching.contains(name.getTypePart());
+		}
+	}
+
+	/** Check if a watcher is watching a name, using lookup */
+	static private boolean isWatching(WatchIndex<Integer> idx, Name name,
+		int w)
+	{
+		ArrayList<Integer> ws = new ArrayList<Integer>();
+		idx.lookup(name, ws);
+		return ws.contains(w);
+	}
+
+	public WatchIndexTest(String name) {
+		super(name);
+	}
+
+	public void testPriority() {
+		WatchIndex<Integer> idx = new WatchIndex<Integer>();
+		idx.add(new Name("dms"), 1);
+		idx.add(new Name("dms//status"), 1);
+		idx.add(new Name("dms/V1"), 1);
+		idx.add(new Name("dms"), 2);
+		assertTrue(isWatching(idx, new Name("dms/V2/msgCurrent"), 1));
+		assertFalse(isWatching(idx, new Name("dms/V2/status"), 1));
+		assertTrue(isWatching(idx, new Name("dms/V1/status"), 1));
+		assertTrue(isWatching(idx, new Name("dms/V2/status"), 2));
+		assertFalse(isWatching(idx, new Name("camera/C1"), 1));
+		ArrayList<Integer> w = new ArrayList<Integer>();
+		idx.lookup(new Name("dms/V1/status"), w);
+		assertTrue(w.size() == 2);
+		w.clear();
+		idx.lookup(new Name("dms/V2/status"), w);
+		assertTrue(w.size() == 1 && w.get(0) == 2);
+		idx.remove(new Name("dms"), 2);
+		w.clear();
+		idx.lookup(new Name("dms/V2/status"), w);
+		assertTrue(w.isEmpty());
+	}
+
+	public void testRandom() {
+		Random rand = new Random(42);
+		WatchIndex<Integer> idx = new WatchIndex<Integer>();
+		Watcher[] ws = new Watcher[20];
+		for (int i = 0; i < ws.length; i++)
+			ws[i] = new Watcher();
+		for (int n = 0; n < 5000; n++) {
+			int i = rand.nextInt(ws.length);
+			Name name = new Name(NAMES[rand.nextInt(NAMES.length)]);
+			idx.remove(name, i);
+			if (rand.nextBoolean()) {
+				ws[i].start(name);
+				if (WatchIndex.isWatchPositive(name))
+					idx.add(name, i);
+			} else {
+				ws[i].stop(name);
+				if (WatchIndex.isWatchNegative(name))
+					idx.add(name, i);
+			}
+			for (String nt: NOTIFY)
+				checkLookup(idx, ws, new Name(nt));
+		}
+	}
+
+	private void checkLookup(WatchIndex<Integer> idx, Watcher[] ws,
+		Name name)
+	{
+		ArrayList<Integer> w = new ArrayList<Integer>();
+		idx.lookup(name, w);
+		HashSet<Integer> found = new HashSet<Integer>(w);
+		assertTrue(found.size() == w.size());
+		for (int i = 0; i < ws.length; i++) {
+			boolean watching = ws[i].isWatching(name);
+			assertTrue(found.contains(i) == watching);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.Constants.MISSING_DATA;
+
+/**
+ * Columnar archive tests
+ *
+ * @author Douglas Lau
+ */
+public class ColumnarArchiveTest extends TestCase {
+
+	public ColumnarArchiveTest(String name) {
+		super(name);
+	}
+
+	/** Create a temporary day directory */
+	private File createDay() throws IOException {
+		File day = File.createTempFile("colarc", "");
+		day.delete();
+		assertTrue(day.mkdir());
+		return day;
+	}
+
+	/** Delete a day directory */
+	private void deleteDay(File day) {
+		for (File f: day.listFiles())
+			f.delete();
+		day.delete();
+	}
+
+	/** Write a sample file */
+	private void writeFile(File day, String name, PeriodicSampleType st,
+		int[] values) throws IOException
+	{
+		ByteBuffer buf = ByteBuffer.allocate(values.length *
+			st.sample_bytes);
+		for (int v: values)
+			st.putValue(buf, v);
+		FileOutputStream fos = new FileOutputStream(new File(day, name));
+		try {
+			fos.write(buf.array());
+		}
+		finally {
+			fos.close();
+		}
+	}
+
+	/** Make test sample values */
+	private int[] makeValues(int n, int seed) {
+		int[] values = new int[n];
+		for (int i = 0; i < n; i++)
+			values[i] = (i * 7 + seed) % 100;
+		return values;
+	}
+
+	public void testSampleType() {
+		assertTrue(ColumnarArchiveWriter.sampleType("v30") ==
+			PeriodicSampleType.VEH_COUNT);
+		assertTrue(ColumnarArchiveWriter.sampleType("vs30") ==
+			PeriodicSampleType.SHORT);
+		assertTrue(ColumnarArchiveWriter.sampleType("vmc60") ==
+			PeriodicSampleType.MOTORCYCLE);
+		assertTrue(ColumnarArchiveWriter.sampleType("c30") ==
+			PeriodicSampleType.SCAN);
+		assertTrue(ColumnarArchiveWriter.sampleType("vlog") == null);
+		assertTrue(ColumnarArchiveWriter.sampleType("v7") == null);
+	}
+
+	public void testRoundTrip() throws IOException {
+		File day = createDay();
+		try {
+			// Enough sensors for more than one block
+			for (int s = 0; s < 150; s++) {
+				writeFile(day, "D" + s + ".v30",
+					PeriodicSampleType.VEH_COUNT,
+					makeValues(2880, s));
+				if (s % 2 == 0) {
+					writeFile(day, "D" + s + ".c30",
+						PeriodicSampleType.SCAN,
+						makeValues(2880, s * 3));
+				}
+			}
+			// Short file should be padded
+			writeFile(day, "S1.v30", PeriodicSampleType.VEH_COUNT,
+				new int[] { 5, 6, 7 });
+			writeFile(day, "D0.vlog", PeriodicSampleType.VEH_COUNT,
+				new int[] { 1 });
+			File col = new File(day, "day" +
+				ColumnarArchiveWriter.EXT);
+			assertTrue(new ColumnarArchiveWriter(day).write(col));
+			ColumnarArchiveReader r = new ColumnarArchiveReader(col);
+			assertTrue(r.getExtensions().size() == 2);
+			assertTrue(r.hasSensor("D149"));
+			assertTrue(!r.hasSensor("D150"));
+			String[] sids = { "D140", "D3", "S1", "X", "D77" };
+			int[][] v = r.read(sids, "v30");
+			assertTrue(v[0].length == 2880);
+			for (int i = 0; i < 2880; i++) {
+				assertTrue(v[0][i] == (i * 7 + 140) % 100);
+				assertTrue(v[1][i] == (i * 7 + 3) % 100);
+				assertTrue(v[4][i] == (i * 7 + 77) % 100);
+			}
+			assertTrue(v[2][0] == 5);
+			assertTrue(v[2][2] == 7);
+			assertTrue(v[2][3] == MISSING_DATA);
+			assertTrue(v[3] == null);
+			int[][] c = r.read(sids, "c30");
+			assertTrue(c[0][10] == (70 + 420) % 100);
+			assertTrue(c[1][10] == MISSING_DATA);
+			assertTrue(r.read("D3", "s30") == null);
+			ArrayList<File> files = new ArrayList<File>();
+			files.add(col);
+			files.add(new File(day, "missing" +
+				ColumnarArchiveWriter.EXT));
+			int[][][] d = ColumnarArchiveReader.read(files, sids,
+				"v30");
+			assertTrue(d[0][1][1] == 10);
+			assertTrue(d[1] == null);
+		}
+		finally {
+			deleteDay(day);
+		}
+	}
+}
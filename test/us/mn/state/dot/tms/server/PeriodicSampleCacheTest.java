@@ -16,6 +16,7 @@ package us.mn.state.dot.tms.server;
 
 import java.util.Calendar;
 import java.util.Iterator;
+import java.util.List;
 import junit.framework.TestCase;
 
 /** 
@@ -101,4 +102,74 @@ public class PeriodicSampleCacheTest extends TestCase {
 		}
 		return true;
 	}
+
+	public void testRing() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.VEH_COUNT);
+		long now = System.currentTimeMillis() / 30000 * 30000;
+		// One hour of samples (written as added) wraps the ring
+		for (int i = 119; i >= 0; i--) {
+			cache.add(new PeriodicSample(now - i * 30000, 30, i),
+				"test");
+			cache.setClean(cache.getDirty());
+		}
+		assertTrue(cache.getValue(now - 60000, now) == 1);
+		assertTrue(cache.getValue(now - 90000, now) == 3);
+		// Late sample from before the ring buffer
+		long old = now - 50 * 60000;
+		cache.add(new PeriodicSample(old, 30, 7), "test");
+		assertTrue(cache.getValue(old - 30000, old) == 7);
+		cache.purge(now - 10 * 60000);
+		Iterator<PeriodicSample> it = cache.iterator();
+		int n = 0;
+		int last = 100;
+		while (it.hasNext()) {
+			PeriodicSample ps = it.next();
+			assertTrue(ps.value < last);
+			assertTrue(ps.end() >= now - 10 * 60000);
+			last = ps.value;
+			n++;
+		}
+		assertTrue(n == 21);
+		// Future sample does not advance the ring buffer
+		cache.add(new PeriodicSample(now + 30 * 60000, 30, 5), "test");
+		assertTrue(cache.getValue(now - 60000, now) == 1);
+	}
+
+	public void testFuture() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.SPEED);
+		long now = System.currentTimeMillis() / 60000 * 60000;
+		cache.add(new PeriodicSample(now + 30 * 60000, 60, 55), "test");
+		cache.add(new PeriodicSample(now, 60, 45), "test");
+		cache.add(new PeriodicSample(now - 60000, 60, 65), "test");
+		assertTrue(cache.getValue(now - 120000, now) == 55);
+		assertTrue(cache.getValue(now + 29 * 60000, now + 30 * 60000)
+			== 55);
+		Iterator<PeriodicSample> it = cache.iterator();
+		assertTrue(it.next().value == 65);
+		assertTrue(it.next().value == 45);
+		assertTrue(it.next().value == 55);
+		assertFalse(it.hasNext());
+	}
+
+	public void testUnwritten() {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.VEH_COUNT);
+		long now = System.currentTimeMillis() / 30000 * 30000;
+		cache.add(new PeriodicSample(now - 70 * 60000, 30, 3), "test");
+		cache.setClean(cache.getDirty());
+		// Written sample is not kept after scrolling out
+		cache.add(new PeriodicSample(now - 45 * 60000, 30, 4), "test");
+		// Unwritten sample is kept after scrolling out
+		cache.add(new PeriodicSample(now - 30000, 30, 5), "test");
+		List<PeriodicSample> dirty = cache.getDirty();
+		assertTrue(dirty.size() == 2);
+		assertTrue(dirty.get(0).value == 4);
+		assertTrue(dirty.get(1).value == 5);
+		cache.purge(now - 10 * 60000);
+		dirty = cache.getDirty();
+		assertTrue(dirty.size() == 1);
+		assertTrue(dirty.get(0).value == 5);
+	}
 }
@@ -20,6 +20,9 @@ import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Calendar;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import junit.framework.TestCase;
 
 /** 
@@ -89,7 +92,95 @@ public class PeriodicSampleWriterTest extends TestCase {
 */
 	}
 
+	public void testDirty() throws IOException {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.SCAN);
+		// Use samples from early yesterday, so they are in one file
+		Calendar cal = Calendar.getInstance();
+		cal.add(Calendar.DATE, -1);
+		cal.set(Calendar.HOUR_OF_DAY, 0);
+		cal.set(Calendar.MINUTE, 1);
+		cal.set(Calendar.SECOND, 0);
+		cal.set(Calendar.MILLISECOND, 0);
+		long t = cal.getTimeInMillis();
+		cache.add(new PeriodicSample(t, 30, 100), "test");
+		cache.add(new PeriodicSample(t + 30000, 30, 200), "test");
+		cache.add(new PeriodicSample(t + 90000, 30, 400), "test");
+		File file = new File("/tmp/TEST_DIRTY.c30");
+		file.delete();
+		PeriodicSampleWriter writer = new PeriodicSampleWriter(
+			new TestFactory());
+		assertTrue(cache.getDirty().size() == 3);
+		writer.flush(cache, "TEST_DIRTY");
+		assertTrue(cache.getDirty().isEmpty());
+		assertTrue(file.length() == 2880 * 2);
+		// Overwrite a sample in the file; it should not be rewritten
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.seek(0);
+		raf.writeShort(5);
+		raf.close();
+		cache.add(new PeriodicSample(t + 60000, 30, 300), "test");
+		writer.flush(cache, "TEST_DIRTY");
+		ByteBuffer buf = ByteBuffer.allocate(16);
+		FileChannel channel = new RandomAccessFile(file, "r")
+			.getChannel();
+		channel.read(buf, 0);
+		channel.close();
+		buf.flip();
+		assertTrue(buf.getShort() == 5);
+		assertTrue(buf.getShort() == 100);
+		assertTrue(buf.getShort() == 200);
+		assertTrue(buf.getShort() == 300);
+		assertTrue(buf.getShort() == 400);
+		assertTrue(buf.getShort() == -1);
+		file.delete();
+	}
+
+	public void testArchiving() throws Exception {
+		PeriodicSampleCache cache = new PeriodicSampleCache(
+			PeriodicSampleType.SCAN);
+		Calendar cal = Calendar.getInstance();
+		cal.add(Calendar.DATE, -1);
+		cal.set(Calendar.HOUR_OF_DAY, 1);
+		cache.add(new PeriodicSample(cal.getTimeInMillis(), 30, 100),
+			"test");
+		File file = new File("/tmp/TEST_ARCHIVING.c30");
+		file.delete();
+		final TestFactory factory = new TestFactory();
+		PeriodicSampleWriter writer = new PeriodicSampleWriter(factory);
+		// Hold the write lock on another thread, as if archiving
+		final CountDownLatch locked = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(1);
+		Thread arc = new Thread() {
+			@Override public void run() {
+				factory.lock.writeLock().lock();
+				try {
+					locked.countDown();
+					done.await();
+				}
+				catch (InterruptedException e) {
+					// fall through
+				}
+				finally {
+					factory.lock.writeLock().unlock();
+				}
+			}
+		};
+		arc.start();
+		locked.await();
+		writer.flush(cache, "TEST_ARCHIVING");
+		assertTrue(cache.getDirty().size() == 1);
+		assertFalse(file.exists());
+		done.countDown();
+		arc.join();
+		writer.flush(cache, "TEST_ARCHIVING");
+		assertTrue(cache.getDirty().isEmpty());
+		assertTrue(file.length() == 2880 * 2);
+		file.delete();
+	}
+
 	static class TestFactory implements SampleArchiveFactory {
+		final ReadWriteLock lock = new ReentrantReadWriteLock();
 		public File createFile(String sensor_id, String ext, long stamp)
 			throws IOException
 		{
@@ -105,5 +196,8 @@ public class PeriodicSampleWriterTest extends TestCase {
 		public boolean hasKnownExtension(String name) {
 			return true;
 		}
+		public ReadWriteLock getDayLock(String date) {
+			return lock;
+		}
 	}
 }
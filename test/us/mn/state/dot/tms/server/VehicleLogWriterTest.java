@@ -0,0 +1,84 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Calendar;
+import junit.framework.TestCase;
+import us.mn.state.dot.sched.Scheduler;
+import us.mn.state.dot.sched.TimeSteward;
+
+/**
+ * Vehicle log writer tests
+ *
+ * @author Douglas Lau
+ */
+public class VehicleLogWriterTest extends TestCase {
+
+	/** Factory creating files in a directory for each date */
+	static class DateFactory extends PeriodicSampleWriterTest.TestFactory {
+		private final File dir;
+		private int n_created;
+		DateFactory(File d) {
+			dir = d;
+		}
+		@Override
+		public File createFile(String sensor_id, String ext, long stamp)
+			throws IOException
+		{
+			n_created++;
+			File d = new File(dir, TimeSteward.dateShortString(
+				stamp));
+			d.mkdir();
+			return new File(d, sensor_id + "." + ext);
+		}
+	}
+
+	public VehicleLogWriterTest(String name) {
+		super(name);
+	}
+
+	/** Read a log file */
+	private String read(File dir, String date) throws IOException {
+		File f = new File(new File(dir, date), "D1.vlog");
+		return new String(Files.readAllBytes(f.toPath()), "UTF-8");
+	}
+
+	public void testDayBoundary() throws IOException {
+		File dir = Files.createTempDirectory("vlog").toFile();
+		DateFactory saf = new DateFactory(dir);
+		Scheduler sched = new Scheduler();
+		VehicleLogWriter w = new VehicleLogWriter(saf, "D1", sched);
+		Calendar cal = Calendar.getInstance();
+		cal.set(2026, Calendar.JANUARY, 1, 23, 59, 58);
+		long st = cal.getTimeInMillis();
+		w.append(st, "*\n");
+		w.append(st + 1000, "100,1000\n");
+		w.append(st + 2000, "110,1000\n");
+		w.append(st + 3000, "120,1000\n");
+		w.flush();
+		w.append(st + 4000, "130,1000\n");
+		w.flush();
+		w.flush();
+		sched.dispose();
+		assertEquals("*\n100,1000\n", read(dir, "20260101"));
+		assertEquals("110,1000\n120,1000\n130,1000\n",
+			read(dir, "20260102"));
+		// One file for each day, reused by the second flush
+		assertEquals(2, saf.n_created);
+	}
+}
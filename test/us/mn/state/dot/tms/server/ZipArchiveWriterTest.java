@@ -0,0 +1,150 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import junit.framework.TestCase;
+
+/**
+ * Zip archive writer tests
+ *
+ * @author Douglas Lau
+ */
+public class ZipArchiveWriterTest extends TestCase {
+
+	public ZipArchiveWriterTest(String name) {
+		super(name);
+	}
+
+	/** Make test data for an entry */
+	private byte[] makeData(int n) {
+		byte[] data = new byte[n % 300];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (byte) ((n % 7 == 0) ? i * 31 + n : n);
+		return data;
+	}
+
+	/** Read all bytes of a zip entry */
+	private byte[] readEntry(ZipFile zf, ZipEntry ze) throws IOException {
+		byte[] data = new byte[(int) ze.getSize()];
+		InputStream is = zf.getInputStream(ze);
+		try {
+			int n = 0;
+			while (n < data.length) {
+				int r = is.read(data, n, data.length - n);
+				assertTrue(r > 0);
+				n += r;
+			}
+			assertTrue(is.read() < 0);
+		}
+		finally {
+			is.close();
+		}
+		return data;
+	}
+
+	/** Write and check an archive with n entries */
+	private void checkArchive(int n) throws IOException {
+		File zip = File.createTempFile("zaw", ".zip");
+		try {
+			long now = System.currentTimeMillis();
+			ZipArchiveWriter zw = new ZipArchiveWriter(zip);
+			for (int i = 0; i < n; i++) {
+				byte[] data = makeData(i);
+				zw.add(new ZipArchiveWriter.Entry("E" + i +
+					".v30", now, data, data.length));
+			}
+			zw.close();
+			ZipFile zf = new ZipFile(zip);
+			try {
+				assertTrue(zf.size() == n);
+				Enumeration<? extends ZipEntry> e =
+					zf.entries();
+				int i = 0;
+				while (e.hasMoreElements()) {
+					ZipEntry ze = e.nextElement();
+					assertEquals("E" + i + ".v30",
+						ze.getName());
+					byte[] data = readEntry(zf, ze);
+					assertTrue(Arrays.equals(
+						makeData(i), data));
+					i++;
+				}
+				assertTrue(i == n);
+			}
+			finally {
+				zf.close();
+			}
+		}
+		finally {
+			zip.delete();
+		}
+	}
+
+	public void testSmall() throws IOException {
+		checkArchive(0);
+		checkArchive(100);
+	}
+
+	public void testZip64() throws IOException {
+		checkArchive(70000);
+	}
+
+	public void testArchiveJob() throws IOException {
+		File day = File.createTempFile("zaw", "");
+		day.delete();
+		assertTrue(day.mkdir());
+		SampleArchiveFactoryImpl saf = new SampleArchiveFactoryImpl();
+		saf.addExtension(".v30");
+		for (int i = 0; i < 500; i++) {
+			FileOutputStream fos = new FileOutputStream(
+				new File(day, "D" + i + ".v30"));
+			try {
+				fos.write(makeData(i));
+			}
+			finally {
+				fos.close();
+			}
+		}
+		File traf = new File(day.getPath() + ".traffic");
+		File col = new File(day.getPath() + ColumnarArchiveWriter.EXT);
+		try {
+			new ArchiveSamplesJob(saf).createSampleArchive(day);
+			assertTrue(!day.exists());
+			assertTrue(col.isFile());
+			ZipFile zf = new ZipFile(traf);
+			try {
+				assertTrue(zf.size() == 500);
+				ZipEntry ze = zf.getEntry("D123.v30");
+				assertTrue(Arrays.equals(
+					makeData(123), readEntry(zf, ze)));
+			}
+			finally {
+				zf.close();
+			}
+		}
+		finally {
+			traf.delete();
+			col.delete();
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import us.mn.state.dot.sched.Benchmark;
+import us.mn.state.dot.tms.server.ControllerImpl;
+import us.mn.state.dot.tms.server.comm.OpQueueTest.TestOp;
+
+/**
+ * Operation queue benchmark.  Each operation is a duplicate check (enqueue
+ * of an operation already queued), then next and requeue, with a number of
+ * operations queued for distinct controllers.
+ *
+ * @author Douglas Lau
+ */
+public class OpQueueBench {
+
+	/** Number of operations in each pass */
+	static private final int N_OPS = 200000;
+
+	/** Benchmark a queue with n operations */
+	static private void bench(int n) throws Exception {
+		final OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		ControllerImpl[] ctrls = OpQueueTest.controllers(n);
+		PriorityLevel[] levels = PriorityLevel.values();
+		final TestOp[] ops = new TestOp[n];
+		for (int i = 0; i < n; i++) {
+			ops[i] = new TestOp(levels[i % levels.length],
+				ctrls[i], i);
+			q.enqueue(ops[i]);
+		}
+		new Benchmark("OpQueue, " + n + " queued", N_OPS) {
+			protected void pass() throws DisconnectException {
+				for (int j = 0; j < N_OPS; j++) {
+					if (q.enqueue(ops[j % ops.length]))
+						throw new AssertionError();
+					q.requeue(q.next(0));
+				}
+			}
+		}.run();
+	}
+
+	/** Run the benchmarks */
+	static public void main(String[] args) throws Exception {
+		for (int n: new int[] { 10, 100, 1000 })
+			bench(n);
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.ControllerImpl;
+
+/**
+ * Operation queue tests.
+ *
+ * @author Douglas Lau
+ */
+public class OpQueueTest extends TestCase {
+
+	/** Create a controller, without a database or namespace */
+	static private ControllerImpl controller(String n) throws Exception {
+		Constructor<ControllerImpl> c = ControllerImpl.class
+			.getDeclaredConstructor(String.class, String.class,
+			int.class, String.class, String.class, int.class,
+			String.class, String.class, String.class,
+			String.class, Date.class);
+		c.setAccessible(true);
+		return c.newInstance(n, null, 1, null, null, 0, "", null,
+			null, null, null);
+	}
+
+	/** Create controllers */
+	static ControllerImpl[] controllers(int n) throws Exception {
+		ControllerImpl[] ctrls = new ControllerImpl[n];
+		for (int i = 0; i < n; i++)
+			ctrls[i] = controller("ctl_" + i);
+		return ctrls;
+	}
+
+	/** Test operation */
+	static class TestOp extends OpController<ControllerProperty> {
+		private final int seq;
+		TestOp(PriorityLevel p, ControllerImpl c, int s) {
+			super(p, c, "op_" + s);
+			seq = s;
+		}
+		@Override protected Phase<ControllerProperty> phaseOne() {
+			return new Phase<ControllerProperty>() {
+				protected Phase<ControllerProperty> poll(
+					CommMessage<ControllerProperty> mess)
+				{
+					return null;
+				}
+			};
+		}
+	}
+
+	/** Another test operation class (never equal to TestOp) */
+	static private class OtherOp extends TestOp {
+		private OtherOp(PriorityLevel p, ControllerImpl c, int s) {
+			super(p, c, s);
+		}
+	}
+
+	/** Remove all operations with tryNext */
+	static private ArrayList<OpController<ControllerProperty>> drain(
+		OpQueue<ControllerProperty> q)
+	{
+		ArrayList<OpController<ControllerProperty>> ops =
+			new ArrayList<OpController<ControllerProperty>>();
+		while (true) {
+			OpController<ControllerProperty> op = q.tryNext();
+			if (op == null)
+				return ops;
+			ops.add(op);
+		}
+	}
+
+	public OpQueueTest(String name) {
+		super(name);
+	}
+
+	public void testPriorityFifo() throws Exception {
+		OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		ControllerImpl[] ctrls = controllers(70);
+		PriorityLevel[] levels = PriorityLevel.values();
+		for (int i = 0; i < ctrls.length; i++) {
+			PriorityLevel p = levels[(i * 3) % levels.length];
+			assertTrue(q.enqueue(new TestOp(p, ctrls[i], i)));
+		}
+		assertFalse(q.isEmpty());
+		ArrayList<OpController<ControllerProperty>> ops = drain(q);
+		assertTrue(ops.size() == ctrls.length);
+		for (int i = 1; i < ops.size(); i++) {
+			TestOp a = (TestOp) ops.get(i - 1);
+			TestOp b = (TestOp) ops.get(i);
+			int pa = a.getPriority().ordinal();
+			int pb = b.getPriority().ordinal();
+			assertTrue(pa < pb || (pa == pb && a.seq < b.seq));
+		}
+		assertTrue(q.isEmpty());
+		assertTrue(q.noMoreOps());
+	}
+
+	public void testDuplicate() throws Exception {
+		OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		ControllerImpl c = controller("ctl_1");
+		TestOp op = new TestOp(PriorityLevel.POLL_LOW, c, 1);
+		assertTrue(q.enqueue(op));
+		assertFalse(q.enqueue(new TestOp(PriorityLevel.COMMAND, c, 2)));
+		assertTrue(q.enqueue(new OtherOp(PriorityLevel.POLL_LOW, c,
+			3)));
+		// Done operations are not duplicates
+		op.setSucceeded();
+		TestOp op4 = new TestOp(PriorityLevel.POLL_LOW, c, 4);
+		assertTrue(q.enqueue(op4));
+		assertFalse(q.enqueue(new TestOp(PriorityLevel.POLL_LOW, c,
+			5)));
+		ArrayList<OpController<ControllerProperty>> ops = drain(q);
+		assertTrue(ops.size() == 3);
+		assertTrue(ops.get(0) == op);
+		assertTrue(ops.get(2) == op4);
+		// Index is empty after removing all operations
+		assertTrue(q.enqueue(new TestOp(PriorityLevel.POLL_LOW, c,
+			6)));
+	}
+
+	public void testWork() throws Exception {
+		OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		ControllerImpl c = controller("ctl_1");
+		TestOp op = new TestOp(PriorityLevel.POLL_LOW, c, 1);
+		assertTrue(q.enqueue(op));
+		assertTrue(q.next(0) == op);
+		assertFalse(q.isEmpty());
+		assertTrue(q.noMoreOps());
+		// Equal operation cannot be added while work is in progress
+		assertFalse(q.enqueue(new TestOp(PriorityLevel.POLL_LOW, c,
+			2)));
+		op.setSucceeded();
+		TestOp op3 = new TestOp(PriorityLevel.POLL_LOW, c, 3);
+		assertTrue(q.enqueue(op3));
+		assertTrue(q.next(0) == op3);
+		// Removing the old work op must not unindex op3
+		assertFalse(q.enqueue(new TestOp(PriorityLevel.POLL_LOW, c,
+			4)));
+		try {
+			q.next(10);
+			fail();
+		}
+		catch (DisconnectException e) {
+			// idle timeout
+		}
+		assertTrue(q.isEmpty());
+	}
+
+	public void testRequeue() throws Exception {
+		OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		ControllerImpl[] ctrls = controllers(3);
+		TestOp op0 = new TestOp(PriorityLevel.POLL_LOW, ctrls[0], 0);
+		TestOp op1 = new TestOp(PriorityLevel.POLL_LOW, ctrls[1], 1);
+		TestOp op2 = new TestOp(PriorityLevel.POLL_LOW, ctrls[2], 2);
+		assertTrue(q.enqueue(op0));
+		assertTrue(q.enqueue(op1));
+		assertTrue(q.enqueue(op2));
+		// Requeue work op
+		assertTrue(q.next(0) == op0);
+		assertTrue(q.requeue(op0));
+		// Bump a queued op, as for device contention
+		op2.setPriority(PriorityLevel.COMMAND);
+		assertTrue(q.requeue(op2));
+		assertFalse(q.enqueue(new TestOp(PriorityLevel.POLL_LOW,
+			ctrls[2], 3)));
+		ArrayList<OpController<ControllerProperty>> ops = drain(q);
+		assertTrue(ops.size() == 3);
+		assertTrue(ops.get(0) == op2);
+		assertTrue(ops.get(1) == op1);
+		assertTrue(ops.get(2) == op0);
+		assertFalse(q.requeue(op1));
+		q.close();
+		assertFalse(q.enqueue(op1));
+	}
+
+	public void testStress() throws Exception {
+		final OpQueue<ControllerProperty> q =
+			new OpQueue<ControllerProperty>();
+		final ControllerImpl[] ctrls = controllers(50);
+		final AtomicInteger n_added = new AtomicInteger();
+		final int n_ops = 20000;
+		Thread[] producers = new Thread[4];
+		for (int t = 0; t < producers.length; t++) {
+			final long seed = t;
+			producers[t] = new Thread() {
+				@Override public void run() {
+					produce(q, ctrls, n_added, n_ops, seed);
+				}
+			};
+			producers[t].start();
+		}
+		int n_polls = 0;
+		int n_done = 0;
+		while (true) {
+			OpController<ControllerProperty> op;
+			try {
+				op = q.next(200);
+			}
+			catch (DisconnectException e) {
+				break;
+			}
+			assertFalse(hasDuplicate(q));
+			n_polls++;
+			if (n_polls % 7 == 0)
+				assertTrue(q.requeue(op));
+			else {
+				op.setSucceeded();
+				n_done++;
+			}
+		}
+		for (Thread t: producers)
+			t.join();
+		assertTrue(n_done == n_added.get());
+		assertTrue(q.isEmpty());
+	}
+
+	/** Enqueue random operations */
+	static private void produce(OpQueue<ControllerProperty> q,
+		ControllerImpl[] ctrls, AtomicInteger n_added, int n_ops,
+		long seed)
+	{
+		Random r = new Random(seed);
+		PriorityLevel[] levels = PriorityLevel.values();
+		for (int i = 0; i < n_ops; i++) {
+			PriorityLevel p = levels[r.nextInt(levels.length)];
+			ControllerImpl c = ctrls[r.nextInt(ctrls.length)];
+			TestOp op = r.nextBoolean()
+			          ? new TestOp(p, c, i)
+			          : new OtherOp(p, c, i);
+			if (q.enqueue(op))
+				n_added.incrementAndGet();
+		}
+	}
+
+	/** Check if a queue contains equal operations which are not done */
+	static private boolean hasDuplicate(OpQueue<ControllerProperty> q) {
+		final HashSet<String> keys = new HashSet<String>();
+		return !q.forEach(new OpHandler<ControllerProperty>() {
+			public boolean handle(
+				OpController<ControllerProperty> o)
+			{
+				return o.isDone() || keys.add(
+					o.getClass().getName() +
+					o.getController());
+			}
+		});
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.IOException;
+import us.mn.state.dot.sched.Benchmark;
+import us.mn.state.dot.tms.server.comm.snmp.BERTest.Echo;
+import us.mn.state.dot.tms.server.comm.snmp.BERTest.Loopback;
+import us.mn.state.dot.tms.server.comm.snmp.BERTest.Replay;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+import static us.mn.state.dot.tms.server.comm.snmp.BERTest.UNLIMITED;
+
+/**
+ * BER benchmark.  SNMP get and set requests are encoded, and a replayed
+ * response is decoded, for messages with several numbers of objects.
+ *
+ * @author Douglas Lau
+ */
+public class BERBench {
+
+	/** Number of objects encoded in each pass */
+	static private final int N_OBJECTS = 200000;
+
+	/** Benchmark encoding requests and decoding responses */
+	static private void bench(int n, final boolean set)
+		throws Exception
+	{
+		final SNMP snmp = new SNMP();
+		final Loopback in = new Loopback();
+		final ASN1Integer[] ints = new ASN1Integer[n];
+		SNMP.Message mess = snmp.new Message(new Echo(in), in, null, 1);
+		for (int i = 0; i < n; i++) {
+			ints[i] = dmsSignHeight.makeInt();
+			ints[i].setInteger(1000 + i);
+			mess.add(ints[i]);
+		}
+		mess.storeProps();
+		final Replay out = new Replay(in);
+		final int iters = N_OBJECTS / n;
+		String name = "SNMP " + (set ? "set, " : "get, ") + n +
+			" objects";
+		new Benchmark(name, iters) {
+			protected void pass() throws IOException {
+				for (int j = 0; j < iters; j++) {
+					SNMP.Message m = snmp.new Message(out,
+						in, null, 1, UNLIMITED);
+					for (ASN1Integer h: ints)
+						m.add(h);
+					if (set)
+						m.storeProps();
+					else
+						m.queryProps();
+				}
+			}
+		}.run();
+	}
+
+	/** Run the benchmarks */
+	static public void main(String[] args) throws Exception {
+		for (int n: new int[] { 1, 10, 50 }) {
+			bench(n, false);
+			bench(n, true);
+		}
+	}
+}
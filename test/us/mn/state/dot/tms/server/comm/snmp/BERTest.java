@@ -0,0 +1,202 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+
+/**
+ * BER encoder / decoder tests.
+ *
+ * @author Douglas Lau
+ */
+public class BERTest extends TestCase {
+
+	/** Input stream with a canned response, available after a request
+	 * is flushed to the output stream */
+	static class Loopback extends ByteArrayInputStream {
+		Loopback() {
+			super(new byte[0]);
+		}
+		private void respond(byte[] b) {
+			buf = b;
+			pos = 0;
+			count = b.length;
+		}
+	}
+
+	/** Output stream which responds by replaying the last response */
+	static class Replay extends ByteArrayOutputStream {
+		private final Loopback in;
+		Replay(Loopback i) {
+			in = i;
+		}
+		@Override public void flush() {
+			in.reset();
+		}
+	}
+
+	/** Output stream which responds by echoing the request, with the
+	 * PDU tag changed to GET_RESPONSE */
+	static class Echo extends ByteArrayOutputStream {
+		private final Loopback in;
+		Echo(Loopback i) {
+			in = i;
+		}
+		@Override public void flush() {
+			byte[] b = toByteArray();
+			reset();
+			// skip message header and version
+			int pdu = 1 + lengthOctets(b[1]) + 3;
+			// skip community
+			pdu += 1 + lengthOctets(b[pdu + 1]) + b[pdu + 1];
+			b[pdu] = (byte) 0xA2;
+			in.respond(b);
+		}
+	}
+
+	/** Agent profile which never splits get-requests, since a replayed
+	 * response always contains every object */
+	static final AgentProfile UNLIMITED = new AgentProfile() {
+		@Override public int getMaxSize() {
+			return Integer.MAX_VALUE;
+		}
+	};
+
+	/** Get the number of octets in a length */
+	static private int lengthOctets(byte first) {
+		return (first < 0) ? 1 + (first & 0x7F) : 1;
+	}
+
+	/** Convert bytes to hex */
+	static private String hex(ByteBuffer b) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < b.position(); i++)
+			sb.append(String.format("%02x", b.get(i)));
+		return sb.toString();
+	}
+
+	/** Encode an integer and return hex */
+	static private String encodeInt(SNMP snmp, int v) throws IOException {
+		snmp.encoder.clear();
+		snmp.encodeInteger(v);
+		return hex(snmp.encoder);
+	}
+
+	public BERTest(String name) {
+		super(name);
+	}
+
+	public void testInteger() throws IOException {
+		SNMP snmp = new SNMP();
+		assertEquals("020100", encodeInt(snmp, 0));
+		assertEquals("02017f", encodeInt(snmp, 127));
+		assertEquals("02020080", encodeInt(snmp, 128));
+		assertEquals("0201ff", encodeInt(snmp, -1));
+		assertEquals("0202ff7f", encodeInt(snmp, -129));
+		assertEquals("0203010000", encodeInt(snmp, 65536));
+		assertEquals("020480000000", encodeInt(snmp,
+			Integer.MIN_VALUE));
+		for (int v: new int[] { 0, 1, -1, 255, 256, -32768, 8388608,
+			Integer.MAX_VALUE, Integer.MIN_VALUE })
+		{
+			snmp.encoder.clear();
+			snmp.encodeInteger(v);
+			snmp.encoder.flip();
+			assertTrue(snmp.decodeInteger(snmp.encoder) == v);
+		}
+	}
+
+	public void testObjectIdentifier() throws IOException {
+		SNMP snmp = new SNMP();
+		snmp.encodeObjectIdentifier(new int[] { 1, 3, 6, 127, 128,
+			16383, 16384 });
+		assertEquals("060a2b06" + "7f" + "8100" + "ff7f" + "818000",
+			hex(snmp.encoder));
+	}
+
+	public void testBackpatch() throws IOException {
+		SNMP snmp = new SNMP();
+		for (int len: new int[] { 0, 127, 128, 255, 256, 5000 }) {
+			snmp.encoder.clear();
+			int s = snmp.beginConstructed(ASN1Tag.SEQUENCE);
+			byte[] v = new byte[len];
+			Arrays.fill(v, (byte) 0x55);
+			snmp.encodeOctetString(v);
+			snmp.endConstructed(s);
+			ByteBuffer b = snmp.encoder;
+			b.flip();
+			int n = snmp.decodeSequence(b);
+			assertTrue(n == b.remaining());
+			byte[] d = snmp.decodeOctetString(b);
+			assertTrue(Arrays.equals(d, v));
+			assertFalse(b.hasRemaining());
+		}
+	}
+
+	public void testTooBig() throws IOException {
+		SNMP snmp = new SNMP();
+		try {
+			snmp.encodeOctetString(new byte[ASN1.MAX_MESSAGE + 16]);
+			fail();
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testRoundTrip() throws IOException {
+		SNMP snmp = new SNMP();
+		Loopback in = new Loopback();
+		for (int n: new int[] { 1, 10, 50 }) {
+			SNMP.Message mess = snmp.new Message(new Echo(in), in,
+				null, n);
+			ASN1Integer[] ints = new ASN1Integer[n];
+			DisplayString[] strs = new DisplayString[n];
+			for (int i = 0; i < n; i++) {
+				ints[i] = dmsSignHeight.makeInt();
+				ints[i].setInteger(i * 977 - 3000);
+				mess.add(ints[i]);
+				strs[i] = new DisplayString(
+					dmsMessageMultiString.node, 3, i + 1);
+				strs[i].setString("[jl3]LINE " + i);
+				mess.add(strs[i]);
+			}
+			mess.storeProps();
+			// Decode the same response into new objects
+			mess = snmp.new Message(new Replay(in), in, null, n,
+				UNLIMITED);
+			for (int i = 0; i < n; i++) {
+				ints[i] = dmsSignHeight.makeInt();
+				mess.add(ints[i]);
+				strs[i] = new DisplayString(
+					dmsMessageMultiString.node, 3, i + 1);
+				mess.add(strs[i]);
+			}
+			mess.queryProps();
+			for (int i = 0; i < n; i++) {
+				int v = ints[i].getInteger();
+				assertTrue(v == i * 977 - 3000);
+				assertEquals("[jl3]LINE " + i,
+					strs[i].getValue());
+			}
+		}
+	}
+}
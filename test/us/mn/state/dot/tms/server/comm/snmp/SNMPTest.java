@@ -0,0 +1,475 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+import junit.framework.TestCase;
+import us.mn.state.dot.tms.server.comm.ParsingException;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+
+/**
+ * SNMP request batching and get-bulk tests, using a simulated agent.
+ *
+ * @author Douglas Lau
+ */
+public class SNMPTest extends TestCase {
+
+	/** Pixel failure detection type for test rows */
+	static private final int DT = 2;
+
+	/** Compare OIDs in lexicographic order */
+	static private final Comparator<int[]> OID_COMPARE =
+		new Comparator<int[]>()
+	{
+		public int compare(int[] a, int[] b) {
+			int n = Math.min(a.length, b.length);
+			for (int i = 0; i < n; i++) {
+				if (a[i] != b[i])
+					return Integer.compare(a[i], b[i]);
+			}
+			return Integer.compare(a.length, b.length);
+		}
+	};
+
+	/** Input stream with response datagrams from the agent.  Like a
+	 * datagram messenger, only the current datagram is available, and
+	 * the next one is received when it has been read. */
+	static private class Loopback extends InputStream {
+		private final ArrayDeque<byte[]> rx = new ArrayDeque<byte[]>();
+		private ByteArrayInputStream in =
+			new ByteArrayInputStream(new byte[0]);
+		private boolean timeout;
+		private void clear() {
+			rx.clear();
+			in = new ByteArrayInputStream(new byte[0]);
+			timeout = false;
+		}
+		private void respond(byte[] b) {
+			rx.add(b);
+		}
+		private void timeout() {
+			timeout = true;
+		}
+		private void receive() throws SocketTimeoutException {
+			if (in.available() == 0) {
+				byte[] b = rx.poll();
+				if (b != null)
+					in = new ByteArrayInputStream(b);
+				else if (timeout)
+					throw new SocketTimeoutException(
+						"TIMEOUT");
+			}
+		}
+		@Override public int read() throws IOException {
+			receive();
+			return in.read();
+		}
+		@Override public int read(byte[] b, int off, int len)
+			throws IOException
+		{
+			receive();
+			return in.read(b, off, len);
+		}
+		@Override public int available() {
+			return in.available();
+		}
+		@Override public long skip(long n) {
+			return in.skip(n);
+		}
+	}
+
+	/** Simulated SNMP agent, which responds when a request is flushed */
+	static private class Agent extends ByteArrayOutputStream {
+		private final Loopback in = new Loopback();
+		private final SNMP ber = new SNMP();
+		private final TreeMap<int[], Integer> values =
+			new TreeMap<int[], Integer>(OID_COMPARE);
+		private final ArrayList<Integer> sizes =
+			new ArrayList<Integer>();
+		private final ArrayList<Integer> req_ids =
+			new ArrayList<Integer>();
+		private final int max_size;
+		private boolean bulk;
+		private boolean drop_bulk;
+		private boolean stale;
+		private boolean mismatch;
+		private byte[] prev;
+		private Agent(int ms, boolean b) {
+			max_size = ms;
+			bulk = b;
+		}
+		private void put(ASN1Object mo, int v) {
+			values.put(mo.oid(), v);
+		}
+		@Override public void flush() {
+			byte[] req = toByteArray();
+			reset();
+			sizes.add(req.length);
+			in.clear();
+			try {
+				byte[] res = respond(ByteBuffer.wrap(req));
+				// Late response to previous request first
+				if (stale && prev != null)
+					in.respond(prev);
+				in.respond(res);
+				prev = res;
+			}
+			catch (SocketTimeoutException e) {
+				in.timeout();
+			}
+			catch (IOException e) {
+				// no response (request will fail)
+			}
+		}
+		private byte[] respond(ByteBuffer b) throws IOException {
+			ber.decodeSequence(b);
+			int version = ber.decodeInteger(b);
+			byte[] community = ber.decodeOctetString(b);
+			Tag tag = ber.decodeIdentifier(b);
+			ber.decodeLength(b);
+			int req_id = ber.decodeInteger(b);
+			req_ids.add(req_id);
+			int non_rep = ber.decodeInteger(b);
+			int max_rep = ber.decodeInteger(b);
+			ArrayList<int[]> oids = new ArrayList<int[]>();
+			ber.decodeSequence(b);
+			while (b.hasRemaining()) {
+				ber.decodeSequence(b);
+				oids.add(decodeOID(b));
+				ber.decodeIdentifier(b);
+				ber.decodeLength(b);
+			}
+			ber.encoder.clear();
+			int msg = ber.beginConstructed(ASN1Tag.SEQUENCE);
+			ber.encodeInteger(version);
+			ber.encodeOctetString(community);
+			int pdu = ber.beginConstructed(SNMPTag.GET_RESPONSE);
+			ber.encodeInteger(req_id);
+			if (tag == SNMPTag.GET_BULK_REQUEST && !bulk) {
+				if (drop_bulk)
+					throw new SocketTimeoutException();
+				ber.encodeInteger(5);	// genErr
+				ber.encodeInteger(1);
+				encodeVarBinds(oids, false);
+			} else if (tag == SNMPTag.GET_BULK_REQUEST) {
+				ber.encodeInteger(0);
+				ber.encodeInteger(0);
+				encodeBulk(oids, max_rep);
+			} else if (b.limit() > max_size) {
+				ber.encodeInteger(1);	// tooBig
+				ber.encodeInteger(0);
+				encodeVarBinds(oids, false);
+			} else {
+				int missing = 0;
+				for (int i = 0; i < oids.size(); i++) {
+					if (!values.containsKey(oids.get(i))) {
+						missing = i + 1;
+						break;
+					}
+				}
+				ber.encodeInteger((missing > 0) ? 2 : 0);
+				ber.encodeInteger(missing);
+				if (mismatch)
+					Collections.reverse(oids);
+				encodeVarBinds(oids, missing == 0);
+			}
+			ber.endConstructed(pdu);
+			ber.endConstructed(msg);
+			return Arrays.copyOf(ber.encoder.array(),
+				ber.encoder.position());
+		}
+		private void encodeVarBinds(ArrayList<int[]> oids, boolean v)
+			throws IOException
+		{
+			int vbl = ber.beginConstructed(ASN1Tag.SEQUENCE);
+			for (int[] oid: oids)
+				encodeVarBind(oid, v ? values.get(oid) : null);
+			ber.endConstructed(vbl);
+		}
+		private void encodeBulk(ArrayList<int[]> oids, int max_rep)
+			throws IOException
+		{
+			int vbl = ber.beginConstructed(ASN1Tag.SEQUENCE);
+			for (int r = 0; r < max_rep; r++) {
+				for (int i = 0; i < oids.size(); i++) {
+					Map.Entry<int[], Integer> e =
+						values.higherEntry(oids.get(i));
+					if (e != null) {
+						oids.set(i, e.getKey());
+						encodeVarBind(e.getKey(),
+							e.getValue());
+					} else
+						encodeEndOfMib(oids.get(i));
+				}
+			}
+			ber.endConstructed(vbl);
+		}
+		private void encodeVarBind(int[] oid, Integer v)
+			throws IOException
+		{
+			int vb = ber.beginConstructed(ASN1Tag.SEQUENCE);
+			ber.encodeObjectIdentifier(oid);
+			if (v != null)
+				ber.encodeInteger(v);
+			else
+				ber.encodeNull();
+			ber.endConstructed(vb);
+		}
+		private void encodeEndOfMib(int[] oid) throws IOException {
+			int vb = ber.beginConstructed(ASN1Tag.SEQUENCE);
+			ber.encodeObjectIdentifier(oid);
+			ber.encodeIdentifier(SNMPTag.END_OF_MIB_VIEW);
+			ber.encodeLength(0);
+			ber.endConstructed(vb);
+		}
+	}
+
+	/** Decode an object identifier */
+	static private int[] decodeOID(ByteBuffer b) {
+		assertTrue(b.get() == 0x06);
+		int end = b.get() + b.position();
+		int first = b.get();
+		ArrayList<Integer> subs = new ArrayList<Integer>();
+		subs.add(first / 40);
+		subs.add(first % 40);
+		while (b.position() < end) {
+			int sub = 0;
+			int v;
+			do {
+				v = b.get();
+				sub = (sub << 7) | (v & 0x7F);
+			} while (v < 0);
+			subs.add(sub);
+		}
+		int[] oid = new int[subs.size()];
+		for (int i = 0; i < oid.length; i++)
+			oid[i] = subs.get(i);
+		return oid;
+	}
+
+	/** Create a new message to an agent */
+	static private SNMP.Message message(Agent a, AgentProfile ap) {
+		return new SNMP().new Message(a, a.in, null, 7, ap);
+	}
+
+	/** Add pixel failure rows to an agent */
+	static private void addRows(Agent a, int n_rows) {
+		for (int r = 1; r <= n_rows; r++) {
+			a.put(pixelFailureXLocation.makeInt(DT, r), r);
+			a.put(pixelFailureYLocation.makeInt(DT, r), -r);
+		}
+		// Next column, to check end of table
+		a.put(pixelFailureStatus.makeInt(DT, 1), 0);
+	}
+
+	/** Add pixel failure row objects to a message */
+	static private ASN1Integer[] queryRows(SNMP.Message mess, int n_rows) {
+		ASN1Integer[] mos = new ASN1Integer[n_rows * 2];
+		for (int r = 1; r <= n_rows; r++) {
+			mos[r * 2 - 2] = pixelFailureXLocation.makeInt(DT, r);
+			mos[r * 2 - 1] = pixelFailureYLocation.makeInt(DT, r);
+			mess.add(mos[r * 2 - 2]);
+			mess.add(mos[r * 2 - 1]);
+		}
+		return mos;
+	}
+
+	/** Check values of pixel failure rows */
+	static private void checkRows(ASN1Integer[] mos, int n_rows) {
+		for (int r = 1; r <= n_rows; r++) {
+			assertTrue(mos[r * 2 - 2].getInteger() == r);
+			assertTrue(mos[r * 2 - 1].getInteger() == -r);
+		}
+	}
+
+	public SNMPTest(String name) {
+		super(name);
+	}
+
+	public void testSplit() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		addRows(a, 100);
+		AgentProfile ap = new AgentProfile();
+		SNMP.Message mess = message(a, ap);
+		ASN1Integer[] mos = queryRows(mess, 100);
+		mess.queryProps();
+		checkRows(mos, 100);
+		assertTrue(a.sizes.size() > 1);
+		for (int s: a.sizes)
+			assertTrue(s <= AgentProfile.DEFAULT_MAX_SIZE);
+		assertTrue(ap.getMaxSize() == AgentProfile.DEFAULT_MAX_SIZE);
+		checkFreshIds(a);
+	}
+
+	/** Check that each request used a new request-id */
+	static private void checkFreshIds(Agent a) {
+		assertTrue(new HashSet<Integer>(a.req_ids).size() ==
+			a.req_ids.size());
+	}
+
+	public void testTooBig() throws IOException {
+		Agent a = new Agent(500, false);
+		addRows(a, 100);
+		AgentProfile ap = new AgentProfile();
+		SNMP.Message mess = message(a, ap);
+		ASN1Integer[] mos = queryRows(mess, 100);
+		mess.queryProps();
+		checkRows(mos, 100);
+		assertTrue(ap.getMaxSize() <= 500);
+		checkFreshIds(a);
+		// Learned size is used for the next message
+		a.sizes.clear();
+		mess = message(a, ap);
+		mos = queryRows(mess, 100);
+		mess.queryProps();
+		checkRows(mos, 100);
+		for (int s: a.sizes)
+			assertTrue(s <= 500);
+	}
+
+	public void testNoSuchName() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		addRows(a, 10);
+		SNMP.Message mess = message(a, new AgentProfile());
+		ASN1Integer[] mos = queryRows(mess, 11);
+		try {
+			mess.queryProps();
+			fail();
+		}
+		catch (NoSuchName e) {
+			assertTrue(e.getObject() == mos[20]);
+		}
+	}
+
+	public void testBulk() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, true);
+		addRows(a, 100);
+		AgentProfile ap = new AgentProfile();
+		SNMP.Message mess = message(a, ap);
+		ASN1Integer[] mos = queryRows(mess, 100);
+		mess.queryBulk(2);
+		checkRows(mos, 100);
+		assertTrue(a.sizes.size() == 1);
+		assertTrue(ap.isBulkKnown());
+		assertTrue(ap.isBulkAllowed());
+	}
+
+	public void testBulkPastEnd() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, true);
+		addRows(a, 10);
+		SNMP.Message mess = message(a, new AgentProfile());
+		ASN1Integer[] mos = queryRows(mess, 12);
+		try {
+			mess.queryBulk(2);
+			fail();
+		}
+		catch (NoSuchName e) {
+			assertTrue(e.getObject() == mos[20]);
+		}
+		checkRows(mos, 10);
+	}
+
+	public void testBulkFallback() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		addRows(a, 20);
+		AgentProfile ap = new AgentProfile();
+		SNMP.Message mess = message(a, ap);
+		ASN1Integer[] mos = queryRows(mess, 20);
+		mess.queryBulk(2);
+		checkRows(mos, 20);
+		assertTrue(ap.isBulkKnown());
+		assertFalse(ap.isBulkAllowed());
+		// Get-bulk is not tried again
+		a.sizes.clear();
+		mess = message(a, ap);
+		mos = queryRows(mess, 20);
+		mess.queryBulk(2);
+		checkRows(mos, 20);
+		assertTrue(a.sizes.size() == 1);
+	}
+
+	public void testBulkTimeout() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		a.drop_bulk = true;
+		addRows(a, 20);
+		AgentProfile ap = new AgentProfile();
+		// One timeout does not disable get-bulk
+		SNMP.Message mess = message(a, ap);
+		ASN1Integer[] mos = queryRows(mess, 20);
+		mess.queryBulk(2);
+		checkRows(mos, 20);
+		assertFalse(ap.isBulkKnown());
+		a.bulk = true;
+		mess = message(a, ap);
+		mos = queryRows(mess, 20);
+		mess.queryBulk(2);
+		checkRows(mos, 20);
+		assertTrue(ap.isBulkKnown());
+		assertTrue(ap.isBulkAllowed());
+		// Repeated timeouts with get-requests answered do
+		ap = new AgentProfile();
+		a.bulk = false;
+		for (int i = 0; i < 3; i++) {
+			assertFalse(ap.isBulkKnown());
+			mess = message(a, ap);
+			mos = queryRows(mess, 20);
+			mess.queryBulk(2);
+			checkRows(mos, 20);
+		}
+		assertTrue(ap.isBulkKnown());
+		assertFalse(ap.isBulkAllowed());
+	}
+
+	public void testStaleResponse() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		addRows(a, 100);
+		a.stale = true;
+		SNMP.Message mess = message(a, new AgentProfile());
+		ASN1Integer[] mos = queryRows(mess, 100);
+		// Late responses to earlier requests are skipped
+		mess.queryProps();
+		checkRows(mos, 100);
+		assertTrue(a.sizes.size() > 1);
+		checkFreshIds(a);
+	}
+
+	public void testMismatchedResponse() throws IOException {
+		Agent a = new Agent(AgentProfile.DEFAULT_MAX_SIZE, false);
+		addRows(a, 2);
+		a.mismatch = true;
+		SNMP.Message mess = message(a, new AgentProfile());
+		queryRows(mess, 2);
+		try {
+			mess.queryProps();
+			fail();
+		}
+		catch (ParsingException e) {
+			// response objects do not match the request
+		}
+	}
+}
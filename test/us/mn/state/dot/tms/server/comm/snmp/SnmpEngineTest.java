@@ -0,0 +1,296 @@
+/*
+ * IRIS -- Intelligent Roadway Information System
+ * Copyright (C) 2026  Minnesota Department of Transportation
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package us.mn.state.dot.tms.server.comm.snmp;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+import static us.mn.state.dot.tms.server.comm.ntcip.mib1203.MIB1203.*;
+
+/**
+ * SNMP engine tests, using a local UDP agent simulator.
+ *
+ * @author Douglas Lau
+ */
+public class SnmpEngineTest extends TestCase {
+
+	/** Number of simulated devices */
+	static private final int N_DEVICES = 5000;
+
+	/** Number of simulator ports */
+	static private final int N_PORTS = 50;
+
+	/** Build a minimal GET request message */
+	static private ByteBuffer buildGet(int req_id) {
+		ByteBuffer b = ByteBuffer.allocate(64);
+		b.put(new byte[] { 0x30, 0 });
+		b.put(new byte[] { 0x02, 0x01, 0x00 });
+		b.put(new byte[] { 0x04, 0x06 });
+		b.put("Public".getBytes());
+		b.put(new byte[] { (byte) 0xA0, 0x10 });
+		b.put(new byte[] { 0x02, 0x04 });
+		b.putInt(req_id);
+		b.put(new byte[] { 0x02, 0x01, 0x00, 0x02, 0x01, 0x00 });
+		b.put(new byte[] { 0x30, 0x00 });
+		b.put(1, (byte) (b.position() - 2));
+		b.flip();
+		return b;
+	}
+
+	/** Simulated SNMP agents, one per port.  Responses echo the request,
+	 * with the PDU tag changed to GET_RESPONSE. */
+	static private class Simulator extends Thread {
+		private final Selector selector;
+		private final DatagramChannel[] channels;
+		private final int drop_mod;
+		private Simulator(int n_ports, int dm) throws IOException {
+			selector = Selector.open();
+			channels = new DatagramChannel[n_ports];
+			for (int i = 0; i < n_ports; i++) {
+				DatagramChannel dc = DatagramChannel.open();
+				dc.configureBlocking(false);
+				dc.bind(new InetSocketAddress(
+					InetAddress.getLoopbackAddress(), 0));
+				dc.register(selector, SelectionKey.OP_READ);
+				channels[i] = dc;
+			}
+			drop_mod = dm;
+			setDaemon(true);
+			start();
+		}
+		private InetSocketAddress address(int i) throws IOException {
+			return (InetSocketAddress)
+				channels[i].getLocalAddress();
+		}
+		@Override public void run() {
+			ByteBuffer buf = ByteBuffer.allocate(1024);
+			try {
+				while (selector.isOpen()) {
+					selector.select();
+					Iterator<SelectionKey> it = selector
+						.selectedKeys().iterator();
+					while (it.hasNext()) {
+						SelectionKey sk = it.next();
+						it.remove();
+						respond((DatagramChannel)
+							sk.channel(), buf);
+					}
+				}
+			}
+			catch (IOException | ClosedSelectorException e) {
+				// closed
+			}
+		}
+		private void respond(DatagramChannel dc, ByteBuffer buf)
+			throws IOException
+		{
+			while (true) {
+				buf.clear();
+				SocketAddress src = dc.receive(buf);
+				if (src == null)
+					return;
+				buf.flip();
+				int id = SnmpEngine.parseRequestId(buf);
+				if (drop_mod > 0 && id % drop_mod == 0)
+					continue;
+				// version and community are fixed size
+				int pdu = 2 + 3 + 2 + (buf.get(6) & 0xFF);
+				buf.put(pdu, (byte) 0xA2);
+				while (dc.send(buf, src) == 0)
+					Thread.yield();
+			}
+		}
+		private void close() throws IOException {
+			selector.close();
+			for (DatagramChannel dc: channels)
+				dc.close();
+		}
+	}
+
+	/** Check if a response matches a request-id */
+	static private boolean matches(ByteBuffer rx, int id) {
+		try {
+			return SnmpEngine.parseRequestId(rx) == id;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+	public SnmpEngineTest(String name) {
+		super(name);
+	}
+
+	public void testParseRequestId() throws IOException {
+		assertTrue(SnmpEngine.parseRequestId(buildGet(1234567)) ==
+			1234567);
+		assertTrue(SnmpEngine.parseRequestId(buildGet(-5)) == -5);
+		ByteBuffer b = buildGet(7);
+		b.limit(12);
+		try {
+			SnmpEngine.parseRequestId(b);
+			fail();
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testConcurrentDevices() throws Exception {
+		Simulator sim = new Simulator(N_PORTS, 0);
+		SnmpEngine engine = new SnmpEngine(4);
+		try {
+			final CountDownLatch latch = new CountDownLatch(
+				N_DEVICES);
+			final AtomicInteger n_ok = new AtomicInteger();
+			for (int d = 0; d < N_DEVICES; d++) {
+				final int id = d / N_PORTS + 1;
+				engine.send(sim.address(d % N_PORTS),
+					buildGet(id), 10000,
+					new SnmpEngine.Listener()
+				{
+					public void responseReceived(
+						ByteBuffer rx)
+					{
+						if (matches(rx, id))
+							n_ok.incrementAndGet();
+						latch.countDown();
+					}
+					public void requestTimedOut() {
+						latch.countDown();
+					}
+				});
+				// Pace sending to stay within socket buffers
+				if (d % 500 == 499)
+					Thread.sleep(5);
+			}
+			assertTrue(latch.await(30, TimeUnit.SECONDS));
+			// UDP on loopback may still drop a few datagrams
+			assertTrue(n_ok.get() > N_DEVICES * 0.99);
+			assertTrue(engine.getPending() == 0);
+			assertTrue(engine.getReceived() == n_ok.get());
+		}
+		finally {
+			engine.close();
+			sim.close();
+		}
+	}
+
+	public void testTimeout() throws Exception {
+		Simulator sim = new Simulator(1, 2);
+		SnmpEngine engine = new SnmpEngine(1);
+		try {
+			final CountDownLatch latch = new CountDownLatch(10);
+			final AtomicInteger n_timeout = new AtomicInteger();
+			for (int id = 1; id <= 10; id++) {
+				engine.send(sim.address(0), buildGet(id), 200,
+					new SnmpEngine.Listener()
+				{
+					public void responseReceived(
+						ByteBuffer rx)
+					{
+						latch.countDown();
+					}
+					public void requestTimedOut() {
+						n_timeout.incrementAndGet();
+						latch.countDown();
+					}
+				});
+			}
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertTrue(n_timeout.get() == 5);
+			assertTrue(engine.getTimedOut() == 5);
+			assertTrue(engine.getPending() == 0);
+		}
+		finally {
+			engine.close();
+			sim.close();
+		}
+	}
+
+	public void testMessenger() throws Exception {
+		Simulator sim = new Simulator(1, 3);
+		SnmpEngine engine = new SnmpEngine(1);
+		SnmpMessenger m = new SnmpMessenger(engine, sim.address(0),
+			500, 0);
+		try {
+			SNMP snmp = new SNMP();
+			SNMP.Message mess = snmp.new Message(
+				m.getOutputStream(null),
+				m.getInputStream(""), null, 1);
+			ASN1Integer h = dmsSignHeight.makeInt();
+			h.setInteger(37);
+			mess.add(h);
+			mess.storeProps();
+			assertTrue(h.getInteger() == 37);
+			// Request-id 3 is dropped by the simulator
+			mess = snmp.new Message(m.getOutputStream(null),
+				m.getInputStream(""), null, 3);
+			mess.add(h);
+			try {
+				mess.storeProps();
+				fail();
+			}
+			catch (SocketTimeoutException e) {
+				// expected
+			}
+		}
+		finally {
+			m.close();
+			engine.close();
+			sim.close();
+		}
+	}
+
+	public void testNoResponseDisconnect() throws Exception {
+		Simulator sim = new Simulator(1, 1);
+		SnmpEngine engine = new SnmpEngine(1);
+		SnmpMessenger m = new SnmpMessenger(engine, sim.address(0),
+			10000, 1);
+		try {
+			SNMP snmp = new SNMP();
+			SNMP.Message mess = snmp.new Message(
+				m.getOutputStream(null),
+				m.getInputStream(""), null, 1);
+			mess.add(dmsSignHeight.makeInt());
+			try {
+				mess.queryProps();
+				fail();
+			}
+			catch (SocketException e) {
+				// closed by no-response disconnect
+			}
+			assertTrue(m.hitNoResponseDisconnect());
+		}
+		finally {
+			m.close();
+			engine.close();
+			sim.close();
+		}
+	}
+}